@@ -38,9 +38,11 @@ dependencies {
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.recyclerview)
+    implementation(libs.lifecycle.viewmodel)
 
-    // Gson para serialización JSON
-    implementation("com.google.code.gson:gson:2.10.1")
+    // Modelo, codecs e índices (Java puro); trae Gson como api
+    implementation(project(":core"))
 
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
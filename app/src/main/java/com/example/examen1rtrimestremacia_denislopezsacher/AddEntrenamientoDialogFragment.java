@@ -15,8 +15,6 @@ import androidx.fragment.app.DialogFragment;  // Clase base de dialog fragments
 
 import com.google.android.material.textfield.TextInputEditText; // Campo de texto Material
 
-import java.util.List; // Interfaz de lista
-
 /**
  * AddEntrenamientoDialogFragment - DialogFragment para añadir nuevos entrenamientos
  *
@@ -72,17 +70,14 @@ public class AddEntrenamientoDialogFragment extends DialogFragment {
     /** Campo de texto para la descripción del entrenamiento */
     private TextInputEditText etDescripcion;
 
-    /** ID del icono seleccionado (por defecto: Pilates) */
-    private int selectedIconResId = R.drawable.ic_pilates;
+    /** Tipo de icono seleccionado (por defecto: Pilates) */
+    private TipoIcono selectedIcono = TipoIcono.POR_DEFECTO;
 
     // ============= ATRIBUTOS PARA COMUNICACIÓN =============
 
     /** Listener para comunicar el resultado a MainActivity */
     private OnEntrenamientoAddedListener listener;
 
-    /** Lista de entrenamientos existentes (para validar duplicados) */
-    private List<Entrenamiento> entrenamientosExistentes;
-
     // ============= INTERFAZ CALLBACK =============
 
     /**
@@ -99,7 +94,9 @@ public class AddEntrenamientoDialogFragment extends DialogFragment {
      *
      * Métodos:
      * - onEntrenamientoAdded(): Callback llamado cuando se añade un entrenamiento
-     * - getEntrenamientosExistentes(): Obtiene la lista para validar duplicados
+     *
+     * Los duplicados no se preguntan al listener: el diálogo consulta
+     * directamente RepositorioEntrenamientos (compartido por el proceso).
      */
     public interface OnEntrenamientoAddedListener {
         /**
@@ -107,12 +104,6 @@ public class AddEntrenamientoDialogFragment extends DialogFragment {
          * @param entrenamiento El entrenamiento creado por el usuario
          */
         void onEntrenamientoAdded(Entrenamiento entrenamiento);
-
-        /**
-         * Obtiene la lista de entrenamientos existentes para validar duplicados
-         * @return Lista actual de entrenamientos
-         */
-        List<Entrenamiento> getEntrenamientosExistentes();
     }
 
     // ============= CONFIGURACIÓN DEL LISTENER =============
@@ -126,20 +117,12 @@ public class AddEntrenamientoDialogFragment extends DialogFragment {
      * 1. MainActivity crea el DialogFragment
      * 2. MainActivity llama a setOnEntrenamientoAddedListener(this)
      * 3. DialogFragment guarda la referencia
-     * 4. DialogFragment obtiene la lista de entrenamientos existentes
      *
      * @param listener Objeto que implementa OnEntrenamientoAddedListener (MainActivity)
      */
     public void setOnEntrenamientoAddedListener(OnEntrenamientoAddedListener listener) {
         // Guardar referencia al listener (MainActivity)
         this.listener = listener;
-
-        // Si el listener no es null, obtener la lista de entrenamientos
-        if (listener != null) {
-            // Llamar al método de la interfaz para obtener la lista
-            // Esto se usa para validar duplicados antes de guardar
-            this.entrenamientosExistentes = listener.getEntrenamientosExistentes();
-        }
     }
 
     // ============= MÉTODOS DEL CICLO DE VIDA =============
@@ -222,22 +205,22 @@ public class AddEntrenamientoDialogFragment extends DialogFragment {
             // Esto da feedback visual al usuario de su selección
             v.setBackgroundColor(getResources().getColor(R.color.purple_light, null));
 
-            // PASO 3: Identificar qué icono fue clickeado y guardar su recurso
+            // PASO 3: Identificar qué icono fue clickeado y guardar su tipo
             // Comparamos el ID de la vista clickeada con los IDs de los iconos
             if (v.getId() == R.id.iv_icon_pilates) {
                 // Usuario seleccionó Pilates
-                selectedIconResId = R.drawable.ic_pilates;
+                selectedIcono = TipoIcono.PILATES;
             } else if (v.getId() == R.id.iv_icon_voleibol) {
                 // Usuario seleccionó Voleibol
-                selectedIconResId = R.drawable.ic_voleibol;
+                selectedIcono = TipoIcono.VOLEIBOL;
             } else if (v.getId() == R.id.iv_icon_fuerza) {
                 // Usuario seleccionó Fuerza
-                selectedIconResId = R.drawable.ic_fuerza;
+                selectedIcono = TipoIcono.FUERZA;
             } else if (v.getId() == R.id.iv_icon_running) {
                 // Usuario seleccionó Running
-                selectedIconResId = R.drawable.ic_running;
+                selectedIcono = TipoIcono.RUNNING;
             }
-            // selectedIconResId se usa al crear el Entrenamiento en btnSave
+            // selectedIcono se usa al crear el Entrenamiento en btnSave
         };
 
         // Asignar el mismo listener a todos los iconos
@@ -334,51 +317,57 @@ public class AddEntrenamientoDialogFragment extends DialogFragment {
              * - "Pilates" = "pilates" = "PILATES" = "PiLaTeS"
              *
              * Método:
-             * 1. Recorrer la lista de entrenamientos existentes
-             * 2. Comparar cada nombre con equalsIgnoreCase()
-             * 3. Si encuentra coincidencia → mostrar error con el nombre original
-             * 4. return → no permite guardar
+             * 1. Preguntar al repositorio por ese nombre (índices en memoria;
+             *    si hace falta la base de datos, responde en segundo plano)
+             * 2. Si existe → mostrar error con el nombre original
+             * 3. return → no permite guardar
              *
-             * ¿Por qué equalsIgnoreCase()?
+             * ¿Por qué sin distinguir mayúsculas?
              * - Evita duplicados con diferente capitalización
              * - Mejora la experiencia del usuario
              * - Mantiene la base de datos limpia
              */
-            if (entrenamientosExistentes != null) {
-                // Iterar por cada entrenamiento existente
-                for (Entrenamiento existente : entrenamientosExistentes) {
-                    // Comparar nombres ignorando mayúsculas/minúsculas
-                    if (existente.getNombre().equalsIgnoreCase(nombre)) {
-                        // ¡Duplicado encontrado!
-                        // Mostrar el nombre ORIGINAL del existente (no el ingresado)
-                        // Esto ayuda al usuario a ver la diferencia de capitalización
-                        Toast.makeText(getContext(),
-                            "Ya existe un entrenamiento con ese nombre: " + existente.getNombre(),
-                            Toast.LENGTH_LONG).show(); // LENGTH_LONG = 3.5 segundos
-                        return; // No permitir guardar
-                    }
+            // La respuesta puede llegar después (si hay que mirar la base de
+            // datos, se hace en segundo plano): mientras, el botón no responde
+            v.setEnabled(false);
+            long inicio = Instrumentacion.empezar(Instrumentacion.DIALOGO_DUPLICADO);
+            RepositorioEntrenamientos.getInstancia(requireContext()).buscarPorNombre(nombre, existente -> {
+                Instrumentacion.terminar(Instrumentacion.DIALOGO_DUPLICADO, inicio);
+                if (!isAdded()) {
+                    return;  // El diálogo se cerró mientras tanto
+                }
+                v.setEnabled(true);
+                if (existente != null) {
+                    Instrumentacion.contar(Instrumentacion.DIALOGO_DUPLICADOS_ENCONTRADOS);
+                    // ¡Duplicado encontrado!
+                    // Mostrar el nombre ORIGINAL del existente (no el ingresado)
+                    // Esto ayuda al usuario a ver la diferencia de capitalización
+                    Toast.makeText(getContext(),
+                        "Ya existe un entrenamiento con ese nombre: " + existente.getNombre(),
+                        Toast.LENGTH_LONG).show(); // LENGTH_LONG = 3.5 segundos
+                    return; // No permitir guardar
                 }
-            }
 
-            // ========== TODAS LAS VALIDACIONES PASARON ==========
+                // ========== TODAS LAS VALIDACIONES PASARON ==========
 
-            // PASO 1: Crear el nuevo objeto Entrenamiento
-            // Constructor: Entrenamiento(nombre, descripcion, iconoResId)
-            // selectedIconResId contiene el icono seleccionado por el usuario
-            Entrenamiento nuevoEntrenamiento = new Entrenamiento(nombre, descripcion, selectedIconResId);
+                // PASO 1: Crear el nuevo objeto Entrenamiento
+                // Constructor: Entrenamiento(nombre, descripcion, tipoIcono)
+                // selectedIcono contiene el icono seleccionado por el usuario
+                Entrenamiento nuevoEntrenamiento = new Entrenamiento(nombre, descripcion, selectedIcono);
 
-            // PASO 2: Notificar a MainActivity mediante el callback
-            // Verificar que el listener no sea null (buena práctica)
-            if (listener != null) {
-                // Llamar al método de la interfaz
-                // MainActivity recibirá el nuevo entrenamiento y lo procesará
-                listener.onEntrenamientoAdded(nuevoEntrenamiento);
-            }
+                // PASO 2: Notificar a MainActivity mediante el callback
+                // Verificar que el listener no sea null (buena práctica)
+                if (listener != null) {
+                    // Llamar al método de la interfaz
+                    // MainActivity recibirá el nuevo entrenamiento y lo procesará
+                    listener.onEntrenamientoAdded(nuevoEntrenamiento);
+                }
 
-            // PASO 3: Cerrar el diálogo
-            // dismiss() destruye el DialogFragment y lo quita de pantalla
-            // El usuario vuelve a MainActivity con el nuevo entrenamiento añadido
-            dismiss();
+                // PASO 3: Cerrar el diálogo
+                // dismiss() destruye el DialogFragment y lo quita de pantalla
+                // El usuario vuelve a MainActivity con el nuevo entrenamiento añadido
+                dismiss();
+            });
         });
 
         // ========== PASO 8: RETORNAR LA VISTA CONFIGURADA ==========
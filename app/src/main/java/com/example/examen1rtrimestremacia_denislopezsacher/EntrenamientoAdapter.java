@@ -4,19 +4,25 @@ import android.content.Context;      // Contexto de la aplicación
 import android.view.LayoutInflater;  // Para inflar layouts XML
 import android.view.View;            // Clase base de vistas
 import android.view.ViewGroup;       // Contenedor de vistas
-import android.widget.ArrayAdapter;  // Adapter base para listas
 import android.widget.ImageView;     // Para mostrar iconos
 import android.widget.TextView;      // Para mostrar texto
 
 import androidx.annotation.NonNull;  // Anotación para parámetros no nulos
 import androidx.annotation.Nullable; // Anotación para parámetros que pueden ser null
+import androidx.recyclerview.widget.AsyncListDiffer;  // Calcula las diferencias en segundo plano
+import androidx.recyclerview.widget.DiffUtil;         // Comparación de posiciones
+import androidx.recyclerview.widget.RecyclerView;     // Lista con reciclaje de vistas
 
-import java.util.List;  // Interfaz de lista
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.CatalogoPaginado;
+
+import java.util.AbstractList;  // Instantáneas de posiciones sin copiar
+import java.util.List;          // Interfaz de lista
+import java.util.RandomAccess;  // Las instantáneas se recorren por índice
 
 /**
- * EntrenamientoAdapter - Adapter personalizado para el ListView
+ * EntrenamientoAdapter - Adapter del RecyclerView de entrenamientos
  *
- * Este adapter conecta los DATOS (List<Entrenamiento>) con la VISTA (ListView)
+ * Este adapter conecta los DATOS (CatalogoPaginado) con la VISTA (RecyclerView)
  * siguiendo el patrón ADAPTER del diseño de software.
  *
  * ¿Qué es un Adapter?
@@ -24,207 +30,469 @@ import java.util.List;  // Interfaz de lista
  * - Convierte cada objeto de datos en una vista visual
  * - Gestiona el reciclaje de vistas para optimizar rendimiento
  *
- * ¿Qué es el patrón ViewHolder?
- * - Técnica de optimización para ListView/RecyclerView
- * - Evita llamadas repetidas a findViewById()
- * - Guarda referencias a las vistas en un objeto holder
- * - Mejora significativamente el rendimiento del scroll
+ * ¿Qué cambia respecto al ListView?
+ * - El ViewHolder es obligatorio: onCreateViewHolder() infla el layout y
+ *   busca las vistas UNA vez; onBindViewHolder() solo pone los datos
+ * - Ya no hay notifyDataSetChanged(): cada cambio de la lista se publica
+ *   como una INSTANTÁNEA de las posiciones que se muestran
+ *
+ * Datos por páginas (CatalogoPaginado):
+ * - La instantánea no contiene entrenamientos sino POSICIONES del
+ *   catálogo: todas (0..n-1, sin copiar nada), las del filtro o todas en
+ *   el orden elegido (nombre, tipo, recientes)
+ * - onBindViewHolder() pide el entrenamiento al catálogo; si su página no
+ *   ha llegado, la fila se pinta vacía (misma altura: el scroll no salta)
+ * - Cuando llega la página, onPaginaCargada() redibuja solo esas filas
+ *
+ * Iconos: el TipoIcono de cada fila se traduce con RegistroIconos (tabla
+ * resuelta una vez) y se pide a IconoCache (bitmap ya rasterizado al tamaño
+ * de la fila) en lugar de setImageResource(), que infla el vector en cada bind.
+ *
+ * Actualizaciones con AsyncListDiffer:
  *
- * Flujo de getView():
- * 1. Android pide una vista para la posición X
- * 2. Si hay vista reciclable (convertView != null) → reutilizar
- * 3. Si no hay vista → inflar nueva y crear ViewHolder
- * 4. Obtener datos de la posición
- * 5. Actualizar las vistas con los datos
- * 6. Retornar la vista configurada
+ *   actualizar() / setFiltro() / setOrden()
+ *        ↓
+ *   instantánea nueva ──→ hilo de fondo: DiffUtil compara con la anterior
+ *                                ↓
+ *   hilo principal: solo los cambios mínimos
+ *   (notifyItemRangeInserted / Removed / Changed)
  *
- * Optimización ViewHolder:
- * SIN ViewHolder: findViewById() se llama por cada scroll → LENTO
- * CON ViewHolder: findViewById() solo una vez por vista → RÁPIDO
+ * Así, añadir un entrenamiento o escribir en la búsqueda anima solo las
+ * filas afectadas y no vuelve a enlazar las que siguen igual. El cálculo
+ * de las diferencias (O(N + D²)) nunca se hace en el hilo principal, y
+ * entre dos instantáneas muy grandes que no son una simple ampliación
+ * (p. ej. quitar un filtro de 50.000 resultados) no se calcula: se
+ * sustituye la lista entera.
  *
- * Ejemplo de mejora de rendimiento:
- * - Lista con 100 items, usuario hace scroll 10 veces
- * - Sin ViewHolder: ~1,000 llamadas a findViewById()
- * - Con ViewHolder: ~10 llamadas a findViewById()
- * - Mejora: ~100x más rápido
+ * Ráfagas: si llega una instantánea mientras se calcula otra (altas
+ * seguidas, escribir rápido), no se encola: se marca como pendiente y al
+ * terminar el cálculo se publica UNA con el estado más reciente.
+ *
+ * Posiciones: el RecyclerView muestra la instantánea, no el catálogo.
+ * posicionEnLista() traduce una posición visible a la del catálogo con la
+ * instantánea que se está mostrando.
  */
-public class EntrenamientoAdapter extends ArrayAdapter<Entrenamiento> {
+public class EntrenamientoAdapter extends RecyclerView.Adapter<EntrenamientoAdapter.ViewHolder>
+        implements CatalogoPaginado.Oyente {
+
+    // ============= INTERFAZ DE CLICKS =============
+
+    /**
+     * OnEntrenamientoClickListener - Recibe los clicks sobre las filas
+     *
+     * RecyclerView no tiene setOnItemClickListener(): el click se registra
+     * en cada fila al crear su ViewHolder.
+     */
+    public interface OnEntrenamientoClickListener {
+        /**
+         * onEntrenamientoClick - Se ha pulsado una fila
+         *
+         * @param posicionEnLista Posición en el catálogo (no la visible)
+         */
+        void onEntrenamientoClick(int posicionEnLista);
+    }
+
+    // ============= COMPARACIÓN DE POSICIONES =============
+
+    /**
+     * COMPARADOR - Cómo decide DiffUtil qué ha cambiado
+     *
+     * Cada posición del catálogo es siempre el mismo entrenamiento (las
+     * altas van al final), así que dos filas son la misma si tienen la
+     * misma posición. El contenido de una posición no cambia al cambiar el
+     * filtro; las páginas que llegan se avisan aparte (onPaginaCargada).
+     */
+    static final DiffUtil.ItemCallback<Integer> COMPARADOR = new DiffUtil.ItemCallback<Integer>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Integer a, @NonNull Integer b) {
+            return a.intValue() == b.intValue();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Integer a, @NonNull Integer b) {
+            return true;
+        }
+    };
+
+    /** Tamaño a partir del cual no se calculan diferencias entre filtros distintos */
+    private static final int LIMITE_DIFERENCIAS = 5_000;
+
+    /** Payload de "ha llegado la página": rebind sin animación de cambio */
+    private static final Object PAYLOAD_PAGINA = new Object();
 
     // ============= ATRIBUTOS =============
 
-    /** Contexto de la aplicación (necesario para inflar layouts) */
-    private final Context context;
+    /** Para inflar el layout de las filas */
+    private final LayoutInflater inflater;
+
+    /** Iconos rasterizados (compartidos con FragmentDetalle) */
+    private final IconoCache iconos;
+
+    /** Lado del icono de las filas en píxeles (R.dimen.icono_lista) */
+    private final int tamanoIcono;
+
+    /** Catálogo de entrenamientos por páginas (no se modifica aquí) */
+    private final CatalogoPaginado catalogo;
+
+    /** Instantánea de posiciones mostrada y cálculo de diferencias en segundo plano */
+    private final AsyncListDiffer<Integer> differ;
+
+    /**
+     * Filtro de búsqueda pedido: posiciones del catálogo que se muestran,
+     * en el orden en que se muestran (null = se muestran todas)
+     */
+    private int[] filtro;
+
+    /**
+     * Orden pedido sin filtro: todas las posiciones del catálogo en el
+     * orden en que se muestran (null = orden del catálogo)
+     */
+    private int[] orden;
 
-    /** Lista de entrenamientos que se mostrarán en el ListView */
-    private final List<Entrenamiento> entrenamientos;
+    /** true si la próxima instantánea es la anterior con altas intercaladas */
+    private boolean soloAltas;
+
+    /** true mientras se calculan las diferencias de una instantánea */
+    private boolean calculando;
+
+    /** true si ha cambiado algo durante el cálculo (hay que publicar otra) */
+    private boolean publicacionPendiente;
+
+    /** Receptor de los clicks (null = filas sin click) */
+    private OnEntrenamientoClickListener clickListener;
 
     // ============= CONSTRUCTOR =============
 
     /**
-     * Constructor - Inicializa el adapter con el contexto y la lista de datos
+     * Constructor - Inicializa el adapter con el contexto y el catálogo
+     *
+     * La primera instantánea se publica aquí; a partir de entonces, cada
+     * cambio del número de entrenamientos se avisa con actualizar(). El
+     * adapter se registra como Oyente del catálogo.
      *
      * @param context Contexto de la aplicación (normalmente la Activity)
-     * @param entrenamientos Lista de entrenamientos a mostrar
+     * @param catalogo Catálogo de entrenamientos a mostrar
      */
-    public EntrenamientoAdapter(@NonNull Context context, @NonNull List<Entrenamiento> entrenamientos) {
-        // Llamar al constructor del padre (ArrayAdapter)
-        // Parámetros:
-        // - context: Contexto
-        // - 0: No usamos layout por defecto (usamos el nuestro)
-        // - entrenamientos: Lista de datos
-        super(context, 0, entrenamientos);
+    public EntrenamientoAdapter(@NonNull Context context, @NonNull CatalogoPaginado catalogo) {
+        this.inflater = LayoutInflater.from(context);
+        this.iconos = IconoCache.getInstancia(context);
+        this.tamanoIcono = context.getResources().getDimensionPixelSize(R.dimen.icono_lista);
+        this.catalogo = catalogo;
+        this.differ = new AsyncListDiffer<>(this, COMPARADOR);
+        catalogo.setOyente(this);
+        publicar();
+    }
 
-        // Guardar referencias locales para acceso rápido
-        this.context = context;
-        this.entrenamientos = entrenamientos;
+    /**
+     * setOnEntrenamientoClickListener - Registra quién recibe los clicks
+     */
+    public void setOnEntrenamientoClickListener(@Nullable OnEntrenamientoClickListener listener) {
+        this.clickListener = listener;
     }
 
-    // ============= MÉTODO PRINCIPAL DEL ADAPTER =============
+    // ============= ACTUALIZACIONES =============
 
     /**
-     * getView - Crea o reutiliza una vista para un item en la posición especificada
+     * actualizar - Avisa de que el catálogo ha cambiado (apertura, altas)
      *
-     * Este es el método MÁS IMPORTANTE del Adapter.
-     * Android llama a este método por cada item visible en pantalla.
+     * Sustituye a notifyDataSetChanged(): publica una instantánea y el
+     * RecyclerView recibe solo las inserciones, borrados y cambios.
+     */
+    public void actualizar() {
+        publicar();
+    }
+
+    // ============= FILTRO DE BÚSQUEDA =============
+
+    /**
+     * setFiltro - Muestra solo las posiciones dadas de la lista
      *
-     * ¿Cuándo se llama?
-     * - Al mostrar el ListView por primera vez
-     * - Al hacer scroll (nuevos items entran en pantalla)
-     * - Después de notifyDataSetChanged()
+     * El catálogo no se modifica: se publica una instantánea con esas
+     * posiciones, en ese orden.
      *
-     * PATRÓN VIEWHOLDER implementado aquí:
+     * @param posiciones Posiciones en el orden en que se mostrarán: ascendente
+     *                   (búsqueda por nombre) o por relevancia (búsqueda en
+     *                   descripciones). null = quitar el filtro
+     */
+    public void setFiltro(@Nullable int[] posiciones) {
+        this.filtro = posiciones;
+        this.soloAltas = false;
+        publicar();
+    }
+
+    /**
+     * hayFiltro - true si se está mostrando (o se va a mostrar) solo una parte de la lista
+     */
+    public boolean hayFiltro() {
+        return filtro != null;
+    }
+
+    // ============= ORDEN =============
+
+    /**
+     * setOrden - Muestra todo el catálogo en otro orden (sin filtro)
      *
-     * CASO 1: convertView == null (NO hay vista reciclable)
-     * - Inflar nuevo layout XML
-     * - Crear nuevo ViewHolder
-     * - Buscar vistas con findViewById() (SOLO UNA VEZ)
-     * - Guardar ViewHolder en el tag de la vista
+     * Con filtro, el filtro ya llega ordenado y este orden se usa al quitarlo.
      *
-     * CASO 2: convertView != null (SÍ hay vista reciclable)
-     * - Reutilizar la vista existente
-     * - Obtener ViewHolder del tag
-     * - NO llamar a findViewById() (¡optimización!)
+     * @param posiciones Todas las posiciones, en el orden en que se mostrarán.
+     *                   null = orden del catálogo
+     */
+    public void setOrden(@Nullable int[] posiciones) {
+        this.orden = posiciones;
+        this.soloAltas = false;
+        publicar();
+    }
+
+    /**
+     * anadirEnOrden - El mismo orden con altas insertadas en su sitio
      *
-     * Flujo visual del scroll:
+     * Las diferencias con la instantánea anterior son solo esas inserciones
+     * (D pequeño), así que se calculan aunque la lista sea enorme y el
+     * RecyclerView anima la fila nueva en su sitio.
      *
-     * [Item 1] ← Visible
-     * [Item 2] ← Visible
-     * [Item 3] ← Visible
-     * [Item 4] ← Visible (sale de pantalla al hacer scroll)
-     *    ↓
-     * Esta vista se recicla y se usa para:
-     *    ↓
-     * [Item 8] ← Nueva posición visible
+     * @param posiciones El orden nuevo (el anterior más las altas)
+     */
+    public void anadirEnOrden(int[] posiciones) {
+        this.orden = posiciones;
+        this.soloAltas = true;
+        publicar();
+    }
+
+    /**
+     * hayOrden - true si la lista sin filtro se muestra en otro orden que el del catálogo
+     */
+    public boolean hayOrden() {
+        return orden != null;
+    }
+
+    /**
+     * posicionEnLista - Traduce una posición del RecyclerView a la del catálogo
+     */
+    public int posicionEnLista(int posicionVisible) {
+        return differ.getCurrentList().get(posicionVisible);
+    }
+
+    /**
+     * posicionVisible - Traduce una posición del catálogo a la del RecyclerView
+     * @return Posición visible, o -1 si el filtro la oculta
+     */
+    public int posicionVisible(int posicionEnLista) {
+        List<Integer> mostradas = differ.getCurrentList();
+        if (mostradas instanceof Todas) {
+            return posicionEnLista < mostradas.size() ? posicionEnLista : -1;
+        }
+        for (int i = 0; i < mostradas.size(); i++) {
+            if (mostradas.get(i) == posicionEnLista) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * getItem - Entrenamiento de una posición visible (null si su página no ha llegado)
+     */
+    public Entrenamiento getItem(int position) {
+        return catalogo.obtener(posicionEnLista(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    // ============= MÉTODOS DEL RECYCLERVIEW =============
+
+    /**
+     * onCreateViewHolder - Crea una fila nueva (solo cuando no hay ninguna para reciclar)
      *
-     * @param position Posición del item en la lista (0, 1, 2, ...)
-     * @param convertView Vista reciclable (null si no hay vista disponible)
-     * @param parent ListView padre que contiene este item
-     * @return Vista configurada con los datos del item
+     * Aquí se hace todo lo costoso UNA sola vez por fila:
+     * - Inflar el layout (item_entrenamiento: portrait o landscape)
+     * - findViewById() de sus vistas (en el constructor del ViewHolder)
+     * - Registrar el click
      */
     @NonNull
     @Override
-    public View getView(int position, @Nullable View convertView, @NonNull ViewGroup parent) {
-        // Declarar variable para el ViewHolder
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.ADAPTER_CREAR);
+        View vista;
         ViewHolder holder;
+        try {
+            vista = inflater.inflate(R.layout.item_entrenamiento, parent, false);
+            holder = new ViewHolder(vista);
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.ADAPTER_CREAR, inicio);
+        }
 
-        // ========== PASO 1: OBTENER O CREAR LA VISTA ==========
+        vista.setOnClickListener(v -> {
+            // La posición se pide al pulsar: la fila puede haberse movido
+            int posicion = holder.getBindingAdapterPosition();
+            if (posicion != RecyclerView.NO_POSITION && clickListener != null) {
+                clickListener.onEntrenamientoClick(posicionEnLista(posicion));
+            }
+        });
+        return holder;
+    }
 
-        // Verificar si hay una vista reciclable disponible
-        if (convertView == null) {
-            // CASO 1: NO hay vista reciclable → CREAR NUEVA
+    /**
+     * onBindViewHolder - Pone los datos de una posición en una fila (nueva o reciclada)
+     *
+     * Se llama al hacer scroll y cuando llega la página de esa fila; las
+     * filas que siguen igual no se vuelven a enlazar. Si la página aún no
+     * está, la fila queda vacía hasta que llegue.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.ADAPTER_BIND);
+        try {
+            Entrenamiento entrenamiento = getItem(position);
+            if (entrenamiento == null) {
+                holder.ivIcono.setImageDrawable(null);
+                holder.tvNombre.setText(null);
+                return;
+            }
+            iconos.mostrar(holder.ivIcono, RegistroIconos.drawable(entrenamiento.getTipoIcono()), tamanoIcono);
+            holder.tvNombre.setText(entrenamiento.getNombre());
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.ADAPTER_BIND, inicio);
+        }
+    }
 
-            // Inflar el layout XML del item
-            // LayoutInflater convierte XML → objetos View
-            // Parámetros:
-            // - R.layout.item_entrenamiento: Layout del item
-            // - parent: ListView padre
-            // - false: NO adjuntar aún al padre (ListView lo hace después)
-            convertView = LayoutInflater.from(context).inflate(R.layout.item_entrenamiento, parent, false);
+    // ============= PÁGINAS DEL CATÁLOGO =============
 
-            // Crear un nuevo ViewHolder (contenedor de referencias a vistas)
-            holder = new ViewHolder();
+    /**
+     * onPaginaCargada - Redibuja las filas visibles de una página recién llegada
+     *
+     * Sin filtro, las posiciones del catálogo son las visibles. Con filtro
+     * se buscan las filas que caen en el rango.
+     */
+    @Override
+    public void onPaginaCargada(int desde, int cantidad) {
+        List<Integer> mostradas = differ.getCurrentList();
+        if (mostradas instanceof Todas) {
+            int hasta = Math.min(desde + cantidad, mostradas.size());
+            if (hasta > desde) {
+                notifyItemRangeChanged(desde, hasta - desde, PAYLOAD_PAGINA);
+            }
+            return;
+        }
+        for (int i = 0; i < mostradas.size(); i++) {
+            int posicion = mostradas.get(i);
+            if (posicion >= desde && posicion < desde + cantidad) {
+                notifyItemChanged(i, PAYLOAD_PAGINA);
+            }
+        }
+    }
 
-            // Buscar las vistas y guardar referencias en el ViewHolder
-            // findViewById() es una operación COSTOSA (recorre el árbol de vistas)
-            // Por eso solo lo hacemos UNA VEZ y guardamos las referencias
-            holder.ivIcono = convertView.findViewById(R.id.iv_icono);   // ImageView del icono
-            holder.tvNombre = convertView.findViewById(R.id.tv_nombre);  // TextView del nombre
+    // ============= MÉTODOS PRIVADOS =============
 
-            // Guardar el ViewHolder en el tag de la vista
-            // setTag() permite asociar cualquier objeto con una vista
-            // Recuperaremos este ViewHolder en el CASO 2
-            convertView.setTag(holder);
+    /**
+     * publicar - Entrega una instantánea al differ (o la deja pendiente)
+     *
+     * La instantánea no copia nada: envuelve el filtro, el orden o el rango 0..n-1.
+     * getCurrentList() pasa a ser la nueva cuando el differ la aplica, así
+     * que posicionEnLista() siempre corresponde a lo que se ve.
+     */
+    private void publicar() {
+        if (calculando) {
+            publicacionPendiente = true;
+            return;
+        }
 
-        } else {
-            // CASO 2: SÍ hay vista reciclable → REUTILIZAR
+        List<Integer> anterior = differ.getCurrentList();
+        List<Integer> instantanea = filtro != null ? new Filtradas(filtro)
+                : orden != null ? new Filtradas(orden)
+                : new Todas(catalogo.tamano());
+
+        // Dos listas grandes que no son "la misma, con más filas": calcular
+        // las diferencias costaría más que sustituirla
+        boolean ampliacion = (anterior instanceof Todas && instantanea instanceof Todas)
+                || (soloAltas && instantanea.size() >= anterior.size());
+        soloAltas = false;
+        if (!ampliacion && Math.max(anterior.size(), instantanea.size()) > LIMITE_DIFERENCIAS) {
+            differ.submitList(null);
+        }
 
-            // Recuperar el ViewHolder que guardamos en el tag
-            // getTag() retorna Object, por eso hacemos cast a ViewHolder
-            holder = (ViewHolder) convertView.getTag();
+        calculando = true;
+        differ.submitList(instantanea, () -> {
+            calculando = false;
+            if (publicacionPendiente) {
+                publicacionPendiente = false;
+                publicar();
+            }
+        });
+    }
 
-            // ¡NO llamamos a findViewById()! → OPTIMIZACIÓN
-            // Ya tenemos las referencias guardadas en holder
-        }
+    // ============= INSTANTÁNEAS DE POSICIONES =============
+
+    /**
+     * Todas - Las posiciones 0..n-1 (sin filtro), sin guardar ningún número
+     */
+    private static final class Todas extends AbstractList<Integer> implements RandomAccess {
+        private final int tamano;
 
-        // ========== PASO 2: OBTENER LOS DATOS ==========
+        Todas(int tamano) {
+            this.tamano = tamano;
+        }
 
-        // Obtener el objeto Entrenamiento de la posición actual
-        // position = 0 → primer item, position = 1 → segundo item, etc.
-        Entrenamiento entrenamiento = entrenamientos.get(position);
+        @Override
+        public Integer get(int indice) {
+            if (indice < 0 || indice >= tamano) {
+                throw new IndexOutOfBoundsException("Índice " + indice + ", tamaño " + tamano);
+            }
+            return indice;
+        }
 
-        // ========== PASO 3: ACTUALIZAR LAS VISTAS CON LOS DATOS ==========
+        @Override
+        public int size() {
+            return tamano;
+        }
+    }
 
-        // Usar las referencias del ViewHolder (rápido, sin findViewById)
-        // Asignar el icono del entrenamiento al ImageView
-        holder.ivIcono.setImageResource(entrenamiento.getIconoResId());
+    /**
+     * Filtradas - Las posiciones de un filtro o de un orden, tal cual (envuelve el array)
+     */
+    private static final class Filtradas extends AbstractList<Integer> implements RandomAccess {
+        private final int[] posiciones;
 
-        // Asignar el nombre del entrenamiento al TextView
-        holder.tvNombre.setText(entrenamiento.getNombre());
+        Filtradas(int[] posiciones) {
+            this.posiciones = posiciones;
+        }
 
-        // ========== PASO 4: RETORNAR LA VISTA CONFIGURADA ==========
+        @Override
+        public Integer get(int indice) {
+            return posiciones[indice];
+        }
 
-        // Retornar la vista lista para ser mostrada en el ListView
-        return convertView;
+        @Override
+        public int size() {
+            return posiciones.length;
+        }
     }
 
     // ============= CLASE VIEWHOLDER =============
 
     /**
-     * ViewHolder - Contenedor de referencias a las vistas de un item
-     *
-     * Este patrón es FUNDAMENTAL para la optimización de ListViews.
+     * ViewHolder - Contenedor de referencias a las vistas de una fila
      *
      * ¿Qué problema resuelve?
      * - findViewById() es una operación costosa (O(n) en profundidad del árbol)
-     * - Sin ViewHolder: se llama findViewById() cada vez que se hace scroll
-     * - Con ViewHolder: se llama findViewById() solo al crear la vista
-     *
-     * ¿Cómo funciona?
-     * 1. Al inflar una vista nueva → crear ViewHolder → buscar vistas → guardar referencias
-     * 2. Guardar ViewHolder en el tag de la vista
-     * 3. Al reciclar la vista → recuperar ViewHolder del tag → usar referencias guardadas
-     *
-     * Mejora de rendimiento:
-     * - Lista con 50 items visibles, usuario hace scroll por todos
-     * - Sin ViewHolder: ~500 llamadas a findViewById() → Scroll entrecortado
-     * - Con ViewHolder: ~10 llamadas a findViewById() → Scroll suave
+     * - Con ViewHolder se llama solo al crear la fila, nunca al reciclarla
      *
-     * ¿Por qué static?
-     * - No necesita acceso a la instancia del Adapter
-     * - Más eficiente en memoria
-     * - Evita referencias innecesarias
-     *
-     * Nota: En RecyclerView esto es obligatorio, en ListView es opcional pero MUY recomendado
+     * En RecyclerView es obligatorio: el propio RecyclerView guarda los
+     * ViewHolder y los reutiliza (no hace falta setTag/getTag).
      */
-    static class ViewHolder {
+    static class ViewHolder extends RecyclerView.ViewHolder {
         /** Referencia al ImageView que muestra el icono del entrenamiento */
-        ImageView ivIcono;
+        final ImageView ivIcono;
 
         /** Referencia al TextView que muestra el nombre del entrenamiento */
-        TextView tvNombre;
+        final TextView tvNombre;
 
-        // Solo guardamos referencias a las vistas que necesitamos actualizar
-        // No guardamos vistas estáticas o que no cambian
+        ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            ivIcono = itemView.findViewById(R.id.iv_icono);
+            tvNombre = itemView.findViewById(R.id.tv_nombre);
+        }
     }
 }
-
@@ -0,0 +1,259 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.content.Context;   // Contexto de la app
+import android.util.Log;          // Registro de errores
+
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.CatalogoPaginado;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.EntrenamientoMappedFile;
+
+import java.io.File;              // Archivo mapeado
+import java.io.IOException;       // Errores de E/S
+import java.util.ArrayList;       // Lotes de la carga incremental
+import java.util.Collections;     // Lista vacía
+import java.util.List;            // Interfaz de lista
+import java.util.function.Consumer;  // Receptor de lotes en la carga incremental
+
+/**
+ * EntrenamientoMappedStorage - Almacenamiento en un archivo mapeado en memoria
+ *
+ * Tercera implementación de EntrenamientoStorage. Los entrenamientos se
+ * guardan en files/entrenamientos.map (formato EntrenamientoMappedFile):
+ * una cabecera, un índice de offsets de ancho fijo y los registros.
+ *
+ * Además del contrato de EntrenamientoStorage (cargar, hay, limpiar...)
+ * ofrece acceso por posición:
+ * - contar()          número de entrenamientos, sin decodificar ninguno
+ * - obtener(posicion) decodifica solo ese entrenamiento
+ * - cargarPagina(desde, cantidad) decodifica un rango (Fuente de CatalogoPaginado)
+ * - vistaEntrenamientos() lista de solo lectura que decodifica cada
+ *   entrenamiento en get(), al pedirlo
+ *
+ * Así el arranque no depende del tamaño del catálogo y en memoria solo
+ * están las filas que se han mostrado.
+ *
+ * Escrituras: cada cambio reescribe el archivo completo (igual que el modo
+ * PREFERENCIAS). Es un formato pensado para catálogos grandes que se leen
+ * mucho y cambian poco.
+ *
+ * Importación:
+ * - La primera vez se importa la clave entrenamientos_list de
+ *   EntrenamientosPrefs y se borra para no importarla dos veces.
+ */
+public class EntrenamientoMappedStorage extends EntrenamientoStorage implements CatalogoPaginado.Fuente {
+
+    // ============= CONSTANTES =============
+
+    /** Nombre del archivo mapeado (/data/data/.../files/entrenamientos.map) */
+    private static final String ARCHIVO_MAPEADO = "entrenamientos.map";
+
+    /** Etiqueta para los mensajes de Log */
+    private static final String TAG = "EntrenamientoMapped";
+
+    // ============= ATRIBUTOS =============
+
+    /** Archivo con los registros */
+    private final File archivo;
+
+    /** Archivo abierto (null si no existe o hay que volver a abrirlo tras escribir) */
+    private EntrenamientoMappedFile abierto;
+
+    /** true cuando ya se ha comprobado si había datos que importar */
+    private boolean importacionComprobada;
+
+    // ============= CONSTRUCTOR =============
+
+    /**
+     * Constructor - Prepara el archivo mapeado
+     *
+     * La clase padre se construye en modo PREFERENCIAS: sirve para leer los
+     * datos antiguos durante la importación, y sus operaciones incrementales
+     * (cargar → modificar → guardar) acaban en los métodos de esta clase.
+     *
+     * @param context Contexto de la aplicación
+     */
+    public EntrenamientoMappedStorage(Context context) {
+        super(context, Modo.PREFERENCIAS);
+        this.archivo = new File(context.getFilesDir(), ARCHIVO_MAPEADO);
+    }
+
+    // ============= CONTRATO DE EntrenamientoStorage =============
+
+    /**
+     * guardarEntrenamientos - Reescribe el archivo con la lista dada
+     *
+     * Las vistas obtenidas antes con vistaEntrenamientos() siguen mostrando
+     * los datos anteriores; hay que pedir una vista nueva.
+     *
+     * @param entrenamientos Lista completa a guardar
+     */
+    @Override
+    public synchronized void guardarEntrenamientos(List<Entrenamiento> entrenamientos) {
+        try {
+            EntrenamientoMappedFile.escribir(archivo, entrenamientos);
+        } catch (IOException e) {
+            Log.e(TAG, "Error al escribir el archivo mapeado", e);
+        }
+        abierto = null;
+    }
+
+    /**
+     * cargarEntrenamientos - Decodifica todos los registros
+     * @return Lista de entrenamientos, null si no hay ninguno
+     */
+    @Override
+    public synchronized List<Entrenamiento> cargarEntrenamientos() {
+        EntrenamientoMappedFile mapeado = abrir();
+        if (mapeado == null || mapeado.tamano() == 0) {
+            return null;
+        }
+        return mapeado.leerTodos();
+    }
+
+    /**
+     * cargarEntrenamientos - Carga incremental decodificando lote a lote
+     *
+     * Gracias al índice no hay que leer el archivo entero antes de entregar
+     * el primer lote.
+     */
+    @Override
+    public int cargarEntrenamientos(int tamanoLote, Consumer<List<Entrenamiento>> consumidor) {
+        EntrenamientoMappedFile mapeado;
+        synchronized (this) {
+            mapeado = abrir();
+        }
+        if (mapeado == null) {
+            return 0;
+        }
+
+        int capacidad = Math.max(1, tamanoLote);
+        int total = mapeado.tamano();
+        for (int desde = 0; desde < total; desde += capacidad) {
+            int hasta = Math.min(total, desde + capacidad);
+            List<Entrenamiento> lote = new ArrayList<>(hasta - desde);
+            for (int i = desde; i < hasta; i++) {
+                lote.add(mapeado.obtener(i));
+            }
+            consumidor.accept(lote);
+        }
+        return total;
+    }
+
+    /**
+     * limpiarEntrenamientos - Borra el archivo mapeado
+     */
+    @Override
+    public synchronized void limpiarEntrenamientos() {
+        abierto = null;
+        if (archivo.exists() && !archivo.delete()) {
+            Log.e(TAG, "No se pudo borrar " + archivo);
+        }
+    }
+
+    /**
+     * hayEntrenamientosGuardados - true si el archivo tiene al menos un registro
+     */
+    @Override
+    public synchronized boolean hayEntrenamientosGuardados() {
+        return contar() > 0;
+    }
+
+    // ============= ACCESO POR POSICIÓN =============
+
+    /**
+     * contar - Número de entrenamientos guardados
+     *
+     * Solo lee la cabecera del archivo.
+     */
+    @Override
+    public synchronized int contar() {
+        EntrenamientoMappedFile mapeado = abrir();
+        return mapeado == null ? 0 : mapeado.tamano();
+    }
+
+    /**
+     * obtener - Entrenamiento de una posición, decodificado bajo demanda
+     *
+     * @param posicion Posición (0 .. contar() - 1)
+     * @return Entrenamiento de esa posición
+     * @throws IndexOutOfBoundsException Si la posición no existe
+     */
+    public synchronized Entrenamiento obtener(int posicion) {
+        EntrenamientoMappedFile mapeado = abrir();
+        if (mapeado == null) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + ", tamaño 0");
+        }
+        return mapeado.obtener(posicion);
+    }
+
+    /**
+     * cargarPagina - Decodifica los entrenamientos de [desde, desde + cantidad)
+     *
+     * @param desde Posición del primero
+     * @param cantidad Número máximo de entrenamientos
+     * @return Entrenamientos de la página (menos si se llega al final)
+     */
+    @Override
+    public synchronized List<Entrenamiento> cargarPagina(int desde, int cantidad) {
+        EntrenamientoMappedFile mapeado = abrir();
+        int hasta = mapeado == null ? 0 : Math.min(mapeado.tamano(), desde + cantidad);
+        List<Entrenamiento> pagina = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int i = desde; i < hasta; i++) {
+            pagina.add(mapeado.obtener(i));
+        }
+        return pagina;
+    }
+
+    /**
+     * vistaEntrenamientos - Lista de solo lectura respaldada por el archivo
+     *
+     * Cada get(i) decodifica el registro i: recorrerla solo en parte (las
+     * posiciones visibles) no decodifica el resto. Copiarla entera (new
+     * ArrayList<>(vista)) sí decodifica todos los registros.
+     *
+     * @return Vista inmutable (vacía si no hay archivo)
+     */
+    public synchronized List<Entrenamiento> vistaEntrenamientos() {
+        EntrenamientoMappedFile mapeado = abrir();
+        return mapeado == null ? Collections.emptyList() : mapeado.comoLista();
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * abrir - Archivo abierto (lo mapea la primera vez o tras una escritura)
+     * @return Archivo abierto, null si no existe o no se puede leer
+     */
+    private EntrenamientoMappedFile abrir() {
+        importarDatosAnteriores();
+        if (abierto == null && archivo.exists()) {
+            try {
+                abierto = EntrenamientoMappedFile.abrir(archivo, migracionIconos);
+            } catch (IOException e) {
+                Log.e(TAG, "Error al abrir el archivo mapeado", e);
+            }
+        }
+        return abierto;
+    }
+
+    /**
+     * importarDatosAnteriores - Copia una sola vez la lista JSON de SharedPreferences
+     */
+    private void importarDatosAnteriores() {
+        if (importacionComprobada) {
+            return;
+        }
+        importacionComprobada = true;
+
+        if (archivo.exists() || !super.hayEntrenamientosGuardados()) {
+            return;
+        }
+
+        List<Entrenamiento> anteriores = super.cargarEntrenamientos();
+        guardarEntrenamientos(anteriores != null ? anteriores : new ArrayList<>());
+
+        // Solo se borra el origen si la copia se ha escrito
+        if (archivo.exists()) {
+            super.limpiarEntrenamientos();
+        }
+    }
+}
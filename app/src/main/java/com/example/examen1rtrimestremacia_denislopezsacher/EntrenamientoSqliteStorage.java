@@ -0,0 +1,872 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.content.ContentValues;                     // Valores de una fila
+import android.content.Context;                           // Contexto de la app
+import android.database.Cursor;                           // Resultado de una consulta
+import android.database.DatabaseUtils;                    // Utilidades (contar filas)
+import android.database.sqlite.SQLiteConstraintException; // Violación del índice único
+import android.database.sqlite.SQLiteDatabase;            // Base de datos SQLite
+import android.database.sqlite.SQLiteOpenHelper;          // Creación/actualización del esquema
+import android.database.sqlite.SQLiteStatement;           // Sentencias compiladas (importación)
+import android.util.Log;                                  // Registro de errores
+
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndiceNombres;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndiceTextual;
+import com.example.examen1rtrimestremacia_denislopezsacher.metricas.RegistroMetricas;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.CatalogoPaginado;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.MigracionIconos;
+
+import java.io.File;         // Archivo del índice de texto
+import java.util.ArrayList;  // Lista dinámica
+import java.util.HashSet;    // Claves ya vistas (migración a la versión 4)
+import java.util.List;       // Interfaz de lista
+import java.util.Set;        // Interfaz de conjunto
+import java.util.function.Consumer;  // Receptor de lotes en la carga incremental
+
+/**
+ * EntrenamientoSqliteStorage - Almacenamiento de entrenamientos en SQLite
+ *
+ * Alternativa a EntrenamientoStorage con sus mismas operaciones (guardar,
+ * cargar, añadir, editar, borrar). En lugar de un único JSON con toda la
+ * lista, cada entrenamiento es una fila de una tabla de cabeceras y su
+ * descripción va aparte:
+ *
+ *   entrenamientos(id INTEGER PRIMARY KEY, nombre TEXT, clave TEXT, icono INTEGER)
+ *   índice único idx_entrenamientos_clave sobre clave
+ *   descripciones(id INTEGER PRIMARY KEY, texto TEXT)   (mismo id)
+ *
+ * clave es el nombre normalizado con IndiceNombres.normalizar() (trim, NFC
+ * y mayúsculas/minúsculas de Unicode), la misma regla que el índice de
+ * nombres y el filtro Bloom del repositorio: "Élite"/"élite" y
+ * "Ñandú"/"ñandú" son duplicados. COLLATE NOCASE de SQLite solo pliega
+ * las letras ASCII, por eso no se usa.
+ *
+ * La lista solo pinta nombre e icono: las páginas y las búsquedas por id
+ * o nombre devuelven CABECERAS (descripción null) leídas de una
+ * tabla con filas de pocos bytes, así que abrir el catálogo y recorrerlo
+ * no depende de lo largas que sean las descripciones. La descripción se
+ * pide con cargarDescripcion() al abrir el detalle. cargarEntrenamientos()
+ * (lista completa) sigue devolviendo entrenamientos completos.
+ *
+ * icono es el código de TipoIcono (1..255: SQLite lo guarda en 1 byte).
+ * En la versión 1 del esquema era el id de recurso; onUpgrade lo traduce.
+ *
+ * Ventajas frente al JSON:
+ * - Añadir/editar/borrar toca una sola fila
+ * - Buscar por nombre usa el índice (no hay que cargar ni recorrer la lista)
+ * - Se pueden pedir páginas o solo el número de filas
+ *   (es la Fuente de CatalogoPaginado)
+ *
+ * Importación:
+ * - La primera vez se importan los datos anteriores (clave entrenamientos_list
+ *   de EntrenamientosPrefs, o el diario si se usó el modo DIARIO) y se borran
+ *   del almacenamiento antiguo para no importarlos dos veces.
+ * - No hereda de EntrenamientoStorage: tiene uno en modo DIARIO (campo
+ *   'anterior') que solo se usa para leer esos datos.
+ * - Mientras se importa, el resto de llamadas espera: nadie ve la tabla
+ *   vacía a medio importar (y cree que es la primera ejecución).
+ */
+public class EntrenamientoSqliteStorage implements CatalogoPaginado.Fuente {
+
+    // ============= CONSTANTES =============
+
+    /** Nombre del archivo de base de datos (/data/data/.../databases/entrenamientos.db) */
+    private static final String NOMBRE_BD = "entrenamientos.db";
+
+    /**
+     * Versión del esquema
+     * 1: icono = id de recurso (R.drawable.ic_xxx)
+     * 2: icono = código de TipoIcono
+     * 3: descripciones en su propia tabla (cabeceras compactas)
+     * 4: columna clave (nombre normalizado) con el índice único
+     */
+    private static final int VERSION_BD = 4;
+
+    /** selloIndiceTexto(): la tabla no tiene las filas del índice */
+    public static final long SIN_SELLO = 0;
+
+    /** Tabla de cabeceras de entrenamientos */
+    private static final String TABLA = "entrenamientos";
+
+    /** Tabla de descripciones (una fila por entrenamiento, mismo id) */
+    private static final String TABLA_DESCRIPCIONES = "descripciones";
+
+    /** Columnas de la tabla de cabeceras */
+    private static final String COL_ID = "id";
+    private static final String COL_NOMBRE = "nombre";
+    private static final String COL_CLAVE = "clave";
+    private static final String COL_ICONO = "icono";
+
+    /** Columnas de la tabla de descripciones (la clave es COL_ID) */
+    private static final String COL_TEXTO = "texto";
+
+    /** Nombre de la columna de descripción en las versiones 1 y 2 */
+    private static final String COL_DESCRIPCION_ANTIGUA = "descripcion";
+
+    /** Columnas que se leen para reconstruir una cabecera */
+    private static final String[] COLUMNAS = {COL_ID, COL_NOMBRE, COL_ICONO};
+
+    /** Entrenamientos completos: cabeceras + descripción, en orden de alta */
+    private static final String SELECT_COMPLETOS = "SELECT e." + COL_ID + ", e." + COL_NOMBRE
+            + ", e." + COL_ICONO + ", d." + COL_TEXTO
+            + " FROM " + TABLA + " e LEFT JOIN " + TABLA_DESCRIPCIONES + " d ON d." + COL_ID
+            + " = e." + COL_ID + " ORDER BY e." + COL_ID;
+
+    /** Descripciones en orden de alta (null donde no hay) */
+    private static final String SELECT_DESCRIPCIONES = "SELECT d." + COL_TEXTO
+            + " FROM " + TABLA + " e LEFT JOIN " + TABLA_DESCRIPCIONES + " d ON d." + COL_ID
+            + " = e." + COL_ID + " ORDER BY e." + COL_ID;
+
+    /** Ids de los entrenamientos con una clave (subconsulta sobre el índice único) */
+    private static final String WHERE_ID_DE_CLAVE = COL_ID + " IN (SELECT " + COL_ID
+            + " FROM " + TABLA + " WHERE " + COL_CLAVE + " = ?)";
+
+    /** Alta de una cabecera con id asignado (el nombre repetido se ignora) */
+    private static final String INSERT_CABECERA = "INSERT OR IGNORE INTO " + TABLA
+            + " (" + COL_ID + ", " + COL_NOMBRE + ", " + COL_CLAVE + ", " + COL_ICONO
+            + ") VALUES (?, ?, ?, ?)";
+
+    /** Alta de una descripción */
+    private static final String INSERT_DESCRIPCION = "INSERT OR REPLACE INTO " + TABLA_DESCRIPCIONES
+            + " (" + COL_ID + ", " + COL_TEXTO + ") VALUES (?, ?)";
+
+    /** Condición que usa el índice único (el argumento es clave(nombre)) */
+    private static final String WHERE_CLAVE = COL_CLAVE + " = ?";
+
+    /**
+     * Normalizador de las claves (solo se usa su normalizar(), que no
+     * cambia nada: vale desde cualquier hilo)
+     */
+    private static final IndiceNombres NORMALIZADOR =
+            new IndiceNombres(IndiceNombres.LOCALE_CLAVES, false);
+
+    /** Etiqueta para los mensajes de Log */
+    private static final String TAG = "EntrenamientoSqlite";
+
+    /**
+     * Helper compartido por todo el proceso
+     * SQLiteOpenHelper mantiene una única conexión; abrir varias sobre el
+     * mismo archivo solo añade bloqueos.
+     */
+    private static BaseDatos baseDatos;
+
+    /**
+     * true cuando los datos anteriores ya están en la tabla (o no había)
+     * Se lee y se escribe con el lock de la clase, el mismo de la importación.
+     */
+    private static boolean importacionComprobada;
+
+    // ============= ATRIBUTOS =============
+
+    /** Almacenamiento antiguo (modo DIARIO: lee también las preferencias), solo para importar */
+    private final EntrenamientoStorage anterior;
+
+    /** Traducción de los ids de recurso del esquema 1 */
+    private final MigracionIconos migracionIconos;
+
+    // ============= CONSTRUCTOR =============
+
+    /**
+     * Constructor - Abre (o crea) la base de datos
+     *
+     * El almacenamiento antiguo se crea en modo DIARIO solo para poder leer
+     * los datos anteriores durante la importación.
+     *
+     * @param context Contexto de la aplicación
+     */
+    public EntrenamientoSqliteStorage(Context context) {
+        anterior = new EntrenamientoStorage(context, EntrenamientoStorage.Modo.DIARIO);
+        migracionIconos = RegistroIconos.migracion(context);
+        synchronized (EntrenamientoSqliteStorage.class) {
+            if (baseDatos == null) {
+                baseDatos = new BaseDatos(context.getApplicationContext(), migracionIconos);
+            }
+        }
+    }
+
+    // ============= ALMACENAMIENTO (mismas operaciones que EntrenamientoStorage) =============
+
+    /**
+     * guardarEntrenamientos - Sustituye todas las filas por la lista dada
+     *
+     * Todo en una transacción: o se guarda la lista completa o nada.
+     *
+     * @param entrenamientos Lista completa a guardar
+     */
+    public void guardarEntrenamientos(List<Entrenamiento> entrenamientos) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.STORAGE_GUARDAR);
+        SQLiteDatabase db = baseDatos.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLA, null, null);
+            db.delete(TABLA_DESCRIPCIONES, null, null);
+            for (Entrenamiento entrenamiento : entrenamientos) {
+                insertar(db, entrenamiento, SQLiteDatabase.CONFLICT_IGNORE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            Instrumentacion.terminar(Instrumentacion.STORAGE_GUARDAR, inicio);
+        }
+    }
+
+    /**
+     * cargarEntrenamientos - Lee todas las filas en orden de alta (con descripción)
+     * @return Lista de entrenamientos, null si la tabla está vacía
+     */
+    public List<Entrenamiento> cargarEntrenamientos() {
+        importarDatosAnteriores();
+        List<Entrenamiento> entrenamientos = new ArrayList<>();
+        cargarEntrenamientos(Integer.MAX_VALUE, entrenamientos::addAll);
+        return entrenamientos.isEmpty() ? null : entrenamientos;
+    }
+
+    /**
+     * cargarEntrenamientos - Carga incremental recorriendo un cursor
+     *
+     * Cada 'tamanoLote' filas se entrega un lote al consumidor; la lista
+     * completa nunca se construye aquí. Los entrenamientos van completos
+     * (cabecera + descripción).
+     */
+    public int cargarEntrenamientos(int tamanoLote, Consumer<List<Entrenamiento>> consumidor) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.STORAGE_CARGAR);
+        try {
+            return cargarCompletos(tamanoLote, consumidor);
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.STORAGE_CARGAR, inicio);
+        }
+    }
+
+    /**
+     * cargarCompletos - Carga incremental sin medir (cabecera + descripción)
+     *
+     * También la usa la exportación, que se mide aparte.
+     */
+    int cargarCompletos(int tamanoLote, Consumer<List<Entrenamiento>> consumidor) {
+        importarDatosAnteriores();
+        int capacidad = Math.max(1, tamanoLote);
+        int total = 0;
+        List<Entrenamiento> lote = new ArrayList<>(Math.min(capacidad, 1024));
+
+        try (Cursor cursor = baseDatos.getReadableDatabase().rawQuery(SELECT_COMPLETOS, null)) {
+            while (cursor.moveToNext()) {
+                Entrenamiento entrenamiento = leerFila(cursor);
+                entrenamiento.setDescripcion(cursor.getString(3));
+                lote.add(entrenamiento);
+                total++;
+                if (lote.size() == capacidad) {
+                    consumidor.accept(lote);
+                    lote = new ArrayList<>(Math.min(capacidad, 1024));
+                }
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            consumidor.accept(lote);
+        }
+        return total;
+    }
+
+    /**
+     * limpiarEntrenamientos - Borra todas las filas
+     */
+    public void limpiarEntrenamientos() {
+        SQLiteDatabase db = baseDatos.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLA, null, null);
+            db.delete(TABLA_DESCRIPCIONES, null, null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * hayEntrenamientosGuardados - true si hay al menos una fila
+     */
+    public boolean hayEntrenamientosGuardados() {
+        importarDatosAnteriores();
+        return contar() > 0;
+    }
+
+    /**
+     * anadirEntrenamiento - Inserta cabecera y descripción y asigna el id al entrenamiento
+     */
+    public void anadirEntrenamiento(Entrenamiento entrenamiento) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.SQLITE_ANADIR);
+        SQLiteDatabase db = baseDatos.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            insertar(db, entrenamiento, SQLiteDatabase.CONFLICT_ABORT);
+            db.setTransactionSuccessful();
+        } catch (SQLiteConstraintException e) {
+            Log.w(TAG, "Nombre duplicado, no se inserta: " + entrenamiento.getNombre());
+        } finally {
+            db.endTransaction();
+            Instrumentacion.terminar(Instrumentacion.SQLITE_ANADIR, inicio);
+        }
+    }
+
+    /**
+     * anadirLote - Inserta un lote en una sola transacción (importación masiva)
+     *
+     * Dos sentencias compiladas una vez por lote (cabecera y descripción):
+     * cada fila solo enlaza sus valores, sin ContentValues ni volver a
+     * preparar el SQL, y el lote llega al disco con un único commit.
+     * Los ids ya vienen asignados (RepositorioEntrenamientos); un nombre
+     * repetido que se haya colado se ignora con su descripción.
+     */
+    public void anadirLote(List<Entrenamiento> lote) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.SQLITE_LOTE);
+        SQLiteDatabase db = baseDatos.getWritableDatabase();
+        int insertadas = 0;
+        db.beginTransaction();
+        try (SQLiteStatement cabecera = db.compileStatement(INSERT_CABECERA);
+             SQLiteStatement texto = db.compileStatement(INSERT_DESCRIPCION)) {
+            for (Entrenamiento entrenamiento : lote) {
+                cabecera.bindLong(1, entrenamiento.getId());
+                cabecera.bindString(2, entrenamiento.getNombre());
+                cabecera.bindString(3, clave(entrenamiento.getNombre()));
+                cabecera.bindLong(4, entrenamiento.getTipoIcono().getCodigo() & 0xFF);
+                if (cabecera.executeInsert() == -1) {
+                    continue;  // Nombre repetido: ni cabecera ni descripción
+                }
+                texto.bindLong(1, entrenamiento.getId());
+                if (entrenamiento.getDescripcion() == null) {
+                    texto.bindNull(2);
+                } else {
+                    texto.bindString(2, entrenamiento.getDescripcion());
+                }
+                texto.executeInsert();
+                insertadas++;
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            Instrumentacion.terminar(Instrumentacion.SQLITE_LOTE, inicio);
+        }
+        Instrumentacion.contar(Instrumentacion.SQLITE_FILAS_IMPORTADAS, insertadas);
+    }
+
+    /**
+     * actualizarEntrenamiento - Actualiza la fila con el nombre anterior y su descripción
+     *
+     * No cambia el número de filas ni el último id (el sello del índice de
+     * descripciones), así que el índice guardado se borra: se reconstruye
+     * en el siguiente arranque.
+     */
+    public void actualizarEntrenamiento(String nombreAnterior, Entrenamiento entrenamiento) {
+        SQLiteDatabase db = baseDatos.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            int filas = db.update(TABLA, valores(entrenamiento), WHERE_CLAVE,
+                    new String[]{clave(nombreAnterior)});
+            if (filas == 0) {
+                insertar(db, entrenamiento, SQLiteDatabase.CONFLICT_ABORT);
+            } else {
+                ContentValues texto = new ContentValues();
+                texto.put(COL_TEXTO, entrenamiento.getDescripcion());
+                db.update(TABLA_DESCRIPCIONES, texto, WHERE_ID_DE_CLAVE,
+                        new String[]{clave(entrenamiento.getNombre())});
+            }
+            db.setTransactionSuccessful();
+            //noinspection ResultOfMethodCallIgnored
+            getArchivoIndiceTexto().delete();
+        } catch (SQLiteConstraintException e) {
+            Log.w(TAG, "Nombre duplicado, no se actualiza: " + entrenamiento.getNombre());
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * eliminarEntrenamiento - Borra la fila con ese nombre y su descripción
+     */
+    public void eliminarEntrenamiento(String nombre) {
+        SQLiteDatabase db = baseDatos.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            String[] clave = {clave(nombre)};
+            db.delete(TABLA_DESCRIPCIONES, WHERE_ID_DE_CLAVE, clave);
+            db.delete(TABLA, WHERE_CLAVE, clave);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * esIncremental - Cada cambio toca solo su fila
+     */
+    public boolean esIncremental() {
+        return true;
+    }
+
+    /**
+     * getArchivoIndiceTexto - Archivo del índice de las descripciones
+     *
+     * El mismo que en los demás almacenamientos (junto a los datos).
+     */
+    public File getArchivoIndiceTexto() {
+        return anterior.getArchivoIndiceTexto();
+    }
+
+    // ============= CONSULTAS INDEXADAS =============
+
+    /**
+     * buscarPorNombre - Busca un entrenamiento por nombre (sin distinguir mayúsculas)
+     *
+     * Usa el índice único de la clave normalizada: no recorre la tabla y
+     * coincide con IndiceNombres (también en acentos y ñ).
+     *
+     * @param nombre Nombre a buscar
+     * @return El entrenamiento guardado con ese nombre, o null
+     */
+    public Entrenamiento buscarPorNombre(String nombre) {
+        List<Entrenamiento> resultado = consultar(WHERE_CLAVE, new String[]{clave(nombre)}, null, "1");
+        return resultado.isEmpty() ? null : resultado.get(0);
+    }
+
+    /**
+     * buscarPorId - Busca un entrenamiento por su id (clave primaria)
+     *
+     * @param id Id asignado al guardarlo
+     * @return El entrenamiento guardado con ese id, o null
+     */
+    public Entrenamiento buscarPorId(long id) {
+        List<Entrenamiento> resultado = consultar(COL_ID + " = ?", new String[]{String.valueOf(id)}, null, "1");
+        return resultado.isEmpty() ? null : resultado.get(0);
+    }
+
+    /**
+     * cargarDescripcion - Descripción de un entrenamiento (clave primaria de la tabla de descripciones)
+     *
+     * @param id Id del entrenamiento
+     * @return Su descripción, o null si no tiene o no existe
+     */
+    public String cargarDescripcion(long id) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.SQLITE_DESCRIPCION);
+        try (Cursor cursor = baseDatos.getReadableDatabase().query(TABLA_DESCRIPCIONES,
+                new String[]{COL_TEXTO}, COL_ID + " = ?", new String[]{String.valueOf(id)},
+                null, null, null, "1")) {
+            String texto = cursor.moveToFirst() ? cursor.getString(0) : null;
+            Instrumentacion.sumarBytes(Instrumentacion.SQLITE_DESCRIPCION, RegistroMetricas.bytesUtf8(texto));
+            return texto;
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.SQLITE_DESCRIPCION, inicio);
+        }
+    }
+
+    /**
+     * recorrerDescripciones - Entrega las descripciones por lotes en orden de alta
+     *
+     * Mismo orden que las páginas: la descripción i es la del entrenamiento
+     * de la posición i (null si no tiene). Para construir el índice de texto
+     * sin tener todas las descripciones en memoria a la vez.
+     *
+     * @param limite Máximo de descripciones (las de las filas que ya se contaron;
+     *               las altas insertadas después no se entregan)
+     * @param tamanoLote Descripciones por lote
+     * @param consumidor Recibe cada lote (lista nueva en cada llamada)
+     * @return Número de descripciones entregadas
+     */
+    public int recorrerDescripciones(int limite, int tamanoLote, Consumer<List<String>> consumidor) {
+        int capacidad = Math.max(1, tamanoLote);
+        int total = 0;
+        List<String> lote = new ArrayList<>(capacidad);
+        try (Cursor cursor = baseDatos.getReadableDatabase().rawQuery(
+                SELECT_DESCRIPCIONES + " LIMIT " + limite, null)) {
+            while (cursor.moveToNext()) {
+                lote.add(cursor.getString(0));
+                total++;
+                if (lote.size() == capacidad) {
+                    consumidor.accept(lote);
+                    lote = new ArrayList<>(capacidad);
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            consumidor.accept(lote);
+        }
+        return total;
+    }
+
+    /**
+     * recorrerNombres - Entrega todos los nombres guardados, uno a uno
+     *
+     * Solo la columna del nombre (la importación los necesita para detectar
+     * duplicados): no se crean entrenamientos ni pasan por la caché.
+     *
+     * @return Número de nombres entregados
+     */
+    public int recorrerNombres(Consumer<String> consumidor) {
+        int total = 0;
+        try (Cursor cursor = baseDatos.getReadableDatabase().query(TABLA,
+                new String[]{COL_NOMBRE}, null, null, null, null, null)) {
+            while (cursor.moveToNext()) {
+                consumidor.accept(cursor.getString(0));
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * ultimoId - Mayor id asignado alguna vez (aunque su fila se haya borrado)
+     *
+     * Quien asigna los ids antes de insertar (RepositorioEntrenamientos)
+     * empieza por el siguiente: AUTOINCREMENT no reutiliza ids y así
+     * tampoco se reutilizan los asignados a mano.
+     *
+     * @return Último id, o 0 si la tabla nunca ha tenido filas
+     */
+    public long ultimoId() {
+        SQLiteDatabase db = baseDatos.getReadableDatabase();
+        long secuencia = DatabaseUtils.longForQuery(db,
+                "SELECT COALESCE(MAX(seq), 0) FROM sqlite_sequence WHERE name = ?", new String[]{TABLA});
+        long maximo = DatabaseUtils.longForQuery(db,
+                "SELECT COALESCE(MAX(" + COL_ID + "), 0) FROM " + TABLA, null);
+        return Math.max(secuencia, maximo);
+    }
+
+    /**
+     * selloIndiceTexto - Sello de la tabla para el índice de descripciones
+     *
+     * Número de filas y mayor id en una sola consulta (los dos del mismo
+     * momento aunque otro hilo esté escribiendo) más VERSION_BD: ver
+     * IndiceTextual.calcularSello. No lee ninguna descripción.
+     *
+     * @param documentos Documentos del índice que se va a cargar o guardar
+     * @return El sello, o SIN_SELLO si la tabla no tiene 'documentos' filas
+     */
+    public long selloIndiceTexto(int documentos) {
+        try (Cursor cursor = baseDatos.getReadableDatabase().rawQuery(
+                "SELECT COUNT(*), COALESCE(MAX(" + COL_ID + "), 0) FROM " + TABLA, null)) {
+            if (!cursor.moveToFirst() || cursor.getInt(0) != documentos) {
+                return SIN_SELLO;
+            }
+            return IndiceTextual.calcularSello(documentos, cursor.getLong(1), VERSION_BD);
+        }
+    }
+
+    /**
+     * cargarPagina - Devuelve una página en orden de alta
+     *
+     * @param desde Posición de la primera fila (0 = primera)
+     * @param cantidad Número máximo de filas
+     * @return Filas de la página (puede tener menos de 'cantidad')
+     */
+    @Override
+    public List<Entrenamiento> cargarPagina(int desde, int cantidad) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.SQLITE_PAGINA);
+        try {
+            List<Entrenamiento> pagina = consultar(null, null, COL_ID, desde + "," + cantidad);
+            Instrumentacion.contar(Instrumentacion.SQLITE_FILAS, pagina.size());
+            return pagina;
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.SQLITE_PAGINA, inicio);
+        }
+    }
+
+    /**
+     * cargarDespuesDeId - Página por clave: filas con id mayor que 'ultimoId'
+     *
+     * A diferencia de cargarPagina no usa OFFSET, así que su coste no crece
+     * al avanzar por la lista.
+     *
+     * @param ultimoId Último id ya leído (0 para empezar)
+     * @param cantidad Número máximo de filas
+     * @return Filas siguientes en orden de id
+     */
+    @Override
+    public List<Entrenamiento> cargarDespuesDeId(long ultimoId, int cantidad) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.SQLITE_PAGINA);
+        try {
+            List<Entrenamiento> pagina = consultar(COL_ID + " > ?", new String[]{String.valueOf(ultimoId)},
+                    COL_ID, String.valueOf(cantidad));
+            Instrumentacion.contar(Instrumentacion.SQLITE_FILAS, pagina.size());
+            return pagina;
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.SQLITE_PAGINA, inicio);
+        }
+    }
+
+    /**
+     * contar - Número de entrenamientos guardados (sin cargarlos)
+     *
+     * Es lo primero que pide CatalogoPaginado al abrirse (en su hilo de
+     * fondo), así que aquí se hace la importación de los datos antiguos.
+     * @return Número de filas de la tabla
+     */
+    @Override
+    public int contar() {
+        importarDatosAnteriores();
+        return (int) DatabaseUtils.queryNumEntries(baseDatos.getReadableDatabase(), TABLA);
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * importarDatosAnteriores - Importa una sola vez los datos del almacenamiento antiguo
+     *
+     * El almacenamiento antiguo (modo DIARIO) ya sabe leer tanto la clave de
+     * SharedPreferences como el diario; aquí solo se copian a la tabla
+     * y se borran del origen.
+     *
+     * Todo con el lock de la clase: quien llegue mientras tanto espera a que
+     * termine. La importación solo se da por hecha después de borrar el
+     * origen; si falla, se vuelve a intentar en la siguiente llamada.
+     */
+    private void importarDatosAnteriores() {
+        synchronized (EntrenamientoSqliteStorage.class) {
+            if (importacionComprobada) {
+                return;
+            }
+
+            if (anterior.hayEntrenamientosGuardados()) {
+                List<Entrenamiento> anteriores = anterior.cargarEntrenamientos();
+                if (anteriores != null) {
+                    SQLiteDatabase db = baseDatos.getWritableDatabase();
+                    db.beginTransaction();
+                    try {
+                        for (Entrenamiento entrenamiento : anteriores) {
+                            insertar(db, entrenamiento, SQLiteDatabase.CONFLICT_IGNORE);
+                        }
+                        db.setTransactionSuccessful();
+                    } finally {
+                        db.endTransaction();
+                    }
+                }
+                anterior.limpiarEntrenamientos();
+            }
+            importacionComprobada = true;
+        }
+    }
+
+    /**
+     * consultar - Ejecuta un SELECT y convierte las filas en Entrenamientos
+     */
+    private List<Entrenamiento> consultar(String where, String[] args, String orden, String limite) {
+        List<Entrenamiento> entrenamientos = new ArrayList<>();
+        try (Cursor cursor = baseDatos.getReadableDatabase()
+                .query(TABLA, COLUMNAS, where, args, null, null, orden, limite)) {
+            while (cursor.moveToNext()) {
+                entrenamientos.add(leerFila(cursor));
+            }
+        }
+        return entrenamientos;
+    }
+
+    /**
+     * leerFila - Construye una cabecera (sin descripción) a partir de la fila actual del cursor
+     * (las columnas están en el orden de COLUMNAS)
+     */
+    private static Entrenamiento leerFila(Cursor cursor) {
+        Entrenamiento entrenamiento = new Entrenamiento(
+                cursor.getString(1),
+                null,
+                TipoIcono.desdeCodigo(cursor.getInt(2)));
+        entrenamiento.setId(cursor.getLong(0));
+        return entrenamiento;
+    }
+
+    /**
+     * insertar - Inserta cabecera y descripción y le asigna el id generado
+     *
+     * Quien llama abre la transacción: las dos filas se guardan juntas.
+     * Si el entrenamiento ya tenía id (viene de otro almacenamiento) se conserva.
+     */
+    private static void insertar(SQLiteDatabase db, Entrenamiento entrenamiento, int conflicto) {
+        ContentValues valores = valores(entrenamiento);
+        if (entrenamiento.getId() > 0) {
+            valores.put(COL_ID, entrenamiento.getId());
+        }
+        long id = db.insertWithOnConflict(TABLA, null, valores, conflicto);
+        if (id == -1) {
+            return;  // Nombre repetido (CONFLICT_IGNORE): ni cabecera ni descripción
+        }
+        entrenamiento.setId(id);
+        ContentValues texto = new ContentValues();
+        texto.put(COL_ID, id);
+        texto.put(COL_TEXTO, entrenamiento.getDescripcion());
+        db.insertWithOnConflict(TABLA_DESCRIPCIONES, null, texto, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * valores - Columnas de la cabecera de un entrenamiento (sin el id ni la descripción)
+     */
+    private static ContentValues valores(Entrenamiento entrenamiento) {
+        ContentValues valores = new ContentValues();
+        valores.put(COL_NOMBRE, entrenamiento.getNombre());
+        valores.put(COL_CLAVE, clave(entrenamiento.getNombre()));
+        valores.put(COL_ICONO, entrenamiento.getTipoIcono().getCodigo() & 0xFF);
+        return valores;
+    }
+
+    /**
+     * clave - Nombre normalizado que se guarda y se busca en el índice único
+     */
+    private static String clave(String nombre) {
+        return NORMALIZADOR.normalizar(nombre);
+    }
+
+    // ============= ESQUEMA =============
+
+    /**
+     * BaseDatos - Crea y actualiza el esquema de la base de datos
+     */
+    private static class BaseDatos extends SQLiteOpenHelper {
+
+        /** Traducción de los ids de recurso de la versión 1 */
+        private final MigracionIconos migracion;
+
+        BaseDatos(Context context, MigracionIconos migracion) {
+            super(context, NOMBRE_BD, null, VERSION_BD);
+            this.migracion = migracion;
+        }
+
+        @Override
+        public void onCreate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE " + TABLA + " ("
+                    + COL_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + COL_NOMBRE + " TEXT NOT NULL, "
+                    + COL_CLAVE + " TEXT NOT NULL, "
+                    + COL_ICONO + " INTEGER NOT NULL)");
+            crearIndiceClave(db);
+            crearTablaDescripciones(db);
+        }
+
+        /**
+         * crearIndiceClave - Índice único sobre el nombre normalizado
+         *
+         * Misma regla que IndiceNombres (el diálogo): la colación binaria
+         * basta porque la clave ya está normalizada.
+         */
+        private static void crearIndiceClave(SQLiteDatabase db) {
+            db.execSQL("CREATE UNIQUE INDEX idx_entrenamientos_clave ON "
+                    + TABLA + " (" + COL_CLAVE + ")");
+        }
+
+        /**
+         * crearTablaDescripciones - Tabla aparte para los textos largos
+         */
+        private static void crearTablaDescripciones(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE " + TABLA_DESCRIPCIONES + " ("
+                    + COL_ID + " INTEGER PRIMARY KEY, "
+                    + COL_TEXTO + " TEXT)");
+        }
+
+        @Override
+        public void onUpgrade(SQLiteDatabase db, int versionAnterior, int versionNueva) {
+            // SQLiteOpenHelper ya ejecuta onUpgrade dentro de una transacción
+            if (versionAnterior < 2) {
+                migrarIconos(db);
+            }
+            if (versionAnterior < 3) {
+                separarDescripciones(db);
+            }
+            if (versionAnterior < 4) {
+                anadirClaves(db);
+            }
+        }
+
+        /**
+         * anadirClaves - Versión 3 → 4: columna clave con el índice único
+         *
+         * La clave se calcula aquí (SQLite no sabe hacer NFC ni plegar
+         * mayúsculas fuera de ASCII). El índice NOCASE antiguo dejaba pasar
+         * "Élite" junto a "élite": si dos filas dan la misma clave, la más
+         * nueva se renombra con su id en lugar de borrarla, para no perder
+         * datos del usuario.
+         */
+        private static void anadirClaves(SQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS idx_entrenamientos_nombre");
+            db.execSQL("ALTER TABLE " + TABLA + " ADD COLUMN " + COL_CLAVE
+                    + " TEXT NOT NULL DEFAULT ''");
+
+            Set<String> vistas = new HashSet<>();
+            int renombradas = 0;
+            ContentValues valores = new ContentValues();
+            try (Cursor cursor = db.query(TABLA, new String[]{COL_ID, COL_NOMBRE},
+                    null, null, null, null, COL_ID)) {
+                while (cursor.moveToNext()) {
+                    long id = cursor.getLong(0);
+                    String nombre = cursor.getString(1);
+                    if (!vistas.add(clave(nombre))) {
+                        nombre = nombre + " (" + id + ")";
+                        vistas.add(clave(nombre));
+                        renombradas++;
+                    }
+                    valores.put(COL_NOMBRE, nombre);
+                    valores.put(COL_CLAVE, clave(nombre));
+                    db.update(TABLA, valores, COL_ID + " = ?", new String[]{String.valueOf(id)});
+                }
+            }
+
+            crearIndiceClave(db);
+            Log.i(TAG, "Claves de nombre añadidas; duplicados renombrados: " + renombradas);
+        }
+
+        /**
+         * separarDescripciones - Versión 2 → 3: las descripciones pasan a su tabla
+         *
+         * Se copian con el mismo id y se quita la columna de la tabla de
+         * cabeceras (DROP COLUMN: SQLite 3.35+, todas las versiones de
+         * Android que admite la app). VACUUM no se puede hacer dentro de la
+         * transacción de onUpgrade; SQLite reutiliza las páginas libres.
+         */
+        private static void separarDescripciones(SQLiteDatabase db) {
+            crearTablaDescripciones(db);
+            db.execSQL("INSERT INTO " + TABLA_DESCRIPCIONES + " (" + COL_ID + ", " + COL_TEXTO + ")"
+                    + " SELECT " + COL_ID + ", " + COL_DESCRIPCION_ANTIGUA + " FROM " + TABLA);
+            db.execSQL("ALTER TABLE " + TABLA + " DROP COLUMN " + COL_DESCRIPCION_ANTIGUA);
+            Log.i(TAG, "Descripciones separadas de las cabeceras");
+        }
+
+        /**
+         * migrarIconos - Versión 1 → 2: id de recurso → código de TipoIcono
+         *
+         * Una sentencia UPDATE por id distinto (en la práctica 4), no por fila.
+         * Los códigos nuevos (1..255) no coinciden con ningún id antiguo, así
+         * que actualizar uno no afecta a los siguientes.
+         */
+        private void migrarIconos(SQLiteDatabase db) {
+            // PASO 1: Los predefinidos enseñan qué id tenía cada icono en el build que los guardó
+            // (solo las filas cuyo nombre es el de un tipo: usan el índice NOCASE de la
+            // versión 1, que basta porque los nombres de los tipos son ASCII)
+            TipoIcono[] tipos = TipoIcono.values();
+            String[] nombres = new String[tipos.length];
+            StringBuilder where = new StringBuilder();
+            for (int i = 0; i < tipos.length; i++) {
+                nombres[i] = tipos[i].name();
+                where.append(i == 0 ? "" : " OR ").append(COL_NOMBRE).append(" = ? COLLATE NOCASE");
+            }
+            try (Cursor cursor = db.query(TABLA, new String[]{COL_NOMBRE, COL_ICONO},
+                    where.toString(), nombres, null, null, COL_ID)) {
+                while (cursor.moveToNext()) {
+                    migracion.aprender(cursor.getString(0), cursor.getLong(1));
+                }
+            }
+
+            // PASO 2: Ids distintos que quedan por traducir
+            List<Long> antiguos = new ArrayList<>();
+            try (Cursor cursor = db.query(true, TABLA, new String[]{COL_ICONO},
+                    null, null, null, null, null, null)) {
+                while (cursor.moveToNext()) {
+                    if (MigracionIconos.esLegado(cursor.getLong(0))) {
+                        antiguos.add(cursor.getLong(0));
+                    }
+                }
+            }
+
+            // PASO 3: Sustituir cada id por su código
+            ContentValues valores = new ContentValues();
+            for (long antiguo : antiguos) {
+                valores.put(COL_ICONO, migracion.convertir(antiguo).getCodigo() & 0xFF);
+                db.update(TABLA, valores, COL_ICONO + " = ?", new String[]{String.valueOf(antiguo)});
+            }
+            Log.i(TAG, "Iconos migrados a TipoIcono: " + antiguos.size() + " valores distintos");
+        }
+    }
+}
@@ -2,13 +2,32 @@ package com.example.examen1rtrimestremacia_denislopezsacher;
 
 import android.content.Context;                // Para acceder al contexto de la app
 import android.content.SharedPreferences;      // Sistema de almacenamiento clave-valor
+import android.util.Log;                       // Registro de errores de E/S
 
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.EntrenamientoBinaryCodec;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.EntrenamientoJsonAdapter;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.EntrenamientoJournal;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.EntrenamientoJsonStream;
+import com.example.examen1rtrimestremacia_denislopezsacher.metricas.RegistroMetricas;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.MigracionIconos;
 import com.google.gson.Gson;                   // Librería para convertir objetos ↔ JSON
 import com.google.gson.reflect.TypeToken;      // Para obtener el tipo genérico List<Entrenamiento>
 
+import java.io.File;              // Archivo del diario / binario
+import java.io.FileInputStream;   // Lectura del archivo binario
+import java.io.FileOutputStream;  // Escritura del archivo binario
+import java.io.IOException;       // Errores de E/S del diario
+import java.io.InputStream;       // Flujo de lectura
+import java.io.OutputStream;      // Flujo de escritura
+import java.io.StringReader;      // JsonReader sobre el JSON ya leído de las preferencias
 import java.lang.reflect.Type;    // Tipo de Java para reflexión
 import java.util.ArrayList;       // Lista dinámica
+import java.util.HashMap;         // Diarios compartidos por archivo
 import java.util.List;           // Interfaz de lista
+import java.util.Map;            // Interfaz de mapa
+import java.util.concurrent.ExecutorService;  // Hilo de fondo para compactar
+import java.util.concurrent.Executors;        // Fábrica de ejecutores
+import java.util.function.Consumer;           // Receptor de lotes en la carga incremental
 
 /**
  * EntrenamientoStorage - Gestor de almacenamiento persistente de entrenamientos
@@ -31,6 +50,13 @@ import java.util.List;           // Interfaz de lista
  * Flujo de datos:
  * GUARDAR: List<Entrenamiento> → Gson.toJson() → String JSON → SharedPreferences
  * CARGAR: SharedPreferences → String JSON → Gson.fromJson() → List<Entrenamiento>
+ *
+ * Modos de almacenamiento (ver {@link Modo}):
+ * - PREFERENCIAS: la lista completa como un único JSON (comportamiento original)
+ * - DIARIO: un registro por alta/edición/baja en un archivo de solo-añadir
+ *   (EntrenamientoJournal). Escribir cuesta lo que ocupa el cambio, no el catálogo.
+ * - BINARIO: la lista completa en un archivo con el formato compacto
+ *   EntrenamientoBinaryCodec (sin nombres de campo ni escapado XML).
  */
 public class EntrenamientoStorage {
 
@@ -48,6 +74,54 @@ public class EntrenamientoStorage {
      */
     private static final String KEY_ENTRENAMIENTOS = "entrenamientos_list";
 
+    /**
+     * Nombre del archivo del diario (modo DIARIO)
+     * Se creará: /data/data/.../files/entrenamientos.journal
+     */
+    private static final String ARCHIVO_DIARIO = "entrenamientos.journal";
+
+    /**
+     * Nombre del archivo binario (modo BINARIO)
+     * Se creará: /data/data/.../files/entrenamientos.bin
+     */
+    private static final String ARCHIVO_BINARIO = "entrenamientos.bin";
+
+    /**
+     * Nombre del archivo del índice de texto completo (todos los modos)
+     * Se creará: /data/data/.../files/entrenamientos.idx
+     */
+    private static final String ARCHIVO_INDICE_TEXTO = "entrenamientos.idx";
+
+    /** Etiqueta para los mensajes de Log */
+    private static final String TAG = "EntrenamientoStorage";
+
+    /**
+     * Hilo de fondo compartido para las compactaciones del diario
+     * Un único hilo: las compactaciones nunca se solapan entre sí
+     */
+    private static final ExecutorService EJECUTOR_FONDO = Executors.newSingleThreadExecutor();
+
+    /**
+     * Diarios abiertos, uno por archivo
+     * MainActivity crea un EntrenamientoStorage en cada onCreate; todos deben
+     * compartir el mismo escritor y el mismo estado de compactación.
+     */
+    private static final Map<String, EntrenamientoJournal> DIARIOS = new HashMap<>();
+
+    // ============= MODOS =============
+
+    /**
+     * Modo - Dónde y cómo se guardan los entrenamientos
+     */
+    public enum Modo {
+        /** Lista completa como JSON en SharedPreferences (reescritura total) */
+        PREFERENCIAS,
+        /** Diario de solo-añadir con compactación en segundo plano */
+        DIARIO,
+        /** Lista completa en un archivo binario compacto (EntrenamientoBinaryCodec) */
+        BINARIO
+    }
+
     // ============= ATRIBUTOS =============
 
     /**
@@ -58,48 +132,126 @@ public class EntrenamientoStorage {
 
     /**
      * Instancia de Gson para serialización/deserialización JSON
-     * Gson convierte automáticamente objetos Java ↔ JSON
+     * Entrenamiento (y sus subclases) se convierten con EntrenamientoJsonAdapter:
+     * sin reflexión y conservando Pilates, Fuerza, Running y Voleibol
      */
     private final Gson gson;
 
+    /**
+     * Traducción de los iconos guardados como id de recurso por versiones
+     * anteriores (JSON "iconoResId", binario v1, mapeado v1, SQLite v1)
+     */
+    protected final MigracionIconos migracionIconos;
+
+    /** Modo de almacenamiento elegido */
+    private final Modo modo;
+
+    /** Diario de solo-añadir (solo en modo DIARIO) */
+    private final EntrenamientoJournal diario;
+
+    /** Archivo del formato binario (solo en modo BINARIO) */
+    private final File archivoBinario;
+
+    /** Archivo del índice de texto completo (junto a los datos) */
+    private final File archivoIndiceTexto;
+
     // ============= CONSTRUCTOR =============
 
     /**
-     * Constructor - Inicializa el sistema de almacenamiento
+     * Constructor - Inicializa el sistema de almacenamiento en modo PREFERENCIAS
      *
      * @param context Contexto de la aplicación (necesario para SharedPreferences)
      */
     public EntrenamientoStorage(Context context) {
+        this(context, Modo.PREFERENCIAS);
+    }
+
+    /**
+     * Constructor - Inicializa el sistema de almacenamiento en el modo indicado
+     *
+     * @param context Contexto de la aplicación (necesario para SharedPreferences)
+     * @param modo Modo de almacenamiento
+     */
+    public EntrenamientoStorage(Context context, Modo modo) {
         // Obtener la instancia de SharedPreferences
         // MODE_PRIVATE = solo esta app puede acceder a estos datos
         preferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
 
         // Crear instancia de Gson (ligera, no consume muchos recursos)
-        gson = new Gson();
+        // El icono se escribe como clave ("PILATES") y los JSON antiguos con
+        // "iconoResId" numérico se traducen al leerlos
+        migracionIconos = RegistroIconos.migracion(context);
+        gson = EntrenamientoJsonAdapter.crearGson(migracionIconos);
+
+        this.modo = modo;
+        this.diario = modo == Modo.DIARIO
+                ? obtenerDiario(new File(context.getFilesDir(), ARCHIVO_DIARIO), gson)
+                : null;
+        this.archivoBinario = modo == Modo.BINARIO
+                ? new File(context.getFilesDir(), ARCHIVO_BINARIO)
+                : null;
+        this.archivoIndiceTexto = new File(context.getFilesDir(), ARCHIVO_INDICE_TEXTO);
     }
 
     // ============= MÉTODOS PÚBLICOS =============
 
     /**
-     * guardarEntrenamientos - Guarda la lista de entrenamientos en SharedPreferences
+     * guardarEntrenamientos - Guarda la lista completa según el modo
      *
-     * Proceso:
+     * - PREFERENCIAS: JSON en SharedPreferences (proceso de abajo)
+     * - DIARIO: la lista sustituye al diario como una instantánea
+     *   (equivale a una compactación)
+     * - BINARIO: la lista se escribe en el archivo con EntrenamientoBinaryCodec
+     *
+     * Proceso en modo PREFERENCIAS:
      * 1. Convierte List<Entrenamiento> a String JSON usando Gson
      * 2. Guarda el String JSON en SharedPreferences
      * 3. apply() guarda de forma asíncrona (no bloquea el hilo principal)
      *
      * Ejemplo de JSON generado:
      * [
-     *   {"nombre":"Pilates","descripcion":"...","iconoResId":2131165279},
-     *   {"nombre":"Running","descripcion":"...","iconoResId":2131165280}
+     *   {"t":"P"},                    ← Pilates predefinido (sin repetir su texto)
+     *   {"nombre":"Yoga","descripcion":"...","icono":"PILATES"}
      * ]
      *
      * @param entrenamientos Lista de entrenamientos a guardar
      */
     public void guardarEntrenamientos(List<Entrenamiento> entrenamientos) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.STORAGE_GUARDAR);
+        try {
+            guardarSegunModo(entrenamientos);
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.STORAGE_GUARDAR, inicio);
+        }
+    }
+
+    /**
+     * guardarSegunModo - guardarEntrenamientos() sin medir (diario, binario o JSON)
+     */
+    private void guardarSegunModo(List<Entrenamiento> entrenamientos) {
+        if (diario != null) {
+            try {
+                diario.reescribir(entrenamientos);
+            } catch (IOException e) {
+                Log.e(TAG, "Error al reescribir el diario", e);
+            }
+            return;
+        }
+
+        if (archivoBinario != null) {
+            try {
+                escribirBinario(entrenamientos);
+                Instrumentacion.sumarBytes(Instrumentacion.STORAGE_BYTES_ESCRITOS, archivoBinario.length());
+            } catch (IOException e) {
+                Log.e(TAG, "Error al escribir el archivo binario", e);
+            }
+            return;
+        }
+
         // PASO 1: Convertir la lista de objetos Java a String JSON
         // Gson.toJson() inspecciona cada objeto y lo convierte automáticamente
         String json = gson.toJson(entrenamientos);
+        Instrumentacion.sumarBytes(Instrumentacion.STORAGE_BYTES_ESCRITOS, RegistroMetricas.bytesUtf8(json));
 
         // PASO 2: Guardar el String JSON en SharedPreferences
         // preferences.edit() → Inicia modo edición
@@ -126,12 +278,50 @@ public class EntrenamientoStorage {
      * @return Lista de entrenamientos si existen, null si no hay datos guardados
      */
     public List<Entrenamiento> cargarEntrenamientos() {
+        long inicio = Instrumentacion.empezar(Instrumentacion.STORAGE_CARGAR);
+        try {
+            return cargarSegunModo();
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.STORAGE_CARGAR, inicio);
+        }
+    }
+
+    /**
+     * cargarSegunModo - cargarEntrenamientos() sin medir (diario, binario o JSON)
+     */
+    private List<Entrenamiento> cargarSegunModo() {
+        if (diario != null) {
+            migrarPreferenciasADiario();
+            try {
+                return diario.existe() ? diario.reproducir() : null;
+            } catch (IOException e) {
+                Log.e(TAG, "Error al reproducir el diario", e);
+                return null;
+            }
+        }
+
+        if (archivoBinario != null) {
+            convertirPreferenciasABinario();
+            if (!archivoBinario.exists()) {
+                return null;
+            }
+            Instrumentacion.sumarBytes(Instrumentacion.STORAGE_BYTES_LEIDOS, archivoBinario.length());
+            try (InputStream entrada = new FileInputStream(archivoBinario)) {
+                return EntrenamientoBinaryCodec.leer(entrada, migracionIconos);
+            } catch (IOException e) {
+                Log.e(TAG, "Error al leer el archivo binario", e);
+                return null;
+            }
+        }
+
         // PASO 1: Leer el String JSON desde SharedPreferences
         // getString(clave, valorPorDefecto) → Si la clave no existe, retorna el valor por defecto
         String json = preferences.getString(KEY_ENTRENAMIENTOS, null);
 
         // PASO 2: Verificar si hay datos guardados
         if (json != null) {
+            Instrumentacion.sumarBytes(Instrumentacion.STORAGE_BYTES_LEIDOS, RegistroMetricas.bytesUtf8(json));
+
             // PASO 3: Obtener el tipo genérico completo: ArrayList<Entrenamiento>
             // Esta sintaxis extraña {} crea una clase anónima que captura el tipo genérico
             // getType() obtiene el tipo completo con generics
@@ -146,6 +336,67 @@ public class EntrenamientoStorage {
         return null;
     }
 
+    /**
+     * cargarEntrenamientos - Carga incremental: entrega los entrenamientos por lotes
+     *
+     * En lugar de construir la lista completa antes de devolver nada, recorre
+     * el JSON con un JsonReader y llama al consumidor cada 'tamanoLote'
+     * entrenamientos. Así la UI puede mostrar la primera pantalla mientras
+     * se sigue leyendo el resto.
+     *
+     * Lo que NO ahorra: SharedPreferences no se puede leer por partes (Android
+     * carga el XML entero al abrirlo), así que el JSON completo ya está en
+     * memoria como un String y el JsonReader lo recorre con un StringReader.
+     * Lo que se ahorra es la List<Entrenamiento> completa y su pico: los
+     * entrenamientos ya entregados pueden liberarse.
+     *
+     * Pensado para llamarse desde un hilo de fondo: el consumidor se ejecuta
+     * en el mismo hilo que la carga.
+     *
+     * En modo DIARIO el diario debe reproducirse completo (las bajas y
+     * ediciones afectan a registros anteriores), así que se entrega por
+     * lotes una vez reconstruido. En modo BINARIO igual: la tabla de
+     * cadenas va delante de los registros.
+     *
+     * @param tamanoLote Entrenamientos por lote
+     * @param consumidor Recibe cada lote (en el hilo que llama)
+     * @return Número total de entrenamientos cargados (0 si no hay datos)
+     */
+    public int cargarEntrenamientos(int tamanoLote, Consumer<List<Entrenamiento>> consumidor) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.STORAGE_CARGAR);
+        try {
+            return cargarPorLotesSegunModo(tamanoLote, consumidor);
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.STORAGE_CARGAR, inicio);
+        }
+    }
+
+    /**
+     * cargarPorLotesSegunModo - Carga incremental sin medir (diario, binario o JSON)
+     */
+    private int cargarPorLotesSegunModo(int tamanoLote, Consumer<List<Entrenamiento>> consumidor) {
+        if (diario != null || archivoBinario != null) {
+            List<Entrenamiento> entrenamientos = cargarSegunModo();
+            return entrenamientos != null
+                    ? EntrenamientoJsonStream.entregarPorLotes(entrenamientos, tamanoLote, consumidor)
+                    : 0;
+        }
+
+        String json = preferences.getString(KEY_ENTRENAMIENTOS, null);
+        if (json == null) {
+            return 0;
+        }
+        Instrumentacion.sumarBytes(Instrumentacion.STORAGE_BYTES_LEIDOS, RegistroMetricas.bytesUtf8(json));
+
+        try {
+            // El String ya está entero en memoria (SharedPreferences): solo se evita la lista
+            return EntrenamientoJsonStream.leer(new StringReader(json), gson, tamanoLote, consumidor);
+        } catch (IOException e) {
+            Log.e(TAG, "Error al leer el JSON de entrenamientos", e);
+            return 0;
+        }
+    }
+
     /**
      * limpiarEntrenamientos - Elimina todos los entrenamientos guardados
      *
@@ -158,6 +409,18 @@ public class EntrenamientoStorage {
      * - Funcionalidad de "borrar todos los datos"
      */
     public void limpiarEntrenamientos() {
+        if (diario != null) {
+            try {
+                diario.borrar();
+            } catch (IOException e) {
+                Log.e(TAG, "Error al borrar el diario", e);
+            }
+        }
+
+        if (archivoBinario != null && archivoBinario.exists() && !archivoBinario.delete()) {
+            Log.e(TAG, "No se pudo borrar " + archivoBinario);
+        }
+
         // preferences.edit() → Modo edición
         // remove(clave) → Elimina la clave y su valor
         // apply() → Aplica los cambios de forma asíncrona
@@ -175,9 +438,261 @@ public class EntrenamientoStorage {
      * @return true si existe la clave en SharedPreferences, false si no
      */
     public boolean hayEntrenamientosGuardados() {
+        if (diario != null) {
+            return diario.existe() || preferences.contains(KEY_ENTRENAMIENTOS);
+        }
+
+        if (archivoBinario != null) {
+            return archivoBinario.exists() || preferences.contains(KEY_ENTRENAMIENTOS);
+        }
+
         // contains(clave) → Verifica si existe la clave (sin cargar el valor)
         // Retorna true si la clave existe, false si no
         return preferences.contains(KEY_ENTRENAMIENTOS);
     }
+
+    // ============= CAMBIOS INCREMENTALES =============
+
+    /**
+     * anadirEntrenamiento - Persiste un único entrenamiento nuevo
+     *
+     * - DIARIO: añade una línea al final del diario (coste proporcional al cambio)
+     * - PREFERENCIAS: carga, añade y reescribe la lista completa
+     *
+     * @param entrenamiento Entrenamiento añadido
+     */
+    public void anadirEntrenamiento(Entrenamiento entrenamiento) {
+        if (diario != null) {
+            migrarPreferenciasADiario();
+            try {
+                diario.registrarAlta(entrenamiento);
+            } catch (IOException e) {
+                Log.e(TAG, "Error al registrar un alta en el diario", e);
+            }
+            return;
+        }
+
+        List<Entrenamiento> entrenamientos = listaGuardadaOVacia();
+        entrenamientos.add(entrenamiento);
+        guardarEntrenamientos(entrenamientos);
+    }
+
+    /**
+     * anadirLote - Persiste varios entrenamientos nuevos con una sola escritura
+     *
+     * Para la importación masiva (un lote cada vez):
+     * - DIARIO: un registro por alta y un solo flush
+     * - PREFERENCIAS / BINARIO: carga, añade el lote y reescribe una vez
+     *   (cada lote reescribe la lista: para catálogos grandes, SQLite)
+     *
+     * @param lote Entrenamientos nuevos, en orden
+     */
+    public void anadirLote(List<Entrenamiento> lote) {
+        if (diario != null) {
+            migrarPreferenciasADiario();
+            try {
+                diario.registrarAltas(lote);
+            } catch (IOException e) {
+                Log.e(TAG, "Error al registrar un lote en el diario", e);
+            }
+            return;
+        }
+
+        List<Entrenamiento> entrenamientos = listaGuardadaOVacia();
+        entrenamientos.addAll(lote);
+        guardarEntrenamientos(entrenamientos);
+    }
+
+    /**
+     * actualizarEntrenamiento - Persiste la edición de un entrenamiento
+     *
+     * @param nombreAnterior Nombre con el que estaba guardado
+     * @param entrenamiento Datos nuevos (el nombre puede cambiar)
+     */
+    public void actualizarEntrenamiento(String nombreAnterior, Entrenamiento entrenamiento) {
+        if (diario != null) {
+            migrarPreferenciasADiario();
+            try {
+                diario.registrarEdicion(nombreAnterior, entrenamiento);
+            } catch (IOException e) {
+                Log.e(TAG, "Error al registrar una edición en el diario", e);
+            }
+            return;
+        }
+
+        List<Entrenamiento> entrenamientos = listaGuardadaOVacia();
+        for (int i = 0; i < entrenamientos.size(); i++) {
+            if (entrenamientos.get(i).getNombre().equalsIgnoreCase(nombreAnterior)) {
+                entrenamientos.set(i, entrenamiento);
+                guardarEntrenamientos(entrenamientos);
+                return;
+            }
+        }
+        entrenamientos.add(entrenamiento);
+        guardarEntrenamientos(entrenamientos);
+    }
+
+    /**
+     * eliminarEntrenamiento - Persiste la baja de un entrenamiento
+     *
+     * @param nombre Nombre del entrenamiento eliminado
+     */
+    public void eliminarEntrenamiento(String nombre) {
+        if (diario != null) {
+            migrarPreferenciasADiario();
+            try {
+                diario.registrarBaja(nombre);
+            } catch (IOException e) {
+                Log.e(TAG, "Error al registrar una baja en el diario", e);
+            }
+            return;
+        }
+
+        List<Entrenamiento> entrenamientos = listaGuardadaOVacia();
+        for (int i = 0; i < entrenamientos.size(); i++) {
+            if (entrenamientos.get(i).getNombre().equalsIgnoreCase(nombre)) {
+                entrenamientos.remove(i);
+                guardarEntrenamientos(entrenamientos);
+                return;
+            }
+        }
+    }
+
+    /**
+     * esIncremental - Indica si cada cambio se persiste por separado
+     *
+     * Si es true, no hace falta volver a guardar la lista completa
+     * (por ejemplo en onPause) porque cada alta ya está en disco.
+     *
+     * @return true en modo DIARIO (en PREFERENCIAS y BINARIO cada cambio reescribe la lista)
+     */
+    public boolean esIncremental() {
+        return modo == Modo.DIARIO;
+    }
+
+    /**
+     * getModo - Modo de almacenamiento de esta instancia
+     * @return Modo elegido en el constructor
+     */
+    public Modo getModo() {
+        return modo;
+    }
+
+    /**
+     * getArchivoIndiceTexto - Archivo donde se guarda el índice de las descripciones
+     *
+     * El índice (IndiceTextual) lleva un sello de los datos que indexa
+     * (filas y último id): si los datos cambian por otro camino, deja de
+     * coincidir y se reconstruye.
+     */
+    public File getArchivoIndiceTexto() {
+        return archivoIndiceTexto;
+    }
+
+    // ============= CONVERSIÓN DE FORMATO =============
+
+    /**
+     * convertirPreferenciasABinario - Convierte el JSON guardado al formato binario
+     *
+     * Lee la clave entrenamientos_list de SharedPreferences, escribe el
+     * archivo binario y borra la clave. Si el archivo binario ya existe o no
+     * hay JSON guardado no hace nada.
+     *
+     * Se llama automáticamente en la primera carga en modo BINARIO.
+     *
+     * @return Número de entrenamientos convertidos (0 si no había nada que convertir)
+     */
+    public int convertirPreferenciasABinario() {
+        if (archivoBinario == null) {
+            throw new IllegalStateException("Solo disponible en modo BINARIO");
+        }
+        if (archivoBinario.exists() || !preferences.contains(KEY_ENTRENAMIENTOS)) {
+            return 0;
+        }
+
+        List<Entrenamiento> entrenamientos = leerPreferencias();
+        try {
+            escribirBinario(entrenamientos);
+            preferences.edit()
+                    .remove(KEY_ENTRENAMIENTOS)
+                    .apply();
+            return entrenamientos.size();
+        } catch (IOException e) {
+            Log.e(TAG, "Error al convertir SharedPreferences a binario", e);
+            return 0;
+        }
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * migrarPreferenciasADiario - Pasa los datos del JSON clásico al diario
+     *
+     * Solo ocurre la primera vez que se usa el modo DIARIO en un dispositivo
+     * que ya tenía entrenamientos guardados en SharedPreferences.
+     */
+    private void migrarPreferenciasADiario() {
+        if (diario.existe() || !preferences.contains(KEY_ENTRENAMIENTOS)) {
+            return;
+        }
+
+        try {
+            diario.reescribir(leerPreferencias());
+            preferences.edit()
+                    .remove(KEY_ENTRENAMIENTOS)
+                    .apply();
+        } catch (IOException e) {
+            Log.e(TAG, "Error al migrar SharedPreferences al diario", e);
+        }
+    }
+
+    /**
+     * leerPreferencias - Lista guardada como JSON en SharedPreferences (vacía si no hay)
+     */
+    private List<Entrenamiento> leerPreferencias() {
+        String json = preferences.getString(KEY_ENTRENAMIENTOS, null);
+        Type type = new TypeToken<ArrayList<Entrenamiento>>(){}.getType();
+        List<Entrenamiento> entrenamientos = json != null ? gson.fromJson(json, type) : null;
+        return entrenamientos != null ? entrenamientos : new ArrayList<>();
+    }
+
+    /**
+     * escribirBinario - Escribe la lista en el archivo binario
+     *
+     * Se escribe en un temporal y se renombra: un cierre inesperado nunca
+     * deja el archivo a medias.
+     */
+    private void escribirBinario(List<Entrenamiento> entrenamientos) throws IOException {
+        File temporal = new File(archivoBinario.getPath() + ".tmp");
+        try (OutputStream salida = new FileOutputStream(temporal)) {
+            EntrenamientoBinaryCodec.escribir(entrenamientos, salida);
+        }
+        if (!temporal.renameTo(archivoBinario)) {
+            throw new IOException("No se pudo renombrar " + temporal + " a " + archivoBinario);
+        }
+    }
+
+    /**
+     * listaGuardadaOVacia - Lista guardada o una lista vacía si no hay datos
+     */
+    private List<Entrenamiento> listaGuardadaOVacia() {
+        List<Entrenamiento> entrenamientos = cargarEntrenamientos();
+        return entrenamientos != null ? entrenamientos : new ArrayList<>();
+    }
+
+    /**
+     * obtenerDiario - Devuelve el diario compartido para un archivo
+     */
+    private static EntrenamientoJournal obtenerDiario(File archivo, Gson gson) {
+        synchronized (DIARIOS) {
+            EntrenamientoJournal diario = DIARIOS.get(archivo.getAbsolutePath());
+            if (diario == null) {
+                diario = new EntrenamientoJournal(archivo, gson, EJECUTOR_FONDO,
+                        EntrenamientoJournal.UMBRAL_COMPACTACION_POR_DEFECTO);
+                DIARIOS.put(archivo.getAbsolutePath(), diario);
+            }
+            return diario;
+        }
+    }
 }
 
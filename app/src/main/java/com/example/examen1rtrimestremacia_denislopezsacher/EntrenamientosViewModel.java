@@ -0,0 +1,196 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.app.Application;                  // Contexto que vive más que la Activity
+
+import androidx.annotation.NonNull;              // Anotación para valores no nulos
+import androidx.annotation.Nullable;             // Anotación para valores opcionales
+import androidx.lifecycle.AndroidViewModel;      // ViewModel con acceso a la aplicación
+
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.OrdenCatalogo;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.CatalogoPaginado;
+
+/**
+ * EntrenamientosViewModel - Acceso de MainActivity al repositorio de entrenamientos
+ *
+ * El catálogo, los índices y el almacenamiento viven en
+ * RepositorioEntrenamientos (uno por proceso), no aquí: así los comparten
+ * MainActivity, FragmentDetalle y el diálogo de alta, y ni la rotación ni
+ * volver a entrar en la pantalla los vuelven a cargar:
+ *
+ *   rotación          → el mismo ViewModel y el mismo repositorio
+ *   volver a entrar   → ViewModel nuevo, el mismo repositorio (ya cargado)
+ *   muerte de proceso → repositorio nuevo: se abre el catálogo desde SQLite
+ *                       (número de filas + primera página, nada más)
+ *
+ * En el Bundle de la Activity solo quedan la selección, el scroll y el
+ * criterio de orden (que también guarda el ViewModel en la rotación).
+ *
+ * Avisos: la Activity se registra con observar() y recibe
+ * onCatalogoAbierto() / onIndicesListos() en el hilo principal. Si ya
+ * habían ocurrido, se avisan en el momento.
+ *
+ * Todos los métodos se llaman desde el hilo principal.
+ */
+public class EntrenamientosViewModel extends AndroidViewModel {
+
+    // ============= ATRIBUTOS =============
+
+    /** Repositorio compartido por todo el proceso */
+    private final RepositorioEntrenamientos repositorio;
+
+    /** Activity que recibe los avisos (null entre onDestroy y el siguiente onCreate) */
+    private RepositorioEntrenamientos.OyenteCarga oyente;
+
+    /** Orden elegido en el menú */
+    private OrdenCatalogo.Criterio criterio = OrdenCatalogo.Criterio.ALTA;
+
+    // ============= CONSTRUCTOR =============
+
+    /**
+     * Constructor - Lo llama ViewModelProvider (una vez por pantalla, no por rotación)
+     *
+     * @param application Aplicación (el ViewModel no guarda la Activity)
+     */
+    public EntrenamientosViewModel(@NonNull Application application) {
+        super(application);
+        repositorio = RepositorioEntrenamientos.getInstancia(application);
+    }
+
+    // ============= CARGA =============
+
+    /**
+     * observar - Registra la Activity que recibe los avisos y arranca la carga
+     *
+     * - Primera vez en el proceso: el repositorio abre el catálogo
+     * - Activity recreada o pantalla nueva: avisa en el momento de lo que ya esté hecho
+     *
+     * @param nuevoOyente Activity actual
+     */
+    public void observar(RepositorioEntrenamientos.OyenteCarga nuevoOyente) {
+        if (oyente != null && oyente != nuevoOyente) {
+            repositorio.dejarDeObservar(oyente);
+        }
+        oyente = nuevoOyente;
+        repositorio.observar(nuevoOyente);
+    }
+
+    /**
+     * dejarDeObservar - La Activity se destruye: deja de recibir avisos
+     *
+     * Solo si sigue siendo la registrada (la nueva ya pudo registrarse).
+     */
+    public void dejarDeObservar(RepositorioEntrenamientos.OyenteCarga anterior) {
+        repositorio.dejarDeObservar(anterior);
+        if (oyente == anterior) {
+            oyente = null;
+        }
+    }
+
+    // ============= CONSULTAS =============
+
+    /** Repositorio compartido (búsquedas por id, estadísticas) */
+    public RepositorioEntrenamientos getRepositorio() {
+        return repositorio;
+    }
+
+    /** Catálogo que muestra el adapter */
+    public CatalogoPaginado getCatalogo() {
+        return repositorio.getCatalogo();
+    }
+
+    /** true cuando ya se sabe cuántos entrenamientos hay */
+    public boolean isCatalogoAbierto() {
+        return repositorio.isCatalogoAbierto();
+    }
+
+    /**
+     * buscarPrefijo - Posiciones con una palabra que empieza por la consulta
+     *
+     * @return Posiciones; null si la consulta está vacía o el índice aún no está
+     */
+    @Nullable
+    public int[] buscarPrefijo(String consulta) {
+        return repositorio.buscarPrefijo(consulta);
+    }
+
+    /**
+     * buscarEnDescripciones - Posiciones por relevancia de las descripciones
+     *
+     * @return Posiciones; null si el índice aún no está
+     */
+    @Nullable
+    public int[] buscarEnDescripciones(String consulta) {
+        return repositorio.buscarEnDescripciones(consulta);
+    }
+
+    /** true cuando los índices de búsqueda ya están construidos */
+    public boolean hayIndices() {
+        return repositorio.hayIndices();
+    }
+
+    // ============= ORDEN =============
+
+    /** Orden elegido en el menú */
+    public OrdenCatalogo.Criterio getCriterio() {
+        return criterio;
+    }
+
+    /** Cambia el orden (la Activity vuelve a pedir las posiciones) */
+    public void setCriterio(OrdenCatalogo.Criterio criterio) {
+        this.criterio = criterio;
+    }
+
+    /**
+     * posicionesOrdenadas - Todo el catálogo en el orden elegido
+     *
+     * @return Posiciones; null para mostrar el catálogo en su orden
+     */
+    @Nullable
+    public int[] posicionesOrdenadas() {
+        return repositorio.posicionesOrdenadas(criterio);
+    }
+
+    /**
+     * ordenar - Las posiciones de una búsqueda en el orden elegido
+     *
+     * @return Posiciones ordenadas (null si posiciones es null)
+     */
+    @Nullable
+    public int[] ordenar(@Nullable int[] posiciones) {
+        return repositorio.ordenar(posiciones, criterio);
+    }
+
+    // ============= CAMBIOS =============
+
+    /**
+     * anadir - Añade un entrenamiento al final del catálogo y lo guarda en segundo plano
+     *
+     * @return Posición del nuevo entrenamiento en el catálogo
+     */
+    public int anadir(Entrenamiento entrenamiento) {
+        return repositorio.anadir(entrenamiento);
+    }
+
+    /**
+     * guardarIndiceTexto - Guarda el índice de descripciones si ha cambiado (onPause)
+     */
+    public void guardarIndiceTexto() {
+        repositorio.guardarIndiceTexto();
+    }
+
+    // ============= CICLO DE VIDA =============
+
+    /**
+     * onCleared - La pantalla se cierra de verdad (no es una rotación)
+     *
+     * No se cierra nada: el repositorio sigue cargado para la próxima vez
+     * que se abra la pantalla en este proceso.
+     */
+    @Override
+    protected void onCleared() {
+        if (oyente != null) {
+            repositorio.dejarDeObservar(oyente);
+            oyente = null;
+        }
+    }
+}
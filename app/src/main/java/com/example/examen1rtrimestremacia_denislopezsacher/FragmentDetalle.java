@@ -1,5 +1,6 @@
 package com.example.examen1rtrimestremacia_denislopezsacher;
 
+import android.content.Context;        // Contexto para precargar vecinos
 import android.os.Bundle;              // Para pasar datos entre componentes
 import android.view.LayoutInflater;    // Para inflar layouts XML
 import android.view.View;              // Clase base de vistas
@@ -22,9 +23,15 @@ import androidx.fragment.app.Fragment; // Clase base de fragments
  * - Adaptarse a portrait (pantalla completa) y landscape (lado derecho)
  *
  * Ciclo de vida del Fragment:
- * 1. newInstance() → Crea el fragment y le pasa datos en Bundle
- * 2. onCreate() → Lee los datos del Bundle
- * 3. onCreateView() → Infla el layout y muestra los datos
+ * 1. newInstance() → Crea el fragment y le pasa el id en el Bundle
+ * 2. onCreate() → Lee el id del Bundle
+ * 3. onCreateView() → Infla el layout
+ * 4. onViewCreated() → Pide el entrenamiento a RepositorioEntrenamientos y lo muestra
+ *
+ * En la vista dual (landscape) el fragment no se reemplaza en cada click:
+ * MainActivity llama a mostrarId() y se vuelven a rellenar las mismas
+ * vistas, sin transacción ni inflar el layout. En portrait cada detalle
+ * sigue siendo una transacción en el backstack (atrás vuelve a la lista).
  *
  * ¿Por qué usar newInstance() en lugar de constructor?
  * - Google recomienda NO usar constructores con parámetros en Fragments
@@ -42,31 +49,24 @@ public class FragmentDetalle extends Fragment {
     // ============= CONSTANTES PARA LAS CLAVES DEL BUNDLE =============
 
     /**
-     * Clave para guardar/recuperar el nombre del Bundle
-     * Se usa como: bundle.putString(ARG_NOMBRE, "Pilates")
-     */
-    private static final String ARG_NOMBRE = "nombre";
-
-    /**
-     * Clave para guardar/recuperar la descripción del Bundle
-     */
-    private static final String ARG_DESCRIPCION = "descripcion";
-
-    /**
-     * Clave para guardar/recuperar el ID del icono del Bundle
+     * Clave para guardar/recuperar el id del entrenamiento del Bundle
+     * Se usa como: bundle.putLong(ARG_ID, 3L)
+     *
+     * Solo viaja el id: el nombre, la descripción y el icono los da
+     * RepositorioEntrenamientos (normalmente ya en su caché).
      */
-    private static final String ARG_ICONO = "icono";
+    private static final String ARG_ID = "id";
 
     // ============= ATRIBUTOS DEL FRAGMENT =============
 
-    /** Nombre del entrenamiento a mostrar */
-    private String nombre;
-
-    /** Descripción detallada del entrenamiento */
-    private String descripcion;
+    /** Id del entrenamiento a mostrar */
+    private long id;
 
-    /** ID del recurso del icono (ej: R.drawable.ic_pilates) */
-    private int iconoResId;
+    /**
+     * Número de la última petición al repositorio: si llega la respuesta de
+     * una anterior (lectura de SQLite más lenta) se descarta
+     */
+    private int peticion;
 
     // ============= MÉTODO FACTORY (PATRÓN RECOMENDADO) =============
 
@@ -89,14 +89,12 @@ public class FragmentDetalle extends Fragment {
      * 5. Retornar el Fragment configurado
      *
      * Ejemplo de uso desde MainActivity:
-     * FragmentDetalle fragment = FragmentDetalle.newInstance("Pilates", "Descripción...", R.drawable.ic_pilates);
+     * FragmentDetalle fragment = FragmentDetalle.newInstance(entrenamiento.getId());
      *
-     * @param nombre Nombre del entrenamiento
-     * @param descripcion Descripción del entrenamiento
-     * @param iconoResId ID del recurso del icono
-     * @return Nueva instancia de FragmentDetalle con los datos configurados
+     * @param id Id del entrenamiento
+     * @return Nueva instancia de FragmentDetalle con el id configurado
      */
-    public static FragmentDetalle newInstance(String nombre, String descripcion, int iconoResId) {
+    public static FragmentDetalle newInstance(long id) {
         // PASO 1: Crear una nueva instancia del Fragment
         // Usa el constructor vacío (único que Android garantiza que existe)
         FragmentDetalle fragment = new FragmentDetalle();
@@ -105,10 +103,8 @@ public class FragmentDetalle extends Fragment {
         // Bundle es como un HashMap que puede guardar tipos primitivos y Parcelables
         Bundle args = new Bundle();
 
-        // PASO 3: Guardar cada dato en el Bundle con su clave correspondiente
-        args.putString(ARG_NOMBRE, nombre);           // Guardar nombre
-        args.putString(ARG_DESCRIPCION, descripcion); // Guardar descripción
-        args.putInt(ARG_ICONO, iconoResId);           // Guardar ID del icono
+        // PASO 3: Guardar el id en el Bundle (8 bytes, sea cual sea la descripción)
+        args.putLong(ARG_ID, id);
 
         // PASO 4: Asignar el Bundle al Fragment
         // setArguments() guarda el Bundle en el Fragment
@@ -141,13 +137,10 @@ public class FragmentDetalle extends Fragment {
 
         // Verificar si el Fragment tiene argumentos (Bundle) asignados
         if (getArguments() != null) {
-            // LEER los datos del Bundle usando las mismas claves que en newInstance()
-            // El orden de lectura no importa (a diferencia de Parcelable)
-            nombre = getArguments().getString(ARG_NOMBRE);           // Leer nombre
-            descripcion = getArguments().getString(ARG_DESCRIPCION); // Leer descripción
-            iconoResId = getArguments().getInt(ARG_ICONO);           // Leer ID del icono
+            // LEER el id del Bundle usando la misma clave que en newInstance()
+            id = getArguments().getLong(ARG_ID);
         }
-        // Nota: Si getArguments() es null, las variables quedan con sus valores por defecto
+        // Nota: Si getArguments() es null, el id queda a 0 (no existe ninguno)
     }
 
     /**
@@ -155,9 +148,7 @@ public class FragmentDetalle extends Fragment {
      *
      * Este método es responsable de:
      * 1. Inflar el layout XML (convertir XML → objetos View)
-     * 2. Buscar las vistas por sus IDs
-     * 3. Asignar los datos a las vistas
-     * 4. Retornar la vista configurada
+     * 2. Retornar la vista (los datos se asignan en onViewCreated)
      *
      * Este método se llama cada vez que el Fragment necesita mostrar su UI.
      *
@@ -182,21 +173,115 @@ public class FragmentDetalle extends Fragment {
         // - false: NO adjuntar aún al padre (Android lo hace automáticamente)
         View view = inflater.inflate(R.layout.fragment_detalle, container, false);
 
-        // PASO 2: Buscar las vistas dentro del layout inflado
-        // findViewById busca en la jerarquía de vistas a partir de 'view'
+        // PASO 2: Retornar la vista configurada
+        // Android la añadirá automáticamente al contenedor (fragment_container)
+        return view;
+    }
+
+    /**
+     * onViewCreated - Pide el entrenamiento al repositorio y lo muestra
+     *
+     * - En la caché del repositorio (lo normal: se acaba de pulsar en la
+     *   lista): se muestra en el momento, antes del primer frame
+     * - Si no (proceso recreado): se lee su fila en segundo plano y se
+     *   muestra al llegar, si la vista sigue existiendo
+     */
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        cargar();
+    }
+
+    // ============= VISTA DUAL =============
+
+    /**
+     * mostrarId - Muestra otro entrenamiento en este mismo fragment
+     *
+     * Para la vista dual: sin transacción, sin inflar el layout y sin
+     * crear un fragment nuevo por click. El id se guarda también en los
+     * argumentos para que, si Android recrea el fragment, muestre el último.
+     *
+     * @param nuevoId Id del entrenamiento a mostrar
+     */
+    public void mostrarId(long nuevoId) {
+        if (nuevoId == id && getView() != null) {
+            return;  // Ya se está mostrando
+        }
+        id = nuevoId;
+        if (getArguments() != null) {
+            getArguments().putLong(ARG_ID, nuevoId);
+        }
+        if (getView() != null) {
+            cargar();
+        }
+    }
+
+    /**
+     * precargar - Deja listo un entrenamiento vecino para mostrarlo al instante
+     *
+     * - Lo mantiene en la caché por id del repositorio
+     * - Lee su descripción (en segundo plano) a la caché de descripciones
+     * - Rasteriza su icono al tamaño del detalle en IconoCache
+     *
+     * Así, al pulsar la fila de arriba o de abajo, mostrarId() encuentra
+     * todo en memoria y rellena las vistas en el mismo frame.
+     *
+     * @param context Contexto (se usa el de la aplicación)
+     * @param vecino Entrenamiento vecino del seleccionado
+     */
+    public static void precargar(Context context, Entrenamiento vecino) {
+        RepositorioEntrenamientos repositorio = RepositorioEntrenamientos.getInstancia(context);
+        repositorio.recordar(vecino);
+        repositorio.precargarDescripcion(vecino);
+        IconoCache.getInstancia(context).obtener(RegistroIconos.drawable(vecino.getTipoIcono()),
+                context.getResources().getDimensionPixelSize(R.dimen.icono_detalle));
+    }
+
+    /**
+     * cargar - Pide el entrenamiento actual al repositorio y lo muestra al llegar
+     *
+     * - En la caché del repositorio (lo normal): se muestra en el momento
+     * - Si no: se muestra al llegar, si la vista sigue existiendo y no se
+     *   ha pedido otro mientras tanto
+     */
+    private void cargar() {
+        int esta = ++peticion;
+        RepositorioEntrenamientos.getInstancia(requireContext()).obtenerPorId(id, entrenamiento -> {
+            View actual = getView();
+            if (esta == peticion && actual != null && entrenamiento != null) {
+                mostrar(actual, entrenamiento, esta);
+            }
+        });
+    }
+
+    /**
+     * mostrar - Asigna los datos del entrenamiento a las vistas
+     *
+     * Nombre e icono están en la cabecera; la descripción se pide aparte
+     * (caché de descripciones del repositorio o SQLite).
+     *
+     * @param esta Número de la petición que se está mostrando
+     */
+    private void mostrar(View view, Entrenamiento entrenamiento, int esta) {
+        // PASO 1: Buscar las vistas dentro del layout inflado
         ImageView ivIcono = view.findViewById(R.id.iv_detalle_icono);           // Icono del entrenamiento
         TextView tvNombre = view.findViewById(R.id.tv_detalle_nombre);          // Nombre del entrenamiento
         TextView tvDescripcion = view.findViewById(R.id.tv_detalle_descripcion); // Descripción del entrenamiento
 
-        // PASO 3: Asignar los datos leídos del Bundle a las vistas
-        // Estos datos fueron leídos en onCreate() desde el Bundle
-        ivIcono.setImageResource(iconoResId);  // Mostrar el icono
-        tvNombre.setText(nombre);              // Mostrar el nombre
-        tvDescripcion.setText(descripcion);    // Mostrar la descripción
+        // PASO 2: Asignar los datos a las vistas
+        // El icono sale de IconoCache: ya rasterizado a 120dp, sin volver a inflar el vector
+        IconoCache.getInstancia(requireContext()).mostrar(ivIcono,
+                RegistroIconos.drawable(entrenamiento.getTipoIcono()),
+                getResources().getDimensionPixelSize(R.dimen.icono_detalle));  // Mostrar el icono
+        tvNombre.setText(entrenamiento.getNombre());              // Mostrar el nombre
 
-        // PASO 4: Retornar la vista configurada
-        // Android la añadirá automáticamente al contenedor (fragment_container)
-        return view;
+        // PASO 3: La descripción, en cuanto esté (si no se ha pedido otro mientras tanto)
+        tvDescripcion.setText(null);
+        RepositorioEntrenamientos.getInstancia(requireContext()).obtenerDescripcion(entrenamiento,
+                descripcion -> {
+                    if (esta == peticion && getView() != null) {
+                        tvDescripcion.setText(descripcion);  // Mostrar la descripción
+                    }
+                });
     }
 }
-
@@ -0,0 +1,203 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.content.ComponentCallbacks2;     // Avisos de falta de memoria
+import android.content.Context;                 // Contexto de la aplicación
+import android.content.res.Configuration;       // Cambios de configuración (no afectan)
+import android.content.res.Resources;           // Recurso inexistente
+import android.graphics.Bitmap;                 // Icono ya rasterizado
+import android.graphics.Canvas;                 // Para dibujar el vector en el bitmap
+import android.graphics.drawable.Drawable;      // Icono vectorial
+import android.util.Log;                        // Registro de errores
+import android.util.LruCache;                   // Caché con límite de bytes
+import android.widget.ImageView;                // Vista que muestra el icono
+
+import androidx.core.content.ContextCompat;     // Carga del drawable
+
+/**
+ * IconoCache - Bitmaps de los iconos, ya rasterizados, compartidos por toda la app
+ *
+ * Los iconos (ic_pilates, ic_fuerza, ic_running, ic_voleibol) son vectores
+ * XML. setImageResource() los vuelve a inflar y a rasterizar en cada bind
+ * de una fila y en cada detalle. Esta caché lo hace UNA vez por icono y
+ * tamaño y después solo entrega el bitmap:
+ *
+ *   mostrar(iv, R.drawable.ic_pilates, 144 px)
+ *     → clave (ic_pilates, 144)
+ *     → ¿está? sí → setImageBitmap (acierto)
+ *              no → inflar vector + dibujar en un bitmap 144x144 → guardar (fallo)
+ *
+ * - Clave: id del recurso + tamaño en píxeles (la lista y el detalle usan
+ *   tamaños distintos: R.dimen.icono_lista / R.dimen.icono_detalle)
+ * - LRU con presupuesto en BYTES (sizeOf = bytes del bitmap), no en número
+ *   de iconos: un icono de detalle ocupa ~6 veces uno de la lista
+ * - Una sola instancia por proceso (getInstancia), compartida por
+ *   EntrenamientoAdapter y FragmentDetalle
+ * - Se registra en la aplicación: onTrimMemory() la reduce a la mitad al
+ *   ocultarse la interfaz y la vacía en segundo plano
+ * - getAciertos() / getFallos() para comprobarla en pruebas de scroll
+ */
+public final class IconoCache implements ComponentCallbacks2 {
+
+    // ============= CONSTANTES =============
+
+    /** Presupuesto por defecto (4 iconos × 2 tamaños a xxxhdpi caben de sobra) */
+    public static final int PRESUPUESTO_POR_DEFECTO_BYTES = 4 * 1024 * 1024;
+
+    /** Etiqueta para los mensajes de Log */
+    private static final String TAG = "IconoCache";
+
+    // ============= ATRIBUTOS =============
+
+    /** Instancia compartida del proceso */
+    private static IconoCache instancia;
+
+    /** Contexto de la aplicación (no de una Activity: la caché vive más) */
+    private final Context context;
+
+    /** Bitmaps por clave (id del recurso, tamaño) */
+    private final LruCache<Long, Bitmap> bitmaps;
+
+    // ============= CONSTRUCTORES =============
+
+    /**
+     * getInstancia - Caché compartida (la crea y la registra la primera vez)
+     *
+     * @param context Cualquier contexto: se usa el de la aplicación
+     */
+    public static synchronized IconoCache getInstancia(Context context) {
+        if (instancia == null) {
+            Context aplicacion = context.getApplicationContext();
+            instancia = new IconoCache(aplicacion, PRESUPUESTO_POR_DEFECTO_BYTES);
+            aplicacion.registerComponentCallbacks(instancia);
+        }
+        return instancia;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param context Contexto de la aplicación
+     * @param presupuestoBytes Bytes máximos de bitmaps en memoria
+     */
+    IconoCache(Context context, int presupuestoBytes) {
+        this.context = context;
+        this.bitmaps = new LruCache<Long, Bitmap>(presupuestoBytes) {
+            @Override
+            protected int sizeOf(Long clave, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+        };
+    }
+
+    // ============= API PÚBLICA =============
+
+    /**
+     * mostrar - Pone en el ImageView el icono al tamaño dado
+     *
+     * @param imageView Vista destino
+     * @param iconoResId Id del drawable
+     * @param tamanoPx Lado del icono en píxeles (el de la vista)
+     */
+    public void mostrar(ImageView imageView, int iconoResId, int tamanoPx) {
+        Bitmap bitmap = obtener(iconoResId, tamanoPx);
+        if (bitmap != null) {
+            imageView.setImageBitmap(bitmap);
+        } else {
+            imageView.setImageDrawable(null);
+        }
+    }
+
+    /**
+     * obtener - Bitmap del icono al tamaño dado (lo rasteriza si no está)
+     *
+     * @return Bitmap compartido (no modificar), o null si el recurso no existe
+     */
+    public Bitmap obtener(int iconoResId, int tamanoPx) {
+        long clave = ((long) iconoResId << 32) | (tamanoPx & 0xFFFFFFFFL);
+        Bitmap bitmap = bitmaps.get(clave);
+        if (bitmap == null) {
+            bitmap = rasterizar(iconoResId, tamanoPx);
+            if (bitmap != null) {
+                bitmaps.put(clave, bitmap);
+            }
+        }
+        return bitmap;
+    }
+
+    // ============= ESTADÍSTICAS =============
+
+    /** Iconos entregados sin rasterizar */
+    public int getAciertos() {
+        return bitmaps.hitCount();
+    }
+
+    /** Iconos que no estaban (rasterizados o inexistentes) */
+    public int getFallos() {
+        return bitmaps.missCount();
+    }
+
+    /** Bitmaps expulsados por el presupuesto */
+    public int getDescartes() {
+        return bitmaps.evictionCount();
+    }
+
+    /** Bytes ocupados ahora mismo */
+    public int getBytes() {
+        return bitmaps.size();
+    }
+
+    // ============= MEMORIA =============
+
+    /**
+     * onTrimMemory - El sistema pide liberar memoria
+     *
+     * - UI_HIDDEN (la app deja de verse): se queda la mitad más reciente
+     * - BACKGROUND (en la lista de procesos a cerrar): se vacía; volver a
+     *   rasterizar 4 iconos es barato comparado con que cierren el proceso
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            bitmaps.evictAll();
+        } else if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            bitmaps.trimToSize(bitmaps.maxSize() / 2);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        bitmaps.evictAll();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration nuevaConfiguracion) {
+        // Nada: el tamaño en píxeles forma parte de la clave
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * rasterizar - Infla el drawable y lo dibuja en un bitmap cuadrado
+     */
+    private Bitmap rasterizar(int iconoResId, int tamanoPx) {
+        if (tamanoPx <= 0) {
+            return null;
+        }
+        Drawable drawable;
+        try {
+            drawable = ContextCompat.getDrawable(context, iconoResId);
+        } catch (Resources.NotFoundException e) {
+            Log.e(TAG, "Icono inexistente: " + iconoResId, e);
+            return null;
+        }
+        if (drawable == null) {
+            return null;
+        }
+
+        Bitmap bitmap = Bitmap.createBitmap(tamanoPx, tamanoPx, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        drawable.setBounds(0, 0, tamanoPx, tamanoPx);
+        drawable.draw(canvas);
+        return bitmap;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.content.Context;               // Contexto para el aviso final
+import android.os.Bundle;                     // Estado guardado
+import android.view.LayoutInflater;           // Para inflar layouts
+import android.view.View;                     // Clase base de vistas
+import android.view.ViewGroup;                // Contenedor de vistas
+import android.widget.Button;                 // Botón Cancelar
+import android.widget.ProgressBar;            // Barra de progreso
+import android.widget.TextView;               // Filas leídas / importadas
+import android.widget.Toast;                  // Resumen al terminar
+
+import androidx.annotation.NonNull;           // Anotación no nulo
+import androidx.annotation.Nullable;          // Anotación puede ser null
+import androidx.fragment.app.DialogFragment;  // Clase base de dialog fragments
+
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.ImportadorCatalogo;
+
+import java.util.Locale;                      // Separador de miles
+
+/**
+ * ImportacionDialogFragment - Progreso de una importación masiva, con Cancelar
+ *
+ * La importación no vive aquí sino en RepositorioEntrenamientos (hilo de
+ * escritura): el diálogo solo la observa. Así una rotación o salir de la
+ * app no la interrumpen:
+ *
+ *   onStart() → setOyenteImportacion(this): recibe el progreso actual
+ *   onStop()  → setOyenteImportacion(null)
+ *
+ * Al terminar (o si al volver ya había terminado) muestra un resumen y se
+ * cierra. No se cierra con atrás ni tocando fuera: solo con Cancelar, que
+ * conserva los lotes ya guardados.
+ */
+public class ImportacionDialogFragment extends DialogFragment
+        implements RepositorioEntrenamientos.OyenteImportacion {
+
+    // ============= CONSTANTES =============
+
+    /** Etiqueta del fragment en el FragmentManager */
+    public static final String TAG = "ImportacionDialog";
+
+    // ============= ATRIBUTOS =============
+
+    /** Repositorio que hace la importación */
+    private RepositorioEntrenamientos repositorio;
+
+    /** Vistas del progreso */
+    private ProgressBar pbImportacion;
+    private TextView tvProgreso;
+    private Button btnCancelar;
+
+    // ============= CICLO DE VIDA =============
+
+    @Override
+    public void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setCancelable(false);  // Ni atrás ni tocar fuera: se cancela con el botón
+        repositorio = RepositorioEntrenamientos.getInstancia(requireContext());
+    }
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        View view = inflater.inflate(R.layout.dialog_importacion, container, false);
+        pbImportacion = view.findViewById(R.id.pb_importacion);
+        tvProgreso = view.findViewById(R.id.tv_progreso_importacion);
+        btnCancelar = view.findViewById(R.id.btn_cancelar_importacion);
+
+        btnCancelar.setOnClickListener(v -> {
+            repositorio.cancelarImportacion();
+            btnCancelar.setEnabled(false);  // Termina en la siguiente fila
+            tvProgreso.setText("Cancelando...");
+        });
+        return view;
+    }
+
+    /**
+     * onStart - Empieza a observar la importación (recibe el estado actual)
+     */
+    @Override
+    public void onStart() {
+        super.onStart();
+        repositorio.setOyenteImportacion(this);
+    }
+
+    /**
+     * onStop - Deja de observarla (sigue en segundo plano)
+     */
+    @Override
+    public void onStop() {
+        super.onStop();
+        repositorio.setOyenteImportacion(null);
+    }
+
+    // ============= OyenteImportacion =============
+
+    @Override
+    public void onProgresoImportacion(int leidas, int importadas, int porMil) {
+        if (porMil < 0) {
+            pbImportacion.setIndeterminate(true);  // Tamaño del archivo desconocido
+        } else {
+            pbImportacion.setIndeterminate(false);
+            pbImportacion.setProgress(porMil);
+        }
+        if (btnCancelar.isEnabled()) {
+            tvProgreso.setText(String.format(Locale.getDefault(),
+                    "%,d filas leídas · %,d importadas", leidas, importadas));
+        }
+    }
+
+    @Override
+    public void onImportacionTerminada(@Nullable ImportadorCatalogo.Resultado resultado,
+                                       @Nullable Exception error) {
+        if (resultado != null) {
+            Context context = requireContext().getApplicationContext();
+            Toast.makeText(context, resumen(resultado, error), Toast.LENGTH_LONG).show();
+        }
+        dismiss();
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * resumen - Texto del aviso final
+     */
+    private static String resumen(ImportadorCatalogo.Resultado resultado, @Nullable Exception error) {
+        Locale locale = Locale.getDefault();
+        if (error != null) {
+            return String.format(locale, "Error al importar (%s): se guardaron %,d",
+                    error.getMessage(), resultado.getImportadas());
+        }
+        String texto = String.format(locale, "%,d importados · %,d duplicados · %,d sin nombre",
+                resultado.getImportadas(), resultado.getDuplicadas(), resultado.getInvalidas());
+        return resultado.isCancelada() ? "Importación cancelada: " + texto : texto;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.os.Trace;  // Secciones visibles en Perfetto / systrace
+
+import com.example.examen1rtrimestremacia_denislopezsacher.metricas.RegistroMetricas;
+
+/**
+ * Instrumentacion - Medida de los caminos calientes (Trace + RegistroMetricas)
+ *
+ * Cada sección medida hace dos cosas:
+ * - Trace.beginSection/endSection: aparece con su nombre en una traza de
+ *   Perfetto (Android Studio → Profiler, o "adb shell perfetto")
+ * - Su duración va al histograma del mismo nombre en RegistroMetricas,
+ *   que se ve en la pantalla de diagnóstico y se vuelca en JSON
+ *
+ * Uso (sin asignar memoria, válido en onBindViewHolder):
+ *
+ *   long inicio = Instrumentacion.empezar(Instrumentacion.ADAPTER_BIND);
+ *   try {
+ *       ...
+ *   } finally {
+ *       Instrumentacion.terminar(Instrumentacion.ADAPTER_BIND, inicio);
+ *   }
+ *
+ * empezar y terminar deben llamarse en el mismo hilo (lo exige Trace).
+ */
+public final class Instrumentacion {
+
+    // ============= NOMBRES DE LAS MÉTRICAS =============
+
+    /** Almacenamiento: guardar/cargar la lista completa (JSON, diario, binario o SQLite) */
+    public static final String STORAGE_GUARDAR = "storage.guardar";
+    public static final String STORAGE_CARGAR = "storage.cargar";
+
+    /** Almacenamiento: bytes escritos y leídos (JSON y binario) */
+    public static final String STORAGE_BYTES_ESCRITOS = "storage.escritos";
+    public static final String STORAGE_BYTES_LEIDOS = "storage.leidos";
+
+    /** SQLite: páginas del catálogo, altas y descripciones */
+    public static final String SQLITE_PAGINA = "sqlite.pagina";
+    public static final String SQLITE_FILAS = "sqlite.filas";
+    public static final String SQLITE_ANADIR = "sqlite.anadir";
+    public static final String SQLITE_DESCRIPCION = "sqlite.descripcion";
+
+    /** Importación masiva: un lote (una transacción), filas insertadas y la importación entera */
+    public static final String SQLITE_LOTE = "sqlite.lote";
+    public static final String SQLITE_FILAS_IMPORTADAS = "sqlite.filas_importadas";
+    public static final String IMPORTACION = "importacion";
+
+    /** Exportación: duración y bytes escritos en el documento */
+    public static final String EXPORTACION = "exportacion";
+
+    /** Lista: crear y rellenar filas del RecyclerView */
+    public static final String ADAPTER_CREAR = "adapter.crear";
+    public static final String ADAPTER_BIND = "adapter.bind";
+
+    /** Detalle: mostrarDetalle() y cómo se resolvió */
+    public static final String DETALLE_MOSTRAR = "detalle.mostrar";
+    public static final String DETALLE_EN_SITIO = "detalle.en_sitio";
+    public static final String DETALLE_TRANSACCION = "detalle.transaccion";
+
+    /** Diálogo de alta: comprobación de duplicados */
+    public static final String DIALOGO_DUPLICADO = "dialogo.duplicado";
+    public static final String DIALOGO_DUPLICADOS_ENCONTRADOS = "dialogo.duplicados_encontrados";
+
+    /** Registro del proceso */
+    private static final RegistroMetricas REGISTRO = RegistroMetricas.global();
+
+    /** Clase de utilidades: no se instancia */
+    private Instrumentacion() {
+    }
+
+    // ============= SECCIONES =============
+
+    /**
+     * empezar - Abre una sección de Trace y devuelve el instante de inicio
+     *
+     * @param nombre Nombre de la sección y de su histograma
+     * @return Instante (System.nanoTime) que hay que pasar a terminar()
+     */
+    public static long empezar(String nombre) {
+        Trace.beginSection(nombre);
+        return System.nanoTime();
+    }
+
+    /**
+     * terminar - Cierra la sección y registra su duración
+     *
+     * @param nombre El mismo nombre que en empezar()
+     * @param inicio Lo que devolvió empezar()
+     */
+    public static void terminar(String nombre, long inicio) {
+        long duracion = System.nanoTime() - inicio;
+        Trace.endSection();
+        REGISTRO.registrarLatencia(nombre, duracion);
+    }
+
+    // ============= CONTADORES =============
+
+    /** contar - Suma 1 a un contador */
+    public static void contar(String nombre) {
+        REGISTRO.incrementar(nombre);
+    }
+
+    /** contar - Suma una cantidad a un contador */
+    public static void contar(String nombre, long cantidad) {
+        REGISTRO.incrementar(nombre, cantidad);
+    }
+
+    /** sumarBytes - Acumula bytes escritos o leídos */
+    public static void sumarBytes(String nombre, long cantidad) {
+        REGISTRO.sumarBytes(nombre, cantidad);
+    }
+}
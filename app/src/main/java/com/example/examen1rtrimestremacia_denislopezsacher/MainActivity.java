@@ -1,69 +1,140 @@
 package com.example.examen1rtrimestremacia_denislopezsacher;
 
 // Imports necesarios para la funcionalidad de la Activity
+import android.content.Context;            // Contexto de la aplicación (aviso al exportar)
+import android.content.Intent;             // Abrir la pantalla de diagnóstico
 import android.content.res.Configuration;  // Para detectar orientación del dispositivo
+import android.net.Uri;                    // Archivo elegido para importar
 import android.os.Bundle;                  // Para guardar/restaurar estado
+import android.util.Log;                   // Registro de estadísticas
 import android.view.Menu;                  // Para inflar menú de opciones
 import android.view.MenuItem;              // Para manejar clicks en menú
 import android.view.View;                  // Para manejar visibilidad de vistas
 import android.widget.FrameLayout;         // Contenedor para fragments
-import android.widget.ListView;            // Para mostrar lista de entrenamientos
+import android.widget.Toast;               // Mensajes emergentes
 
 import androidx.activity.OnBackPressedCallback;  // API moderna para botón atrás
+import androidx.activity.result.ActivityResultLauncher;                 // Selector de archivos
+import androidx.activity.result.contract.ActivityResultContracts;       // Contrato OpenDocument
 import androidx.annotation.NonNull;              // Anotación para valores no nulos
 import androidx.appcompat.app.AppCompatActivity; // Activity base de AppCompat
+import androidx.appcompat.widget.SearchView;     // Caja de búsqueda del toolbar
+import androidx.core.content.ContextCompat;      // Drawable del separador
+import androidx.fragment.app.Fragment;            // Detalle ya mostrado (vista dual)
 import androidx.fragment.app.FragmentTransaction; // Para transacciones de fragments
-
-// Imports de las clases de entrenamientos específicas
-import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Fuerza;
-import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Pilates;
-import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Running;
-import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Voleibol;
+import androidx.lifecycle.ViewModelProvider;      // Obtiene (o crea) el ViewModel de la pantalla
+import androidx.recyclerview.widget.DividerItemDecoration;  // Separador entre filas
+import androidx.recyclerview.widget.LinearLayoutManager;    // Disposición en lista vertical
+import androidx.recyclerview.widget.RecyclerView;           // Para mostrar lista de entrenamientos
+
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.OrdenCatalogo;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.CatalogoPaginado;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.ExportadorCatalogo;
 import com.google.android.material.appbar.MaterialToolbar;  // Toolbar Material Design
 
-import java.util.ArrayList;  // Para crear listas dinámicas
-import java.util.List;       // Interfaz para listas
+import java.util.EnumMap;  // Un selector de documento por formato de exportación
+import java.util.Locale;   // Separador de miles en los avisos
+import java.util.Map;      // Interfaz de mapa
 
 /**
  * MainActivity - Activity principal de la aplicación de entrenamientos
  *
  * Responsabilidades:
  * - Gestionar el ciclo de vida de la aplicación
- * - Mostrar lista de entrenamientos en un ListView
- * - Manejar la vista dual en landscape (ListView + Fragment)
- * - Gestionar la persistencia de datos con SharedPreferences
+ * - Mostrar lista de entrenamientos en un RecyclerView
+ * - Manejar la vista dual en landscape (RecyclerView + Fragment)
  * - Comunicarse con DialogFragment para añadir entrenamientos
  *
+ * Los datos (catálogo, índices, almacenamiento) están en
+ * EntrenamientosViewModel: sobreviven a la rotación, así que la nueva
+ * Activity los encuentra ya cargados. En el Bundle solo se guardan la
+ * selección, el scroll y el orden (para cuando Android cierra el proceso).
+ *
  * Implementa OnEntrenamientoAddedListener para recibir callbacks del DialogFragment
+ * y OyenteCarga para saber cuándo están los datos y los índices
  */
-public class MainActivity extends AppCompatActivity implements AddEntrenamientoDialogFragment.OnEntrenamientoAddedListener {
+public class MainActivity extends AppCompatActivity
+        implements AddEntrenamientoDialogFragment.OnEntrenamientoAddedListener,
+        RepositorioEntrenamientos.OyenteCarga {
+
+    // ============= CONSTANTES =============
+
+    /** Claves del estado guardado (solo números: nada de entrenamientos) */
+    private static final String ESTADO_SELECCION = "posicion_seleccionada";
+    private static final String ESTADO_SCROLL = "posicion_scroll";
+    private static final String ESTADO_DESPLAZAMIENTO = "desplazamiento_scroll";
+    private static final String ESTADO_ORDEN = "orden";
+
+    /** Items del submenú Ordenar (uno por criterio) */
+    private static final int[] ITEMS_ORDEN = {
+            R.id.orden_alta, R.id.orden_recientes, R.id.orden_nombre, R.id.orden_tipo
+    };
+
+    /** Etiqueta para los mensajes de Log */
+    private static final String TAG = "MainActivity";
+
+    /** Tipos que ofrece el selector al importar (CSV y JSON) */
+    private static final String[] TIPOS_IMPORTACION = {
+            "text/*", "application/json", "application/vnd.ms-excel", "application/octet-stream"
+    };
 
     // ============= ATRIBUTOS DE LA CLASE =============
 
     /** Toolbar de Material Design en la parte superior */
     private MaterialToolbar toolbar;
 
-    /** ListView que muestra la lista de entrenamientos */
-    private ListView lvEntrenamientos;
+    /** RecyclerView que muestra la lista de entrenamientos */
+    private RecyclerView rvEntrenamientos;
 
     /** Contenedor donde se muestran los fragments de detalle */
     private FrameLayout fragmentContainer;
 
-    /** Adapter personalizado que conecta los datos con el ListView */
+    /** Adapter personalizado que conecta los datos con el RecyclerView */
     private EntrenamientoAdapter adapter;
 
-    /** Lista que contiene todos los objetos Entrenamiento */
-    private List<Entrenamiento> entrenamientos;
+    /** Datos de la pantalla: los conserva Android al rotar */
+    private EntrenamientosViewModel viewModel;
+
+    /** Catálogo del ViewModel (el que lee el adapter) */
+    private CatalogoPaginado catalogo;
 
     /** Flag que indica si estamos en modo dual (landscape) o simple (portrait) */
     private boolean isDualPane;
 
-    /** Gestor de almacenamiento persistente usando SharedPreferences */
-    private EntrenamientoStorage storage;
-
     /** Posición del entrenamiento actualmente seleccionado (-1 si no hay selección) */
     private int posicionSeleccionada = -1;
 
+    /** true cuando el catálogo ya está abierto (se sabe cuántos entrenamientos hay) */
+    private boolean cargaCompleta;
+
+    /** true si la carga terminó con la Activity en segundo plano */
+    private boolean restaurarSeleccionPendiente;
+
+    /**
+     * Scroll a restaurar cuando el catálogo esté abierto: posición en el
+     * catálogo de la primera fila visible y su desplazamiento en píxeles
+     * (-1 = nada que restaurar)
+     */
+    private int posicionScroll = -1;
+    private int desplazamientoScroll;
+
+    /** Tiempo hasta el primer frame y hasta los datos de esta creación */
+    private MetricasArranque metricas;
+
+    /** Texto actual de la caja de búsqueda ("" = sin filtro) */
+    private String consultaBusqueda = "";
+
+    /** true si el filtro actual viene de buscar en las descripciones (Intro) */
+    private boolean busquedaEnDescripciones;
+
+    /** Selector del archivo a importar (Storage Access Framework) */
+    private final ActivityResultLauncher<String[]> selectorImportacion =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), this::importar);
+
+    /** Selectores del documento a crear al exportar (uno por tipo MIME) */
+    private final Map<ExportadorCatalogo.Formato, ActivityResultLauncher<String>> selectoresExportacion =
+            registrarSelectoresExportacion();
+
     /**
      * onCreate - Método del ciclo de vida llamado cuando se crea la Activity
      *
@@ -76,8 +147,10 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        metricas = MetricasArranque.iniciar();  // Empieza a contar (primer frame y datos)
         super.onCreate(savedInstanceState);  // Llamar al método padre obligatoriamente
         setContentView(R.layout.activity_main);  // Inflar el layout correspondiente (portrait o landscape)
+        metricas.medirPrimerFrame(getWindow().getDecorView());
 
         // ========== PASO 1: CONFIGURAR TOOLBAR ==========
         toolbar = findViewById(R.id.toolbar);  // Buscar el toolbar en el layout
@@ -91,17 +164,36 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
                 mostrarDialogAgregarEntrenamiento();  // Mostrar el diálogo
                 return true;  // Indicar que el evento fue consumido
             }
+            if (item.getItemId() == R.id.action_importar) {
+                elegirArchivoImportacion();  // CSV o JSON
+                return true;
+            }
+            if (formatoExportacion(item.getItemId()) != null) {
+                elegirArchivoExportacion(formatoExportacion(item.getItemId()));
+                return true;
+            }
+            if (criterioOrden(item.getItemId()) != null) {
+                ordenarPor(item);
+                return true;
+            }
+            if (item.getItemId() == R.id.action_metricas) {
+                startActivity(new Intent(this, MetricasActivity.class));  // Pantalla de diagnóstico
+                return true;
+            }
             return false;  // El evento no fue manejado
         });
 
         // ========== PASO 2: INICIALIZAR VISTAS ==========
         // Buscar las vistas en el layout por su ID
-        lvEntrenamientos = findViewById(R.id.lv_entrenamientos);     // ListView de entrenamientos
+        rvEntrenamientos = findViewById(R.id.rv_entrenamientos);     // RecyclerView de entrenamientos
         fragmentContainer = findViewById(R.id.fragment_container);   // Contenedor de fragments
 
-        // ========== PASO 3: CONFIGURAR SISTEMA DE ALMACENAMIENTO ==========
-        // Crear instancia del gestor de almacenamiento pasando el contexto
-        storage = new EntrenamientoStorage(this);
+        // ========== PASO 3: OBTENER LOS DATOS (VIEWMODEL) ==========
+        // Primera vez: crea el almacenamiento SQLite y el catálogo (sin tocar
+        // el disco todavía). Tras una rotación: devuelve la MISMA instancia,
+        // con el catálogo, sus páginas y los índices ya en memoria
+        viewModel = new ViewModelProvider(this).get(EntrenamientosViewModel.class);
+        catalogo = viewModel.getCatalogo();
 
         // ========== PASO 4: DETECTAR ORIENTACIÓN ==========
         // Obtener la orientación actual del dispositivo desde la configuración
@@ -109,74 +201,255 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
         // Si es PORTRAIT → isDualPane = false (vista simple)
         isDualPane = getResources().getConfiguration().orientation == Configuration.ORIENTATION_LANDSCAPE;
 
-        // ========== PASO 5: CARGAR DATOS (PRIORIDAD: Bundle > SharedPreferences > Default) ==========
+        // ========== PASO 5: PREPARAR LA CARGA (PRIORIDAD: SQLite > Default) ==========
+        // Nada de disco en el hilo principal: el primer frame sale con el
+        // toolbar y la lista vacía, y los datos llegan al abrir el catálogo
+
+        // Restaurar la selección y el scroll (si existen)
+        // La lista no viaja en el Bundle: al rotar sigue en el ViewModel y,
+        // si Android cerró el proceso, se vuelve a abrir el catálogo, que
+        // solo lee la página visible
+        if (savedInstanceState != null) {
+            posicionSeleccionada = savedInstanceState.getInt(ESTADO_SELECCION, -1);
+            posicionScroll = savedInstanceState.getInt(ESTADO_SCROLL, -1);
+            desplazamientoScroll = savedInstanceState.getInt(ESTADO_DESPLAZAMIENTO, 0);
+            String orden = savedInstanceState.getString(ESTADO_ORDEN);
+            if (orden != null) {
+                viewModel.setCriterio(OrdenCatalogo.Criterio.valueOf(orden));  // Tras la muerte del proceso
+            }
+        }
+
+        // PRIORIDAD 1: Datos ya en el ViewModel (rotación)
+        // PRIORIDAD 2: Cargar desde SQLite (app cerrada y vuelta a abrir)
+        // PRIORIDAD 3: Primera vez - Crear entrenamientos por defecto
+        // El ViewModel lo decide y avisa en onCatalogoAbierto() (PASO 8)
+
+        // ========== PASO 6: CONFIGURAR ADAPTER Y RECYCLERVIEW ==========
+        // Lista vertical con un separador de 1dp entre filas
+        rvEntrenamientos.setLayoutManager(new LinearLayoutManager(this));
+        DividerItemDecoration separador = new DividerItemDecoration(this, DividerItemDecoration.VERTICAL);
+        separador.setDrawable(ContextCompat.getDrawable(this, R.drawable.divider_entrenamiento));
+        rvEntrenamientos.addItemDecoration(separador);
+
+        // Crear el adapter que conecta los datos (catálogo) con la vista (RecyclerView)
+        adapter = new EntrenamientoAdapter(this, catalogo);
+        // Asignar el adapter al RecyclerView para que se muestren los datos
+        rvEntrenamientos.setAdapter(adapter);
+
+        // ========== PASO 7: CONFIGURAR LISTENER DE CLICKS EN LA LISTA ==========
+        // Lambda que se ejecuta cuando el usuario hace click en una fila
+        // (el adapter ya traduce la posición visible a la de la lista completa)
+        adapter.setOnEntrenamientoClickListener(posicionEnLista -> {
+            // Guardar la posición seleccionada para restaurarla al rotar
+            posicionSeleccionada = posicionEnLista;
+
+            // Mostrar el fragment de detalle con la información del entrenamiento
+            // (si la fila aún estaba vacía, en cuanto llegue su página)
+            mostrarDetalleCuandoEste(posicionSeleccionada);
+        });
+
+        // ========== PASO 8: CARGAR DATOS Y RESTAURAR LA SELECCIÓN ==========
+        // La selección, el scroll y el detalle de la vista dual se restauran
+        // al terminar la carga, no antes (tras una rotación: ahora mismo)
+        viewModel.observar(this);
+
+        // ========== PASO 9: CONFIGURAR NAVEGACIÓN DEL BOTÓN ATRÁS ==========
+        configurarBackNavigation();  // Método que gestiona el comportamiento del botón atrás
+    }
 
-        // PRIORIDAD 1: Restaurar desde savedInstanceState (rotación de pantalla)
-        // Cuando se rota, Android guarda el estado en un Bundle
-        if (savedInstanceState != null && savedInstanceState.containsKey("entrenamientos")) {
-            // getParcelableArrayList deserializa los objetos Parcelable guardados
-            entrenamientos = savedInstanceState.getParcelableArrayList("entrenamientos");
-            // Restaurar también la posición seleccionada (si existe)
-            posicionSeleccionada = savedInstanceState.getInt("posicion_seleccionada", -1);
+    /**
+     * onCatalogoAbierto - Los datos están listos (aviso del ViewModel)
+     *
+     * Primera apertura: al terminar de leer en segundo plano el número de
+     * entrenamientos y la primera página. Tras una rotación: en el mismo
+     * onCreate(), porque el ViewModel ya los tenía.
+     *
+     * 1. Se pasan las filas al adapter y se mide el tiempo hasta los datos
+     * 2. Se restaura el scroll
+     * 3. Se restaura la selección (y el detalle en la vista dual)
+     */
+    @Override
+    public void onCatalogoAbierto() {
+        if (isDestroyed()) {
+            return;
         }
-        // PRIORIDAD 2: Cargar desde SharedPreferences (app cerrada y vuelta a abrir)
-        else if (storage.hayEntrenamientosGuardados()) {
-            // Cargar la lista desde el almacenamiento persistente (JSON → List)
-            entrenamientos = storage.cargarEntrenamientos();
+
+        // PASO 1: Datos en la lista
+        cargaCompleta = true;
+        adapter.actualizar();  // Inserta las filas (vacías hasta que llegue su página)
+        metricas.registrarDatos();
+        reportFullyDrawn();
+
+        // PASO 2: Restaurar el scroll (la lista aún no tiene filtro)
+        if (posicionScroll >= 0 && posicionScroll < catalogo.tamano()) {
+            LinearLayoutManager layoutManager = (LinearLayoutManager) rvEntrenamientos.getLayoutManager();
+            layoutManager.scrollToPositionWithOffset(posicionScroll, desplazamientoScroll);
         }
-        // PRIORIDAD 3: Primera vez - Crear entrenamientos por defecto
-        else {
-            initEntrenamientos();  // Crear los 4 entrenamientos iniciales
-            storage.guardarEntrenamientos(entrenamientos);  // Guardarlos inmediatamente
+        posicionScroll = -1;
+
+        // PASO 3: Restaurar la selección
+        // Si la Activity ya guardó su estado (está en segundo plano) no se
+        // pueden hacer transacciones de fragments: se restaura en onResume()
+        if (getSupportFragmentManager().isStateSaved()) {
+            restaurarSeleccionPendiente = true;
+        } else {
+            restaurarSeleccion();
         }
+    }
 
-        // ========== PASO 6: CONFIGURAR ADAPTER Y LISTVIEW ==========
-        // Crear el adapter que conecta los datos (entrenamientos) con la vista (ListView)
-        adapter = new EntrenamientoAdapter(this, entrenamientos);
-        // Asignar el adapter al ListView para que se muestren los datos
-        lvEntrenamientos.setAdapter(adapter);
+    /**
+     * onIndicesListos - Ya se puede buscar y ordenar (aviso del ViewModel)
+     */
+    @Override
+    public void onIndicesListos() {
+        if (!isDestroyed()) {
+            aplicarOrden();  // Por si ya se había elegido un orden o escrito algo
+        }
+    }
 
-        // ========== PASO 7: CONFIGURAR LISTENER DE CLICKS EN EL LISTVIEW ==========
-        // Lambda que se ejecuta cuando el usuario hace click en un item del ListView
-        lvEntrenamientos.setOnItemClickListener((parent, view, position, id) -> {
-            // Guardar la posición seleccionada para restaurarla al rotar
-            posicionSeleccionada = position;
+    /**
+     * onCatalogoAmpliado - Una importación añadió entrenamientos al final
+     *
+     * Sin búsqueda se publican las filas nuevas (vacías hasta que llegue su
+     * página), en el orden del catálogo hasta que los órdenes las incluyan.
+     * Con búsqueda se vuelve a filtrar en onIndicesListos(), cuando los
+     * índices ya incluyan lo importado.
+     */
+    @Override
+    public void onCatalogoAmpliado() {
+        if (!isDestroyed() && !adapter.hayFiltro()) {
+            adapter.setOrden(viewModel.posicionesOrdenadas());  // null hasta reconstruir los órdenes
+        }
+    }
 
-            // Obtener el entrenamiento correspondiente a la posición clickeada
-            Entrenamiento entrenamiento = entrenamientos.get(position);
-            // Mostrar el fragment de detalle con la información del entrenamiento
-            mostrarDetalle(entrenamiento);
-        });
+    /**
+     * buscarEnDescripciones - Filtra por palabras de la descripción, por relevancia
+     *
+     * Se usa al pulsar Intro en la caja de búsqueda. Admite varias palabras
+     * (todas deben aparecer), "OR" entre ellas y "*" al final para prefijo:
+     * "potencia resis*", "carrera OR natación".
+     *
+     * @param consulta Texto de la caja de búsqueda
+     */
+    private void buscarEnDescripciones(String consulta) {
+        consultaBusqueda = consulta != null ? consulta : "";
+        busquedaEnDescripciones = !consultaBusqueda.trim().isEmpty();
+        if (!busquedaEnDescripciones) {
+            filtrar(consultaBusqueda);
+            return;
+        }
+        int[] posiciones = viewModel.buscarEnDescripciones(consultaBusqueda);
+        if (posiciones == null) {
+            return;  // Se aplica al terminar de construir el índice
+        }
+        adapter.setFiltro(viewModel.ordenar(posiciones));  // Con ALTA, por relevancia
+        if (posiciones.length == 0) {
+            Toast.makeText(this, "Ninguna descripción contiene: " + consultaBusqueda, Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    /**
+     * aplicarBusqueda - Vuelve a aplicar la búsqueda actual (tras cargar índices o añadir)
+     */
+    private void aplicarBusqueda() {
+        if (busquedaEnDescripciones) {
+            buscarEnDescripciones(consultaBusqueda);
+        } else {
+            filtrar(consultaBusqueda);
+        }
+    }
 
-        // ========== PASO 8: CONFIGURACIÓN ESPECIAL SEGÚN ORIENTACIÓN Y SELECCIÓN ==========
+    /**
+     * filtrar - Muestra solo los entrenamientos con una palabra que empieza por la consulta
+     *
+     * Se llama en cada pulsación. Si la consulta amplía la anterior, el
+     * índice busca dentro de los resultados anteriores.
+     *
+     * @param consulta Texto de la caja de búsqueda
+     */
+    private void filtrar(String consulta) {
+        consultaBusqueda = consulta != null ? consulta : "";
+        busquedaEnDescripciones = false;
+        if (!viewModel.hayIndices()) {
+            return;  // Se aplica al terminar de construir el índice
+        }
+        adapter.setFiltro(viewModel.ordenar(viewModel.buscarPrefijo(consultaBusqueda)));
+    }
 
+    // ============= ORDEN =============
+
+    /**
+     * criterioOrden - Criterio de un item del submenú Ordenar (null si es otro item)
+     */
+    private static OrdenCatalogo.Criterio criterioOrden(int itemId) {
+        if (itemId == R.id.orden_alta) {
+            return OrdenCatalogo.Criterio.ALTA;
+        }
+        if (itemId == R.id.orden_recientes) {
+            return OrdenCatalogo.Criterio.RECIENTES;
+        }
+        if (itemId == R.id.orden_nombre) {
+            return OrdenCatalogo.Criterio.NOMBRE;
+        }
+        if (itemId == R.id.orden_tipo) {
+            return OrdenCatalogo.Criterio.TIPO;
+        }
+        return null;
+    }
+
+    /**
+     * ordenarPor - El usuario eligió un orden en el menú
+     */
+    private void ordenarPor(MenuItem item) {
+        item.setChecked(true);
+        viewModel.setCriterio(criterioOrden(item.getItemId()));
+        aplicarOrden();
+    }
+
+    /**
+     * aplicarOrden - Publica la lista en el orden elegido y vuelve a aplicar la búsqueda
+     *
+     * Los órdenes ya están ordenados en el repositorio (las claves de cada
+     * nombre se calcularon al construir los índices): aquí solo se copian
+     * las posiciones, sin comparar nombres. Hasta que están, la lista se
+     * muestra en orden de alta.
+     */
+    private void aplicarOrden() {
+        adapter.setOrden(viewModel.posicionesOrdenadas());
+        aplicarBusqueda();
+    }
+
+    /**
+     * restaurarSeleccion - Muestra el detalle seleccionado según la orientación
+     *
+     * Se llama cuando el catálogo ya está abierto (al terminar de abrirlo en
+     * segundo plano, o en onResume() si la carga acabó en segundo plano).
+     */
+    private void restaurarSeleccion() {
         // Verificar si hay un entrenamiento previamente seleccionado (rotación con selección)
-        if (posicionSeleccionada >= 0 && posicionSeleccionada < entrenamientos.size()) {
+        if (posicionSeleccionada >= 0 && posicionSeleccionada < catalogo.tamano()) {
             // Hay una selección previa válida, mostrar ese entrenamiento
 
             if (isDualPane) {
                 // ===== LANDSCAPE con selección =====
-                // Mostrar en vista dual (ListView + Fragment)
-                mostrarDetalle(entrenamientos.get(posicionSeleccionada));
+                // Mostrar en vista dual (RecyclerView + Fragment)
+                mostrarDetalleCuandoEste(posicionSeleccionada);
             } else {
                 // ===== PORTRAIT con selección =====
                 // Mostrar directamente el fragment en pantalla completa
-                // Ocultar el ListView y mostrar solo el fragment
-                lvEntrenamientos.setVisibility(View.GONE);
+                // Ocultar la lista y mostrar solo el fragment
+                rvEntrenamientos.setVisibility(View.GONE);
                 fragmentContainer.setVisibility(View.VISIBLE);
-                mostrarDetalle(entrenamientos.get(posicionSeleccionada));
+                mostrarDetalleCuandoEste(posicionSeleccionada);
             }
-        } else if (isDualPane && !entrenamientos.isEmpty()) {
+        } else if (isDualPane && catalogo.tamano() > 0) {
             // ===== LANDSCAPE sin selección previa =====
             // Mostrar el primer entrenamiento por defecto en vista dual
             posicionSeleccionada = 0;
-            mostrarDetalle(entrenamientos.get(0));
+            mostrarDetalleCuandoEste(0);
         }
-        // Si estamos en portrait sin selección previa, solo se muestra el ListView
+        // Si estamos en portrait sin selección previa, solo se muestra la lista
         // (comportamiento por defecto, no hacemos nada)
-
-        // ========== PASO 9: CONFIGURAR NAVEGACIÓN DEL BOTÓN ATRÁS ==========
-        configurarBackNavigation();  // Método que gestiona el comportamiento del botón atrás
     }
 
     /**
@@ -186,7 +459,7 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
      * el botón de navegación atrás del sistema.
      *
      * Comportamiento:
-     * - Portrait con fragment visible: Vuelve al ListView
+     * - Portrait con fragment visible: Vuelve a la lista
      * - Otros casos: Comportamiento por defecto (cierra app)
      */
     private void configurarBackNavigation() {
@@ -201,18 +474,18 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
             public void handleOnBackPressed() {
                 // Verificar si estamos en portrait Y el fragment está visible
                 if (!isDualPane && fragmentContainer.getVisibility() == View.VISIBLE) {
-                    // CASO 1: Portrait con fragment visible → Volver al ListView
+                    // CASO 1: Portrait con fragment visible → Volver a la lista
 
                     // Remover el fragment del backstack (destruirlo)
                     getSupportFragmentManager().popBackStack();
 
-                    // Hacer visible el ListView nuevamente
-                    lvEntrenamientos.setVisibility(View.VISIBLE);
+                    // Hacer visible la lista nuevamente
+                    rvEntrenamientos.setVisibility(View.VISIBLE);
 
                     // Ocultar el contenedor del fragment
                     fragmentContainer.setVisibility(View.GONE);
                 } else {
-                    // CASO 2: Landscape O ListView visible → Cerrar app
+                    // CASO 2: Landscape O lista visible → Cerrar app
 
                     // Deshabilitar este callback para permitir el comportamiento por defecto
                     setEnabled(false);
@@ -225,44 +498,74 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
     }
 
     /**
-     * initEntrenamientos - Inicializa la lista con los 4 entrenamientos por defecto
+     * mostrarDetalleCuandoEste - Muestra el detalle de una posición en cuanto su página esté en memoria
      *
-     * Este método solo se llama la primera vez que se abre la app,
-     * cuando no hay datos guardados en SharedPreferences.
+     * Casi siempre está ya (es la fila pulsada o la primera página). Si hay
+     * que esperarla y mientras tanto la Activity ha guardado su estado, el
+     * detalle se muestra en onResume(). Si la página no se pudo leer, no se
+     * muestra nada (la fila sigue seleccionada y se puede volver a pulsar).
      *
-     * Crea instancias de las clases específicas de entrenamientos:
-     * - Pilates, Voleibol, Fuerza, Running
+     * @param posicion Posición en el catálogo
      */
-    private void initEntrenamientos() {
-        // Crear una nueva lista vacía
-        entrenamientos = new ArrayList<>();
-
-        // Añadir las 4 instancias de entrenamientos predefinidos
-        // Cada clase (Pilates, Voleibol, etc.) ya tiene su nombre, descripción e icono
-        entrenamientos.add(new Pilates());    // Añade entrenamiento de Pilates
-        entrenamientos.add(new Voleibol());   // Añade entrenamiento de Voleibol
-        entrenamientos.add(new Fuerza());     // Añade entrenamiento de Fuerza
-        entrenamientos.add(new Running());    // Añade entrenamiento de Running
+    private void mostrarDetalleCuandoEste(int posicion) {
+        catalogo.obtenerCuandoEste(posicion, entrenamiento -> {
+            if (entrenamiento == null || isDestroyed() || posicion != posicionSeleccionada) {
+                return;  // No se pudo leer o ya se ha seleccionado otro
+            }
+            if (getSupportFragmentManager().isStateSaved()) {
+                restaurarSeleccionPendiente = true;
+            } else {
+                mostrarDetalle(entrenamiento);
+            }
+        });
     }
 
     /**
      * mostrarDetalle - Muestra el fragment de detalle con la información del entrenamiento
      *
-     * Este método maneja la transición entre el ListView y el fragment de detalle.
+     * Este método maneja la transición entre la lista y el fragment de detalle.
      * Comportamiento diferente según la orientación:
-     * - Portrait: Oculta ListView, muestra fragment pantalla completa
-     * - Landscape: Ambos visibles (vista dual)
+     * - Portrait: Oculta la lista, muestra fragment pantalla completa
+     *   (una transacción en el backstack por detalle: atrás vuelve a la lista)
+     * - Landscape: Ambos visibles (vista dual). Si el detalle ya está, se
+     *   rellena de nuevo en su sitio (sin transacción ni inflar el layout)
+     *
+     * En los dos casos se dejan preparados los vecinos del seleccionado.
+     * El tiempo total va a la métrica "detalle.mostrar" y se cuenta cuántas
+     * veces se resolvió en el sitio y cuántas con transacción.
      *
      * @param entrenamiento El entrenamiento cuyo detalle se va a mostrar
      */
     private void mostrarDetalle(Entrenamiento entrenamiento) {
+        long inicio = Instrumentacion.empezar(Instrumentacion.DETALLE_MOSTRAR);
+        try {
+            abrirDetalle(entrenamiento);
+        } finally {
+            Instrumentacion.terminar(Instrumentacion.DETALLE_MOSTRAR, inicio);
+        }
+    }
+
+    /**
+     * abrirDetalle - Trabajo de mostrarDetalle() (sin medir)
+     */
+    private void abrirDetalle(Entrenamiento entrenamiento) {
+        precargarVecinos(posicionSeleccionada);
+
+        // ===== VISTA DUAL CON DETALLE YA CREADO =====
+        // Mismo fragment, mismas vistas: solo cambia el entrenamiento
+        if (isDualPane) {
+            Fragment actual = getSupportFragmentManager().findFragmentById(R.id.fragment_container);
+            if (actual instanceof FragmentDetalle && actual.getView() != null) {
+                ((FragmentDetalle) actual).mostrarId(entrenamiento.getId());
+                fragmentContainer.setVisibility(View.VISIBLE);
+                Instrumentacion.contar(Instrumentacion.DETALLE_EN_SITIO);
+                return;
+            }
+        }
+
         // Crear una nueva instancia del fragment usando el patrón Factory
-        // newInstance() crea el fragment y le pasa los datos mediante Bundle
-        FragmentDetalle fragment = FragmentDetalle.newInstance(
-                entrenamiento.getNombre(),        // Nombre del entrenamiento
-                entrenamiento.getDescripcion(),   // Descripción del entrenamiento
-                entrenamiento.getIconoResId()     // ID del recurso del icono
-        );
+        // newInstance() solo le pasa el id: los datos los da el repositorio
+        FragmentDetalle fragment = FragmentDetalle.newInstance(entrenamiento.getId());
 
         // Iniciar una transacción de fragments (permite realizar múltiples operaciones)
         FragmentTransaction transaction = getSupportFragmentManager().beginTransaction();
@@ -274,8 +577,8 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
         // Diferenciar comportamiento según orientación
         if (!isDualPane) {
             // ===== MODO PORTRAIT =====
-            // Ocultar el ListView (solo se ve el fragment)
-            lvEntrenamientos.setVisibility(View.GONE);
+            // Ocultar la lista (solo se ve el fragment)
+            rvEntrenamientos.setVisibility(View.GONE);
 
             // Hacer visible el contenedor del fragment
             fragmentContainer.setVisibility(View.VISIBLE);
@@ -285,13 +588,40 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
             transaction.addToBackStack(null);
         } else {
             // ===== MODO LANDSCAPE =====
-            // Solo hacer visible el contenedor (el ListView ya está visible)
+            // Solo hacer visible el contenedor (la lista ya está visible)
             // No se añade al backstack porque la vista dual es permanente
             fragmentContainer.setVisibility(View.VISIBLE);
         }
 
         // Ejecutar la transacción (aplicar todos los cambios)
         transaction.commit();
+        Instrumentacion.contar(Instrumentacion.DETALLE_TRANSACCION);
+    }
+
+    /**
+     * precargarVecinos - Prepara las filas de arriba y de abajo de la seleccionada
+     *
+     * Vecinos en el orden de la lista que se ve (con búsqueda activa, los
+     * de los resultados). Si su página no está en memoria se pide ya, en
+     * segundo plano; al llegar se guardan en la caché por id y su icono se
+     * rasteriza al tamaño del detalle (FragmentDetalle.precargar).
+     *
+     * @param posicion Posición seleccionada en el catálogo
+     */
+    private void precargarVecinos(int posicion) {
+        int visible = adapter.posicionVisible(posicion);
+        if (visible < 0) {
+            return;  // La búsqueda la oculta
+        }
+        for (int vecina = visible - 1; vecina <= visible + 1; vecina += 2) {
+            if (vecina >= 0 && vecina < adapter.getItemCount()) {
+                catalogo.obtenerCuandoEste(adapter.posicionEnLista(vecina), entrenamiento -> {
+                    if (entrenamiento != null) {
+                        FragmentDetalle.precargar(this, entrenamiento);
+                    }
+                });
+            }
+        }
     }
 
     /**
@@ -306,6 +636,34 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
     public boolean onCreateOptionsMenu(Menu menu) {
         // Inflar el archivo XML del menú en el objeto Menu
         getMenuInflater().inflate(R.menu.options_menu, menu);
+
+        // Marcar el orden actual (puede venir de antes de rotar)
+        for (int itemId : ITEMS_ORDEN) {
+            if (criterioOrden(itemId) == viewModel.getCriterio()) {
+                menu.findItem(itemId).setChecked(true);
+            }
+        }
+
+        // Caja de búsqueda: filtra la lista en cada pulsación
+        MenuItem itemBuscar = menu.findItem(R.id.action_buscar);
+        SearchView searchView = (SearchView) itemBuscar.getActionView();
+        if (searchView != null) {
+            searchView.setQueryHint(getString(R.string.hint_buscar));
+            searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+                @Override
+                public boolean onQueryTextSubmit(String query) {
+                    // Intro: buscar también dentro de las descripciones
+                    buscarEnDescripciones(query);
+                    return true;
+                }
+
+                @Override
+                public boolean onQueryTextChange(String newText) {
+                    filtrar(newText);
+                    return true;
+                }
+            });
+        }
         return true;  // Retornar true para que se muestre el menú
     }
 
@@ -325,6 +683,22 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
             mostrarDialogAgregarEntrenamiento();  // Mostrar el diálogo
             return true;  // Evento consumido
         }
+        if (item.getItemId() == R.id.action_importar) {
+            elegirArchivoImportacion();  // CSV o JSON
+            return true;
+        }
+        if (formatoExportacion(item.getItemId()) != null) {
+            elegirArchivoExportacion(formatoExportacion(item.getItemId()));
+            return true;
+        }
+        if (criterioOrden(item.getItemId()) != null) {
+            ordenarPor(item);
+            return true;
+        }
+        if (item.getItemId() == R.id.action_metricas) {
+            startActivity(new Intent(this, MetricasActivity.class));  // Pantalla de diagnóstico
+            return true;
+        }
         // Si no fue el botón de añadir, delegar al método padre
         return super.onOptionsItemSelected(item);
     }
@@ -336,6 +710,18 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
      * y muestra el diálogo en pantalla.
      */
     private void mostrarDialogAgregarEntrenamiento() {
+        // Mientras se lee el catálogo no se admiten altas: el nuevo entrenamiento
+        // quedaría mezclado con los lotes que aún faltan por llegar
+        if (!cargaCompleta) {
+            Toast.makeText(this, "Cargando entrenamientos...", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        // Tampoco durante una importación: los ids importados van detrás de los de las altas
+        if (viewModel.getRepositorio().isImportando()) {
+            Toast.makeText(this, "Importación en curso...", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
         // Crear una nueva instancia del DialogFragment
         AddEntrenamientoDialogFragment dialog = new AddEntrenamientoDialogFragment();
 
@@ -348,44 +734,153 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
         dialog.show(getSupportFragmentManager(), "AddEntrenamientoDialog");
     }
 
+    // ============= IMPORTACIÓN =============
+
     /**
-     * onEntrenamientoAdded - Callback que se ejecuta cuando se añade un entrenamiento
+     * elegirArchivoImportacion - Abre el selector de archivos del sistema
      *
-     * Este método implementa la interfaz OnEntrenamientoAddedListener.
-     * Es llamado por el DialogFragment cuando el usuario guarda un nuevo entrenamiento.
+     * Se ofrecen CSV y JSON (también application/octet-stream: muchos
+     * gestores de archivos no saben el tipo de un .csv).
+     */
+    private void elegirArchivoImportacion() {
+        if (!cargaCompleta) {
+            Toast.makeText(this, "Cargando entrenamientos...", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (viewModel.getRepositorio().isImportando()) {
+            mostrarProgresoImportacion();  // Ya hay una: se vuelve a mostrar
+            return;
+        }
+        selectorImportacion.launch(TIPOS_IMPORTACION);
+    }
+
+    /**
+     * importar - Empieza a importar el archivo elegido (null = se canceló el selector)
      *
-     * Flujo:
-     * 1. Añadir a la lista
-     * 2. Guardar en almacenamiento persistente
-     * 3. Notificar al adapter para actualizar la vista
+     * La lectura y los lotes van en el hilo de escritura del repositorio;
+     * aquí solo se muestra el diálogo de progreso.
+     */
+    private void importar(Uri uri) {
+        if (uri == null) {
+            return;
+        }
+        if (viewModel.getRepositorio().importar(uri)) {
+            mostrarProgresoImportacion();
+        }
+    }
+
+    /**
+     * mostrarProgresoImportacion - Diálogo de progreso (si no está ya)
+     */
+    private void mostrarProgresoImportacion() {
+        if (getSupportFragmentManager().findFragmentByTag(ImportacionDialogFragment.TAG) == null) {
+            new ImportacionDialogFragment().show(getSupportFragmentManager(), ImportacionDialogFragment.TAG);
+        }
+    }
+
+    // ============= EXPORTACIÓN =============
+
+    /**
+     * registrarSelectoresExportacion - Un CreateDocument por formato
      *
-     * @param entrenamiento El nuevo entrenamiento añadido por el usuario
+     * El tipo MIME del documento se fija al registrar el contrato, así que
+     * cada formato tiene el suyo. Se registran al crear la Activity (antes
+     * de onCreate, como exige registerForActivityResult).
      */
-    @Override
-    public void onEntrenamientoAdded(Entrenamiento entrenamiento) {
-        // PASO 1: Agregar el nuevo entrenamiento a la lista en memoria
-        entrenamientos.add(entrenamiento);
+    private Map<ExportadorCatalogo.Formato, ActivityResultLauncher<String>> registrarSelectoresExportacion() {
+        Map<ExportadorCatalogo.Formato, ActivityResultLauncher<String>> selectores =
+                new EnumMap<>(ExportadorCatalogo.Formato.class);
+        for (ExportadorCatalogo.Formato formato : ExportadorCatalogo.Formato.values()) {
+            selectores.put(formato, registerForActivityResult(
+                    new ActivityResultContracts.CreateDocument(formato.getTipoMime()),
+                    uri -> exportar(uri, formato)));
+        }
+        return selectores;
+    }
 
-        // PASO 2: Guardar la lista actualizada en SharedPreferences
-        // Esto asegura que el nuevo entrenamiento persista al cerrar la app
-        storage.guardarEntrenamientos(entrenamientos);
+    /**
+     * formatoExportacion - Formato de un item del submenú Exportar (null si es otro item)
+     */
+    private static ExportadorCatalogo.Formato formatoExportacion(int itemId) {
+        if (itemId == R.id.action_exportar_csv) {
+            return ExportadorCatalogo.Formato.CSV;
+        }
+        if (itemId == R.id.action_exportar_json) {
+            return ExportadorCatalogo.Formato.JSON;
+        }
+        if (itemId == R.id.action_exportar_entb) {
+            return ExportadorCatalogo.Formato.ENTB;
+        }
+        return null;
+    }
 
-        // PASO 3: Notificar al adapter que los datos han cambiado
-        // Esto hace que el ListView se refresque y muestre el nuevo item
-        adapter.notifyDataSetChanged();
+    /**
+     * elegirArchivoExportacion - Abre el selector para crear el documento
+     */
+    private void elegirArchivoExportacion(ExportadorCatalogo.Formato formato) {
+        selectoresExportacion.get(formato).launch("entrenamientos." + formato.getExtension());
     }
 
     /**
-     * getEntrenamientosExistentes - Retorna la lista actual de entrenamientos
+     * exportar - Exporta al documento creado (null = se canceló el selector)
+     *
+     * El trabajo va en el hilo de escritura del repositorio; el aviso final
+     * usa el contexto de la aplicación por si la Activity ya no existe.
+     */
+    private void exportar(Uri uri, ExportadorCatalogo.Formato formato) {
+        if (uri == null) {
+            return;
+        }
+        Context aplicacion = getApplicationContext();
+        viewModel.getRepositorio().exportar(uri, formato, (bytes, error) -> {
+            String mensaje = error == null
+                    ? String.format(Locale.getDefault(), "Exportado (%,d KB)", (bytes + 1023) / 1024)
+                    : "Error al exportar: " + error.getMessage();
+            Toast.makeText(aplicacion, mensaje, Toast.LENGTH_LONG).show();
+        });
+    }
+
+    /**
+     * onEntrenamientoAdded - Callback que se ejecuta cuando se añade un entrenamiento
      *
      * Este método implementa la interfaz OnEntrenamientoAddedListener.
-     * Es usado por el DialogFragment para validar duplicados.
+     * Es llamado por el DialogFragment cuando el usuario guarda un nuevo entrenamiento.
+     *
+     * Flujo:
+     * 1. Añadir al final del catálogo (en memoria) y guardarlo en el hilo
+     *    de escritura (no bloquea la interfaz): lo hace el ViewModel
+     * 2. Publicar la lista nueva en el adapter (inserta solo esa fila, en
+     *    su sitio si la lista está ordenada)
      *
-     * @return La lista completa de entrenamientos actuales
+     * @param entrenamiento El nuevo entrenamiento añadido por el usuario
      */
     @Override
-    public List<Entrenamiento> getEntrenamientosExistentes() {
-        return entrenamientos;  // Retornar la referencia a la lista
+    public void onEntrenamientoAdded(Entrenamiento entrenamiento) {
+        // El diálogo pudo quedar abierto al empezar una importación
+        if (viewModel.getRepositorio().isImportando()) {
+            Toast.makeText(this, "Importación en curso: inténtalo al terminar", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        // PASO 1: Agregar el nuevo entrenamiento al catálogo, a los índices
+        // y a la cola de escritura (SQLite: un INSERT de una fila)
+        viewModel.anadir(entrenamiento);
+        if (viewModel.hayIndices() && adapter.hayFiltro()) {
+            aplicarBusqueda();  // Mostrarlo si coincide con la búsqueda
+        }
+
+        // PASO 2: Notificar al adapter que los datos han cambiado
+        // Las diferencias se calculan en segundo plano: el RecyclerView solo
+        // recibe la inserción de la fila nueva
+        // (con una búsqueda activa ya se ha publicado en aplicarBusqueda)
+        if (!adapter.hayFiltro()) {
+            int[] orden = viewModel.posicionesOrdenadas();
+            if (orden != null && adapter.hayOrden()) {
+                adapter.anadirEnOrden(orden);  // La fila nueva en su sitio (búsqueda binaria)
+            } else {
+                adapter.setOrden(orden);
+            }
+        }
     }
 
     /**
@@ -403,14 +898,30 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
     protected void onSaveInstanceState(@NonNull Bundle outState) {
         super.onSaveInstanceState(outState);  // Llamar al método padre
 
-        // Guardar la lista de entrenamientos en el Bundle
-        // putParcelableArrayList serializa los objetos Parcelable
-        // Se crea una nueva ArrayList para evitar problemas de mutabilidad
-        outState.putParcelableArrayList("entrenamientos", new ArrayList<>(entrenamientos));
+        // La lista de entrenamientos NO se guarda en el Bundle: con catálogos
+        // grandes no cabría (límite de ~1 MB de las transacciones Binder).
+        // Al rotar sigue en el ViewModel; tras la muerte del proceso se
+        // vuelve a abrir por páginas desde SQLite
 
         // Guardar la posición del entrenamiento seleccionado
         // Esto permite restaurar la selección después de rotar la pantalla
-        outState.putInt("posicion_seleccionada", posicionSeleccionada);
+        outState.putInt(ESTADO_SELECCION, posicionSeleccionada);
+        outState.putString(ESTADO_ORDEN, viewModel.getCriterio().name());
+
+        // Guardar el scroll: primera fila visible (como posición del
+        // catálogo, por si hay un filtro) y cuánto asoma
+        LinearLayoutManager layoutManager = (LinearLayoutManager) rvEntrenamientos.getLayoutManager();
+        int primeraVisible = layoutManager.findFirstVisibleItemPosition();
+        if (cargaCompleta && primeraVisible != RecyclerView.NO_POSITION) {
+            View fila = layoutManager.findViewByPosition(primeraVisible);
+            outState.putInt(ESTADO_SCROLL, adapter.posicionEnLista(primeraVisible));
+            outState.putInt(ESTADO_DESPLAZAMIENTO,
+                    fila != null ? fila.getTop() - rvEntrenamientos.getPaddingTop() : 0);
+        } else if (posicionScroll >= 0) {
+            // La carga no terminó: se conserva el scroll que aún no se aplicó
+            outState.putInt(ESTADO_SCROLL, posicionScroll);
+            outState.putInt(ESTADO_DESPLAZAMIENTO, desplazamientoScroll);
+        }
     }
 
     /**
@@ -428,11 +939,40 @@ public class MainActivity extends AppCompatActivity implements AddEntrenamientoD
     protected void onPause() {
         super.onPause();  // Llamar al método padre obligatoriamente
 
-        // Medida de seguridad: Guardar entrenamientos en SharedPreferences
-        // Verificar que las variables no sean null antes de guardar
-        if (entrenamientos != null && storage != null) {
-            storage.guardarEntrenamientos(entrenamientos);
+        // Los entrenamientos no se guardan aquí: SQLite es incremental y
+        // cada alta ya está encolada en el hilo de escritura
+
+        // Índice de las descripciones: se guarda junto a los datos si ha cambiado
+        // (en el hilo de escritura; el próximo arranque no tendrá que reconstruirlo)
+        viewModel.guardarIndiceTexto();
+
+        // Estadísticas del repositorio (caché por id, tiempos de carga)
+        Log.i(TAG, viewModel.getRepositorio().resumenEstadisticas());
+    }
+
+    /**
+     * onResume - Restaura la selección si la carga terminó en segundo plano
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        if (restaurarSeleccionPendiente) {
+            restaurarSeleccionPendiente = false;
+            restaurarSeleccion();
         }
-        // Esto asegura que los datos se guarden incluso si la app se cierra inesperadamente
+    }
+
+    /**
+     * onDestroy - Deja de recibir los avisos del ViewModel
+     *
+     * No se cierra nada, ni aquí ni en EntrenamientosViewModel.onCleared():
+     * los hilos, el catálogo y las escrituras pendientes son de
+     * RepositorioEntrenamientos, que es único en el proceso y vive más que
+     * la Activity y el ViewModel (la próxima pantalla lo encuentra cargado).
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        viewModel.dejarDeObservar(this);
     }
 }
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.content.Intent;            // Compartir el volcado JSON
+import android.os.Build;                  // Modelo y versión del dispositivo
+import android.os.Bundle;                 // Estado de la Activity
+import android.util.Log;                  // Copia del volcado en Logcat
+import android.widget.TextView;           // Texto con las métricas
+import android.widget.Toast;              // Aviso si falla el volcado
+
+import androidx.appcompat.app.AppCompatActivity;  // Activity base de AppCompat
+import androidx.core.content.ContextCompat;       // Ejecutor del hilo principal
+
+import com.example.examen1rtrimestremacia_denislopezsacher.metricas.HistogramaLatencias;
+import com.example.examen1rtrimestremacia_denislopezsacher.metricas.RegistroMetricas;
+import com.google.android.material.appbar.MaterialToolbar;  // Toolbar Material Design
+
+import java.io.File;                             // metricas.json
+import java.io.FileOutputStream;                 // Escritura del archivo
+import java.io.IOException;                      // Errores al volcar
+import java.io.OutputStreamWriter;               // Texto sobre el archivo
+import java.io.StringWriter;                     // JSON en memoria (para compartirlo)
+import java.io.Writer;                           // Destino del volcado
+import java.nio.charset.StandardCharsets;        // UTF-8
+import java.util.Locale;                         // Formato de los números
+import java.util.Map;                            // Métricas por nombre
+import java.util.TreeMap;                        // Contexto en orden
+import java.util.concurrent.ExecutorService;     // Hilo del volcado
+import java.util.concurrent.Executors;           // Fábrica de ejecutores
+
+/**
+ * MetricasActivity - Pantalla de diagnóstico con las métricas del proceso
+ *
+ * Muestra lo que ha medido Instrumentacion (latencias con p50/p90/p99/máx.,
+ * contadores y bytes), el arranque y las estadísticas del repositorio.
+ *
+ * Menú:
+ * - Compartir JSON: vuelca RegistroMetricas a metricas.json (carpeta
+ *   privada de la app en el almacenamiento externo, se saca con
+ *   "adb pull") y lo comparte como texto. También va a Logcat.
+ * - Reiniciar: borra las métricas para medir un recorrido concreto.
+ */
+public class MetricasActivity extends AppCompatActivity {
+
+    // ============= CONSTANTES =============
+
+    /** Etiqueta para los mensajes de Log */
+    private static final String TAG = "Metricas";
+
+    /** Nombre del archivo del volcado */
+    private static final String ARCHIVO_JSON = "metricas.json";
+
+    // ============= ATRIBUTOS =============
+
+    /** Registro del proceso */
+    private final RegistroMetricas registro = RegistroMetricas.global();
+
+    /** Hilo del volcado (escribir el archivo no va en el hilo principal) */
+    private final ExecutorService ejecutorVolcado = Executors.newSingleThreadExecutor();
+
+    /** Texto con las métricas */
+    private TextView tvMetricas;
+
+    // ============= CICLO DE VIDA =============
+
+    /**
+     * onCreate - Toolbar con su menú y primer volcado en pantalla
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_metricas);
+
+        MaterialToolbar toolbar = findViewById(R.id.toolbar_metricas);
+        toolbar.setOnMenuItemClickListener(item -> {
+            if (item.getItemId() == R.id.action_compartir_metricas) {
+                compartirJson();
+                return true;
+            }
+            if (item.getItemId() == R.id.action_reiniciar_metricas) {
+                registro.reiniciar();
+                mostrarMetricas();
+                return true;
+            }
+            return false;
+        });
+
+        tvMetricas = findViewById(R.id.tv_metricas);
+    }
+
+    /**
+     * onResume - Refresca las métricas al volver a la pantalla
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        mostrarMetricas();
+    }
+
+    /**
+     * onDestroy - Termina el hilo del volcado (el volcado en curso acaba)
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        ejecutorVolcado.shutdown();
+    }
+
+    // ============= PANTALLA =============
+
+    /**
+     * mostrarMetricas - Escribe todas las métricas como texto de ancho fijo
+     */
+    private void mostrarMetricas() {
+        StringBuilder texto = new StringBuilder();
+
+        texto.append("LATENCIAS (p50 / p90 / p99 / máx.)\n");
+        for (Map.Entry<String, HistogramaLatencias> entrada : registro.getLatencias().entrySet()) {
+            HistogramaLatencias histograma = entrada.getValue();
+            texto.append(String.format(Locale.ROOT, "%-22s n=%d\n  %s / %s / %s / %s\n",
+                    entrada.getKey(), histograma.getTotal(),
+                    formatearNanos(histograma.percentil(50)),
+                    formatearNanos(histograma.percentil(90)),
+                    formatearNanos(histograma.percentil(99)),
+                    formatearNanos(histograma.getMaximo())));
+        }
+
+        texto.append("\nCONTADORES\n");
+        for (Map.Entry<String, Long> entrada : registro.getContadores().entrySet()) {
+            texto.append(String.format(Locale.ROOT, "%-30s %d\n", entrada.getKey(), entrada.getValue()));
+        }
+
+        texto.append("\nBYTES\n");
+        for (Map.Entry<String, Long> entrada : registro.getBytes().entrySet()) {
+            texto.append(String.format(Locale.ROOT, "%-30s %d\n", entrada.getKey(), entrada.getValue()));
+        }
+
+        texto.append("\nCONTEXTO\n");
+        for (Map.Entry<String, String> entrada : contexto().entrySet()) {
+            texto.append(entrada.getKey()).append(": ").append(entrada.getValue()).append('\n');
+        }
+
+        tvMetricas.setText(texto);
+    }
+
+    /**
+     * formatearNanos - Duración legible (µs por debajo de 1 ms)
+     */
+    private static String formatearNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1f µs", nanos / 1_000.0);
+        }
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1_000_000.0);
+    }
+
+    // ============= VOLCADO =============
+
+    /**
+     * contexto - Dispositivo, arranque y repositorio (acompañan al volcado)
+     */
+    private Map<String, String> contexto() {
+        Map<String, String> contexto = new TreeMap<>();
+        contexto.put("modelo", Build.MANUFACTURER + " " + Build.MODEL);
+        contexto.put("sdk", String.valueOf(Build.VERSION.SDK_INT));
+
+        MetricasArranque arranque = MetricasArranque.getUltima();
+        if (arranque != null) {
+            contexto.put("arranque_en_frio", String.valueOf(arranque.isEnFrio()));
+            contexto.put("arranque_primer_frame_ms", String.valueOf(arranque.getPrimerFrameMs()));
+            contexto.put("arranque_datos_ms", String.valueOf(arranque.getDatosMs()));
+        }
+        contexto.put("repositorio",
+                RepositorioEntrenamientos.getInstancia(this).resumenEstadisticas());
+        return contexto;
+    }
+
+    /**
+     * compartirJson - Vuelca las métricas a metricas.json y las comparte
+     *
+     * PASO 1: JSON en memoria (el contexto se toma en el hilo principal)
+     * PASO 2: en el hilo del volcado, escribirlo al archivo y a Logcat
+     * PASO 3: de vuelta en el hilo principal, abrir el selector de compartir
+     */
+    private void compartirJson() {
+        // PASO 1: Volcar a texto (pocos KB)
+        StringWriter json = new StringWriter();
+        try {
+            registro.volcarJson(json, contexto());
+        } catch (IOException e) {
+            // StringWriter no falla
+            Log.e(TAG, "Error al volcar las métricas", e);
+            return;
+        }
+        String texto = json.toString();
+        File destino = new File(getExternalFilesDir(null), ARCHIVO_JSON);
+
+        ejecutorVolcado.execute(() -> {
+            // PASO 2: Archivo + Logcat
+            boolean guardado = escribir(destino, texto);
+            Log.i(TAG, texto);
+
+            // PASO 3: Compartir
+            ContextCompat.getMainExecutor(this).execute(() -> {
+                if (isDestroyed()) {
+                    return;
+                }
+                if (!guardado) {
+                    Toast.makeText(this, "No se pudo guardar " + ARCHIVO_JSON,
+                            Toast.LENGTH_SHORT).show();
+                }
+                Intent compartir = new Intent(Intent.ACTION_SEND);
+                compartir.setType("text/plain");
+                compartir.putExtra(Intent.EXTRA_SUBJECT, ARCHIVO_JSON);
+                compartir.putExtra(Intent.EXTRA_TEXT, texto);
+                startActivity(Intent.createChooser(compartir, getString(R.string.action_compartir_metricas)));
+            });
+        });
+    }
+
+    /**
+     * escribir - Guarda el volcado en un archivo
+     * @return true si se escribió entero
+     */
+    private static boolean escribir(File destino, String texto) {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(destino), StandardCharsets.UTF_8)) {
+            writer.write(texto);
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Error al guardar " + destino, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.os.Process;              // Instante en que arrancó el proceso
+import android.os.SystemClock;          // Reloj monotónico (no cambia con la hora del sistema)
+import android.util.Log;                // Registro de las medidas
+import android.view.View;               // Raíz de la ventana
+import android.view.ViewTreeObserver;   // Aviso antes de dibujar el primer frame
+
+/**
+ * MetricasArranque - Tiempo hasta el primer frame y hasta tener los datos en pantalla
+ *
+ *   origen ──────────► primer frame ──────────► datos
+ *           (toolbar + lista vacía)     (catálogo abierto, filas en el adapter)
+ *
+ * - Origen: arranque del proceso si es la primera Activity del proceso
+ *   (arranque en frío); onCreate() en las siguientes (rotación, volver)
+ * - Primer frame: primer onPreDraw() de la ventana
+ * - Datos: el catálogo ya está abierto y el adapter tiene sus filas
+ *   (MainActivity llama además a reportFullyDrawn(): sale en logcat como
+ *   "Fully drawn" y lo usan las herramientas de arranque del sistema)
+ *
+ * Los dos tiempos se escriben en Log (etiqueta "Arranque") y la última
+ * medida queda en getUltima() para consultarla en pruebas o depuración.
+ */
+public final class MetricasArranque {
+
+    // ============= CONSTANTES =============
+
+    /** Etiqueta para los mensajes de Log */
+    private static final String TAG = "Arranque";
+
+    /** Valor de un tiempo que aún no se ha medido */
+    public static final long SIN_MEDIR = -1;
+
+    // ============= ATRIBUTOS =============
+
+    /** true cuando ya se midió la primera Activity del proceso */
+    private static boolean procesoMedido;
+
+    /** Última medida iniciada */
+    private static volatile MetricasArranque ultima;
+
+    /** true = el origen es el arranque del proceso */
+    private final boolean enFrio;
+
+    /** Instante de referencia (SystemClock.uptimeMillis) */
+    private final long origen;
+
+    /** Milisegundos hasta el primer frame */
+    private volatile long primerFrameMs = SIN_MEDIR;
+
+    /** Milisegundos hasta los datos */
+    private volatile long datosMs = SIN_MEDIR;
+
+    /** Constructor privado: usar iniciar() */
+    private MetricasArranque(boolean enFrio, long origen) {
+        this.enFrio = enFrio;
+        this.origen = origen;
+    }
+
+    // ============= MEDIDA =============
+
+    /**
+     * iniciar - Empieza una medida (al principio de onCreate)
+     * @return Medida nueva, también disponible en getUltima()
+     */
+    public static synchronized MetricasArranque iniciar() {
+        boolean enFrio = !procesoMedido;
+        procesoMedido = true;
+        MetricasArranque metricas = new MetricasArranque(enFrio,
+                enFrio ? Process.getStartUptimeMillis() : SystemClock.uptimeMillis());
+        ultima = metricas;
+        return metricas;
+    }
+
+    /**
+     * medirPrimerFrame - Anota el tiempo cuando la vista vaya a dibujarse por primera vez
+     * @param raiz Vista raíz de la ventana (getWindow().getDecorView())
+     */
+    public void medirPrimerFrame(View raiz) {
+        ViewTreeObserver observador = raiz.getViewTreeObserver();
+        observador.addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                raiz.getViewTreeObserver().removeOnPreDrawListener(this);
+                primerFrameMs = SystemClock.uptimeMillis() - origen;
+                Log.i(TAG, (enFrio ? "En frío" : "Recreación") + ": primer frame en " + primerFrameMs + " ms");
+                return true;  // Dibujar el frame
+            }
+        });
+    }
+
+    /**
+     * registrarDatos - Anota el tiempo en que los datos están en el adapter
+     * (solo la primera vez)
+     */
+    public void registrarDatos() {
+        if (datosMs != SIN_MEDIR) {
+            return;
+        }
+        datosMs = SystemClock.uptimeMillis() - origen;
+        Log.i(TAG, (enFrio ? "En frío" : "Recreación") + ": datos en " + datosMs + " ms");
+    }
+
+    // ============= CONSULTA =============
+
+    /** Última medida iniciada (null si aún no se ha creado ninguna Activity) */
+    public static MetricasArranque getUltima() {
+        return ultima;
+    }
+
+    /** true si el origen es el arranque del proceso */
+    public boolean isEnFrio() {
+        return enFrio;
+    }
+
+    /** Milisegundos hasta el primer frame (SIN_MEDIR si aún no se dibujó) */
+    public long getPrimerFrameMs() {
+        return primerFrameMs;
+    }
+
+    /** Milisegundos hasta los datos (SIN_MEDIR si la carga no ha terminado) */
+    public long getDatosMs() {
+        return datosMs;
+    }
+}
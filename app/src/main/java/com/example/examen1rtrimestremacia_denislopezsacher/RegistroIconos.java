@@ -0,0 +1,79 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.content.Context;          // Acceso a los recursos actuales
+import android.content.res.Resources;    // Nombre de la entrada de un id
+
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.MigracionIconos;
+
+/**
+ * RegistroIconos - Traducción de TipoIcono a drawable, resuelta una vez por proceso
+ *
+ * Es el ÚNICO sitio que conoce los R.drawable de los iconos. La tabla se
+ * construye al cargar la clase (primer uso al arrancar) y a partir de ahí
+ * drawable(tipo) es una lectura de array por código:
+ *
+ *   DRAWABLES[PILATES.getCodigo()] = R.drawable.ic_pilates
+ *
+ * Para añadir un icono: nueva constante en TipoIcono (código nuevo) y su
+ * línea en el bloque static de esta clase.
+ *
+ * También da el MigracionIconos con el que los almacenamientos traducen los
+ * ids de recurso guardados por versiones antiguas.
+ */
+public final class RegistroIconos {
+
+    // ============= CONSTANTES =============
+
+    /** Prefijo de los drawables de icono (ic_pilates → PILATES) */
+    private static final String PREFIJO = "ic_";
+
+    /** Drawable por código de TipoIcono */
+    private static final int[] DRAWABLES = new int[256];
+
+    static {
+        DRAWABLES[TipoIcono.PILATES.getCodigo() & 0xFF] = R.drawable.ic_pilates;
+        DRAWABLES[TipoIcono.FUERZA.getCodigo() & 0xFF] = R.drawable.ic_fuerza;
+        DRAWABLES[TipoIcono.RUNNING.getCodigo() & 0xFF] = R.drawable.ic_running;
+        DRAWABLES[TipoIcono.VOLEIBOL.getCodigo() & 0xFF] = R.drawable.ic_voleibol;
+    }
+
+    /** Clase de utilidades: no se instancia */
+    private RegistroIconos() {
+    }
+
+    // ============= API PÚBLICA =============
+
+    /**
+     * drawable - Recurso que dibuja el tipo dado
+     * @param tipo Tipo de icono (null = TipoIcono.POR_DEFECTO)
+     * @return Id del drawable (R.drawable.ic_xxx)
+     */
+    public static int drawable(TipoIcono tipo) {
+        TipoIcono efectivo = tipo != null ? tipo : TipoIcono.POR_DEFECTO;
+        return DRAWABLES[efectivo.getCodigo() & 0xFF];
+    }
+
+    /**
+     * migracion - Conversor de ids de recurso antiguos a TipoIcono
+     *
+     * Resuelve cada id con los recursos ACTUALES: si su entrada se llama
+     * ic_xxx y XXX es un tipo, ese es el tipo. Los almacenamientos le
+     * enseñan además los ids de los entrenamientos predefinidos
+     * (MigracionIconos.aprender), que siguen valiendo aunque el build cambie.
+     *
+     * @param context Contexto para acceder a los recursos
+     */
+    public static MigracionIconos migracion(Context context) {
+        Resources recursos = context.getApplicationContext().getResources();
+        return new MigracionIconos(resId -> {
+            try {
+                String nombre = recursos.getResourceEntryName(resId);
+                return nombre.startsWith(PREFIJO)
+                        ? TipoIcono.desdeClave(nombre.substring(PREFIJO.length()))
+                        : null;
+            } catch (Resources.NotFoundException e) {
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,1132 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import android.content.Context;                  // Contexto de la aplicación
+import android.net.Uri;                          // Archivo que se importa o exporta
+import android.os.ParcelFileDescriptor;          // Tamaño y lectura/escritura de esos archivos
+import android.os.SystemClock;                   // Tiempos de carga
+import android.util.Log;                         // Registro de errores
+
+import androidx.annotation.Nullable;             // Anotación para valores opcionales
+import androidx.core.content.ContextCompat;      // Ejecutor del hilo principal
+
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Fuerza;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Pilates;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Running;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Voleibol;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.FiltroBloom;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndiceNombres;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndicePrefijos;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndiceTextual;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.OrdenCatalogo;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.CatalogoPaginado;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.EscrituraDiferida;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.ExportadorCatalogo;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.ImportadorCatalogo;
+
+import java.io.BufferedReader;                   // Lectura del archivo importado
+import java.io.File;                             // Archivo del índice de texto
+import java.io.FileInputStream;                  // Bytes del archivo importado
+import java.io.FileNotFoundException;            // El archivo importado ya no existe
+import java.io.FileOutputStream;                 // Documento de la exportación
+import java.io.IOException;                      // Errores al leer/guardar el índice de texto
+import java.io.InputStreamReader;                // Bytes → caracteres (UTF-8)
+import java.nio.channels.FileChannel;            // Posición de lectura (progreso)
+import java.nio.charset.StandardCharsets;        // UTF-8
+import java.util.ArrayList;                      // Para crear listas dinámicas
+import java.util.LinkedHashMap;                  // Caché por id en orden de uso
+import java.util.List;                           // Interfaz para listas
+import java.util.Locale;                         // Idioma del orden alfabético
+import java.util.Map;                            // Interfaz de mapa
+import java.util.concurrent.Executor;            // Hilo principal
+import java.util.concurrent.ExecutorService;     // Hilos de fondo
+import java.util.concurrent.Executors;           // Fábrica de ejecutores
+import java.util.function.Consumer;              // Receptor de una búsqueda por id o por nombre
+
+/**
+ * RepositorioEntrenamientos - Catálogo, índices y almacenamiento de todo el proceso
+ *
+ * Una sola instancia por proceso (getInstancia), como IconoCache. Lo usan
+ * todas las pantallas:
+ *
+ *   MainActivity (vía EntrenamientosViewModel) → catálogo, búsqueda, altas
+ *   FragmentDetalle                            → obtenerPorId()
+ *   AddEntrenamientoDialogFragment             → buscarPorNombre()
+ *   ImportacionDialogFragment                  → importar() y su progreso
+ *   MainActivity (menú Exportar)               → exportar()
+ *
+ * - El catálogo se abre UNA vez por proceso: ni las rotaciones ni volver a
+ *   entrar en MainActivity (atrás y abrir de nuevo) lo vuelven a leer, y
+ *   los índices de búsqueda tampoco se reconstruyen
+ * - Búsqueda por id con caché LRU (las páginas leídas y las altas la
+ *   alimentan); si no está, se lee la fila de SQLite en segundo plano
+ * - Las páginas son cabeceras (id, nombre, icono): la descripción se pide
+ *   con obtenerDescripcion() al abrir el detalle y las últimas se guardan
+ *   en una caché LRU pequeña
+ * - Coherente con las escrituras: todas las altas pasan por anadir(), que
+ *   asigna el id en el momento (antes del INSERT) y actualiza catálogo,
+ *   índices y caché a la vez que encola la escritura
+ * - Importación masiva (importar()): CSV o JSON en streaming, por lotes,
+ *   en el hilo de escritura; las filas nuevas se leen después por páginas
+ * - Estadísticas: aciertos/fallos de la caché por id, aperturas del
+ *   catálogo y tiempos de apertura y de construcción de los índices
+ *
+ * Todos los métodos se llaman desde el hilo principal salvo los de
+ * CatalogoPaginado.Fuente (hilo de páginas).
+ */
+public final class RepositorioEntrenamientos implements CatalogoPaginado.Fuente {
+
+    // ============= INTERFACES =============
+
+    /**
+     * OyenteCarga - Recibe las etapas de la carga (hilo principal)
+     */
+    public interface OyenteCarga {
+        /** Ya se sabe cuántos entrenamientos hay y la primera página está en memoria */
+        void onCatalogoAbierto();
+
+        /** Los índices de búsqueda ya se pueden usar */
+        void onIndicesListos();
+
+        /** Se han guardado entrenamientos nuevos al final del catálogo (importación) */
+        void onCatalogoAmpliado();
+    }
+
+    /**
+     * OyenteImportacion - Progreso y fin de una importación masiva (hilo principal)
+     */
+    public interface OyenteImportacion {
+        /**
+         * onProgresoImportacion - Tras cada lote guardado
+         *
+         * @param leidas Filas leídas del archivo
+         * @param importadas Entrenamientos guardados
+         * @param porMil Parte del archivo leída (0..1000); -1 si no se sabe su tamaño
+         */
+        void onProgresoImportacion(int leidas, int importadas, int porMil);
+
+        /**
+         * onImportacionTerminada - Fin de la importación (completa, cancelada o con error)
+         *
+         * @param resultado Totales; null si no hay ninguna importación de la que avisar
+         * @param error Error de lectura o de escritura (los lotes anteriores quedan guardados)
+         */
+        void onImportacionTerminada(@Nullable ImportadorCatalogo.Resultado resultado,
+                                    @Nullable Exception error);
+    }
+
+    /**
+     * OyenteExportacion - Fin de una exportación (hilo principal)
+     */
+    public interface OyenteExportacion {
+        /**
+         * onExportacionTerminada
+         *
+         * @param bytes Tamaño del documento escrito
+         * @param error Error al escribir (el documento puede quedar incompleto), o null
+         */
+        void onExportacionTerminada(long bytes, @Nullable Exception error);
+    }
+
+    // ============= CONSTANTES =============
+
+    /** Entrenamientos que guarda la caché por id */
+    public static final int CAPACIDAD_CACHE_ID = 512;
+
+    /** Descripciones que guarda su caché (las del detalle y sus vecinos) */
+    public static final int CAPACIDAD_CACHE_DESCRIPCIONES = 32;
+
+    /** Entrenamientos por lote al recorrer el catálogo para construir los índices */
+    private static final int TAMANO_LOTE_INDICES = 500;
+
+    /** Búfer de lectura del archivo importado */
+    private static final int TAMANO_BUFER_IMPORTACION = 64 * 1024;
+
+    /** Tasa de falsos positivos del filtro de nombres guardados */
+    private static final double TASA_FALSOS_POSITIVOS = 0.01;
+
+    /** Idioma del orden por nombre ("ñ" entre "n" y "o") */
+    private static final Locale ESPANOL = new Locale("es", "ES");
+
+    /** Etiqueta para los mensajes de Log */
+    private static final String TAG = "RepositorioEntrenamientos";
+
+    // ============= ATRIBUTOS =============
+
+    /** Instancia compartida del proceso */
+    private static RepositorioEntrenamientos instancia;
+
+    /** Contexto de la aplicación (abrir los archivos que se importan) */
+    private final Context context;
+
+    /** Gestor de almacenamiento persistente (SQLite con índice por nombre) */
+    private final EntrenamientoSqliteStorage storage;
+
+    /** Guardados en segundo plano (agrupa ráfagas y omite los que no cambian nada) */
+    private final EscrituraDiferida escritura;
+
+    /** Hilo de fondo en el que se construyen los índices de búsqueda */
+    private final ExecutorService ejecutorCarga = Executors.newSingleThreadExecutor();
+
+    /**
+     * Hilo de fondo para las páginas del catálogo y las búsquedas por id
+     * (propio: construir los índices no debe retrasar el scroll)
+     */
+    private final ExecutorService ejecutorPaginas = Executors.newSingleThreadExecutor();
+
+    /** Hilo principal de la aplicación (no depende de ninguna Activity) */
+    private final Executor hiloPrincipal;
+
+    /**
+     * Catálogo de entrenamientos leído por páginas: en memoria solo están
+     * las páginas cercanas a lo que se ve y las altas de este proceso
+     */
+    private final CatalogoPaginado catalogo;
+
+    /**
+     * Nombres normalizados de las altas en memoria (validación de duplicados en O(1))
+     * Mismo Locale que la clave de SQLite: los dos dicen lo mismo de un nombre.
+     */
+    private final IndiceNombres indiceNombres = new IndiceNombres(IndiceNombres.LOCALE_CLAVES, true);
+
+    /**
+     * Descripciones vistas hace poco: id → texto en orden de uso (se accede
+     * con synchronized). Las páginas son cabeceras sin descripción.
+     */
+    private final Map<Long, String> descripciones =
+            new LinkedHashMap<Long, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, String> mayor) {
+                    return size() > CAPACIDAD_CACHE_DESCRIPCIONES;
+                }
+            };
+
+    /** Caché id → entrenamiento en orden de uso (se accede con synchronized) */
+    private final Map<Long, Entrenamiento> porId =
+            new LinkedHashMap<Long, Entrenamiento>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entrenamiento> mayor) {
+                    return size() > CAPACIDAD_CACHE_ID;
+                }
+            };
+
+    /**
+     * Filtro Bloom con los nombres guardados (null hasta que se construye):
+     * si dice "no está", no hace falta consultar la base de datos
+     */
+    private FiltroBloom nombresGuardados;
+
+    /** Índice de búsqueda por prefijo (null hasta que se construye, tras la carga) */
+    private IndicePrefijos indicePrefijos;
+
+    /** Índice invertido de las descripciones (null hasta que se carga o construye) */
+    private IndiceTextual indiceTexto;
+
+    /** Órdenes por nombre y por tipo (null hasta que se construyen, con los índices) */
+    private OrdenCatalogo orden;
+
+    /** Etapas de la carga (se hacen una sola vez por proceso) */
+    private boolean cargaIniciada;
+    private boolean catalogoAbierto;
+
+    /** Último id asignado (se lee al abrir; los siguientes los reparte reservarIds()) */
+    private volatile long ultimoId;
+
+    /** Construcciones de índices lanzadas (solo se instala la última) */
+    private int construccionesIndices;
+
+    /** true mientras hay una importación (no se admiten altas) */
+    private boolean importando;
+
+    /** Cancelación pedida (la lee el hilo de escritura en cada fila) */
+    private volatile boolean importacionCancelada;
+
+    /** Pantalla que muestra el progreso de la importación (null si ninguna) */
+    private OyenteImportacion oyenteImportacion;
+
+    /** Último progreso (para la pantalla que se registre a mitad) */
+    private int progresoLeidas;
+    private int progresoImportadas;
+    private int progresoPorMil;
+
+    /** Fin de una importación que aún no ha visto ninguna pantalla */
+    private ImportadorCatalogo.Resultado resultadoPendiente;
+    private Exception errorPendiente;
+
+    /** Exportador con su buffer directo (se crea y usa solo en el hilo de escritura) */
+    private ExportadorCatalogo exportador;
+
+    /** Pantallas que reciben los avisos */
+    private final List<OyenteCarga> oyentes = new ArrayList<>();
+
+    /** Estadísticas */
+    private long aciertosId;
+    private long fallosId;
+    private long aciertosDescripcion;
+    private long fallosDescripcion;
+    private int aperturas;
+    private long tiempoAperturaMs = -1;
+    private long tiempoIndicesMs = -1;
+
+    // ============= CONSTRUCTORES =============
+
+    /**
+     * getInstancia - Repositorio compartido (lo crea la primera vez)
+     *
+     * Crearlo no toca el disco: la importación de datos antiguos y la
+     * lectura se hacen al abrir el catálogo, en segundo plano.
+     *
+     * @param context Cualquier contexto: se usa el de la aplicación
+     */
+    public static synchronized RepositorioEntrenamientos getInstancia(Context context) {
+        if (instancia == null) {
+            instancia = new RepositorioEntrenamientos(context.getApplicationContext());
+        }
+        return instancia;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param context Contexto de la aplicación
+     */
+    private RepositorioEntrenamientos(Context context) {
+        this.context = context;
+        storage = new EntrenamientoSqliteStorage(context);
+        hiloPrincipal = ContextCompat.getMainExecutor(context);
+
+        // Las escrituras salen del hilo principal: se serializan y guardan en un hilo propio
+        escritura = new EscrituraDiferida(storage::guardarEntrenamientos,
+                EscrituraDiferida.RETARDO_POR_DEFECTO_MS);
+
+        // Las páginas se leen en su hilo y se entregan en el hilo principal;
+        // la fuente es el propio repositorio (alimenta la caché por id)
+        catalogo = new CatalogoPaginado(this, ejecutorPaginas, hiloPrincipal);
+    }
+
+    // ============= CARGA =============
+
+    /**
+     * observar - Registra una pantalla que recibe los avisos y arranca la carga
+     *
+     * - Primera vez en el proceso: abre el catálogo en segundo plano
+     * - Después (rotación, volver a entrar): avisa en el momento de lo que
+     *   ya esté hecho, sin leer nada
+     */
+    public void observar(OyenteCarga oyente) {
+        if (!oyentes.contains(oyente)) {
+            oyentes.add(oyente);
+        }
+        if (!cargaIniciada) {
+            cargaIniciada = true;
+            abrirCatalogo();
+            return;
+        }
+        if (catalogoAbierto) {
+            oyente.onCatalogoAbierto();
+        }
+        if (indicePrefijos != null) {
+            oyente.onIndicesListos();
+        }
+    }
+
+    /**
+     * dejarDeObservar - La pantalla se destruye: deja de recibir avisos
+     */
+    public void dejarDeObservar(OyenteCarga oyente) {
+        oyentes.remove(oyente);
+    }
+
+    /**
+     * abrirCatalogo - Abre el catálogo sin bloquear el hilo principal
+     *
+     * En segundo plano se importan (una sola vez) los datos antiguos y se
+     * leen el número de entrenamientos, el último id y la primera página.
+     * Al terminar:
+     * 1. Si no había nada guardado, se crean los entrenamientos por defecto
+     * 2. Se avisa a las pantallas
+     * 3. Se construyen los índices de búsqueda
+     */
+    private void abrirCatalogo() {
+        long inicio = SystemClock.uptimeMillis();
+        aperturas++;
+        catalogo.abrir(() -> {
+            // PASO 1: Primera vez - Crear entrenamientos por defecto
+            if (catalogo.getTotalGuardados() == 0) {
+                List<Entrenamiento> iniciales = initEntrenamientos();
+                for (Entrenamiento entrenamiento : iniciales) {
+                    registrarAlta(entrenamiento);
+                }
+                escritura.registrarCambio();            // La lista aún no está en disco
+                escritura.solicitarGuardado(iniciales); // Guardarlos (en segundo plano)
+            }
+
+            // PASO 2: Avisar
+            catalogoAbierto = true;
+            tiempoAperturaMs = SystemClock.uptimeMillis() - inicio;
+            Log.i(TAG, "Catálogo abierto en " + tiempoAperturaMs + " ms ("
+                    + catalogo.getTotalGuardados() + " guardados)");
+            for (OyenteCarga oyente : new ArrayList<>(oyentes)) {
+                oyente.onCatalogoAbierto();
+            }
+
+            // PASO 3: Índices de búsqueda
+            construirIndiceBusqueda();
+        });
+    }
+
+    /**
+     * initEntrenamientos - Los 4 entrenamientos por defecto (solo la primera vez)
+     */
+    private static List<Entrenamiento> initEntrenamientos() {
+        List<Entrenamiento> entrenamientos = new ArrayList<>();
+        entrenamientos.add(new Pilates());
+        entrenamientos.add(new Voleibol());
+        entrenamientos.add(new Fuerza());
+        entrenamientos.add(new Running());
+        return entrenamientos;
+    }
+
+    /**
+     * construirIndiceBusqueda - Prepara los índices de búsqueda en el hilo de fondo
+     *
+     * Normalizar y ordenar 50.000 nombres lleva más de un frame, así que no
+     * se hace en el hilo principal ni en la primera pulsación: el catálogo
+     * guardado se recorre por lotes en el hilo de fondo (sin quedarse con
+     * los entrenamientos, solo con sus textos) y los índices terminados se
+     * entregan al hilo principal. Las altas hechas mientras tanto se añaden
+     * al recibirlos.
+     *
+     * El índice de las descripciones se lee del archivo guardado junto a los
+     * datos; solo se reconstruye si no existe o no corresponde a la lista.
+     * Las descripciones no están en las páginas (son cabeceras): se leen de
+     * su tabla por lotes y no se guardan.
+     *
+     * En la misma pasada se calcula la clave de orden de cada nombre
+     * (OrdenCatalogo): es lo caro de ordenar en español y así se paga una
+     * sola vez, fuera del hilo principal.
+     */
+    private void construirIndiceBusqueda() {
+        int numero = ++construccionesIndices;
+        long inicio = SystemClock.uptimeMillis();
+        int guardados = catalogo.getTotalGuardados();
+        File archivoIndice = storage.getArchivoIndiceTexto();
+
+        ejecutorCarga.execute(() -> {
+            List<String> nombres = new ArrayList<>(guardados);
+            FiltroBloom filtroNombres = new FiltroBloom(Math.max(1, guardados), TASA_FALSOS_POSITIVOS);
+            OrdenCatalogo nuevoOrden = new OrdenCatalogo(ESPANOL);
+            catalogo.recorrerGuardados(TAMANO_LOTE_INDICES, lote -> {
+                for (Entrenamiento entrenamiento : lote) {
+                    nombres.add(entrenamiento.getNombre());
+                    filtroNombres.anadir(indiceNombres.normalizar(entrenamiento.getNombre()));
+                    nuevoOrden.anadirAlFinal(entrenamiento.getNombre(), entrenamiento.getTipoIcono());
+                }
+            });
+
+            IndicePrefijos indice = new IndicePrefijos();
+            indice.anadirTodos(nombres, 0);
+            indice.preparar();
+            nuevoOrden.preparar();
+
+            IndiceTextual texto = cargarOConstruirIndiceTexto(archivoIndice, guardados);
+
+            hiloPrincipal.execute(() -> {
+                if (numero != construccionesIndices) {
+                    return;  // Una importación lanzó otra construcción con más filas
+                }
+                // Altas de este proceso (siempre están en memoria)
+                for (int i = guardados; i < catalogo.tamano(); i++) {
+                    Entrenamiento alta = catalogo.obtener(i);
+                    indice.anadir(alta.getNombre(), i);
+                    texto.anadir(i, alta.getDescripcion());
+                    nuevoOrden.anadir(alta.getNombre(), alta.getTipoIcono());
+                }
+                indicePrefijos = indice;
+                indiceTexto = texto;
+                orden = nuevoOrden;
+                nombresGuardados = filtroNombres;
+                tiempoIndicesMs = SystemClock.uptimeMillis() - inicio;
+                for (OyenteCarga oyente : new ArrayList<>(oyentes)) {
+                    oyente.onIndicesListos();
+                }
+            });
+        });
+    }
+
+    /**
+     * cargarOConstruirIndiceTexto - Índice de descripciones guardado o uno nuevo (hilo de fondo)
+     *
+     * 1. El sello de la tabla (una consulta: filas y último id) decide si
+     *    el archivo sirve, sin leer ninguna descripción
+     * 2. Si no sirve, una pasada indexándolas
+     *
+     * @param guardados Descripciones a recorrer (las de las filas contadas al abrir)
+     */
+    private IndiceTextual cargarOConstruirIndiceTexto(File archivo, int guardados) {
+        long sello = storage.selloIndiceTexto(guardados);
+        if (sello != EntrenamientoSqliteStorage.SIN_SELLO) {
+            try {
+                IndiceTextual guardado = IndiceTextual.cargar(archivo, sello);
+                if (guardado != null) {
+                    return guardado;
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "Índice de texto ilegible, se reconstruye", e);
+            }
+        }
+
+        IndiceTextual nuevo = new IndiceTextual();
+        storage.recorrerDescripciones(guardados, TAMANO_LOTE_INDICES, nuevo::anadirTodos);
+        guardarConSello(nuevo, archivo);
+        return nuevo;
+    }
+
+    /**
+     * guardarConSello - Guarda el índice de descripciones con el sello de la tabla
+     *
+     * Solo si la tabla tiene tantas filas como documentos el índice (si no,
+     * hay altas o una importación por medio y ya se guardará después). Con
+     * el lock del índice: no puede recibir un alta entre el sello y el archivo.
+     */
+    private void guardarConSello(IndiceTextual indice, File archivo) {
+        synchronized (indice) {
+            long sello = storage.selloIndiceTexto(indice.numeroDocumentos());
+            if (sello == EntrenamientoSqliteStorage.SIN_SELLO) {
+                return;
+            }
+            try {
+                indice.guardar(archivo, sello);
+            } catch (IOException e) {
+                Log.e(TAG, "Error al guardar el índice de texto", e);
+            }
+        }
+    }
+
+    // ============= CatalogoPaginado.Fuente (hilo de páginas) =============
+
+    /**
+     * contar - Número de guardados; de paso lee el último id asignado
+     */
+    @Override
+    public int contar() {
+        int total = storage.contar();
+        ultimoId = storage.ultimoId();
+        return total;
+    }
+
+    /**
+     * cargarPagina - Lee una página y la añade a la caché por id
+     */
+    @Override
+    public List<Entrenamiento> cargarPagina(int desde, int cantidad) {
+        return guardarEnCache(storage.cargarPagina(desde, cantidad));
+    }
+
+    /**
+     * cargarDespuesDeId - Lee una página por clave y la añade a la caché por id
+     */
+    @Override
+    public List<Entrenamiento> cargarDespuesDeId(long ultimoId, int cantidad) {
+        return guardarEnCache(storage.cargarDespuesDeId(ultimoId, cantidad));
+    }
+
+    /**
+     * guardarEnCache - Añade una página leída a la caché por id
+     */
+    private List<Entrenamiento> guardarEnCache(List<Entrenamiento> pagina) {
+        synchronized (porId) {
+            for (Entrenamiento entrenamiento : pagina) {
+                porId.put(entrenamiento.getId(), entrenamiento);
+            }
+        }
+        return pagina;
+    }
+
+    // ============= CONSULTAS =============
+
+    /** Catálogo que muestra el adapter */
+    public CatalogoPaginado getCatalogo() {
+        return catalogo;
+    }
+
+    /** true cuando ya se sabe cuántos entrenamientos hay */
+    public boolean isCatalogoAbierto() {
+        return catalogoAbierto;
+    }
+
+    /**
+     * obtenerPorId - Entrega el entrenamiento con ese id (hilo principal)
+     *
+     * - En la caché (acierto): se entrega en el momento
+     * - Si no (fallo): se lee su fila en el hilo de páginas y se entrega
+     *   después; null si no existe
+     *
+     * @param id Id del entrenamiento
+     * @param receptor Recibe el entrenamiento (o null)
+     */
+    public void obtenerPorId(long id, Consumer<Entrenamiento> receptor) {
+        Entrenamiento enCache;
+        synchronized (porId) {
+            enCache = porId.get(id);
+        }
+        if (enCache != null) {
+            aciertosId++;
+            receptor.accept(enCache);
+            return;
+        }
+
+        fallosId++;
+        ejecutorPaginas.execute(() -> {
+            Entrenamiento leido = storage.buscarPorId(id);
+            if (leido != null) {
+                synchronized (porId) {
+                    porId.put(id, leido);
+                }
+            }
+            hiloPrincipal.execute(() -> receptor.accept(leido));
+        });
+    }
+
+    /**
+     * obtenerDescripcion - Entrega la descripción de un entrenamiento (hilo principal)
+     *
+     * - Ya la tiene el objeto (altas de este proceso): en el momento
+     * - En la caché de descripciones: en el momento
+     * - Si no: se lee su fila de la tabla de descripciones en el hilo de
+     *   páginas y se entrega después
+     *
+     * @param entrenamiento Entrenamiento (normalmente una cabecera)
+     * @param receptor Recibe la descripción (null si no tiene)
+     */
+    public void obtenerDescripcion(Entrenamiento entrenamiento, Consumer<String> receptor) {
+        if (entrenamiento.getDescripcion() != null) {
+            receptor.accept(entrenamiento.getDescripcion());
+            return;
+        }
+        long id = entrenamiento.getId();
+        String enCache;
+        synchronized (descripciones) {
+            enCache = descripciones.get(id);
+        }
+        if (enCache != null) {
+            aciertosDescripcion++;
+            receptor.accept(enCache);
+            return;
+        }
+
+        fallosDescripcion++;
+        ejecutorPaginas.execute(() -> {
+            String leida = leerDescripcion(id);
+            hiloPrincipal.execute(() -> receptor.accept(leida));
+        });
+    }
+
+    /**
+     * precargarDescripcion - Lee en segundo plano la descripción de un vecino del detalle
+     *
+     * No hace nada si ya la tiene el objeto o la caché.
+     */
+    public void precargarDescripcion(Entrenamiento entrenamiento) {
+        if (entrenamiento.getDescripcion() != null) {
+            return;
+        }
+        long id = entrenamiento.getId();
+        synchronized (descripciones) {
+            if (descripciones.containsKey(id)) {
+                return;
+            }
+        }
+        ejecutorPaginas.execute(() -> leerDescripcion(id));
+    }
+
+    /**
+     * leerDescripcion - Lee una descripción de SQLite y la guarda en la caché (hilo de páginas)
+     */
+    private String leerDescripcion(long id) {
+        String leida = storage.cargarDescripcion(id);
+        if (leida != null) {
+            synchronized (descripciones) {
+                descripciones.put(id, leida);
+            }
+        }
+        return leida;
+    }
+
+    /**
+     * recordar - Mete (o refresca) un entrenamiento en la caché por id
+     *
+     * Para los vecinos del detalle: así no los expulsa la caché aunque
+     * se recorran muchas páginas. No cuenta como acierto ni como fallo.
+     */
+    public void recordar(Entrenamiento entrenamiento) {
+        if (entrenamiento.getId() <= 0) {
+            return;
+        }
+        synchronized (porId) {
+            porId.put(entrenamiento.getId(), entrenamiento);
+        }
+    }
+
+    /**
+     * buscarPrefijo - Posiciones con una palabra que empieza por la consulta
+     *
+     * @return Posiciones; null si la consulta está vacía o el índice aún no está
+     */
+    @Nullable
+    public int[] buscarPrefijo(String consulta) {
+        return indicePrefijos != null ? indicePrefijos.buscar(consulta) : null;
+    }
+
+    /**
+     * buscarEnDescripciones - Posiciones por relevancia de las descripciones
+     *
+     * @return Posiciones; null si el índice aún no está
+     */
+    @Nullable
+    public int[] buscarEnDescripciones(String consulta) {
+        return indiceTexto != null ? indiceTexto.buscar(consulta) : null;
+    }
+
+    /** true cuando los índices de búsqueda ya están construidos */
+    public boolean hayIndices() {
+        return indicePrefijos != null;
+    }
+
+    /**
+     * posicionesOrdenadas - Todas las posiciones del catálogo en el orden de un criterio
+     *
+     * @return Posiciones; null con ALTA (el orden del catálogo), si los órdenes
+     *         aún no están o si una importación los dejó atrás (hasta reconstruirlos)
+     */
+    @Nullable
+    public int[] posicionesOrdenadas(OrdenCatalogo.Criterio criterio) {
+        if (criterio == OrdenCatalogo.Criterio.ALTA || !hayOrdenAlDia()) {
+            return null;
+        }
+        return orden.posiciones(criterio);
+    }
+
+    /**
+     * ordenar - Las posiciones de una búsqueda en el orden de un criterio
+     *
+     * @return Posiciones ordenadas; las mismas si no hay orden que aplicar
+     */
+    @Nullable
+    public int[] ordenar(@Nullable int[] posiciones, OrdenCatalogo.Criterio criterio) {
+        return hayOrdenAlDia() ? orden.ordenar(posiciones, criterio) : posiciones;
+    }
+
+    /** true si los órdenes cubren todo el catálogo */
+    private boolean hayOrdenAlDia() {
+        return orden != null && orden.tamano() == catalogo.tamano();
+    }
+
+    /**
+     * buscarPorNombre - Entrega el entrenamiento con ese nombre (validación de duplicados, hilo principal)
+     *
+     * 1. Altas de este proceso: índice de nombres en memoria, O(1), se
+     *    entrega en el momento
+     * 2. Catálogo guardado (no está en memoria): el filtro Bloom de nombres
+     *    guardados descarta casi todos los nombres nuevos sin tocar la base
+     *    de datos (también en el momento)
+     * 3. Si puede estar, o el filtro aún no está construido, se consulta el
+     *    índice único de SQLite en el hilo de páginas y se entrega después:
+     *    nunca se lee la base de datos en el hilo principal
+     *
+     * @param nombre Nombre a buscar (sin distinguir mayúsculas)
+     * @param receptor Recibe el entrenamiento con ese nombre, o null si no existe
+     */
+    public void buscarPorNombre(String nombre, Consumer<Entrenamiento> receptor) {
+        Entrenamiento enMemoria = indiceNombres.buscar(nombre);
+        if (enMemoria != null || catalogo.getTotalGuardados() == 0) {
+            receptor.accept(enMemoria);
+            return;
+        }
+        if (nombresGuardados != null && !nombresGuardados.puedeContener(indiceNombres.normalizar(nombre))) {
+            receptor.accept(null);
+            return;
+        }
+        ejecutorPaginas.execute(() -> {
+            Entrenamiento guardado = storage.buscarPorNombre(nombre);
+            hiloPrincipal.execute(() -> receptor.accept(guardado));
+        });
+    }
+
+    // ============= CAMBIOS =============
+
+    /**
+     * anadir - Añade un entrenamiento al final del catálogo y lo guarda en segundo plano
+     *
+     * El id se asigna aquí (el siguiente al último): el entrenamiento se
+     * puede buscar por id en el momento, sin esperar al INSERT.
+     *
+     * @return Posición del nuevo entrenamiento en el catálogo
+     */
+    public int anadir(Entrenamiento entrenamiento) {
+        registrarAlta(entrenamiento);
+        int posicion = catalogo.tamano() - 1;
+        if (indicePrefijos != null) {
+            indicePrefijos.anadir(entrenamiento.getNombre(), posicion);
+            indiceTexto.anadir(posicion, entrenamiento.getDescripcion());
+        }
+        if (orden != null && orden.tamano() == posicion) {  // Al día hasta esta alta
+            orden.anadir(entrenamiento.getNombre(), entrenamiento.getTipoIcono());  // Búsqueda binaria
+        }
+
+        // SQLite es incremental: un INSERT de una fila (con el id ya
+        // asignado), sin reescribir el catálogo (que no está entero en memoria)
+        escritura.encolar(() -> storage.anadirEntrenamiento(entrenamiento));
+        return posicion;
+    }
+
+    /**
+     * registrarAlta - Asigna el id y añade el alta al catálogo, al índice de nombres y a la caché
+     */
+    private void registrarAlta(Entrenamiento entrenamiento) {
+        if (entrenamiento.getId() <= 0) {
+            entrenamiento.setId(reservarIds(1));
+        }
+        catalogo.anadir(entrenamiento);
+        indiceNombres.anadir(entrenamiento);
+        synchronized (porId) {
+            porId.put(entrenamiento.getId(), entrenamiento);
+        }
+    }
+
+    /**
+     * reservarIds - Reserva ids consecutivos (altas en el hilo principal, lotes en el de escritura)
+     *
+     * @return El primero de los 'cantidad' ids reservados
+     */
+    private synchronized long reservarIds(int cantidad) {
+        long primero = ultimoId + 1;
+        ultimoId += cantidad;
+        return primero;
+    }
+
+    /**
+     * guardarIndiceTexto - Guarda el índice de descripciones si ha cambiado
+     *
+     * Se llama en onPause(): en el hilo de escritura, para que el próximo
+     * arranque no tenga que reconstruirlo.
+     */
+    public void guardarIndiceTexto() {
+        if (indiceTexto == null || !indiceTexto.hayCambiosSinGuardar()) {
+            return;
+        }
+        IndiceTextual indice = indiceTexto;
+        File archivo = storage.getArchivoIndiceTexto();
+        escritura.encolar(() -> guardarConSello(indice, archivo));
+    }
+
+    // ============= IMPORTACIÓN MASIVA =============
+
+    /**
+     * importar - Importa un archivo CSV o JSON en segundo plano
+     *
+     * Se hace en el hilo de escritura, detrás de las altas pendientes (así
+     * ya están guardadas y los ids importados son mayores que los suyos):
+     *
+     * PASO 1: Nombres guardados → ImportadorCatalogo (duplicados en O(1))
+     * PASO 2: El archivo se lee en streaming; cada lote recibe ids seguidos
+     *         y se guarda con storage.anadirLote() (una transacción por lote)
+     * PASO 3: En el hilo principal, el catálogo pasa a incluir las filas
+     *         nuevas (por páginas, no en memoria) y se reconstruyen los
+     *         índices de búsqueda
+     *
+     * Mientras dura no se admiten altas (isImportando()): sus ids quedarían
+     * en medio de los importados. El progreso y el fin se avisan al
+     * OyenteImportacion registrado (setOyenteImportacion()).
+     *
+     * @param uri Archivo elegido por el usuario
+     * @return false si ya hay una importación o el catálogo aún no está abierto
+     */
+    public boolean importar(Uri uri) {
+        if (importando || !catalogoAbierto) {
+            return false;
+        }
+        importando = true;
+        importacionCancelada = false;
+        progresoLeidas = 0;
+        progresoImportadas = 0;
+        progresoPorMil = 0;
+        resultadoPendiente = null;
+        errorPendiente = null;
+
+        // Solo se usa su normalizar(), que no cambia nada: vale desde otro hilo
+        ImportadorCatalogo importador = new ImportadorCatalogo(indiceNombres,
+                ImportadorCatalogo.TAMANO_LOTE_POR_DEFECTO);
+        escritura.encolar(() -> {
+            long inicio = Instrumentacion.empezar(Instrumentacion.IMPORTACION);
+            Exception error = null;
+            try {
+                importarArchivo(uri, importador);
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Error al importar " + uri, e);
+                error = e;
+            } finally {
+                Instrumentacion.terminar(Instrumentacion.IMPORTACION, inicio);
+            }
+            int total = storage.contar();
+            Exception errorFinal = error;
+            hiloPrincipal.execute(() -> terminarImportacion(importador.getResultado(), errorFinal, total));
+        });
+        return true;
+    }
+
+    /**
+     * importarArchivo - PASOS 1 y 2 de importar() (hilo de escritura)
+     */
+    private void importarArchivo(Uri uri, ImportadorCatalogo importador) throws IOException {
+        // PASO 1: Nombres guardados (las altas anteriores ya están escritas)
+        storage.recorrerNombres(importador::registrarExistente);
+
+        // PASO 2: Archivo → lotes
+        ParcelFileDescriptor descriptor = context.getContentResolver().openFileDescriptor(uri, "r");
+        if (descriptor == null) {
+            throw new FileNotFoundException(uri.toString());
+        }
+        long tamano = descriptor.getStatSize();
+        try (FileInputStream entrada = new ParcelFileDescriptor.AutoCloseInputStream(descriptor);
+             BufferedReader lector = new BufferedReader(
+                     new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANO_BUFER_IMPORTACION)) {
+            FileChannel canal = entrada.getChannel();
+            importador.importar(lector, this::guardarLoteImportado, () -> importacionCancelada,
+                    parcial -> avisarProgreso(parcial, porMil(canal, tamano)));
+        }
+    }
+
+    /**
+     * guardarLoteImportado - Asigna ids seguidos al lote y lo guarda (hilo de escritura)
+     */
+    private void guardarLoteImportado(List<Entrenamiento> lote) {
+        long id = reservarIds(lote.size());
+        for (Entrenamiento entrenamiento : lote) {
+            entrenamiento.setId(id++);
+        }
+        storage.anadirLote(lote);
+    }
+
+    /**
+     * porMil - Parte del archivo ya leída (-1 si no se sabe su tamaño)
+     */
+    private static int porMil(FileChannel canal, long tamano) {
+        if (tamano <= 0) {
+            return -1;
+        }
+        try {
+            return (int) Math.min(1000, canal.position() * 1000 / tamano);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * avisarProgreso - Pasa el progreso al hilo principal (hilo de escritura)
+     */
+    private void avisarProgreso(ImportadorCatalogo.Resultado parcial, int porMil) {
+        int leidas = parcial.getLeidas();
+        int importadas = parcial.getImportadas();
+        hiloPrincipal.execute(() -> {
+            progresoLeidas = leidas;
+            progresoImportadas = importadas;
+            progresoPorMil = porMil;
+            if (oyenteImportacion != null) {
+                oyenteImportacion.onProgresoImportacion(leidas, importadas, porMil);
+            }
+        });
+    }
+
+    /**
+     * terminarImportacion - PASO 3 de importar() (hilo principal)
+     *
+     * @param total Filas guardadas tras la importación (altas + importadas)
+     */
+    private void terminarImportacion(ImportadorCatalogo.Resultado resultado, @Nullable Exception error, int total) {
+        importando = false;
+        Log.i(TAG, "Importación: " + resultado.getImportadas() + " de " + resultado.getLeidas()
+                + " filas (" + resultado.getDuplicadas() + " duplicadas, " + resultado.getInvalidas()
+                + " sin nombre" + (resultado.isCancelada() ? ", cancelada" : "") + ")");
+
+        if (resultado.getImportadas() > 0) {
+            // Las altas y lo importado se leen ya por páginas
+            catalogo.incorporarGuardados(total);
+            nombresGuardados = null;  // Hasta reconstruirlo, los nombres se consultan en SQLite
+            for (OyenteCarga oyente : new ArrayList<>(oyentes)) {
+                oyente.onCatalogoAmpliado();
+            }
+            construirIndiceBusqueda();
+        }
+
+        if (oyenteImportacion != null) {
+            oyenteImportacion.onImportacionTerminada(resultado, error);
+        } else {
+            resultadoPendiente = resultado;  // Se entrega cuando se registre una pantalla
+            errorPendiente = error;
+        }
+    }
+
+    /**
+     * setOyenteImportacion - Registra (o quita, con null) la pantalla de progreso
+     *
+     * Al registrarla recibe en el momento el estado actual:
+     * - Importación en curso: el último progreso
+     * - Terminada sin avisar a nadie: su resultado (una sola vez)
+     * - Nada: onImportacionTerminada(null, null)
+     */
+    public void setOyenteImportacion(@Nullable OyenteImportacion oyente) {
+        oyenteImportacion = oyente;
+        if (oyente == null) {
+            return;
+        }
+        if (importando) {
+            oyente.onProgresoImportacion(progresoLeidas, progresoImportadas, progresoPorMil);
+            return;
+        }
+        ImportadorCatalogo.Resultado resultado = resultadoPendiente;
+        Exception error = errorPendiente;
+        resultadoPendiente = null;
+        errorPendiente = null;
+        oyente.onImportacionTerminada(resultado, error);
+    }
+
+    /**
+     * cancelarImportacion - Pide parar en la siguiente fila (los lotes guardados se quedan)
+     */
+    public void cancelarImportacion() {
+        importacionCancelada = true;
+    }
+
+    /** true mientras hay una importación en curso */
+    public boolean isImportando() {
+        return importando;
+    }
+
+    // ============= EXPORTACIÓN =============
+
+    /**
+     * exportar - Escribe todo el catálogo guardado en un documento, en segundo plano
+     *
+     * Va en el hilo de escritura, detrás de las altas pendientes (y de una
+     * importación en curso), así que exporta lo último guardado y nada se
+     * escribe en SQLite mientras tanto. Los entrenamientos salen del cursor
+     * por lotes y ExportadorCatalogo los escribe en el FileChannel del
+     * documento con su buffer directo: ni la lista ni el texto completos
+     * llegan a estar en memoria.
+     *
+     * @param uri Documento creado por el usuario (se trunca)
+     * @param formato CSV, JSON o ENTB
+     * @param oyente Recibe el resultado en el hilo principal
+     */
+    public void exportar(Uri uri, ExportadorCatalogo.Formato formato, OyenteExportacion oyente) {
+        escritura.encolar(() -> {
+            long inicio = Instrumentacion.empezar(Instrumentacion.EXPORTACION);
+            long bytes = 0;
+            Exception error = null;
+            try {
+                bytes = exportarDocumento(uri, formato);
+                Instrumentacion.sumarBytes(Instrumentacion.EXPORTACION, bytes);
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Error al exportar a " + uri, e);
+                error = e;
+            } finally {
+                Instrumentacion.terminar(Instrumentacion.EXPORTACION, inicio);
+            }
+            long bytesFinal = bytes;
+            Exception errorFinal = error;
+            hiloPrincipal.execute(() -> oyente.onExportacionTerminada(bytesFinal, errorFinal));
+        });
+    }
+
+    /**
+     * exportarDocumento - Abre el documento y le escribe el catálogo (hilo de escritura)
+     *
+     * @return Bytes escritos
+     */
+    private long exportarDocumento(Uri uri, ExportadorCatalogo.Formato formato) throws IOException {
+        if (exportador == null) {
+            exportador = new ExportadorCatalogo();  // Buffer directo: una vez por proceso
+        }
+        ParcelFileDescriptor descriptor = context.getContentResolver().openFileDescriptor(uri, "wt");
+        if (descriptor == null) {
+            throw new FileNotFoundException(uri.toString());
+        }
+        try (FileOutputStream salida = new ParcelFileDescriptor.AutoCloseOutputStream(descriptor)) {
+            FileChannel canal = salida.getChannel();
+            long bytes = exportador.exportar(origenExportacion(), formato, canal);
+            canal.force(false);  // En disco antes de avisar
+            return bytes;
+        }
+    }
+
+    /**
+     * origenExportacion - Las filas de SQLite en orden de alta, por lotes
+     */
+    private ExportadorCatalogo.Origen origenExportacion() {
+        return new ExportadorCatalogo.Origen() {
+            @Override
+            public int contar() {
+                return storage.contar();
+            }
+
+            @Override
+            public void recorrer(int tamanoLote, Consumer<List<Entrenamiento>> consumidor) {
+                storage.cargarCompletos(tamanoLote, consumidor);
+            }
+
+            @Override
+            public void recorrerDescripciones(int tamanoLote, Consumer<List<String>> consumidor) {
+                storage.recorrerDescripciones(Integer.MAX_VALUE, tamanoLote, consumidor);
+            }
+        };
+    }
+
+    // ============= ESTADÍSTICAS =============
+
+    /** Búsquedas por id resueltas con la caché */
+    public long getAciertosId() {
+        return aciertosId;
+    }
+
+    /** Búsquedas por id que tuvieron que leer SQLite */
+    public long getFallosId() {
+        return fallosId;
+    }
+
+    /** Descripciones entregadas desde la caché */
+    public long getAciertosDescripcion() {
+        return aciertosDescripcion;
+    }
+
+    /** Descripciones que tuvieron que leerse de SQLite */
+    public long getFallosDescripcion() {
+        return fallosDescripcion;
+    }
+
+    /** Veces que se ha abierto el catálogo en este proceso (debe ser 1) */
+    public int getAperturas() {
+        return aperturas;
+    }
+
+    /** Milisegundos hasta tener el catálogo abierto (-1 si aún no) */
+    public long getTiempoAperturaMs() {
+        return tiempoAperturaMs;
+    }
+
+    /** Milisegundos hasta tener los índices de búsqueda (-1 si aún no) */
+    public long getTiempoIndicesMs() {
+        return tiempoIndicesMs;
+    }
+
+    /**
+     * resumenEstadisticas - Estadísticas en una línea (para Log)
+     */
+    public String resumenEstadisticas() {
+        long consultas = aciertosId + fallosId;
+        int tasa = consultas == 0 ? 0 : (int) (aciertosId * 100 / consultas);
+        return "Repositorio: " + aperturas + " apertura(s), abierto en " + tiempoAperturaMs
+                + " ms, índices en " + tiempoIndicesMs + " ms; por id " + aciertosId
+                + " aciertos / " + fallosId + " fallos (" + tasa + "%); descripciones "
+                + aciertosDescripcion + " aciertos / " + fallosDescripcion + " fallos";
+    }
+}
@@ -0,0 +1,27 @@
+// Módulo :benchmark - medidas JMH de guardar/cargar, duplicados, filtro y ordenado.
+// Ejecutar: ./gradlew :benchmark:jmh
+// Resultado: benchmark/build/results/jmh/results.json (comparar con
+// benchmark/resultados/linea-base.json antes de aceptar un cambio).
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    jmh(project(":core"))
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    // Tasa de asignación por operación (gc.alloc.rate.norm)
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    // Iteraciones y forks: los de @Warmup/@Measurement/@Fork de cada clase
+    // (2 + 3 de 1 s, un fork; los mismos que la línea base). No se repiten
+    // aquí para que no haya dos valores distintos.
+}
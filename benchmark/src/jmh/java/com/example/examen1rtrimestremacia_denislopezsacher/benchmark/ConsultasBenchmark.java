@@ -0,0 +1,186 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.benchmark;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndiceNombres;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndicePrefijos;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.OrdenCatalogo;
+
+import org.openjdk.jmh.annotations.Benchmark;      // Método medido
+import org.openjdk.jmh.annotations.BenchmarkMode;  // Qué se mide
+import org.openjdk.jmh.annotations.Fork;           // JVMs nuevas por medida
+import org.openjdk.jmh.annotations.Measurement;    // Iteraciones medidas
+import org.openjdk.jmh.annotations.Mode;           // Operaciones por segundo
+import org.openjdk.jmh.annotations.OutputTimeUnit; // Unidad del resultado
+import org.openjdk.jmh.annotations.Param;          // Tamaños del catálogo
+import org.openjdk.jmh.annotations.Scope;          // Estado compartido
+import org.openjdk.jmh.annotations.Setup;          // Preparación de los datos
+import org.openjdk.jmh.annotations.State;          // Clase con estado
+import org.openjdk.jmh.annotations.Warmup;         // Iteraciones de calentamiento
+
+import java.text.Collator;                         // Orden alfabético español
+import java.util.ArrayList;                        // Copia a ordenar
+import java.util.Comparator;                       // Criterio de orden
+import java.util.List;                             // Interfaz de lista
+import java.util.Locale;                           // Español
+import java.util.concurrent.TimeUnit;              // Unidades de tiempo
+
+/**
+ * ConsultasBenchmark - Duplicados, filtro de búsqueda y ordenado del catálogo
+ *
+ * Cada operación se mide con el camino antiguo (recorrer la lista) y con
+ * el índice que la sustituyó, para ver a partir de qué tamaño compensa:
+ *
+ *   duplicadoLineal   → bucle con equalsIgnoreCase (el del diálogo de alta)
+ *   duplicadoIndice   → IndiceNombres.buscar()
+ *   filtrarLineal     → recorrer los nombres normalizados buscando la palabra
+ *   filtrarIndice     → IndicePrefijos.buscar()
+ *   ordenarPorNombre  → copia + sort con Collator español ("Ñ" tras "N")
+ *   ordenarSinMayusculas → copia + sort con String.CASE_INSENSITIVE_ORDER
+ *   ordenarPorClaves  → OrdenCatalogo.reordenar(): el mismo orden español con
+ *                       las CollationKey ya calculadas (nombre y tipo)
+ *
+ * El nombre comprobado NO existe (el caso normal al añadir): el bucle
+ * lineal recorre la lista entera.
+ *
+ * Pocas iteraciones (2 + 3 de 1 s, un fork), como en la línea base:
+ * ordenarPorNombre con 1.000.000 tarda más de un minuto por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class ConsultasBenchmark {
+
+    // ============= CONSTANTES =============
+
+    /** Nombre nuevo que no está en ningún catálogo generado */
+    private static final String NOMBRE_NUEVO = "Escalada nocturna en rocódromo";
+
+    /** Texto escrito en la caja de búsqueda (~1 de cada 20 nombres) */
+    private static final String CONSULTA = "nat";
+
+    /** Español de España */
+    private static final Locale ESPANOL = new Locale("es", "ES");
+
+    // ============= PARÁMETROS =============
+
+    /** Entrenamientos en el catálogo */
+    @Param({"10", "1000", "100000", "1000000"})
+    public int tamano;
+
+    // ============= ESTADO =============
+
+    /** Catálogo */
+    private List<Entrenamiento> entrenamientos;
+
+    /** Nombres ya normalizados para búsqueda (lo que tendría el filtro lineal) */
+    private String[] nombresNormalizados;
+
+    /** Índices construidos fuera de la medida */
+    private IndiceNombres indiceNombres;
+    private IndicePrefijos indicePrefijos;
+
+    /** Criterio de orden alfabético */
+    private Comparator<Entrenamiento> porNombre;
+
+    /** Órdenes con las claves de cada nombre calculadas fuera de la medida */
+    private OrdenCatalogo orden;
+
+    /**
+     * preparar - Genera el catálogo y construye los índices (fuera de la medida)
+     */
+    @Setup
+    public void preparar() {
+        entrenamientos = DatosEspanol.catalogo(tamano);
+
+        nombresNormalizados = new String[tamano];
+        List<String> nombres = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            String nombre = entrenamientos.get(i).getNombre();
+            nombres.add(nombre);
+            nombresNormalizados[i] = IndicePrefijos.normalizarBusqueda(nombre);
+        }
+
+        indiceNombres = new IndiceNombres(ESPANOL, true);
+        indiceNombres.anadirTodos(entrenamientos);
+
+        indicePrefijos = new IndicePrefijos();
+        indicePrefijos.anadirTodos(nombres, 0);
+        indicePrefijos.preparar();
+
+        Collator collator = Collator.getInstance(ESPANOL);
+        collator.setStrength(Collator.SECONDARY);
+        porNombre = (a, b) -> collator.compare(a.getNombre(), b.getNombre());
+
+        orden = new OrdenCatalogo(ESPANOL);
+        for (Entrenamiento entrenamiento : entrenamientos) {
+            orden.anadirAlFinal(entrenamiento.getNombre(), entrenamiento.getTipoIcono());
+        }
+        orden.preparar();
+    }
+
+    // ============= DUPLICADOS =============
+
+    @Benchmark
+    public Entrenamiento duplicadoLineal() {
+        for (Entrenamiento entrenamiento : entrenamientos) {
+            if (entrenamiento.getNombre().equalsIgnoreCase(NOMBRE_NUEVO)) {
+                return entrenamiento;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Entrenamiento duplicadoIndice() {
+        return indiceNombres.buscar(NOMBRE_NUEVO);
+    }
+
+    // ============= FILTRO =============
+
+    @Benchmark
+    public int[] filtrarLineal() {
+        String prefijo = IndicePrefijos.normalizarBusqueda(CONSULTA);
+        String prefijoPalabra = " " + prefijo;
+        int[] posiciones = new int[nombresNormalizados.length];
+        int total = 0;
+        for (int i = 0; i < nombresNormalizados.length; i++) {
+            String nombre = nombresNormalizados[i];
+            if (nombre.startsWith(prefijo) || nombre.contains(prefijoPalabra)) {
+                posiciones[total++] = i;
+            }
+        }
+        int[] resultado = new int[total];
+        System.arraycopy(posiciones, 0, resultado, 0, total);
+        return resultado;
+    }
+
+    @Benchmark
+    public int[] filtrarIndice() {
+        return indicePrefijos.buscar(CONSULTA);
+    }
+
+    // ============= ORDENADO =============
+
+    @Benchmark
+    public List<Entrenamiento> ordenarPorNombre() {
+        List<Entrenamiento> copia = new ArrayList<>(entrenamientos);
+        copia.sort(porNombre);
+        return copia;
+    }
+
+    @Benchmark
+    public int[] ordenarPorClaves() {
+        orden.reordenar();  // Desde el orden de alta: no aprovecha el orden anterior
+        return orden.posiciones(OrdenCatalogo.Criterio.NOMBRE);
+    }
+
+    @Benchmark
+    public List<Entrenamiento> ordenarSinMayusculas() {
+        List<Entrenamiento> copia = new ArrayList<>(entrenamientos);
+        copia.sort((a, b) -> String.CASE_INSENSITIVE_ORDER.compare(a.getNombre(), b.getNombre()));
+        return copia;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.benchmark;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Fuerza;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Pilates;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Running;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Voleibol;
+
+import java.util.ArrayList;   // Lista generada
+import java.util.List;        // Interfaz de lista
+import java.util.Random;      // Generador con semilla fija
+
+/**
+ * DatosEspanol - Catálogos de entrenamientos con nombres y descripciones realistas
+ *
+ * Los benchmarks necesitan datos parecidos a los de la app: nombres cortos
+ * en español, con acentos y eñes, y descripciones de dos o tres frases.
+ * Con una semilla fija, el mismo tamaño da siempre el mismo catálogo, así
+ * que dos ejecuciones (antes y después de un cambio) miden lo mismo:
+ *
+ *   0..3   → los 4 predefinidos (Pilates, Fuerza, Running, Voleibol)
+ *   4..n-1 → "Natación de técnica 17", "Pádel en pareja 2031"...
+ *
+ * - Nombres únicos: el número final evita duplicados en cualquier tamaño
+ * - Descripciones combinadas de frases: ~120-200 caracteres, como las reales
+ *
+ * Esta clase no depende de Android.
+ */
+public final class DatosEspanol {
+
+    // ============= CONSTANTES =============
+
+    /** Semilla fija: mismos datos en cada ejecución */
+    private static final long SEMILLA = 20_240_917L;
+
+    /** Actividades (primera parte del nombre) */
+    private static final String[] ACTIVIDADES = {
+            "Natación", "Ciclismo", "Escalada", "Remo", "Boxeo", "Zumba",
+            "Senderismo", "Baloncesto", "Fútbol sala", "Pádel", "Tenis",
+            "Calistenia", "Estiramientos", "Carrera continua", "Series en pista",
+            "Yoga", "Spinning", "Balonmano", "Patinaje", "Gimnasia"
+    };
+
+    /** Modificadores (segunda parte del nombre) */
+    private static final String[] MODIFICADORES = {
+            "suave", "intenso", "de mañana", "en pareja", "para principiantes",
+            "avanzado", "de recuperación", "con banda elástica", "en cuesta",
+            "de técnica", "al aire libre", "en grupo"
+    };
+
+    /** Frases de las descripciones */
+    private static final String[] FRASES = {
+            "Sesión de 45 minutos centrada en la movilidad de cadera y la respiración.",
+            "Calentamiento de diez minutos antes de empezar la parte principal.",
+            "Trabajo de resistencia aeróbica a ritmo constante.",
+            "Ejercicios de equilibrio y coordinación para mejorar la técnica.",
+            "Intervalos cortos de alta intensidad con pausas de recuperación.",
+            "Ideal para días de descanso activo o después de una lesión.",
+            "Se recomienda llevar agua, toalla y calzado cómodo.",
+            "Fortalece la musculatura del tronco y protege la espalda.",
+            "Pensado para hacerlo en compañía y mantener la motivación.",
+            "Incluye estiramientos al final para evitar agujetas."
+    };
+
+    /** Tipos de icono que se reparten entre los entrenamientos del usuario */
+    private static final TipoIcono[] ICONOS = TipoIcono.values();
+
+    /** Clase de utilidades: no se instancia */
+    private DatosEspanol() {
+    }
+
+    // ============= GENERACIÓN =============
+
+    /**
+     * catalogo - Catálogo de n entrenamientos (los 4 predefinidos primero)
+     *
+     * @param tamano Número de entrenamientos
+     * @return Lista nueva (se puede modificar)
+     */
+    public static List<Entrenamiento> catalogo(int tamano) {
+        Random random = new Random(SEMILLA);
+        List<Entrenamiento> entrenamientos = new ArrayList<>(tamano);
+
+        // PASO 1: Los predefinidos, como en una instalación nueva
+        Entrenamiento[] predefinidos = {new Pilates(), new Fuerza(), new Running(), new Voleibol()};
+        for (int i = 0; i < predefinidos.length && i < tamano; i++) {
+            predefinidos[i].setId(i + 1);
+            entrenamientos.add(predefinidos[i]);
+        }
+
+        // PASO 2: Los añadidos por el usuario
+        for (int i = entrenamientos.size(); i < tamano; i++) {
+            Entrenamiento entrenamiento = new Entrenamiento(
+                    nombre(random, i),
+                    descripcion(random),
+                    ICONOS[random.nextInt(ICONOS.length)]);
+            entrenamiento.setId(i + 1);
+            entrenamientos.add(entrenamiento);
+        }
+        return entrenamientos;
+    }
+
+    /**
+     * nombre - Nombre único: actividad + modificador + número
+     */
+    static String nombre(Random random, int numero) {
+        return ACTIVIDADES[random.nextInt(ACTIVIDADES.length)] + " "
+                + MODIFICADORES[random.nextInt(MODIFICADORES.length)] + " "
+                + numero;
+    }
+
+    /**
+     * descripcion - Dos o tres frases distintas
+     */
+    static String descripcion(Random random) {
+        int frases = 2 + random.nextInt(2);
+        int inicio = random.nextInt(FRASES.length);
+        StringBuilder texto = new StringBuilder(220);
+        for (int i = 0; i < frases; i++) {
+            if (i > 0) {
+                texto.append(' ');
+            }
+            texto.append(FRASES[(inicio + i * 3) % FRASES.length]);
+        }
+        return texto.toString();
+    }
+}
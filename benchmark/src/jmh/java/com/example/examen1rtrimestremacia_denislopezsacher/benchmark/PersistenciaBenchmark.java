@@ -0,0 +1,132 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.benchmark;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.EntrenamientoBinaryCodec;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.EntrenamientoJsonAdapter;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.MigracionIconos;
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.TipoIconoJsonAdapter;
+
+import com.google.gson.Gson;                       // El mismo Gson que EntrenamientoStorage
+import com.google.gson.GsonBuilder;                // Gson por reflexión (camino anterior)
+import com.google.gson.reflect.TypeToken;          // Tipo genérico de la lista
+
+import org.openjdk.jmh.annotations.Benchmark;      // Método medido
+import org.openjdk.jmh.annotations.BenchmarkMode;  // Qué se mide
+import org.openjdk.jmh.annotations.Fork;           // JVMs nuevas por medida
+import org.openjdk.jmh.annotations.Measurement;    // Iteraciones medidas
+import org.openjdk.jmh.annotations.Mode;           // Operaciones por segundo
+import org.openjdk.jmh.annotations.OutputTimeUnit; // Unidad del resultado
+import org.openjdk.jmh.annotations.Param;          // Tamaños del catálogo
+import org.openjdk.jmh.annotations.Scope;          // Estado compartido
+import org.openjdk.jmh.annotations.Setup;          // Preparación de los datos
+import org.openjdk.jmh.annotations.State;          // Clase con estado
+import org.openjdk.jmh.annotations.Warmup;         // Iteraciones de calentamiento
+
+import java.io.IOException;                        // Errores del codec binario
+import java.lang.reflect.Type;                     // List<Entrenamiento>
+import java.util.ArrayList;                        // Tipo concreto de la lista
+import java.util.List;                             // Interfaz de lista
+import java.util.concurrent.TimeUnit;              // Unidades de tiempo
+
+/**
+ * PersistenciaBenchmark - Guardar y cargar el catálogo (JSON y binario)
+ *
+ * Mide lo que hacen guardarEntrenamientos() y cargarEntrenamientos() de
+ * EntrenamientoStorage sin el disco ni SharedPreferences: solo la
+ * conversión, que es lo que crece con el tamaño del catálogo.
+ *
+ *   serializarJson     → gson.toJson(lista)        (formato JSON)
+ *   deserializarJson   → gson.fromJson(json, tipo)
+ *   serializarJsonReflexivo / deserializarJsonReflexivo
+ *                      → lo mismo con el Gson por reflexión de antes de
+ *                        EntrenamientoJsonAdapter (para comparar)
+ *   serializarBinario  → EntrenamientoBinaryCodec.codificar(lista)
+ *   deserializarBinario→ EntrenamientoBinaryCodec.decodificar(bytes)
+ *
+ * Con -prof gc se obtiene además la tasa de asignación
+ * (gc.alloc.rate.norm = bytes asignados por operación).
+ *
+ * Iteraciones (2 de calentamiento y 3 medidas, 1 s cada una, un fork):
+ * solo aquí, en las anotaciones; la línea base se tomó con estas mismas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class PersistenciaBenchmark {
+
+    // ============= PARÁMETROS =============
+
+    /** Entrenamientos en el catálogo */
+    @Param({"10", "1000", "100000", "1000000"})
+    public int tamano;
+
+    // ============= ESTADO =============
+
+    /** Gson configurado como en la app (adaptador en streaming) */
+    private final Gson gson = EntrenamientoJsonAdapter.crearGson(new MigracionIconos());
+
+    /** Camino anterior: reflexión (solo con el adaptador del icono) */
+    private final Gson reflexivo = new GsonBuilder()
+            .registerTypeAdapter(TipoIcono.class, new TipoIconoJsonAdapter(new MigracionIconos()))
+            .create();
+
+    /** Tipo de la lista guardada */
+    private final Type tipoLista = new TypeToken<ArrayList<Entrenamiento>>(){}.getType();
+
+    /** Catálogo a guardar */
+    private List<Entrenamiento> entrenamientos;
+
+    /** El mismo catálogo ya guardado en cada formato */
+    private String json;
+    private String jsonReflexivo;
+    private byte[] binario;
+
+    /**
+     * preparar - Genera el catálogo y sus versiones guardadas (fuera de la medida)
+     */
+    @Setup
+    public void preparar() {
+        entrenamientos = DatosEspanol.catalogo(tamano);
+        json = gson.toJson(entrenamientos, tipoLista);
+        jsonReflexivo = reflexivo.toJson(entrenamientos, tipoLista);
+        binario = EntrenamientoBinaryCodec.codificar(entrenamientos);
+    }
+
+    // ============= JSON =============
+
+    @Benchmark
+    public String serializarJson() {
+        return gson.toJson(entrenamientos, tipoLista);
+    }
+
+    @Benchmark
+    public List<Entrenamiento> deserializarJson() {
+        return gson.fromJson(json, tipoLista);
+    }
+
+    @Benchmark
+    public String serializarJsonReflexivo() {
+        return reflexivo.toJson(entrenamientos, tipoLista);
+    }
+
+    @Benchmark
+    public List<Entrenamiento> deserializarJsonReflexivo() {
+        return reflexivo.fromJson(jsonReflexivo, tipoLista);
+    }
+
+    // ============= BINARIO =============
+
+    @Benchmark
+    public byte[] serializarBinario() {
+        return EntrenamientoBinaryCodec.codificar(entrenamientos);
+    }
+
+    @Benchmark
+    public List<Entrenamiento> deserializarBinario() throws IOException {
+        return EntrenamientoBinaryCodec.decodificar(binario);
+    }
+}
@@ -0,0 +1,18 @@
+// Módulo :core - modelo, codecs de almacenamiento e índices en Java puro.
+// No depende de Android: se compila y se prueba con la JVM normal
+// (./gradlew :core:test), sin emulador.
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    // Gson forma parte de la API (EntrenamientoJsonAdapter.crearGson devuelve Gson)
+    api(libs.gson)
+
+    testImplementation(libs.junit)
+}
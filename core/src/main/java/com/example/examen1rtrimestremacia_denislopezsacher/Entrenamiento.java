@@ -0,0 +1,130 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import com.google.gson.annotations.SerializedName;  // Nombre del campo en JSON (y el antiguo)
+
+/**
+ * Entrenamiento - Clase modelo que representa un entrenamiento deportivo
+ *
+ * Esta clase es el MODELO en el patrón MVC (Model-View-Controller).
+ *
+ * Atributos:
+ * - id: Identificador asignado por el almacenamiento (0 = aún sin guardar)
+ * - nombre: Nombre del entrenamiento (ej: "Pilates")
+ * - descripcion: Descripción detallada del entrenamiento (null en las
+ *   cabeceras que lee la lista: la descripción se guarda y se carga aparte)
+ * - tipoIcono: Tipo de icono (ej: TipoIcono.PILATES); el drawable lo da RegistroIconos
+ *
+ * El icono NO se guarda como id de recurso: R.drawable.ic_pilates cambia
+ * entre builds. TipoIcono es una clave estable de un byte.
+ *
+ * Vive en el módulo :core junto a los codecs y los índices: se prueba y se
+ * mide con la JVM normal, sin emulador. Por eso ya no es Parcelable: entre
+ * pantallas solo viajan el id o los campos sueltos (ver FragmentDetalle).
+ *
+ * Esta clase no depende de Android.
+ */
+public class Entrenamiento {
+
+    // ============= ATRIBUTOS =============
+
+    /** Identificador persistente (clave de la tabla SQLite, 0 = sin asignar) */
+    private long id;
+
+    /** Nombre del entrenamiento (ej: "Pilates", "Running") */
+    private String nombre;
+
+    /** Descripción detallada del entrenamiento */
+    private String descripcion;
+
+    /**
+     * Tipo de icono (en JSON "icono":"PILATES")
+     * alternate: los JSON antiguos traen "iconoResId":2131165279, que
+     * EntrenamientoStorage traduce con MigracionIconos al leerlos
+     */
+    @SerializedName(value = "icono", alternate = {"iconoResId"})
+    private TipoIcono tipoIcono;
+
+    // ============= CONSTRUCTORES =============
+
+    /**
+     * Constructor principal - Crea un nuevo entrenamiento con todos sus datos
+     *
+     * Este constructor se usa cuando creamos entrenamientos manualmente
+     * (tanto los predefinidos como los añadidos por el usuario)
+     *
+     * @param nombre Nombre del entrenamiento
+     * @param descripcion Descripción del entrenamiento
+     * @param tipoIcono Tipo de icono (null = TipoIcono.POR_DEFECTO)
+     */
+    public Entrenamiento(String nombre, String descripcion, TipoIcono tipoIcono) {
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.tipoIcono = tipoIcono != null ? tipoIcono : TipoIcono.POR_DEFECTO;
+    }
+
+    // ============= GETTERS Y SETTERS =============
+
+    /**
+     * getId - Obtiene el identificador persistente
+     * @return id asignado por el almacenamiento (0 si aún no se ha guardado)
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * setId - Establece el identificador persistente
+     * @param id Nuevo id
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * getNombre - Obtiene el nombre del entrenamiento
+     * @return Nombre del entrenamiento
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * setNombre - Establece el nombre del entrenamiento
+     * @param nombre Nuevo nombre
+     */
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * getDescripcion - Obtiene la descripción del entrenamiento
+     * @return Descripción del entrenamiento
+     */
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    /**
+     * setDescripcion - Establece la descripción del entrenamiento
+     * @param descripcion Nueva descripción
+     */
+    public void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    /**
+     * getTipoIcono - Obtiene el tipo de icono
+     * @return Tipo (TipoIcono.POR_DEFECTO si no tenía)
+     */
+    public TipoIcono getTipoIcono() {
+        return tipoIcono != null ? tipoIcono : TipoIcono.POR_DEFECTO;
+    }
+
+    /**
+     * setTipoIcono - Establece el tipo de icono
+     * @param tipoIcono Nuevo tipo (null = TipoIcono.POR_DEFECTO)
+     */
+    public void setTipoIcono(TipoIcono tipoIcono) {
+        this.tipoIcono = tipoIcono != null ? tipoIcono : TipoIcono.POR_DEFECTO;
+    }
+}
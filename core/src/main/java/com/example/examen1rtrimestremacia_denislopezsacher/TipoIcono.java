@@ -0,0 +1,98 @@
+package com.example.examen1rtrimestremacia_denislopezsacher;
+
+import java.util.Locale;  // Mayúsculas independientes del idioma del sistema
+
+/**
+ * TipoIcono - Icono de un entrenamiento como clave estable en lugar de id de recurso
+ *
+ * R.drawable.ic_pilates es un número (ej: 2131165279) que el compilador de
+ * recursos asigna en cada build: añadir un drawable puede desplazarlo. Si se
+ * guarda ese número, un catálogo antiguo puede mostrar el icono equivocado
+ * tras actualizar la app. Por eso se guarda el TIPO:
+ *
+ *   clave (JSON)   código (binario, SQLite, Bundle)   drawable (RegistroIconos)
+ *   "PILATES"      1                                  R.drawable.ic_pilates
+ *   "FUERZA"       2                                  R.drawable.ic_fuerza
+ *   "RUNNING"      3                                  R.drawable.ic_running
+ *   "VOLEIBOL"     4                                  R.drawable.ic_voleibol
+ *
+ * - El código cabe en UN byte y no cambia nunca: los nuevos tipos usan
+ *   códigos nuevos y los retirados no se reutilizan
+ * - La clave (name()) es la que se escribe en JSON
+ * - La traducción a drawable solo la conoce RegistroIconos (lado Android)
+ *
+ * Esta clase no depende de Android.
+ */
+public enum TipoIcono {
+
+    PILATES(1),
+    FUERZA(2),
+    RUNNING(3),
+    VOLEIBOL(4);
+
+    // ============= CONSTANTES =============
+
+    /** Icono de los entrenamientos sin tipo conocido (y primero del diálogo) */
+    public static final TipoIcono POR_DEFECTO = PILATES;
+
+    /** Tipos indexados por código (hueco = código sin asignar) */
+    private static final TipoIcono[] POR_CODIGO;
+
+    static {
+        int maximo = 0;
+        for (TipoIcono tipo : values()) {
+            maximo = Math.max(maximo, tipo.codigo);
+        }
+        POR_CODIGO = new TipoIcono[maximo + 1];
+        for (TipoIcono tipo : values()) {
+            POR_CODIGO[tipo.codigo] = tipo;
+        }
+    }
+
+    // ============= ATRIBUTOS =============
+
+    /** Código persistente (1..255, 0 queda libre como "sin icono") */
+    private final byte codigo;
+
+    TipoIcono(int codigo) {
+        this.codigo = (byte) codigo;
+    }
+
+    // ============= API PÚBLICA =============
+
+    /**
+     * getCodigo - Código persistente del tipo
+     * @return Valor 1..255 (leer con & 0xFF)
+     */
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * desdeCodigo - Tipo con el código dado
+     * @param codigo Código leído (byte sin signo o int)
+     * @return Tipo, o null si el código no está asignado
+     */
+    public static TipoIcono desdeCodigo(int codigo) {
+        int sinSigno = codigo & 0xFF;
+        return codigo == sinSigno && sinSigno < POR_CODIGO.length ? POR_CODIGO[sinSigno] : null;
+    }
+
+    /**
+     * desdeClave - Tipo con la clave dada (sin distinguir mayúsculas)
+     * @param clave "PILATES", "Running"...
+     * @return Tipo, o null si la clave no existe
+     */
+    public static TipoIcono desdeClave(String clave) {
+        if (clave == null) {
+            return null;
+        }
+        String mayusculas = clave.trim().toUpperCase(Locale.ROOT);
+        for (TipoIcono tipo : values()) {
+            if (tipo.name().equals(mayusculas)) {
+                return tipo;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+public class Fuerza extends Entrenamiento {
+
+    public Fuerza() {
+        super(
+            "Fuerza",
+            "Entrenamiento con pesas y resistencia para aumentar la masa muscular y la potencia.",
+            TipoIcono.FUERZA
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+public class Pilates extends Entrenamiento {
+
+    public Pilates() {
+        super(
+            "Pilates",
+            "Ejercicio de bajo impacto que mejora la flexibilidad, fuerza muscular y postura corporal.",
+            TipoIcono.PILATES
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+public class Running extends Entrenamiento {
+
+    public Running() {
+        super(
+            "Running",
+            "Carrera que mejora la resistencia cardiovascular, quema calorías y fortalece las piernas.",
+            TipoIcono.RUNNING
+        );
+    }
+}
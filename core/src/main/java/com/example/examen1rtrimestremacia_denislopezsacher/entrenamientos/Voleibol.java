@@ -0,0 +1,15 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+public class Voleibol extends Entrenamiento {
+
+    public Voleibol() {
+        super(
+            "Voleibol",
+            "Deporte de equipo que mejora la coordinación, agilidad y trabajo en equipo.",
+            TipoIcono.VOLEIBOL
+        );
+    }
+}
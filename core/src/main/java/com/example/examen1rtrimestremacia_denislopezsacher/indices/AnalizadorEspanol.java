@@ -0,0 +1,115 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import java.util.ArrayList;  // Lista de términos
+import java.util.Arrays;     // Lista de palabras vacías
+import java.util.HashSet;    // Búsqueda rápida de palabras vacías
+import java.util.List;       // Interfaz de lista
+import java.util.Set;        // Interfaz de conjunto
+
+/**
+ * AnalizadorEspanol - Convierte un texto en términos para el índice de texto completo
+ *
+ * Pasos:
+ * 1. Normalizar: sin acentos y en minúsculas (IndicePrefijos.normalizarBusqueda)
+ * 2. Partir en palabras: todo lo que no es letra o dígito separa
+ * 3. Quitar palabras vacías: "de", "la", "con"... no ayudan a buscar
+ * 4. Reducir a la raíz (stemming ligero): plurales y vocal final
+ *
+ *   "Ejercicios de POTENCIA y resistencias"
+ *     → ["ejercici", "potenci", "resistenci"]
+ *
+ * Stemming: versión del algoritmo ligero de J. Savoy para español
+ * (el mismo que usa Lucene como SpanishLightStemmer). No busca la raíz
+ * gramatical exacta: solo hace que "potencia"/"potencias" o
+ * "rápido"/"rápidos"/"rápida" den el mismo término.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class AnalizadorEspanol {
+
+    // ============= CONSTANTES =============
+
+    /** Longitud mínima para aplicar el stemming (palabras cortas se quedan igual) */
+    private static final int LONGITUD_MINIMA_STEMMING = 5;
+
+    /** Palabras vacías (ya normalizadas: sin acentos) */
+    private static final Set<String> PALABRAS_VACIAS = new HashSet<>(Arrays.asList(
+            "a", "al", "ante", "bajo", "con", "contra", "de", "del", "desde", "durante",
+            "e", "el", "en", "entre", "es", "esta", "este", "esto", "hacia", "hasta",
+            "la", "las", "le", "les", "lo", "los", "mas", "muy", "ni", "o", "para",
+            "pero", "por", "que", "se", "si", "sin", "sobre", "su", "sus", "tras",
+            "u", "un", "una", "unas", "unos", "y"));
+
+    /** Clase de utilidades: no se instancia */
+    private AnalizadorEspanol() {
+    }
+
+    // ============= API PÚBLICA =============
+
+    /**
+     * analizar - Términos del texto, en orden y con repeticiones
+     *
+     * @param texto Texto libre (null = sin términos)
+     * @return Lista de términos (raíces)
+     */
+    public static List<String> analizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+        String normalizado = IndicePrefijos.normalizarBusqueda(texto);
+
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean letra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (letra && inicio < 0) {
+                inicio = i;
+            } else if (!letra && inicio >= 0) {
+                String palabra = normalizado.substring(inicio, i);
+                if (!PALABRAS_VACIAS.contains(palabra)) {
+                    terminos.add(raiz(palabra));
+                }
+                inicio = -1;
+            }
+        }
+        return terminos;
+    }
+
+    /**
+     * raiz - Reduce una palabra normalizada a su raíz
+     *
+     * Reglas (en este orden, solo la primera que se cumpla):
+     * - "...eses" → quita "es"      (meses → mes)
+     * - "...ces"  → "...z"          (veces → vez)
+     * - "...os" / "...as" / "...es" → quita la "s" y la vocal
+     * - "...o" / "...a" / "...e" → quita la vocal
+     *
+     * @param palabra Palabra ya normalizada (minúsculas, sin acentos)
+     * @return Raíz
+     */
+    public static String raiz(String palabra) {
+        int n = palabra.length();
+        if (n < LONGITUD_MINIMA_STEMMING) {
+            return palabra;
+        }
+
+        char ultima = palabra.charAt(n - 1);
+        char penultima = palabra.charAt(n - 2);
+        switch (ultima) {
+            case 'o':
+            case 'a':
+            case 'e':
+                return palabra.substring(0, n - 1);
+            case 's':
+                if (penultima == 'e' && palabra.charAt(n - 3) == 's' && palabra.charAt(n - 4) == 'e') {
+                    return palabra.substring(0, n - 2);
+                }
+                if (penultima == 'e' && palabra.charAt(n - 3) == 'c') {
+                    return palabra.substring(0, n - 3) + 'z';
+                }
+                if (penultima == 'o' || penultima == 'a' || penultima == 'e') {
+                    return palabra.substring(0, n - 2);
+                }
+                return palabra;
+            default:
+                return palabra;
+        }
+    }
+}
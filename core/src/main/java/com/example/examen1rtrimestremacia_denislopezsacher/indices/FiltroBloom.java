@@ -0,0 +1,121 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+/**
+ * FiltroBloom - Conjunto aproximado de cadenas en un array de bits
+ *
+ * Responde a "¿puede estar esta cadena?":
+ * - false → seguro que NO está (no hace falta mirar el índice real)
+ * - true  → PUEDE estar (hay que confirmarlo en el índice real)
+ *
+ * Cada cadena activa k bits calculados con doble hash:
+ *   bit_i = (h1 + i * h2) mod m     (i = 0 .. k-1)
+ *
+ * m y k se eligen a partir de la capacidad prevista y la tasa de falsos
+ * positivos deseada:
+ *   m = -n · ln(p) / (ln 2)²
+ *   k = (m / n) · ln 2
+ *
+ * No admite borrados: al eliminar elementos hay que reconstruirlo
+ * (ver IndiceNombres).
+ *
+ * Esta clase no depende de Android.
+ */
+public final class FiltroBloom {
+
+    // ============= ATRIBUTOS =============
+
+    /** Bits del filtro (64 por cada long) */
+    private final long[] bits;
+
+    /** Número de bits (m) */
+    private final int numeroBits;
+
+    /** Número de funciones hash (k) */
+    private final int numeroHashes;
+
+    // ============= CONSTRUCTOR =============
+
+    /**
+     * Constructor - Dimensiona el filtro
+     *
+     * @param capacidad Número de elementos previsto (n)
+     * @param tasaFalsosPositivos Probabilidad de falso positivo con n elementos (p), p. ej. 0.01
+     */
+    public FiltroBloom(int capacidad, double tasaFalsosPositivos) {
+        int n = Math.max(1, capacidad);
+        double p = Math.min(0.5, Math.max(1e-9, tasaFalsosPositivos));
+
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, Math.min(m, Integer.MAX_VALUE - 63L));
+
+        this.numeroBits = (int) m;
+        this.numeroHashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        this.bits = new long[(numeroBits + 63) / 64];
+    }
+
+    // ============= API PÚBLICA =============
+
+    /**
+     * anadir - Activa los k bits de la cadena
+     */
+    public void anadir(String clave) {
+        long h1 = hash1(clave);
+        long h2 = hash2(clave);
+        for (int i = 0; i < numeroHashes; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) numeroBits);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * puedeContener - false si la cadena seguro que no se añadió
+     */
+    public boolean puedeContener(String clave) {
+        long h1 = hash1(clave);
+        long h2 = hash2(clave);
+        for (int i = 0; i < numeroHashes; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) numeroBits);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Número de bits del filtro */
+    public int getNumeroBits() {
+        return numeroBits;
+    }
+
+    /** Número de funciones hash */
+    public int getNumeroHashes() {
+        return numeroHashes;
+    }
+
+    // ============= HASHES =============
+
+    /** Primer hash: String.hashCode() mezclado (ya está cacheado en la cadena) */
+    private static long hash1(String clave) {
+        return mezclar(clave.hashCode());
+    }
+
+    /** Segundo hash: FNV-1a de 64 bits sobre los caracteres (impar para recorrer todos los bits) */
+    private static long hash2(String clave) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < clave.length(); i++) {
+            h ^= clave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h | 1;
+    }
+
+    /** Finalizador de MurmurHash3 (reparte los bits de un entero) */
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+
+import java.text.Normalizer;  // Forma canónica Unicode (NFC)
+import java.util.Collection;  // Altas en bloque
+import java.util.HashMap;     // Nombre normalizado → entrenamiento
+import java.util.Locale;      // Reglas de mayúsculas/minúsculas del idioma
+import java.util.Map;         // Interfaz de mapa
+
+/**
+ * IndiceNombres - Índice de nombres normalizados para detectar duplicados en O(1)
+ *
+ * Antes, el diálogo recorría la lista entera con equalsIgnoreCase() en cada
+ * pulsación de Guardar: O(n) en el hilo principal. Aquí cada nombre se
+ * normaliza una sola vez al añadirlo y la comprobación es una búsqueda en
+ * un HashMap:
+ *
+ *   "  Pilates " / "PILATES" / "pilates"  →  normalizar()  →  "pilates"
+ *
+ * Normalización:
+ * - trim()
+ * - NFC: "é" compuesto y "e" + acento combinado son la misma clave
+ * - toUpperCase + toLowerCase con el Locale dado (plegado de mayúsculas:
+ *   "STRASSE" y "straße" coinciden; en turco se respeta la "ı")
+ *
+ * Filtro Bloom opcional delante del mapa: para un nombre nuevo (el caso
+ * normal al añadir) responde "no está" con un array de bits de ~10 bits
+ * por nombre, sin tocar las entradas del mapa. Como no admite borrados,
+ * se reconstruye cuando las bajas o el crecimiento lo degradan.
+ *
+ * No es seguro entre hilos: se usa desde el hilo principal.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class IndiceNombres {
+
+    // ============= CONSTANTES =============
+
+    /** Tasa de falsos positivos del filtro Bloom */
+    private static final double TASA_FALSOS_POSITIVOS = 0.01;
+
+    /** Capacidad mínima del filtro Bloom */
+    private static final int CAPACIDAD_MINIMA_FILTRO = 1024;
+
+    /**
+     * Locale de las claves que se guardan (columna clave de SQLite)
+     * Una clave guardada no puede depender del idioma del dispositivo: si
+     * cambia, las filas antiguas dejarían de coincidir con las nuevas.
+     */
+    public static final Locale LOCALE_CLAVES = Locale.ROOT;
+
+    // ============= ATRIBUTOS =============
+
+    /** Locale usado para plegar mayúsculas/minúsculas */
+    private final Locale locale;
+
+    /** Nombre normalizado → entrenamiento */
+    private final Map<String, Entrenamiento> porNombre = new HashMap<>();
+
+    /** Filtro Bloom delante del mapa (null si está desactivado) */
+    private FiltroBloom filtro;
+
+    /** Elementos para los que se dimensionó el filtro */
+    private int capacidadFiltro;
+
+    /** Bajas desde la última reconstrucción del filtro (dejan bits "sucios") */
+    private int bajasDesdeReconstruccion;
+
+    /** Estadísticas: consultas resueltas solo con el filtro */
+    private long descartesFiltro;
+
+    // ============= CONSTRUCTORES =============
+
+    /**
+     * Constructor - Índice con filtro Bloom y el Locale por defecto
+     */
+    public IndiceNombres() {
+        this(Locale.getDefault(), true);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param locale Idioma para plegar mayúsculas/minúsculas
+     * @param usarFiltroBloom true para poner un filtro Bloom delante del mapa
+     */
+    public IndiceNombres(Locale locale, boolean usarFiltroBloom) {
+        this.locale = locale;
+        if (usarFiltroBloom) {
+            reconstruirFiltro(CAPACIDAD_MINIMA_FILTRO);
+        }
+    }
+
+    // ============= NORMALIZACIÓN =============
+
+    /**
+     * normalizar - Clave de comparación de un nombre
+     *
+     * @param nombre Nombre tal como lo escribió el usuario
+     * @return Clave normalizada ("" si el nombre es null)
+     */
+    public String normalizar(String nombre) {
+        if (nombre == null) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(nombre.trim(), Normalizer.Form.NFC);
+        return nfc.toUpperCase(locale).toLowerCase(locale);
+    }
+
+    // ============= ALTAS Y BAJAS =============
+
+    /**
+     * anadir - Añade (o sustituye) un entrenamiento en el índice
+     */
+    public void anadir(Entrenamiento entrenamiento) {
+        String clave = normalizar(entrenamiento.getNombre());
+        if (porNombre.put(clave, entrenamiento) == null && filtro != null) {
+            if (porNombre.size() > capacidadFiltro) {
+                reconstruirFiltro(porNombre.size() * 2);
+            } else {
+                filtro.anadir(clave);
+            }
+        }
+    }
+
+    /**
+     * anadirTodos - Añade varios entrenamientos (p. ej. un lote de la carga)
+     */
+    public void anadirTodos(Collection<Entrenamiento> entrenamientos) {
+        for (Entrenamiento entrenamiento : entrenamientos) {
+            anadir(entrenamiento);
+        }
+    }
+
+    /**
+     * eliminar - Quita un nombre del índice
+     *
+     * @return El entrenamiento que tenía ese nombre, o null
+     */
+    public Entrenamiento eliminar(String nombre) {
+        Entrenamiento eliminado = porNombre.remove(normalizar(nombre));
+        if (eliminado != null && filtro != null
+                && ++bajasDesdeReconstruccion > capacidadFiltro / 4) {
+            reconstruirFiltro(Math.max(porNombre.size() * 2, CAPACIDAD_MINIMA_FILTRO));
+        }
+        return eliminado;
+    }
+
+    /**
+     * renombrar - Actualiza el índice tras editar un entrenamiento
+     */
+    public void renombrar(String nombreAnterior, Entrenamiento entrenamiento) {
+        eliminar(nombreAnterior);
+        anadir(entrenamiento);
+    }
+
+    /**
+     * limpiar - Vacía el índice
+     */
+    public void limpiar() {
+        porNombre.clear();
+        if (filtro != null) {
+            reconstruirFiltro(CAPACIDAD_MINIMA_FILTRO);
+        }
+    }
+
+    // ============= CONSULTAS =============
+
+    /**
+     * buscar - Entrenamiento con ese nombre (sin distinguir mayúsculas)
+     *
+     * @param nombre Nombre a buscar
+     * @return El entrenamiento existente (con su nombre original), o null
+     */
+    public Entrenamiento buscar(String nombre) {
+        String clave = normalizar(nombre);
+        if (filtro != null && !filtro.puedeContener(clave)) {
+            descartesFiltro++;
+            return null;
+        }
+        return porNombre.get(clave);
+    }
+
+    /**
+     * contiene - true si ya hay un entrenamiento con ese nombre
+     */
+    public boolean contiene(String nombre) {
+        return buscar(nombre) != null;
+    }
+
+    /** Número de nombres indexados */
+    public int tamano() {
+        return porNombre.size();
+    }
+
+    /** Consultas respondidas por el filtro Bloom sin mirar el mapa */
+    public long getDescartesFiltro() {
+        return descartesFiltro;
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * reconstruirFiltro - Crea un filtro nuevo con todas las claves actuales
+     */
+    private void reconstruirFiltro(int capacidad) {
+        capacidadFiltro = Math.max(capacidad, CAPACIDAD_MINIMA_FILTRO);
+        filtro = new FiltroBloom(capacidadFiltro, TASA_FALSOS_POSITIVOS);
+        for (String clave : porNombre.keySet()) {
+            filtro.anadir(clave);
+        }
+        bajasDesdeReconstruccion = 0;
+    }
+}
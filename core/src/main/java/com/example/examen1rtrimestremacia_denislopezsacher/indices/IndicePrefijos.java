@@ -0,0 +1,285 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import java.text.Normalizer;  // Descomposición NFD (separar acentos)
+import java.util.Arrays;      // Crecer y ordenar el array de claves
+import java.util.BitSet;      // Posiciones sin repetir, ya ordenadas
+import java.util.Comparator;  // Orden de las claves
+import java.util.List;        // Lotes de nombres
+
+/**
+ * IndicePrefijos - Búsqueda por prefijo sobre los nombres, mientras se escribe
+ *
+ * Array ordenado de claves normalizadas. Cada palabra del nombre aporta una
+ * clave: el nombre desde esa palabra hasta el final.
+ *
+ *   "Carrera de Fondo" (posición 7) →  "carrera de fondo" → 7
+ *                                      "de fondo"         → 7
+ *                                      "fondo"            → 7
+ *
+ * Buscar "fon" = dos búsquedas binarias que delimitan el rango de claves
+ * que empiezan por "fon". Coste O(log n) + número de resultados.
+ *
+ * Altas:
+ * - anadir(): una clave se inserta en su sitio (búsqueda binaria +
+ *   System.arraycopy), el array sigue ordenado
+ * - anadirTodos(): un lote se añade al final y se ordena todo en la
+ *   siguiente búsqueda (cargar 50.000 nombres = un único ordenado)
+ *
+ * Búsqueda incremental: si la consulta nueva empieza por la anterior
+ * ("fo" → "fon"), sus resultados están dentro del rango anterior, así que
+ * las búsquedas binarias se hacen solo dentro de ese rango.
+ *
+ * Normalización (normalizarBusqueda): sin acentos, diéresis ni tilde y en
+ * minúsculas, "Pilátes" = "PILATES" = "pilates" y "ñ" = "n" (se puede
+ * buscar sin teclado español).
+ *
+ * Las posiciones son índices de la lista completa de entrenamientos.
+ * No es seguro entre hilos: se usa desde el hilo principal.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class IndicePrefijos {
+
+    // ============= CONSTANTES =============
+
+    /** Capacidad inicial de los arrays */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /** Orden de las claves: por texto y, a igual texto, por posición */
+    private static final Comparator<Clave> ORDEN = (a, b) -> {
+        int comparacion = a.texto.compareTo(b.texto);
+        return comparacion != 0 ? comparacion : Integer.compare(a.posicion, b.posicion);
+    };
+
+    // ============= ATRIBUTOS =============
+
+    /** Claves (solo las 'total' primeras son válidas) */
+    private Clave[] claves = new Clave[CAPACIDAD_INICIAL];
+
+    /** Número de claves */
+    private int total;
+
+    /** false si se han añadido claves desde el último ordenado */
+    private boolean ordenado = true;
+
+    /** Mayor posición indexada + 1 (tamaño del BitSet de resultados) */
+    private int limitePosiciones;
+
+    /** Última consulta normalizada y su rango [desde, hasta) */
+    private String ultimaConsulta;
+    private int ultimoDesde;
+    private int ultimoHasta;
+
+    // ============= NORMALIZACIÓN =============
+
+    /**
+     * normalizarBusqueda - Texto sin acentos, en minúsculas y sin espacios repetidos
+     *
+     * Se aplica igual a los nombres indexados y a lo que escribe el usuario.
+     */
+    public static String normalizarBusqueda(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        // Solo se descompone si hay caracteres no ASCII (el caso raro)
+        String descompuesto = texto;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+                break;
+            }
+        }
+
+        // Un solo recorrido: quitar marcas, pasar a minúsculas y juntar espacios
+        StringBuilder resultado = new StringBuilder(descompuesto.length());
+        boolean espacioPendiente = false;
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                espacioPendiente = resultado.length() > 0;
+                continue;
+            }
+            if (espacioPendiente) {
+                resultado.append(' ');
+                espacioPendiente = false;
+            }
+            resultado.append(Character.toLowerCase(c));
+        }
+        return resultado.toString();
+    }
+
+    // ============= ALTAS =============
+
+    /**
+     * anadir - Indexa un nombre en la posición dada de la lista
+     *
+     * Pensado para altas sueltas: cada clave se inserta ya en su sitio.
+     *
+     * @param nombre Nombre del entrenamiento
+     * @param posicion Posición del entrenamiento en la lista completa
+     */
+    public void anadir(String nombre, int posicion) {
+        indexar(nombre, posicion, ordenado);
+    }
+
+    /**
+     * anadirTodos - Indexa un lote de nombres en posiciones consecutivas
+     *
+     * Las claves se añaden al final sin ordenar; el ordenado se hace una
+     * sola vez, en la siguiente búsqueda.
+     *
+     * @param nombres Nombres en el orden de la lista
+     * @param posicionInicial Posición del primer nombre en la lista completa
+     */
+    public void anadirTodos(List<String> nombres, int posicionInicial) {
+        for (int i = 0; i < nombres.size(); i++) {
+            indexar(nombres.get(i), posicionInicial + i, false);
+        }
+    }
+
+    /**
+     * preparar - Ordena ya las claves pendientes
+     *
+     * Para hacer el ordenado en un hilo de fondo en lugar de en la primera
+     * búsqueda (que se hace en el hilo principal, mientras se escribe).
+     */
+    public void preparar() {
+        ordenar();
+    }
+
+    /**
+     * limpiar - Vacía el índice
+     */
+    public void limpiar() {
+        claves = new Clave[CAPACIDAD_INICIAL];
+        total = 0;
+        ordenado = true;
+        limitePosiciones = 0;
+        ultimaConsulta = null;
+    }
+
+    /** Número de claves indexadas (una por palabra) */
+    public int tamano() {
+        return total;
+    }
+
+    // ============= CONSULTAS =============
+
+    /**
+     * buscar - Posiciones de los entrenamientos con una palabra que empieza por la consulta
+     *
+     * @param consulta Texto escrito por el usuario (se normaliza aquí)
+     * @return Posiciones en orden ascendente y sin repetir;
+     *         null si la consulta está vacía (= sin filtro)
+     */
+    public int[] buscar(String consulta) {
+        String prefijo = normalizarBusqueda(consulta);
+        if (prefijo.isEmpty()) {
+            ultimaConsulta = null;
+            return null;
+        }
+        ordenar();
+
+        // Si se ha añadido texto a la consulta anterior, basta con su rango
+        int desde = 0;
+        int hasta = total;
+        if (ultimaConsulta != null && prefijo.startsWith(ultimaConsulta)) {
+            desde = ultimoDesde;
+            hasta = ultimoHasta;
+        }
+
+        int inicio = primeraMayorOIgual(prefijo, desde, hasta);
+        int fin = inicio;
+        if (inicio < hasta && claves[inicio].texto.startsWith(prefijo)) {
+            // El siguiente al último con este prefijo: prefijo + carácter máximo
+            fin = primeraMayorOIgual(prefijo + Character.MAX_VALUE, inicio, hasta);
+        }
+
+        ultimaConsulta = prefijo;
+        ultimoDesde = inicio;
+        ultimoHasta = fin;
+
+        // Un nombre puede aparecer varias veces (una por palabra que coincida)
+        BitSet encontradas = new BitSet(limitePosiciones);
+        for (int i = inicio; i < fin; i++) {
+            encontradas.set(claves[i].posicion);
+        }
+        int[] resultado = new int[encontradas.cardinality()];
+        int n = 0;
+        for (int p = encontradas.nextSetBit(0); p >= 0; p = encontradas.nextSetBit(p + 1)) {
+            resultado[n++] = p;
+        }
+        return resultado;
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * indexar - Genera una clave por palabra del nombre
+     *
+     * @param enSuSitio true = insertar ordenado; false = añadir al final
+     */
+    private void indexar(String nombre, int posicion, boolean enSuSitio) {
+        String normalizado = normalizarBusqueda(nombre);
+        for (int i = 0; i < normalizado.length(); i++) {
+            if (i == 0 || normalizado.charAt(i - 1) == ' ') {
+                Clave clave = new Clave(normalizado.substring(i), posicion);
+                if (total == claves.length) {
+                    claves = Arrays.copyOf(claves, total * 2);
+                }
+                if (enSuSitio) {
+                    int sitio = primeraMayorOIgual(clave.texto, 0, total);
+                    System.arraycopy(claves, sitio, claves, sitio + 1, total - sitio);
+                    claves[sitio] = clave;
+                } else {
+                    claves[total] = clave;
+                    ordenado = false;
+                }
+                total++;
+            }
+        }
+        limitePosiciones = Math.max(limitePosiciones, posicion + 1);
+        ultimaConsulta = null;  // Los rangos guardados ya no son válidos
+    }
+
+    /** Ordena el array si hay claves nuevas */
+    private void ordenar() {
+        if (!ordenado) {
+            Arrays.sort(claves, 0, total, ORDEN);
+            ordenado = true;
+        }
+    }
+
+    /** Primer índice en [desde, hasta) cuya clave es >= buscada (hasta si no hay) */
+    private int primeraMayorOIgual(String buscada, int desde, int hasta) {
+        int bajo = desde;
+        int alto = hasta;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (claves[medio].texto.compareTo(buscada) < 0) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    // ============= CLASE CLAVE =============
+
+    /**
+     * Clave - Texto normalizado desde una palabra del nombre + posición del entrenamiento
+     */
+    private static final class Clave {
+        final String texto;
+        final int posicion;
+
+        Clave(String texto, int posicion) {
+            this.texto = texto;
+            this.posicion = posicion;
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.persistencia.EntrenamientoBinaryCodec;
+
+import java.io.BufferedInputStream;     // Lectura con buffer
+import java.io.BufferedOutputStream;    // Escritura con buffer
+import java.io.DataInputStream;         // Cabecera de tamaño fijo
+import java.io.DataOutputStream;        // Cabecera de tamaño fijo
+import java.io.File;                    // Archivo del índice
+import java.io.FileInputStream;         // Lectura del archivo
+import java.io.FileOutputStream;        // Escritura del temporal
+import java.io.IOException;             // Errores de E/S
+import java.util.ArrayList;             // Listas de resultados
+import java.util.Arrays;                // Crecer arrays
+import java.util.HashMap;               // Frecuencia de cada término en un documento
+import java.util.List;                  // Interfaz de lista
+import java.util.Map;                   // Interfaz de mapa
+import java.util.SortedMap;             // Términos con un prefijo
+import java.util.TreeMap;               // Diccionario ordenado de términos
+
+/**
+ * IndiceTextual - Índice invertido sobre las descripciones de los entrenamientos
+ *
+ * Para cada término (raíz de una palabra, ver AnalizadorEspanol) guarda la
+ * lista de documentos que lo contienen, como arrays de int ordenados:
+ *
+ *   "potenci"    → docs [3, 17, 40]    frecuencias [1, 2, 1]
+ *   "resistenci" → docs [17, 22]       frecuencias [1, 1]
+ *
+ * Documento = posición del entrenamiento en la lista. Las altas siempre
+ * llegan con una posición mayor que las anteriores, así que añadir es
+ * escribir al final de cada lista (siguen ordenadas, sin reordenar).
+ *
+ * Consultas (buscar):
+ *   "potencia resistencia"      → AND: documentos con los dos términos
+ *   "potencia OR resistencia"   → OR: documentos con alguno
+ *   "resis*"                    → prefijo: cualquier término que empiece así
+ * Resultados ordenados por puntuación BM25 (frecuencia del término,
+ * rareza del término en el catálogo y longitud de la descripción).
+ *
+ * El AND recorre las listas ordenadas a la vez (intersección por mezcla),
+ * empezando por la más corta.
+ *
+ * Persistencia (guardar/cargar): formato binario propio con un sello de
+ * los datos indexados (calcularSello: filas, último id y versión de los
+ * datos, que se leen sin recorrer los textos); si no coincide con el de
+ * los datos actuales, el índice se reconstruye en lugar de usarse.
+ *
+ * Métodos synchronized: se consulta y actualiza desde el hilo principal y
+ * se guarda desde el hilo de escritura.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class IndiceTextual {
+
+    // ============= CONSTANTES =============
+
+    /** Bytes mágicos del archivo del índice */
+    private static final int MAGICO = 0x454E5449;  // "ENTI"
+
+    /** Versión del formato del archivo (2: sello en lugar de huella de los textos) */
+    private static final int VERSION = 2;
+
+    /** Parámetros de BM25 */
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    /** Operador OR en las consultas */
+    private static final String OPERADOR_OR = "OR";
+
+    // ============= ATRIBUTOS =============
+
+    /** Término → lista de documentos (orden alfabético para las búsquedas por prefijo) */
+    private final TreeMap<String, Postings> terminos = new TreeMap<>();
+
+    /** Número de términos de cada documento */
+    private int[] longitudes = new int[64];
+
+    /** Número de documentos indexados (posiciones 0 .. numeroDocumentos - 1) */
+    private int numeroDocumentos;
+
+    /** Suma de longitudes (para la longitud media de BM25) */
+    private long longitudTotal;
+
+    /** true si hay altas que aún no se han guardado */
+    private boolean cambiosSinGuardar;
+
+    // ============= ALTAS =============
+
+    /**
+     * anadir - Indexa el texto del siguiente documento
+     *
+     * @param posicion Posición del entrenamiento (debe ser numeroDocumentos())
+     * @param texto Descripción del entrenamiento
+     */
+    public synchronized void anadir(int posicion, String texto) {
+        if (posicion != numeroDocumentos) {
+            throw new IllegalArgumentException("Se esperaba la posición " + numeroDocumentos + ", no " + posicion);
+        }
+
+        List<String> analizados = AnalizadorEspanol.analizar(texto);
+        Map<String, Integer> frecuencias = new HashMap<>();
+        for (String termino : analizados) {
+            Integer anterior = frecuencias.get(termino);
+            frecuencias.put(termino, anterior == null ? 1 : anterior + 1);
+        }
+        for (Map.Entry<String, Integer> entrada : frecuencias.entrySet()) {
+            Postings postings = terminos.get(entrada.getKey());
+            if (postings == null) {
+                postings = new Postings();
+                terminos.put(entrada.getKey(), postings);
+            }
+            postings.anadir(posicion, entrada.getValue());
+        }
+
+        if (numeroDocumentos == longitudes.length) {
+            longitudes = Arrays.copyOf(longitudes, numeroDocumentos * 2);
+        }
+        longitudes[numeroDocumentos++] = analizados.size();
+        longitudTotal += analizados.size();
+        cambiosSinGuardar = true;
+    }
+
+    /**
+     * anadirTodos - Indexa varios textos a partir de la siguiente posición
+     */
+    public synchronized void anadirTodos(List<String> textos) {
+        for (String texto : textos) {
+            anadir(numeroDocumentos, texto);
+        }
+    }
+
+    // ============= CONSULTAS =============
+
+    /**
+     * buscar - Documentos que cumplen la consulta, de mayor a menor puntuación
+     *
+     * @param consulta Palabras separadas por espacios; "OR" entre ellas para
+     *                 cualquiera (por defecto todas); "*" final para prefijo
+     * @return Posiciones ordenadas por relevancia (vacío si no hay términos)
+     */
+    public synchronized int[] buscar(String consulta) {
+        // PASO 1: Separar las palabras y el operador
+        boolean or = false;
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : consulta == null ? new String[0] : consulta.trim().split("\\s+")) {
+            if (palabra.equals(OPERADOR_OR)) {
+                or = true;
+            } else if (!palabra.isEmpty()) {
+                palabras.add(palabra);
+            }
+        }
+
+        // PASO 2: Cada palabra → conjunto de documentos + puntuación por documento
+        double[] puntuaciones = new double[numeroDocumentos];
+        List<int[]> listas = new ArrayList<>();
+        for (String palabra : palabras) {
+            int[] documentos = documentosDePalabra(palabra, puntuaciones);
+            if (documentos != null) {  // null = palabra vacía ("de", "la"...): no filtra
+                listas.add(documentos);
+            }
+        }
+        if (listas.isEmpty()) {
+            return new int[0];
+        }
+
+        // PASO 3: Combinar (AND empezando por la lista más corta: el resultado solo puede encoger)
+        if (!or) {
+            listas.sort((a, b) -> Integer.compare(a.length, b.length));
+        }
+        int[] resultado = listas.get(0);
+        for (int i = 1; i < listas.size(); i++) {
+            resultado = or ? union(resultado, listas.get(i)) : interseccion(resultado, listas.get(i));
+        }
+
+        // PASO 4: Ordenar por puntuación (a igualdad, por posición)
+        Integer[] orden = new Integer[resultado.length];
+        for (int i = 0; i < resultado.length; i++) {
+            orden[i] = resultado[i];
+        }
+        Arrays.sort(orden, (a, b) -> {
+            int comparacion = Double.compare(puntuaciones[b], puntuaciones[a]);
+            return comparacion != 0 ? comparacion : Integer.compare(a, b);
+        });
+        int[] ordenados = new int[orden.length];
+        for (int i = 0; i < orden.length; i++) {
+            ordenados[i] = orden[i];
+        }
+        return ordenados;
+    }
+
+    /** Número de documentos indexados */
+    public synchronized int numeroDocumentos() {
+        return numeroDocumentos;
+    }
+
+    /** Número de términos distintos */
+    public synchronized int numeroTerminos() {
+        return terminos.size();
+    }
+
+    /** true si hay altas posteriores al último guardar/cargar */
+    public synchronized boolean hayCambiosSinGuardar() {
+        return cambiosSinGuardar;
+    }
+
+    /**
+     * calcularSello - Sello de los datos que se indexan
+     *
+     * Se obtiene sin leer ninguna descripción: las altas suben el número de
+     * filas y el último id, las bajas bajan el número de filas y un cambio
+     * de esquema sube la versión. Lo que cambia un texto sin tocar nada de
+     * eso debe borrar el índice guardado.
+     *
+     * @param filas Filas guardadas
+     * @param ultimoId Mayor id guardado
+     * @param versionDatos Versión del esquema de los datos
+     */
+    public static long calcularSello(int filas, long ultimoId, int versionDatos) {
+        long h = versionDatos * 1_000_003L;
+        h = (h ^ filas) * 0x9E3779B97F4A7C15L;
+        h = (h ^ ultimoId) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    // ============= PERSISTENCIA =============
+
+    /**
+     * guardar - Escribe el índice en un archivo (temporal + renombrar)
+     *
+     * Formato: cabecera (mágico, versión, sello, documentos), longitudes
+     * y, por término, su texto y la lista de documentos en diferencias
+     * (varint) con sus frecuencias.
+     *
+     * @param sello calcularSello() de los datos que contiene el índice
+     */
+    public synchronized void guardar(File archivo, long sello) throws IOException {
+        File temporal = new File(archivo.getPath() + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporal)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            salida.writeLong(sello);
+            salida.writeInt(numeroDocumentos);
+
+            for (int i = 0; i < numeroDocumentos; i++) {
+                EntrenamientoBinaryCodec.escribirVarLong(salida, longitudes[i]);
+            }
+
+            EntrenamientoBinaryCodec.escribirVarLong(salida, terminos.size());
+            for (Map.Entry<String, Postings> entrada : terminos.entrySet()) {
+                Postings postings = entrada.getValue();
+                EntrenamientoBinaryCodec.escribirCadena(salida, entrada.getKey());
+                EntrenamientoBinaryCodec.escribirVarLong(salida, postings.tamano);
+                int anterior = 0;
+                for (int i = 0; i < postings.tamano; i++) {
+                    EntrenamientoBinaryCodec.escribirVarLong(salida, postings.documentos[i] - anterior);
+                    EntrenamientoBinaryCodec.escribirVarLong(salida, postings.frecuencias[i]);
+                    anterior = postings.documentos[i];
+                }
+            }
+        }
+        if (!temporal.renameTo(archivo)) {
+            throw new IOException("No se pudo renombrar " + temporal + " a " + archivo);
+        }
+        cambiosSinGuardar = false;
+    }
+
+    /**
+     * cargar - Lee un índice guardado si corresponde a los datos actuales
+     *
+     * @param archivo Archivo escrito con guardar()
+     * @param selloEsperado calcularSello() de los datos actuales
+     * @return El índice, o null si no existe, es de otra versión o el sello no coincide
+     */
+    public static IndiceTextual cargar(File archivo, long selloEsperado) throws IOException {
+        if (!archivo.exists()) {
+            return null;
+        }
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(archivo)))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSION) {
+                return null;
+            }
+            if (entrada.readLong() != selloEsperado) {
+                return null;
+            }
+
+            IndiceTextual indice = new IndiceTextual();
+            indice.numeroDocumentos = entrada.readInt();
+            indice.longitudes = new int[Math.max(64, indice.numeroDocumentos)];
+            for (int i = 0; i < indice.numeroDocumentos; i++) {
+                indice.longitudes[i] = (int) EntrenamientoBinaryCodec.leerVarLong(entrada);
+                indice.longitudTotal += indice.longitudes[i];
+            }
+
+            int numeroTerminos = (int) EntrenamientoBinaryCodec.leerVarLong(entrada);
+            for (int t = 0; t < numeroTerminos; t++) {
+                String termino = EntrenamientoBinaryCodec.leerCadena(entrada);
+                int tamano = (int) EntrenamientoBinaryCodec.leerVarLong(entrada);
+                Postings postings = new Postings(tamano);
+                int documento = 0;
+                for (int i = 0; i < tamano; i++) {
+                    documento += (int) EntrenamientoBinaryCodec.leerVarLong(entrada);
+                    postings.anadir(documento, (int) EntrenamientoBinaryCodec.leerVarLong(entrada));
+                }
+                indice.terminos.put(termino, postings);
+            }
+            return indice;
+        }
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * documentosDePalabra - Documentos de una palabra de la consulta
+     *
+     * Suma en 'puntuaciones' la contribución BM25 de cada término.
+     *
+     * @return Documentos ordenados, o null si la palabra no genera términos
+     */
+    private int[] documentosDePalabra(String palabra, double[] puntuaciones) {
+        boolean prefijo = palabra.endsWith("*");
+        List<String> analizados = AnalizadorEspanol.analizar(prefijo
+                ? palabra.substring(0, palabra.length() - 1)
+                : palabra);
+        if (analizados.isEmpty()) {
+            return null;
+        }
+
+        // Una palabra de la consulta puede dar varios términos ("alta-intensidad")
+        int[] documentos = null;
+        for (String termino : analizados) {
+            int[] delTermino = new int[0];
+            if (prefijo) {
+                SortedMap<String, Postings> coincidentes =
+                        terminos.subMap(termino, termino + Character.MAX_VALUE);
+                for (Postings postings : coincidentes.values()) {
+                    puntuar(postings, puntuaciones);
+                    delTermino = union(delTermino, postings.comoArray());
+                }
+            } else {
+                Postings postings = terminos.get(termino);
+                if (postings != null) {
+                    puntuar(postings, puntuaciones);
+                    delTermino = postings.comoArray();
+                }
+            }
+            documentos = documentos == null ? delTermino : interseccion(documentos, delTermino);
+        }
+        return documentos;
+    }
+
+    /** Suma a cada documento de la lista la puntuación BM25 del término */
+    private void puntuar(Postings postings, double[] puntuaciones) {
+        double idf = Math.log(1 + (numeroDocumentos - postings.tamano + 0.5) / (postings.tamano + 0.5));
+        double longitudMedia = numeroDocumentos == 0 ? 1 : (double) longitudTotal / numeroDocumentos;
+        for (int i = 0; i < postings.tamano; i++) {
+            int documento = postings.documentos[i];
+            double tf = postings.frecuencias[i];
+            double normalizacion = BM25_K1 * (1 - BM25_B + BM25_B * longitudes[documento] / longitudMedia);
+            puntuaciones[documento] += idf * tf * (BM25_K1 + 1) / (tf + normalizacion);
+        }
+    }
+
+    /** Intersección de dos arrays ordenados (mezcla lineal) */
+    static int[] interseccion(int[] a, int[] b) {
+        int[] resultado = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                resultado[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    /** Unión de dos arrays ordenados, sin repetidos (mezcla lineal) */
+    static int[] union(int[] a, int[] b) {
+        int[] resultado = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                resultado[n++] = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                resultado[n++] = b[j++];
+            } else {
+                resultado[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    // ============= CLASE POSTINGS =============
+
+    /**
+     * Postings - Lista de documentos de un término, en arrays de int
+     *
+     * Sin objetos por documento: dos int[] que crecen al doble.
+     */
+    private static final class Postings {
+        int[] documentos;
+        int[] frecuencias;
+        int tamano;
+
+        Postings() {
+            this(4);
+        }
+
+        Postings(int capacidad) {
+            documentos = new int[Math.max(1, capacidad)];
+            frecuencias = new int[Math.max(1, capacidad)];
+        }
+
+        void anadir(int documento, int frecuencia) {
+            if (tamano == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamano * 2);
+                frecuencias = Arrays.copyOf(frecuencias, tamano * 2);
+            }
+            documentos[tamano] = documento;
+            frecuencias[tamano] = frecuencia;
+            tamano++;
+        }
+
+        /** Documentos como array exacto (para mezclar) */
+        int[] comoArray() {
+            return Arrays.copyOf(documentos, tamano);
+        }
+    }
+}
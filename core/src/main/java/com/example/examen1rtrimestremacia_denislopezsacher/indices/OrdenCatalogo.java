@@ -0,0 +1,296 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import java.text.CollationKey;  // Clave de orden precalculada (comparar = comparar bytes)
+import java.text.Collator;      // Reglas de orden del idioma ("ñ" tras "n")
+import java.util.Arrays;        // Crecer, copiar y ordenar los arrays
+import java.util.BitSet;        // Posiciones de un filtro
+import java.util.Comparator;    // Criterios de orden
+import java.util.Locale;        // Idioma del orden alfabético
+
+/**
+ * OrdenCatalogo - Órdenes de la lista mantenidos al día: por nombre, por tipo o por fecha
+ *
+ * El catálogo se guarda en orden de alta (la posición es el orden de
+ * creación: los ids nunca se reutilizan). Los demás órdenes son arrays de
+ * entradas ordenados, uno por criterio:
+ *
+ *   ALTA       → 0, 1, 2 ... (no necesita array)
+ *   RECIENTES  → n-1, n-2 ... 0 (el orden de alta al revés)
+ *   NOMBRE     → por CollationKey del nombre (Collator del idioma)
+ *   TIPO       → por TipoIcono y, dentro de cada tipo, por nombre
+ *
+ * Comparar dos nombres con Collator.compare() repite todo el análisis del
+ * idioma en cada comparación (ordenar 100.000 nombres ≈ 1,7 millones de
+ * comparaciones). Aquí cada entrada calcula su CollationKey UNA vez, al
+ * añadirla; a partir de ahí comparar es comparar bytes, así que volver a
+ * ordenar nunca pasa por las reglas del idioma. Coste: unas decenas de
+ * bytes por entrada.
+ *
+ * Altas (como IndicePrefijos):
+ * - anadir(): la entrada se inserta ya en su sitio en cada array
+ *   (búsqueda binaria + System.arraycopy), sin reordenar nada
+ * - anadirTodos() / anadirAlFinal(): se añade sin ordenar; el ordenado se
+ *   hace una sola vez en preparar() (pensado para el hilo de fondo)
+ *
+ * A igual clave se desempata por posición: el orden es total y estable.
+ *
+ * No es seguro entre hilos (Collator tampoco lo es): se construye en un
+ * hilo de fondo y después se usa solo desde el hilo principal.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class OrdenCatalogo {
+
+    // ============= TIPOS =============
+
+    /**
+     * Criterio - Órdenes que puede elegir el usuario
+     */
+    public enum Criterio {
+        /** Orden de alta (el del catálogo) */
+        ALTA,
+        /** Más recientes primero */
+        RECIENTES,
+        /** Alfabético según el idioma */
+        NOMBRE,
+        /** Por tipo de entrenamiento y, dentro, alfabético */
+        TIPO
+    }
+
+    // ============= CONSTANTES =============
+
+    /** Capacidad inicial de los arrays */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /** Orden por nombre: clave precalculada y, a igual clave, posición */
+    private static final Comparator<Entrada> POR_NOMBRE = (a, b) -> {
+        int comparacion = a.clave.compareTo(b.clave);
+        return comparacion != 0 ? comparacion : Integer.compare(a.posicion, b.posicion);
+    };
+
+    /** Orden por tipo: tipo y, a igual tipo, el orden por nombre */
+    private static final Comparator<Entrada> POR_TIPO = (a, b) -> {
+        int comparacion = Integer.compare(a.tipo, b.tipo);
+        return comparacion != 0 ? comparacion : POR_NOMBRE.compare(a, b);
+    };
+
+    // ============= ATRIBUTOS =============
+
+    /** Reglas de orden del idioma (solo se usa al crear las claves) */
+    private final Collator collator;
+
+    /** Entradas por posición (la posición es el índice) */
+    private Entrada[] porPosicion = new Entrada[CAPACIDAD_INICIAL];
+
+    /** Las mismas entradas ordenadas por nombre y por tipo */
+    private Entrada[] porNombre = new Entrada[CAPACIDAD_INICIAL];
+    private Entrada[] porTipo = new Entrada[CAPACIDAD_INICIAL];
+
+    /** Número de entradas */
+    private int total;
+
+    /** false si hay entradas añadidas al final sin ordenar */
+    private boolean ordenado = true;
+
+    // ============= CONSTRUCTOR =============
+
+    /**
+     * Constructor
+     *
+     * @param locale Idioma del orden alfabético (new Locale("es", "ES"): "ñ" tras "n")
+     */
+    public OrdenCatalogo(Locale locale) {
+        collator = Collator.getInstance(locale);
+        collator.setStrength(Collator.SECONDARY);  // "Á" ≠ "A", "a" = "A"
+    }
+
+    // ============= ALTAS =============
+
+    /**
+     * anadir - Añade el siguiente entrenamiento del catálogo ya en su sitio
+     *
+     * Búsqueda binaria en cada orden y un System.arraycopy: O(log n)
+     * comparaciones de claves, sin reordenar.
+     *
+     * @param nombre Nombre del entrenamiento
+     * @param tipo Su tipo
+     * @return Posición asignada (la siguiente)
+     */
+    public int anadir(String nombre, TipoIcono tipo) {
+        Entrada entrada = nuevaEntrada(nombre, tipo);
+        if (ordenado) {
+            insertar(porNombre, entrada, POR_NOMBRE);
+            insertar(porTipo, entrada, POR_TIPO);
+        } else {
+            porNombre[total] = entrada;
+            porTipo[total] = entrada;
+        }
+        total++;
+        return entrada.posicion;
+    }
+
+    /**
+     * anadirAlFinal - Añade sin ordenar (carga inicial: se ordena en preparar())
+     *
+     * @return Posición asignada (la siguiente)
+     */
+    public int anadirAlFinal(String nombre, TipoIcono tipo) {
+        Entrada entrada = nuevaEntrada(nombre, tipo);
+        porNombre[total] = entrada;
+        porTipo[total] = entrada;
+        total++;
+        ordenado = false;
+        return entrada.posicion;
+    }
+
+    /**
+     * preparar - Ordena las entradas añadidas con anadirAlFinal()
+     */
+    public void preparar() {
+        if (!ordenado) {
+            reordenar();
+        }
+    }
+
+    /**
+     * reordenar - Vuelve a ordenar todo desde el orden de alta
+     *
+     * Lo que cuesta ordenar desde cero con las claves ya calculadas (sin
+     * ninguna comparación del Collator). Lo usan preparar() y el benchmark.
+     */
+    public void reordenar() {
+        System.arraycopy(porPosicion, 0, porNombre, 0, total);
+        Arrays.sort(porNombre, 0, total, POR_NOMBRE);
+        System.arraycopy(porPosicion, 0, porTipo, 0, total);
+        Arrays.sort(porTipo, 0, total, POR_TIPO);
+        ordenado = true;
+    }
+
+    /** Número de entradas */
+    public int tamano() {
+        return total;
+    }
+
+    // ============= CONSULTAS =============
+
+    /**
+     * posiciones - Todas las posiciones en el orden de un criterio
+     *
+     * @return Array nuevo de 'tamano()' posiciones (instantánea para el adapter)
+     */
+    public int[] posiciones(Criterio criterio) {
+        preparar();
+        int[] resultado = new int[total];
+        switch (criterio) {
+            case RECIENTES:
+                for (int i = 0; i < total; i++) {
+                    resultado[i] = total - 1 - i;
+                }
+                break;
+            case NOMBRE:
+                copiarPosiciones(porNombre, resultado);
+                break;
+            case TIPO:
+                copiarPosiciones(porTipo, resultado);
+                break;
+            default:
+                for (int i = 0; i < total; i++) {
+                    resultado[i] = i;
+                }
+                break;
+        }
+        return resultado;
+    }
+
+    /**
+     * ordenar - Las posiciones de un filtro en el orden de un criterio
+     *
+     * Se marcan en un BitSet y se recorre el orden ya mantenido: O(n), sin
+     * comparar nada. Con ALTA se devuelve el filtro tal cual (conserva, por
+     * ejemplo, el orden por relevancia de la búsqueda en descripciones).
+     *
+     * @param filtro Posiciones a ordenar (las que no estén aquí se ignoran)
+     * @return Array nuevo con las posiciones ordenadas; null si filtro es null
+     */
+    public int[] ordenar(int[] filtro, Criterio criterio) {
+        if (filtro == null || criterio == Criterio.ALTA) {
+            return filtro;
+        }
+        preparar();
+        BitSet incluidas = new BitSet(total);
+        for (int posicion : filtro) {
+            if (posicion >= 0 && posicion < total) {
+                incluidas.set(posicion);
+            }
+        }
+        int[] resultado = new int[incluidas.cardinality()];
+        int n = 0;
+        if (criterio == Criterio.RECIENTES) {
+            for (int p = incluidas.previousSetBit(total - 1); p >= 0; p = incluidas.previousSetBit(p - 1)) {
+                resultado[n++] = p;
+            }
+            return resultado;
+        }
+        Entrada[] orden = criterio == Criterio.NOMBRE ? porNombre : porTipo;
+        for (int i = 0; i < total && n < resultado.length; i++) {
+            if (incluidas.get(orden[i].posicion)) {
+                resultado[n++] = orden[i].posicion;
+            }
+        }
+        return resultado;
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * nuevaEntrada - Calcula la clave (la única llamada al Collator) y reserva sitio
+     */
+    private Entrada nuevaEntrada(String nombre, TipoIcono tipo) {
+        if (total == porPosicion.length) {
+            int capacidad = total * 2;
+            porPosicion = Arrays.copyOf(porPosicion, capacidad);
+            porNombre = Arrays.copyOf(porNombre, capacidad);
+            porTipo = Arrays.copyOf(porTipo, capacidad);
+        }
+        Entrada entrada = new Entrada(collator.getCollationKey(nombre != null ? nombre : ""),
+                (tipo != null ? tipo : TipoIcono.POR_DEFECTO).ordinal(), total);
+        porPosicion[total] = entrada;
+        return entrada;
+    }
+
+    /**
+     * insertar - Inserta en su sitio dentro de los 'total' primeros de un array ordenado
+     */
+    private void insertar(Entrada[] orden, Entrada entrada, Comparator<Entrada> comparador) {
+        // Nunca hay una igual (desempate por posición): binarySearch da el sitio
+        int sitio = -Arrays.binarySearch(orden, 0, total, entrada, comparador) - 1;
+        System.arraycopy(orden, sitio, orden, sitio + 1, total - sitio);
+        orden[sitio] = entrada;
+    }
+
+    /** Posiciones de las 'total' primeras entradas de un orden */
+    private void copiarPosiciones(Entrada[] orden, int[] destino) {
+        for (int i = 0; i < total; i++) {
+            destino[i] = orden[i].posicion;
+        }
+    }
+
+    // ============= CLASES INTERNAS =============
+
+    /**
+     * Entrada - Un entrenamiento: su clave de orden, su tipo y su posición
+     */
+    private static final class Entrada {
+        final CollationKey clave;
+        final int tipo;
+        final int posicion;
+
+        Entrada(CollationKey clave, int tipo, int posicion) {
+            this.clave = clave;
+            this.tipo = tipo;
+            this.posicion = posicion;
+        }
+    }
+}
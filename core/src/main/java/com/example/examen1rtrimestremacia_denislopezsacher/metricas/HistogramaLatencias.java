@@ -0,0 +1,161 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.metricas;
+
+import java.util.Arrays;  // Vaciar las cubetas
+
+/**
+ * HistogramaLatencias - Histograma de tiempos con error relativo acotado (estilo HDR)
+ *
+ * Guardar cada medida no es posible en producción (millones de binds) y
+ * una media esconde los picos, que son lo que se nota. Como HdrHistogram,
+ * los valores se cuentan en cubetas log-lineales:
+ *
+ *   0 .. 127 ns          → una cubeta por nanosegundo (exacto)
+ *   [2^k, 2^(k+1)), k≥7  → 64 cubetas del mismo ancho (2^(k-6) ns)
+ *
+ * Así el error de cualquier percentil es menor del 1,6 % (1/64) sea cual
+ * sea la magnitud, con memoria fija: ~2.000 contadores (16 KB) para
+ * cubrir de 1 ns a ~68 s. Lo que pase de MAXIMO_NS cuenta en la última.
+ *
+ * Registrar es O(1) y no asigna memoria. Los métodos son synchronized:
+ * se registra desde el hilo principal y desde los de fondo.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class HistogramaLatencias {
+
+    // ============= CONSTANTES =============
+
+    /** Bits de la mantisa: 2^6 = 64 cubetas por potencia de dos */
+    private static final int BITS_SUBCUBETA = 6;
+
+    /** Cubetas por potencia de dos */
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+
+    /** Valores que se cuentan exactos (uno por cubeta) */
+    private static final int EXACTOS = SUBCUBETAS * 2;
+
+    /** Mayor valor que se distingue (~68 s en nanosegundos) */
+    public static final long MAXIMO_NS = (1L << 36) - 1;
+
+    /** Número de cubetas necesario para llegar a MAXIMO_NS */
+    private static final int NUMERO_CUBETAS = indice(MAXIMO_NS) + 1;
+
+    // ============= ATRIBUTOS =============
+
+    /** Contador de cada cubeta */
+    private final long[] cubetas = new long[NUMERO_CUBETAS];
+
+    /** Medidas registradas */
+    private long total;
+
+    /** Suma de los valores (para la media) */
+    private long suma;
+
+    /** Menor y mayor valor registrados (exactos, no de cubeta) */
+    private long minimo = Long.MAX_VALUE;
+    private long maximo;
+
+    // ============= REGISTRO =============
+
+    /**
+     * registrar - Cuenta una medida
+     *
+     * @param nanos Duración en nanosegundos (los negativos cuentan como 0)
+     */
+    public synchronized void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubetas[indice(Math.min(valor, MAXIMO_NS))]++;
+        total++;
+        suma += valor;
+        minimo = Math.min(minimo, valor);
+        maximo = Math.max(maximo, valor);
+    }
+
+    /**
+     * reiniciar - Borra todas las medidas
+     */
+    public synchronized void reiniciar() {
+        Arrays.fill(cubetas, 0);
+        total = 0;
+        suma = 0;
+        minimo = Long.MAX_VALUE;
+        maximo = 0;
+    }
+
+    // ============= CONSULTAS =============
+
+    /** Medidas registradas */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /** Media en nanosegundos (0 si no hay medidas) */
+    public synchronized long getMedia() {
+        return total == 0 ? 0 : suma / total;
+    }
+
+    /** Menor valor registrado (0 si no hay medidas) */
+    public synchronized long getMinimo() {
+        return total == 0 ? 0 : minimo;
+    }
+
+    /** Mayor valor registrado (0 si no hay medidas) */
+    public synchronized long getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * percentil - Valor por debajo del cual queda ese porcentaje de medidas
+     *
+     * Devuelve el mayor valor de la cubeta (como HdrHistogram), sin pasar
+     * del máximo registrado.
+     *
+     * @param porcentaje 0..100 (50 = mediana, 99 = p99)
+     * @return Nanosegundos (0 si no hay medidas)
+     */
+    public synchronized long percentil(double porcentaje) {
+        if (total == 0) {
+            return 0;
+        }
+        double acotado = Math.max(0, Math.min(100, porcentaje));
+        long objetivo = Math.max(1, (long) Math.ceil(acotado / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < cubetas.length; i++) {
+            acumulado += cubetas[i];
+            if (acumulado >= objetivo) {
+                return Math.min(maximo, Math.max(minimo, mayorValor(i)));
+            }
+        }
+        return maximo;
+    }
+
+    // ============= CUBETAS =============
+
+    /**
+     * indice - Cubeta de un valor
+     *
+     * Por debajo de EXACTOS, el propio valor. Por encima, la potencia de
+     * dos (bit más alto) elige el grupo y los 6 bits siguientes la cubeta.
+     */
+    static int indice(long valor) {
+        if (valor < EXACTOS) {
+            return (int) valor;
+        }
+        int bitAlto = 63 - Long.numberOfLeadingZeros(valor);
+        int desplazamiento = bitAlto - BITS_SUBCUBETA;
+        int mantisa = (int) (valor >>> desplazamiento) - SUBCUBETAS;
+        return EXACTOS + (desplazamiento - 1) * SUBCUBETAS + mantisa;
+    }
+
+    /**
+     * mayorValor - Mayor valor que cae en una cubeta
+     */
+    static long mayorValor(int indice) {
+        if (indice < EXACTOS) {
+            return indice;
+        }
+        int desplazamiento = (indice - EXACTOS) / SUBCUBETAS + 1;
+        long mantisa = SUBCUBETAS + (indice - EXACTOS) % SUBCUBETAS;
+        return ((mantisa + 1) << desplazamiento) - 1;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.metricas;
+
+import com.google.gson.stream.JsonWriter;       // Volcado JSON en streaming
+
+import java.io.IOException;                     // Errores al escribir el volcado
+import java.io.Writer;                          // Destino del volcado
+import java.util.Map;                           // Interfaz de mapa
+import java.util.TreeMap;                       // Nombres en orden alfabético
+import java.util.concurrent.ConcurrentHashMap;  // Métricas compartidas entre hilos
+import java.util.concurrent.atomic.AtomicLong;  // Contadores sin bloqueo
+
+/**
+ * RegistroMetricas - Métricas del proceso: latencias, contadores y bytes
+ *
+ * Tres tipos de métrica, identificadas por un nombre con puntos
+ * ("storage.guardar", "adapter.bind"...):
+ *
+ *   latencia(nombre)      → HistogramaLatencias (p50/p90/p99/máx.)
+ *   incrementar(nombre)   → contador de veces
+ *   sumarBytes(nombre, n) → bytes acumulados (tamaño de lo guardado/leído)
+ *
+ * Cada métrica se crea la primera vez que se usa; después, registrar no
+ * asigna memoria. Se puede usar desde cualquier hilo.
+ *
+ * volcarJson() escribe todo en un JSON estable para recogerlo de los
+ * dispositivos (pantalla de diagnóstico de la app):
+ *
+ *   {"version":1, "contexto":{...},
+ *    "latencias":{"storage.guardar":{"total":12,"media_ns":..,"p50_ns":..,...}},
+ *    "contadores":{...}, "bytes":{...}}
+ *
+ * Esta clase no depende de Android.
+ */
+public final class RegistroMetricas {
+
+    // ============= CONSTANTES =============
+
+    /** Versión del formato del volcado JSON */
+    public static final int VERSION_JSON = 1;
+
+    /** Percentiles que se vuelcan (nombre en el JSON, porcentaje) */
+    private static final String[] NOMBRES_PERCENTILES = {"p50_ns", "p90_ns", "p99_ns", "p999_ns"};
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    // ============= ATRIBUTOS =============
+
+    /** Registro compartido por todo el proceso */
+    private static final RegistroMetricas GLOBAL = new RegistroMetricas();
+
+    /** Histogramas por nombre */
+    private final Map<String, HistogramaLatencias> latencias = new ConcurrentHashMap<>();
+
+    /** Contadores por nombre */
+    private final Map<String, AtomicLong> contadores = new ConcurrentHashMap<>();
+
+    /** Bytes acumulados por nombre */
+    private final Map<String, AtomicLong> bytes = new ConcurrentHashMap<>();
+
+    // ============= ACCESO =============
+
+    /**
+     * global - Registro del proceso (el que usan la app y la pantalla de diagnóstico)
+     */
+    public static RegistroMetricas global() {
+        return GLOBAL;
+    }
+
+    // ============= REGISTRO =============
+
+    /**
+     * latencia - Histograma de un nombre (lo crea la primera vez)
+     */
+    public HistogramaLatencias latencia(String nombre) {
+        HistogramaLatencias histograma = latencias.get(nombre);
+        if (histograma == null) {
+            histograma = latencias.computeIfAbsent(nombre, n -> new HistogramaLatencias());
+        }
+        return histograma;
+    }
+
+    /**
+     * registrarLatencia - Cuenta una duración en el histograma de un nombre
+     */
+    public void registrarLatencia(String nombre, long nanos) {
+        latencia(nombre).registrar(nanos);
+    }
+
+    /**
+     * incrementar - Suma 1 al contador de un nombre
+     */
+    public void incrementar(String nombre) {
+        sumar(contadores, nombre, 1);
+    }
+
+    /**
+     * incrementar - Suma una cantidad al contador de un nombre
+     */
+    public void incrementar(String nombre, long cantidad) {
+        sumar(contadores, nombre, cantidad);
+    }
+
+    /**
+     * sumarBytes - Acumula el tamaño de lo guardado/leído
+     */
+    public void sumarBytes(String nombre, long cantidad) {
+        sumar(bytes, nombre, cantidad);
+    }
+
+    /**
+     * reiniciar - Borra todas las métricas (para empezar una medida nueva)
+     */
+    public void reiniciar() {
+        latencias.clear();
+        contadores.clear();
+        bytes.clear();
+    }
+
+    // ============= CONSULTAS =============
+
+    /** Valor de un contador (0 si no existe) */
+    public long getContador(String nombre) {
+        AtomicLong valor = contadores.get(nombre);
+        return valor == null ? 0 : valor.get();
+    }
+
+    /** Bytes acumulados de un nombre (0 si no existe) */
+    public long getBytes(String nombre) {
+        AtomicLong valor = bytes.get(nombre);
+        return valor == null ? 0 : valor.get();
+    }
+
+    /** Copia ordenada de los histogramas (para mostrarlos) */
+    public Map<String, HistogramaLatencias> getLatencias() {
+        return new TreeMap<>(latencias);
+    }
+
+    /** Copia ordenada de los contadores */
+    public Map<String, Long> getContadores() {
+        return copiar(contadores);
+    }
+
+    /** Copia ordenada de los bytes acumulados */
+    public Map<String, Long> getBytes() {
+        return copiar(bytes);
+    }
+
+    /**
+     * bytesUtf8 - Bytes que ocupa un texto en UTF-8 (sin codificarlo)
+     *
+     * Para anotar el tamaño de lo guardado sin crear un byte[] solo para medirlo.
+     */
+    public static long bytesUtf8(CharSequence texto) {
+        if (texto == null) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                total += 1;
+            } else if (c < 0x800) {
+                total += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                total += 4;  // Par sustituto: 4 bytes entre los dos
+                i++;
+            } else {
+                total += 3;
+            }
+        }
+        return total;
+    }
+
+    // ============= VOLCADO =============
+
+    /**
+     * volcarJson - Escribe todas las métricas en JSON
+     *
+     * @param destino Writer de destino (no se cierra)
+     * @param contexto Datos del dispositivo/versión a incluir (puede ser null)
+     */
+    public void volcarJson(Writer destino, Map<String, String> contexto) throws IOException {
+        JsonWriter json = new JsonWriter(destino);
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("version").value(VERSION_JSON);
+
+        json.name("contexto").beginObject();
+        if (contexto != null) {
+            for (Map.Entry<String, String> entrada : new TreeMap<>(contexto).entrySet()) {
+                json.name(entrada.getKey()).value(entrada.getValue());
+            }
+        }
+        json.endObject();
+
+        json.name("latencias").beginObject();
+        for (Map.Entry<String, HistogramaLatencias> entrada : getLatencias().entrySet()) {
+            HistogramaLatencias histograma = entrada.getValue();
+            json.name(entrada.getKey()).beginObject();
+            json.name("total").value(histograma.getTotal());
+            json.name("media_ns").value(histograma.getMedia());
+            json.name("min_ns").value(histograma.getMinimo());
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                json.name(NOMBRES_PERCENTILES[i]).value(histograma.percentil(PERCENTILES[i]));
+            }
+            json.name("max_ns").value(histograma.getMaximo());
+            json.endObject();
+        }
+        json.endObject();
+
+        escribirValores(json, "contadores", getContadores());
+        escribirValores(json, "bytes", getBytes());
+        json.endObject();
+        json.flush();
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /** Suma a la entrada de un mapa de contadores (la crea si no existe) */
+    private static void sumar(Map<String, AtomicLong> mapa, String nombre, long cantidad) {
+        AtomicLong valor = mapa.get(nombre);
+        if (valor == null) {
+            valor = mapa.computeIfAbsent(nombre, n -> new AtomicLong());
+        }
+        valor.addAndGet(cantidad);
+    }
+
+    /** Copia ordenada de un mapa de contadores */
+    private static Map<String, Long> copiar(Map<String, AtomicLong> mapa) {
+        Map<String, Long> copia = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entrada : mapa.entrySet()) {
+            copia.put(entrada.getKey(), entrada.getValue().get());
+        }
+        return copia;
+    }
+
+    /** Objeto JSON nombre → número */
+    private static void escribirValores(JsonWriter json, String nombre, Map<String, Long> valores)
+            throws IOException {
+        json.name(nombre).beginObject();
+        for (Map.Entry<String, Long> entrada : valores.entrySet()) {
+            json.name(entrada.getKey()).value(entrada.getValue());
+        }
+        json.endObject();
+    }
+}
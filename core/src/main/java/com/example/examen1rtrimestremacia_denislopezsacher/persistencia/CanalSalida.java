@@ -0,0 +1,228 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import java.io.IOException;                    // Errores al escribir en el canal
+import java.io.OutputStream;                   // Vista binaria (formato ENTB)
+import java.io.Writer;                         // Vista de texto (CSV, JSON)
+import java.nio.ByteBuffer;                    // Bytes pendientes de escribir
+import java.nio.CharBuffer;                    // Caracteres pendientes de codificar
+import java.nio.channels.WritableByteChannel;  // Destino (FileChannel del documento)
+import java.nio.charset.CharsetEncoder;        // UTF-8 sin crear byte[] por cadena
+import java.nio.charset.CoderResult;           // Buffer lleno / entrada agotada
+import java.nio.charset.CodingErrorAction;     // Surrogates sueltos → '?', como getBytes()
+import java.nio.charset.StandardCharsets;      // UTF-8
+
+/**
+ * CanalSalida - Writer (y OutputStream) sobre un WritableByteChannel con un buffer directo
+ *
+ * Para escribir un archivo grande sin tenerlo entero en memoria:
+ *
+ *   texto  → char[] (8K) → CharsetEncoder UTF-8 → ByteBuffer directo → canal.write()
+ *   bytes  → flujo()                            → ByteBuffer directo → canal.write()
+ *
+ * El ByteBuffer lo pone quien crea la salida y puede reutilizarse de una
+ * escritura a otra: es directo, así que canal.write() lo pasa al sistema
+ * sin copiarlo a un buffer temporal. El texto se codifica directamente
+ * en él, sin crear un byte[] por cadena.
+ *
+ * Texto y bytes pueden mezclarse: antes de escribir bytes se codifican los
+ * caracteres pendientes, así que el orden se respeta.
+ *
+ * close() escribe lo pendiente pero NO cierra el canal: es de quien lo abrió.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class CanalSalida extends Writer {
+
+    // ============= CONSTANTES =============
+
+    /** Caracteres que se acumulan antes de codificarlos */
+    private static final int TAMANO_CARACTERES = 8 * 1024;
+
+    // ============= ATRIBUTOS =============
+
+    /** Destino */
+    private final WritableByteChannel canal;
+
+    /** Bytes codificados pendientes de escribir (modo escritura) */
+    private final ByteBuffer bytes;
+
+    /** Caracteres pendientes de codificar (modo escritura) */
+    private final CharBuffer caracteres = CharBuffer.allocate(TAMANO_CARACTERES);
+
+    /** Codificador UTF-8 de esta salida */
+    private final CharsetEncoder codificador = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    /** Vista binaria sobre el mismo buffer */
+    private final OutputStream flujo = new Flujo();
+
+    /** Bytes entregados al canal */
+    private long escritos;
+
+    /** true tras close() */
+    private boolean cerrada;
+
+    /**
+     * Constructor
+     *
+     * @param canal Destino (no se cierra)
+     * @param buffer Buffer de bytes, preferiblemente directo (se vacía con clear())
+     */
+    public CanalSalida(WritableByteChannel canal, ByteBuffer buffer) {
+        this.canal = canal;
+        this.bytes = buffer;
+        buffer.clear();
+    }
+
+    // ============= TEXTO =============
+
+    @Override
+    public void write(int c) throws IOException {
+        if (!caracteres.hasRemaining()) {
+            codificarPendientes(false);
+        }
+        caracteres.put((char) c);
+    }
+
+    @Override
+    public void write(char[] origen, int desde, int cantidad) throws IOException {
+        while (cantidad > 0) {
+            if (!caracteres.hasRemaining()) {
+                codificarPendientes(false);
+            }
+            int trozo = Math.min(cantidad, caracteres.remaining());
+            caracteres.put(origen, desde, trozo);
+            desde += trozo;
+            cantidad -= trozo;
+        }
+    }
+
+    @Override
+    public void write(String texto, int desde, int cantidad) throws IOException {
+        int fin = desde + cantidad;
+        while (desde < fin) {
+            if (!caracteres.hasRemaining()) {
+                codificarPendientes(false);
+            }
+            int trozo = Math.min(fin - desde, caracteres.remaining());
+            caracteres.put(texto, desde, desde + trozo);
+            desde += trozo;
+        }
+    }
+
+    // ============= BYTES =============
+
+    /**
+     * flujo - OutputStream que escribe en esta misma salida (sin cerrarla al cerrarlo)
+     */
+    public OutputStream flujo() {
+        return flujo;
+    }
+
+    /**
+     * getEscritos - Bytes entregados al canal hasta ahora
+     */
+    public long getEscritos() {
+        return escritos;
+    }
+
+    // ============= VACIADO =============
+
+    /**
+     * flush - Codifica lo pendiente y lo entrega al canal
+     */
+    @Override
+    public void flush() throws IOException {
+        codificarPendientes(false);
+        vaciar();
+    }
+
+    /**
+     * close - Termina la codificación y entrega todo (el canal sigue abierto)
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrada) {
+            return;
+        }
+        codificarPendientes(true);
+        while (codificador.flush(bytes).isOverflow()) {
+            vaciar();
+        }
+        vaciar();
+        cerrada = true;
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * codificarPendientes - Pasa los caracteres acumulados a bytes
+     *
+     * Sin fin de entrada, un surrogate alto al final se queda esperando a
+     * su pareja (compact() lo conserva).
+     */
+    private void codificarPendientes(boolean finDeEntrada) throws IOException {
+        caracteres.flip();
+        while (true) {
+            CoderResult resultado = codificador.encode(caracteres, bytes, finDeEntrada);
+            if (resultado.isOverflow()) {
+                vaciar();  // Buffer de bytes lleno
+            } else {
+                break;     // Entrada agotada (o surrogate a la espera)
+            }
+        }
+        caracteres.compact();
+    }
+
+    /**
+     * vaciar - Entrega al canal los bytes del buffer
+     */
+    private void vaciar() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            escritos += canal.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    // ============= CLASES INTERNAS =============
+
+    /**
+     * Flujo - Vista binaria: escribe bytes tras los caracteres pendientes
+     */
+    private final class Flujo extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (caracteres.position() > 0) {
+                codificarPendientes(false);
+            }
+            if (!bytes.hasRemaining()) {
+                vaciar();
+            }
+            bytes.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] origen, int desde, int cantidad) throws IOException {
+            if (caracteres.position() > 0) {
+                codificarPendientes(false);
+            }
+            while (cantidad > 0) {
+                if (!bytes.hasRemaining()) {
+                    vaciar();
+                }
+                int trozo = Math.min(cantidad, bytes.remaining());
+                bytes.put(origen, desde, trozo);
+                desde += trozo;
+                cantidad -= trozo;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            CanalSalida.this.flush();
+        }
+    }
+}
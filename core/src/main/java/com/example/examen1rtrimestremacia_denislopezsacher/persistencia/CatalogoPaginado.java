@@ -0,0 +1,622 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+
+import java.util.ArrayList;                           // Altas y esperas
+import java.util.Collections;                         // Página vacía
+import java.util.HashMap;                             // Páginas en memoria
+import java.util.HashSet;                             // Páginas en curso
+import java.util.List;                                // Interfaz de lista
+import java.util.Map;                                 // Interfaz de mapa
+import java.util.Set;                                 // Interfaz de conjunto
+import java.util.concurrent.Executor;                 // Hilo de fondo / hilo principal
+import java.util.concurrent.RejectedExecutionException;  // Ejecutor ya cerrado
+import java.util.function.Consumer;                   // Receptores de entrenamientos
+
+/**
+ * CatalogoPaginado - Acceso por posición al catálogo guardado, por páginas
+ *
+ * Capa entre el almacenamiento y EntrenamientoAdapter. En lugar de cargar
+ * todo el catálogo en una lista, se leen páginas de tamaño fijo alrededor
+ * de la posición que se está mostrando:
+ *
+ *   posiciones:  0 ......... 49 | 50 ........ 99 | 100 ....... 149 | ...
+ *   páginas:          0         |       1        |        2        | ...
+ *                                  ↑ visible        ↑ precarga
+ *
+ * - obtener(posicion): el entrenamiento si su página está en memoria; si
+ *   no, null (la fila se pinta vacía) y la página se pide al hilo de fondo
+ * - Precarga: se pide también la página siguiente en el sentido del scroll
+ * - Presupuesto: al pasar de 'presupuestoBytes' se descartan las páginas
+ *   más lejanas a la visible (nunca la visible ni sus vecinas)
+ * - Al llegar una página, el Oyente recibe su rango (el adapter redibuja
+ *   solo esas filas)
+ * - Lectura por clave: si la fuente lo admite y la página anterior está
+ *   en memoria, se lee con "id > último id" en lugar de con un desplazamiento
+ *   (el coste no crece al bajar por la lista)
+ * - Si una lectura falla se reintenta; si sigue fallando, las esperas de
+ *   esa página reciben null
+ *
+ * Las posiciones son estables: el número de filas se lee al abrir y las
+ * altas posteriores se añaden al final (quedan en memoria, son pocas).
+ * Así el arranque y la memoria no dependen del tamaño del catálogo.
+ *
+ * Hilos: todos los métodos se llaman desde el hilo principal salvo
+ * recorrerGuardados(). La lectura de páginas se hace en 'ejecutorFondo' y
+ * el resultado se entrega en 'hiloPrincipal'.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class CatalogoPaginado {
+
+    // ============= INTERFACES =============
+
+    /**
+     * Fuente - Almacenamiento que se puede leer por páginas
+     *
+     * Los métodos se llaman en el hilo de fondo.
+     */
+    public interface Fuente {
+        /** Número de entrenamientos guardados */
+        int contar();
+
+        /** Entrenamientos de [desde, desde + cantidad) en orden de alta */
+        List<Entrenamiento> cargarPagina(int desde, int cantidad);
+
+        /**
+         * cargarDespuesDeId - Hasta 'cantidad' entrenamientos con id mayor que 'ultimoId', en orden de alta
+         *
+         * @return null si la fuente no lee por id (se usa cargarPagina)
+         */
+        default List<Entrenamiento> cargarDespuesDeId(long ultimoId, int cantidad) {
+            return null;
+        }
+    }
+
+    /**
+     * Oyente - Recibe el aviso de cada página cargada (hilo principal)
+     */
+    public interface Oyente {
+        /**
+         * onPaginaCargada - Ya están en memoria las posiciones [desde, desde + cantidad)
+         */
+        void onPaginaCargada(int desde, int cantidad);
+    }
+
+    // ============= CONSTANTES =============
+
+    /** Entrenamientos por página (unas tres pantallas) */
+    public static final int TAMANO_PAGINA_POR_DEFECTO = 50;
+
+    /** Memoria máxima por defecto para las páginas */
+    public static final long PRESUPUESTO_POR_DEFECTO_BYTES = 2L * 1024 * 1024;
+
+    /** Lecturas de una página antes de darla por fallida */
+    static final int INTENTOS_LECTURA = 3;
+
+    /** Estimación del coste fijo de un Entrenamiento (objeto + 2 String + arrays) */
+    private static final int BYTES_POR_ENTRENAMIENTO = 16 + 24 + 2 * (24 + 16);
+
+    // ============= ATRIBUTOS =============
+
+    /** Almacenamiento del que se leen las páginas */
+    private final Fuente fuente;
+
+    /** Entrenamientos por página */
+    private final int tamanoPagina;
+
+    /** Memoria máxima estimada de las páginas en memoria */
+    private final long presupuestoBytes;
+
+    /** Hilo en el que se leen las páginas */
+    private final Executor ejecutorFondo;
+
+    /** Hilo en el que se entregan (el principal en Android) */
+    private final Executor hiloPrincipal;
+
+    /** Entrenamientos guardados al abrir (posiciones [0, totalGuardados)) */
+    private volatile int totalGuardados;
+
+    /** Altas desde que se abrió (posiciones totalGuardados + i) */
+    private final List<Entrenamiento> altas = new ArrayList<>();
+
+    /** Páginas en memoria por número de página */
+    private final Map<Integer, Pagina> paginas = new HashMap<>();
+
+    /** Páginas pedidas al hilo de fondo que aún no han llegado */
+    private final Set<Integer> paginasEnCurso = new HashSet<>();
+
+    /** Peticiones de obtenerCuandoEste() esperando a su página */
+    private final Map<Integer, List<Espera>> esperas = new HashMap<>();
+
+    /** Memoria estimada de las páginas en memoria */
+    private long bytesEnMemoria;
+
+    /** Última página pedida con obtener() y sentido del scroll (+1 / -1) */
+    private int paginaActual;
+    private int sentido = 1;
+
+    /** true mientras se lee el número de filas (no se admiten altas) */
+    private boolean abriendo;
+
+    /** true tras cerrar(): las páginas que lleguen se descartan */
+    private boolean cerrado;
+
+    /**
+     * Cambia con incorporarGuardados(): las páginas pedidas antes pueden
+     * venir cortas (se pidieron con el total anterior) y se descartan
+     */
+    private int generacion;
+
+    /** Receptor de los avisos de página cargada */
+    private Oyente oyente;
+
+    /** Contadores */
+    private long aciertos;
+    private long fallos;
+    private long paginasCargadas;
+    private long paginasDescartadas;
+
+    // ============= CONSTRUCTORES =============
+
+    /**
+     * Constructor - Tamaño de página y presupuesto por defecto
+     */
+    public CatalogoPaginado(Fuente fuente, Executor ejecutorFondo, Executor hiloPrincipal) {
+        this(fuente, TAMANO_PAGINA_POR_DEFECTO, PRESUPUESTO_POR_DEFECTO_BYTES, ejecutorFondo, hiloPrincipal);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param fuente Almacenamiento a leer
+     * @param tamanoPagina Entrenamientos por página
+     * @param presupuestoBytes Memoria máxima estimada para las páginas
+     * @param ejecutorFondo Hilo para leer las páginas (mejor uno propio: si
+     *                      comparte cola con tareas largas, el scroll espera)
+     * @param hiloPrincipal Hilo en el que se entregan páginas y avisos
+     */
+    public CatalogoPaginado(Fuente fuente, int tamanoPagina, long presupuestoBytes,
+                            Executor ejecutorFondo, Executor hiloPrincipal) {
+        this.fuente = fuente;
+        this.tamanoPagina = Math.max(1, tamanoPagina);
+        this.presupuestoBytes = Math.max(0, presupuestoBytes);
+        this.ejecutorFondo = ejecutorFondo;
+        this.hiloPrincipal = hiloPrincipal;
+    }
+
+    /**
+     * setOyente - Registra quién recibe los avisos de página cargada
+     */
+    public void setOyente(Oyente oyente) {
+        this.oyente = oyente;
+    }
+
+    // ============= APERTURA =============
+
+    /**
+     * abrir - Lee el número de filas y la primera página en segundo plano
+     *
+     * Sin llamar a abrir() el catálogo solo contiene sus altas (primera
+     * vez, sin datos guardados).
+     *
+     * @param alAbrir Se ejecuta en el hilo principal con la primera página ya en memoria
+     */
+    public void abrir(Runnable alAbrir) {
+        abriendo = true;
+        ejecutar(() -> {
+            int total = fuente.contar();
+            List<Entrenamiento> primera = total > 0
+                    ? fuente.cargarPagina(0, Math.min(tamanoPagina, total))
+                    : Collections.emptyList();
+
+            hiloPrincipal.execute(() -> {
+                abriendo = false;
+                if (cerrado) {
+                    return;
+                }
+                totalGuardados = total;
+                if (!primera.isEmpty()) {
+                    guardarPagina(0, primera);
+                }
+                alAbrir.run();
+            });
+        });
+    }
+
+    /**
+     * cerrar - Libera las páginas; lo que llegue después se descarta
+     */
+    public void cerrar() {
+        cerrado = true;
+        paginas.clear();
+        esperas.clear();
+        bytesEnMemoria = 0;
+    }
+
+    // ============= ACCESO POR POSICIÓN =============
+
+    /** Número total de posiciones (guardadas + altas) */
+    public int tamano() {
+        return totalGuardados + altas.size();
+    }
+
+    /** Número de entrenamientos guardados al abrir */
+    public int getTotalGuardados() {
+        return totalGuardados;
+    }
+
+    /**
+     * obtener - Entrenamiento de una posición, si ya está en memoria
+     *
+     * Si su página no está, la pide (y la siguiente en el sentido del
+     * scroll) y devuelve null: el Oyente avisará cuando llegue.
+     *
+     * @param posicion Posición (0 .. tamano() - 1)
+     * @return El entrenamiento, o null si su página aún no ha llegado
+     */
+    public Entrenamiento obtener(int posicion) {
+        if (posicion >= totalGuardados) {
+            return altas.get(posicion - totalGuardados);
+        }
+
+        int numero = posicion / tamanoPagina;
+        if (numero != paginaActual) {
+            sentido = numero > paginaActual ? 1 : -1;
+            paginaActual = numero;
+        }
+
+        Pagina pagina = paginas.get(numero);
+        if (pagina == null) {
+            fallos++;
+            pedirPagina(numero);
+        } else {
+            aciertos++;
+        }
+        pedirPagina(numero + sentido);  // Precarga (no hace nada si ya está)
+        return pagina == null ? null : pagina.entrenamientos.get(posicion - pagina.desde);
+    }
+
+    /**
+     * obtenerCuandoEste - Entrega el entrenamiento de una posición en cuanto esté en memoria
+     *
+     * Para clicks y para restaurar la selección: si la página ya está, el
+     * receptor se llama ahora mismo.
+     *
+     * @param posicion Posición (0 .. tamano() - 1)
+     * @param receptor Recibe el entrenamiento en el hilo principal, o null
+     *                 si su página no se pudo leer
+     */
+    public void obtenerCuandoEste(int posicion, Consumer<Entrenamiento> receptor) {
+        if (posicion >= totalGuardados) {
+            receptor.accept(altas.get(posicion - totalGuardados));
+            return;
+        }
+        int numero = posicion / tamanoPagina;
+        Pagina pagina = paginas.get(numero);
+        if (pagina != null) {
+            receptor.accept(pagina.entrenamientos.get(posicion - pagina.desde));
+            return;
+        }
+        List<Espera> lista = esperas.get(numero);
+        if (lista == null) {
+            lista = new ArrayList<>();
+            esperas.put(numero, lista);
+        }
+        lista.add(new Espera(posicion, receptor));
+        pedirPagina(numero);
+    }
+
+    /**
+     * anadir - Añade un alta al final (posición tamano() - 1)
+     *
+     * Las altas no se guardan aquí: se persisten aparte (EscrituraDiferida).
+     *
+     * @throws IllegalStateException Si el catálogo se está abriendo
+     */
+    public void anadir(Entrenamiento entrenamiento) {
+        if (abriendo) {
+            throw new IllegalStateException("El catálogo aún se está abriendo");
+        }
+        altas.add(entrenamiento);
+    }
+
+    /**
+     * incorporarGuardados - Pasa a leer por páginas lo guardado después de abrir
+     *
+     * Tras una importación masiva: las filas nuevas se guardaron detrás de
+     * las altas (ids mayores), así que las posiciones que ya había no
+     * cambian y las nuevas van al final:
+     *
+     *   antes:    [ guardados ][ altas ]
+     *   después:  [ guardados + altas + importados ] (todo por páginas)
+     *
+     * Las altas dejan de estar en memoria. Se descarta la última página si
+     * estaba incompleta (ahora tiene más filas) y las páginas en camino.
+     *
+     * @param total Número de filas guardadas ahora (incluye las altas, ya escritas)
+     */
+    public void incorporarGuardados(int total) {
+        int anterior = totalGuardados;
+        totalGuardados = total;
+        altas.clear();
+        generacion++;
+        paginasEnCurso.clear();
+        if (anterior % tamanoPagina != 0) {
+            Pagina incompleta = paginas.remove(anterior / tamanoPagina);
+            if (incompleta != null) {
+                bytesEnMemoria -= incompleta.bytes;
+            }
+        }
+    }
+
+    /**
+     * recorrerGuardados - Lee por lotes todo lo guardado al abrir (hilo de fondo)
+     *
+     * Para construir índices sin pasar por las páginas: no se guarda nada
+     * en memoria, cada lote se entrega y se olvida. Las posiciones de los
+     * lotes coinciden con las de obtener(). Se lee por clave (id > último
+     * id del lote anterior) mientras la fuente lo admita.
+     *
+     * @param tamanoLote Entrenamientos por lote
+     * @param consumidor Recibe cada lote en orden (en el hilo que llama)
+     * @return Número de entrenamientos recorridos
+     */
+    public int recorrerGuardados(int tamanoLote, Consumer<List<Entrenamiento>> consumidor) {
+        int total = totalGuardados;
+        int capacidad = Math.max(1, tamanoLote);
+        int recorridos = 0;
+        long ultimoId = 0;
+        while (recorridos < total) {
+            int cantidad = Math.min(capacidad, total - recorridos);
+            List<Entrenamiento> lote = ultimoId >= 0 ? fuente.cargarDespuesDeId(ultimoId, cantidad) : null;
+            if (lote == null) {
+                lote = fuente.cargarPagina(recorridos, cantidad);
+            }
+            if (lote.isEmpty()) {
+                break;  // Se borraron filas mientras tanto
+            }
+            consumidor.accept(lote);
+            recorridos += lote.size();
+            ultimoId = idDelUltimo(lote);
+        }
+        return recorridos;
+    }
+
+    // ============= ESTADÍSTICAS =============
+
+    /** Llamadas a obtener() con la página en memoria */
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    /** Llamadas a obtener() que tuvieron que pedir la página */
+    public long getFallos() {
+        return fallos;
+    }
+
+    /** Páginas leídas del almacenamiento */
+    public long getPaginasCargadas() {
+        return paginasCargadas;
+    }
+
+    /** Páginas descartadas por el presupuesto de memoria */
+    public long getPaginasDescartadas() {
+        return paginasDescartadas;
+    }
+
+    /** Páginas en memoria ahora mismo */
+    public int getPaginasEnMemoria() {
+        return paginas.size();
+    }
+
+    /** Memoria estimada de las páginas en memoria */
+    public long getBytesEnMemoria() {
+        return bytesEnMemoria;
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * pedirPagina - Lee una página en el hilo de fondo (si existe y no está ya pedida)
+     *
+     * Si la página anterior está en memoria se lee por clave a partir de su
+     * último id. Si no se puede lanzar la lectura, se responde a sus esperas.
+     */
+    private void pedirPagina(int numero) {
+        int desde = numero * tamanoPagina;
+        if (numero < 0 || desde >= totalGuardados || cerrado
+                || paginas.containsKey(numero) || !paginasEnCurso.add(numero)) {
+            return;
+        }
+        int cantidad = Math.min(tamanoPagina, totalGuardados - desde);
+        int pedidaEn = generacion;
+        Pagina previa = paginas.get(numero - 1);
+        long despuesDeId = previa != null && previa.entrenamientos.size() == tamanoPagina
+                ? idDelUltimo(previa.entrenamientos) : -1;
+
+        boolean lanzada = ejecutar(() -> {
+            List<Entrenamiento> resultado = leerPagina(desde, cantidad, despuesDeId);
+            hiloPrincipal.execute(() -> paginaRecibida(numero, resultado, pedidaEn));
+        });
+        if (!lanzada) {
+            paginasEnCurso.remove(numero);
+            responderEsperas(numero, null);
+        }
+    }
+
+    /**
+     * leerPagina - Lee una página de la fuente, con reintentos (hilo de fondo)
+     *
+     * @param despuesDeId Último id de la página anterior, o -1 para leer por posición
+     * @return La página, o null si todas las lecturas fallaron
+     */
+    private List<Entrenamiento> leerPagina(int desde, int cantidad, long despuesDeId) {
+        for (int intento = 0; intento < INTENTOS_LECTURA; intento++) {
+            try {
+                List<Entrenamiento> leidos = despuesDeId >= 0
+                        ? fuente.cargarDespuesDeId(despuesDeId, cantidad) : null;
+                return leidos != null ? leidos : fuente.cargarPagina(desde, cantidad);
+            } catch (RuntimeException e) {
+                // Error pasajero (base de datos ocupada...): se vuelve a intentar
+            }
+        }
+        return null;
+    }
+
+    /**
+     * paginaRecibida - Guarda una página leída y avisa (hilo principal)
+     */
+    private void paginaRecibida(int numero, List<Entrenamiento> leidos, int pedidaEn) {
+        if (pedidaEn != generacion) {
+            // Pedida antes de incorporarGuardados(): se vuelve a pedir si alguien la espera
+            if (esperas.containsKey(numero)) {
+                pedirPagina(numero);
+            }
+            return;
+        }
+        paginasEnCurso.remove(numero);
+        if (cerrado) {
+            return;
+        }
+        if (leidos == null) {
+            responderEsperas(numero, null);  // La página se podrá volver a pedir
+            return;
+        }
+        Pagina pagina = guardarPagina(numero, leidos);
+        responderEsperas(numero, pagina);
+        if (oyente != null) {
+            oyente.onPaginaCargada(pagina.desde, pagina.entrenamientos.size());
+        }
+    }
+
+    /**
+     * responderEsperas - Entrega a las esperas de una página su entrenamiento (o null) y las quita
+     *
+     * @param pagina La página leída, o null si no se pudo leer
+     */
+    private void responderEsperas(int numero, Pagina pagina) {
+        List<Espera> pendientes = esperas.remove(numero);
+        if (pendientes == null) {
+            return;
+        }
+        for (Espera espera : pendientes) {
+            int indice = pagina == null ? -1 : espera.posicion - pagina.desde;
+            espera.receptor.accept(indice >= 0 && indice < pagina.entrenamientos.size()
+                    ? pagina.entrenamientos.get(indice) : null);
+        }
+    }
+
+    /**
+     * idDelUltimo - Id del último entrenamiento de una lista
+     * @return -1 si está vacía o el último no tiene id (no se puede leer por clave)
+     */
+    private static long idDelUltimo(List<Entrenamiento> entrenamientos) {
+        if (entrenamientos.isEmpty()) {
+            return -1;
+        }
+        long id = entrenamientos.get(entrenamientos.size() - 1).getId();
+        return id > 0 ? id : -1;
+    }
+
+    /**
+     * guardarPagina - Pone una página en memoria y aplica el presupuesto
+     */
+    private Pagina guardarPagina(int numero, List<Entrenamiento> entrenamientos) {
+        Pagina pagina = new Pagina(numero * tamanoPagina, entrenamientos);
+        Pagina anterior = paginas.put(numero, pagina);
+        if (anterior != null) {
+            bytesEnMemoria -= anterior.bytes;
+        }
+        bytesEnMemoria += pagina.bytes;
+        paginasCargadas++;
+        descartarLejanas();
+        return pagina;
+    }
+
+    /**
+     * descartarLejanas - Quita páginas, de la más lejana a la actual, hasta cumplir el presupuesto
+     *
+     * La página actual y sus vecinas nunca se descartan (son las que se
+     * están viendo y la precarga), aunque solas superen el presupuesto.
+     */
+    private void descartarLejanas() {
+        while (bytesEnMemoria > presupuestoBytes) {
+            Integer masLejana = null;
+            int distanciaMaxima = 1;
+            for (Integer numero : paginas.keySet()) {
+                int distancia = Math.abs(numero - paginaActual);
+                if (distancia > distanciaMaxima) {
+                    distanciaMaxima = distancia;
+                    masLejana = numero;
+                }
+            }
+            if (masLejana == null) {
+                return;
+            }
+            bytesEnMemoria -= paginas.remove(masLejana).bytes;
+            paginasDescartadas++;
+        }
+    }
+
+    /**
+     * ejecutar - Lanza una tarea en el hilo de fondo
+     * @return false si el ejecutor ya estaba cerrado
+     */
+    private boolean ejecutar(Runnable tarea) {
+        try {
+            ejecutorFondo.execute(tarea);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * estimarBytes - Memoria aproximada de un entrenamiento
+     *
+     * No hace falta exactitud: sirve para comparar con el presupuesto.
+     * Cada carácter ocupa 2 bytes (peor caso, sin cadenas compactas).
+     */
+    static long estimarBytes(Entrenamiento entrenamiento) {
+        String nombre = entrenamiento.getNombre();
+        String descripcion = entrenamiento.getDescripcion();
+        return BYTES_POR_ENTRENAMIENTO
+                + 2L * (nombre != null ? nombre.length() : 0)
+                + 2L * (descripcion != null ? descripcion.length() : 0);
+    }
+
+    // ============= CLASES INTERNAS =============
+
+    /**
+     * Pagina - Entrenamientos consecutivos desde una posición
+     */
+    private static final class Pagina {
+        final int desde;
+        final List<Entrenamiento> entrenamientos;
+        final long bytes;
+
+        Pagina(int desde, List<Entrenamiento> entrenamientos) {
+            this.desde = desde;
+            this.entrenamientos = entrenamientos;
+            long total = 0;
+            for (Entrenamiento entrenamiento : entrenamientos) {
+                total += estimarBytes(entrenamiento);
+            }
+            this.bytes = total;
+        }
+    }
+
+    /**
+     * Espera - Petición de obtenerCuandoEste() pendiente de su página
+     */
+    private static final class Espera {
+        final int posicion;
+        final Consumer<Entrenamiento> receptor;
+
+        Espera(int posicion, Consumer<Entrenamiento> receptor) {
+            this.posicion = posicion;
+            this.receptor = receptor;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import java.io.BufferedInputStream;           // Lectura con buffer
+import java.io.BufferedOutputStream;          // Escritura con buffer
+import java.io.ByteArrayInputStream;          // Decodificar desde byte[]
+import java.io.ByteArrayOutputStream;         // Codificar a byte[]
+import java.io.EOFException;                  // Fin inesperado de los datos
+import java.io.IOException;                   // Errores de E/S
+import java.io.InputStream;                   // Origen de bytes
+import java.io.OutputStream;                  // Destino de bytes
+import java.nio.charset.StandardCharsets;     // UTF-8
+import java.util.ArrayList;                   // Listas dinámicas
+import java.util.HashMap;                     // Tabla de cadenas (codificación)
+import java.util.List;                        // Interfaz de lista
+import java.util.Map;                         // Interfaz de mapa
+
+/**
+ * EntrenamientoBinaryCodec - Formato binario compacto y versionado para listas de entrenamientos
+ *
+ * El JSON repite los nombres de campo en cada registro, guarda el icono
+ * como texto y SharedPreferences lo vuelve a escapar como XML.
+ * Este formato guarda solo los valores:
+ *
+ *   CABECERA
+ *     "ENTB"              4 bytes mágicos
+ *     versión             1 byte
+ *     número de registros varint
+ *   TABLA DE CADENAS (descripciones sin repetir)
+ *     número de cadenas   varint
+ *     cadena*             varint longitud + bytes UTF-8
+ *   REGISTROS
+ *     id                  varint
+ *     nombre              varint longitud + bytes UTF-8
+ *     descripción         varint (0 = null, i + 1 = cadena i de la tabla)
+ *     icono               1 byte (código de TipoIcono)
+ *
+ * Versión 1 (aún legible): el icono era un varint con el id de recurso
+ * (R.drawable.ic_xxx, 5 bytes). Al leerla se traduce con MigracionIconos,
+ * que primero aprende los ids de los entrenamientos predefinidos.
+ *
+ * Varint: 7 bits por byte, el bit alto indica que sigue otro byte
+ * (los valores pequeños ocupan 1 byte en lugar de 4 u 8).
+ *
+ * Las descripciones se guardan una sola vez aunque se repitan
+ * (por ejemplo, catálogos importados con textos comunes).
+ *
+ * Esta clase no depende de Android.
+ */
+public final class EntrenamientoBinaryCodec {
+
+    // ============= CONSTANTES =============
+
+    /** Bytes mágicos que identifican el formato */
+    private static final byte[] MAGICO = {'E', 'N', 'T', 'B'};
+
+    /** Versión actual del formato */
+    public static final int VERSION = 2;
+
+    /** Clase de utilidades: no se instancia */
+    private EntrenamientoBinaryCodec() {
+    }
+
+    // ============= CODIFICACIÓN =============
+
+    /**
+     * codificar - Convierte una lista de entrenamientos en bytes
+     * @param entrenamientos Lista a codificar
+     * @return Bytes en formato ENTB
+     */
+    public static byte[] codificar(List<Entrenamiento> entrenamientos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(entrenamientos.size() * 32 + 16);
+        try {
+            escribir(entrenamientos, salida);
+        } catch (IOException e) {
+            // ByteArrayOutputStream no lanza IOException
+            throw new IllegalStateException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    /**
+     * escribir - Escribe una lista de entrenamientos en un flujo
+     *
+     * Dos pasadas sobre la lista: la primera construye la tabla de
+     * descripciones y la segunda escribe los registros.
+     *
+     * @param entrenamientos Lista a codificar
+     * @param destino Flujo de salida (no se cierra)
+     */
+    public static void escribir(List<Entrenamiento> entrenamientos, OutputStream destino) throws IOException {
+        // PASO 1: Tabla de cadenas (cada descripción distinta una sola vez)
+        Map<String, Integer> indices = new HashMap<>();
+        List<String> tabla = new ArrayList<>();
+        for (Entrenamiento entrenamiento : entrenamientos) {
+            String descripcion = entrenamiento.getDescripcion();
+            if (descripcion != null && !indices.containsKey(descripcion)) {
+                indices.put(descripcion, tabla.size());
+                tabla.add(descripcion);
+            }
+        }
+
+        OutputStream salida = new BufferedOutputStream(destino);
+
+        // PASO 2: Cabecera
+        escribirCabecera(salida, entrenamientos.size());
+
+        // PASO 3: Tabla de cadenas
+        escribirVarLong(salida, tabla.size());
+        for (String cadena : tabla) {
+            escribirCadena(salida, cadena);
+        }
+
+        // PASO 4: Registros
+        for (Entrenamiento entrenamiento : entrenamientos) {
+            String descripcion = entrenamiento.getDescripcion();
+            escribirVarLong(salida, entrenamiento.getId());
+            escribirCadena(salida, entrenamiento.getNombre());
+            escribirVarLong(salida, descripcion == null ? 0 : indices.get(descripcion) + 1);
+            salida.write(entrenamiento.getTipoIcono().getCodigo());
+        }
+
+        salida.flush();
+    }
+
+    /**
+     * escribirCabecera - Bytes mágicos, versión y número de registros
+     *
+     * También la usa ExportadorCatalogo, que escribe el formato en streaming.
+     */
+    static void escribirCabecera(OutputStream salida, int registros) throws IOException {
+        salida.write(MAGICO);
+        salida.write(VERSION);
+        escribirVarLong(salida, registros);
+    }
+
+    // ============= DECODIFICACIÓN =============
+
+    /**
+     * decodificar - Reconstruye la lista a partir de bytes
+     * @param datos Bytes en formato ENTB
+     * @return Lista de entrenamientos
+     * @throws IOException Si los datos no son ENTB o están truncados
+     */
+    public static List<Entrenamiento> decodificar(byte[] datos) throws IOException {
+        return leer(new ByteArrayInputStream(datos));
+    }
+
+    /**
+     * leer - Lee una lista de entrenamientos desde un flujo
+     *
+     * @param origen Flujo de entrada (no se cierra)
+     * @return Lista de entrenamientos
+     * @throws IOException Si el formato o la versión no son válidos
+     */
+    public static List<Entrenamiento> leer(InputStream origen) throws IOException {
+        return leer(origen, new MigracionIconos());
+    }
+
+    /**
+     * leer - Lee una lista de entrenamientos desde un flujo
+     *
+     * @param origen Flujo de entrada (no se cierra)
+     * @param migracion Traducción de los iconos de la versión 1
+     * @return Lista de entrenamientos
+     * @throws IOException Si el formato o la versión no son válidos
+     */
+    public static List<Entrenamiento> leer(InputStream origen, MigracionIconos migracion) throws IOException {
+        InputStream entrada = origen instanceof BufferedInputStream || origen instanceof ByteArrayInputStream
+                ? origen
+                : new BufferedInputStream(origen);
+
+        // PASO 1: Cabecera
+        for (byte esperado : MAGICO) {
+            if (leerByte(entrada) != esperado) {
+                throw new IOException("No es un archivo de entrenamientos (ENTB)");
+            }
+        }
+        int version = leerByte(entrada);
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Versión de formato no soportada: " + version);
+        }
+        int total = (int) leerVarLong(entrada);
+
+        // PASO 2: Tabla de cadenas
+        int numeroCadenas = (int) leerVarLong(entrada);
+        String[] tabla = new String[numeroCadenas];
+        for (int i = 0; i < numeroCadenas; i++) {
+            tabla[i] = leerCadena(entrada);
+        }
+
+        // PASO 3: Registros (en la versión 1 se guarda el icono antiguo para el PASO 4)
+        List<Entrenamiento> entrenamientos = new ArrayList<>(total);
+        long[] iconosAntiguos = version == 1 ? new long[total] : null;
+        for (int i = 0; i < total; i++) {
+            long id = leerVarLong(entrada);
+            String nombre = leerCadena(entrada);
+            int indiceDescripcion = (int) leerVarLong(entrada);
+            TipoIcono icono;
+            if (iconosAntiguos != null) {
+                iconosAntiguos[i] = leerVarLong(entrada);
+                migracion.aprender(nombre, iconosAntiguos[i]);
+                icono = null;
+            } else {
+                icono = TipoIcono.desdeCodigo(leerByte(entrada));
+            }
+
+            if (indiceDescripcion > numeroCadenas) {
+                throw new IOException("Índice de descripción fuera de rango: " + indiceDescripcion);
+            }
+            Entrenamiento entrenamiento = new Entrenamiento(
+                    nombre,
+                    indiceDescripcion == 0 ? null : tabla[indiceDescripcion - 1],
+                    icono);
+            entrenamiento.setId(id);
+            entrenamientos.add(entrenamiento);
+        }
+
+        // PASO 4: Versión 1 → traducir los ids de recurso ya con todo lo aprendido
+        if (iconosAntiguos != null) {
+            for (int i = 0; i < total; i++) {
+                entrenamientos.get(i).setTipoIcono(migracion.convertir(iconosAntiguos[i]));
+            }
+        }
+        return entrenamientos;
+    }
+
+    // ============= PRIMITIVAS (varint y cadenas) =============
+
+    /**
+     * escribirVarLong - Escribe un entero no negativo en formato varint
+     */
+    public static void escribirVarLong(OutputStream salida, long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            salida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.write((int) valor);
+    }
+
+    /**
+     * leerVarLong - Lee un entero escrito con escribirVarLong
+     */
+    public static long leerVarLong(InputStream entrada) throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int b = leerByte(entrada);
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+
+    /**
+     * escribirCadena - Escribe una cadena como longitud (varint) + UTF-8
+     * (null se escribe como cadena vacía)
+     */
+    public static void escribirCadena(OutputStream salida, String cadena) throws IOException {
+        byte[] bytes = cadena == null ? new byte[0] : cadena.getBytes(StandardCharsets.UTF_8);
+        escribirVarLong(salida, bytes.length);
+        salida.write(bytes);
+    }
+
+    /**
+     * leerCadena - Lee una cadena escrita con escribirCadena
+     */
+    public static String leerCadena(InputStream entrada) throws IOException {
+        int longitud = (int) leerVarLong(entrada);
+        byte[] bytes = new byte[longitud];
+        int leidos = 0;
+        while (leidos < longitud) {
+            int n = entrada.read(bytes, leidos, longitud - leidos);
+            if (n < 0) {
+                throw new EOFException("Cadena truncada");
+            }
+            leidos += n;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Lee un byte o lanza EOFException si no hay más datos */
+    private static int leerByte(InputStream entrada) throws IOException {
+        int b = entrada.read();
+        if (b < 0) {
+            throw new EOFException("Datos truncados");
+        }
+        return b;
+    }
+}
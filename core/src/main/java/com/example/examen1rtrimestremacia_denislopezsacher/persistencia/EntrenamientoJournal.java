@@ -0,0 +1,576 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+
+import com.google.gson.Gson;                  // Serialización de cada registro a JSON
+import com.google.gson.JsonParseException;    // Línea corrupta (escritura cortada)
+
+import java.io.BufferedReader;                // Lectura línea a línea del diario
+import java.io.BufferedWriter;                // Escritura con buffer
+import java.io.File;                          // Archivo del diario
+import java.io.FileInputStream;               // Lectura del archivo
+import java.io.FileOutputStream;              // Escritura (append) del archivo
+import java.io.FilterInputStream;             // Base de EntradaLimitada
+import java.io.IOException;                   // Errores de E/S
+import java.io.InputStream;                   // Flujo de bytes
+import java.io.InputStreamReader;             // Bytes → caracteres
+import java.io.OutputStreamWriter;            // Caracteres → bytes
+import java.io.RandomAccessFile;              // Recortar una última línea cortada
+import java.io.Writer;                        // Escritor abierto en modo append
+import java.nio.charset.StandardCharsets;     // UTF-8
+import java.util.ArrayList;                   // Estado reconstruido
+import java.util.HashMap;                     // Posición de cada nombre en el estado
+import java.util.List;                        // Interfaz de lista
+import java.util.Locale;                      // Normalización de la clave
+import java.util.Map;                         // Interfaz de mapa
+import java.util.concurrent.Executor;         // Hilo de compactación
+
+/**
+ * EntrenamientoJournal - Diario de solo-añadir (append-only) para entrenamientos
+ *
+ * En lugar de reescribir la lista completa en cada cambio, cada alta, edición
+ * o baja se añade como UNA línea JSON al final de un archivo dedicado.
+ * El coste de escritura depende del tamaño del cambio, no del catálogo.
+ *
+ * Formato (JSON Lines, un registro por línea):
+ *   {"op":"A","e":{...}}                  → alta de un entrenamiento
+ *   {"op":"E","clave":"Viejo","e":{...}}  → edición (puede renombrar)
+ *   {"op":"B","clave":"Nombre"}           → baja
+ *
+ * Carga:
+ * - reproducir() lee el diario de principio a fin y aplica cada registro
+ * - La identidad de un entrenamiento es su nombre (sin distinguir mayúsculas),
+ *   igual que la validación de duplicados del diálogo
+ *
+ * Cierre inesperado: la última línea puede quedar a medias. Al abrir el
+ * diario para escribir se recorta hasta el último '\n'; si no, el siguiente
+ * registro se pegaría a ella y se perdería con ella.
+ *
+ * Compactación:
+ * - Cuando el archivo supera el umbral (y el doble de su tamaño tras la última
+ *   compactación) se programa una compactación en el ejecutor de fondo
+ * - Se reconstruye el estado hasta un punto de corte SIN bloquear las escrituras,
+ *   se escribe una instantánea en un archivo temporal propio (.compact), se
+ *   copian los registros llegados mientras tanto y se renombra de forma atómica
+ * - Si mientras tanto el diario se reescribió o se borró (otra generación), la
+ *   compactación se descarta: su instantánea es de un archivo que ya no existe
+ *
+ * Esta clase no depende de Android: solo usa java.io y Gson.
+ */
+public class EntrenamientoJournal {
+
+    // ============= CONSTANTES =============
+
+    /** Umbral por defecto a partir del cual se compacta el diario (256 KB) */
+    public static final long UMBRAL_COMPACTACION_POR_DEFECTO = 256 * 1024;
+
+    /** Operación de alta */
+    private static final String OP_ALTA = "A";
+
+    /** Operación de edición */
+    private static final String OP_EDICION = "E";
+
+    /** Operación de baja */
+    private static final String OP_BAJA = "B";
+
+    // ============= ATRIBUTOS =============
+
+    /** Archivo del diario */
+    private final File archivo;
+
+    /** Gson para serializar cada registro */
+    private final Gson gson;
+
+    /** Ejecutor en el que se realizan las compactaciones */
+    private final Executor ejecutor;
+
+    /** Tamaño mínimo (bytes) para que el diario se compacte */
+    private final long umbralBytes;
+
+    /** Protege el escritor y el renombrado del archivo */
+    private final Object lock = new Object();
+
+    /** Escritor abierto en modo append (null hasta la primera escritura) */
+    private Writer escritor;
+
+    /** Tamaño del archivo justo después de la última compactación */
+    private long tamanoTrasCompactar;
+
+    /** true mientras hay una compactación programada o en curso */
+    private boolean compactacionPendiente;
+
+    /** Sube en cada reescribir() y borrar(): el archivo pasa a ser otro */
+    private long generacion;
+
+    // ============= CONSTRUCTOR =============
+
+    /**
+     * Constructor - Crea un diario sobre el archivo indicado
+     *
+     * @param archivo Archivo del diario (se crea en la primera escritura)
+     * @param gson Instancia de Gson para los registros
+     * @param ejecutor Ejecutor de fondo para las compactaciones
+     * @param umbralBytes Tamaño a partir del cual se compacta
+     */
+    public EntrenamientoJournal(File archivo, Gson gson, Executor ejecutor, long umbralBytes) {
+        this.archivo = archivo;
+        this.gson = gson;
+        this.ejecutor = ejecutor;
+        this.umbralBytes = umbralBytes;
+        this.tamanoTrasCompactar = archivo.length();
+    }
+
+    // ============= ESCRITURA =============
+
+    /**
+     * registrarAlta - Añade un registro de alta al final del diario
+     * @param entrenamiento Entrenamiento añadido
+     */
+    public void registrarAlta(Entrenamiento entrenamiento) throws IOException {
+        anadirRegistro(new Registro(OP_ALTA, null, entrenamiento));
+    }
+
+    /**
+     * registrarAltas - Añade un registro de alta por entrenamiento con un solo flush
+     *
+     * Para importaciones por lotes: el lote llega al disco de una vez.
+     * @param entrenamientos Entrenamientos añadidos, en orden
+     */
+    public void registrarAltas(List<Entrenamiento> entrenamientos) throws IOException {
+        synchronized (lock) {
+            abrirEscritor();
+            for (Entrenamiento entrenamiento : entrenamientos) {
+                escritor.write(gson.toJson(new Registro(OP_ALTA, null, entrenamiento)));
+                escritor.write('\n');
+            }
+            escritor.flush();
+            programarCompactacionSiHaceFalta();
+        }
+    }
+
+    /**
+     * registrarEdicion - Añade un registro de edición al final del diario
+     * @param nombreAnterior Nombre con el que estaba guardado
+     * @param entrenamiento Nuevos datos (el nombre puede haber cambiado)
+     */
+    public void registrarEdicion(String nombreAnterior, Entrenamiento entrenamiento) throws IOException {
+        anadirRegistro(new Registro(OP_EDICION, nombreAnterior, entrenamiento));
+    }
+
+    /**
+     * registrarBaja - Añade un registro de baja al final del diario
+     * @param nombre Nombre del entrenamiento eliminado
+     */
+    public void registrarBaja(String nombre) throws IOException {
+        anadirRegistro(new Registro(OP_BAJA, nombre, null));
+    }
+
+    /**
+     * reescribir - Sustituye el diario por una instantánea de la lista dada
+     *
+     * Es una escritura completa (como el guardado clásico). Se usa para la
+     * carga inicial y para migrar datos desde otros formatos.
+     *
+     * @param entrenamientos Estado completo a guardar
+     */
+    public void reescribir(List<Entrenamiento> entrenamientos) throws IOException {
+        synchronized (lock) {
+            cerrarEscritor();
+            File temporal = archivoTemporal();
+            escribirInstantanea(temporal, entrenamientos);
+            renombrar(temporal);
+            tamanoTrasCompactar = archivo.length();
+            generacion++;
+        }
+    }
+
+    // ============= LECTURA =============
+
+    /**
+     * existe - Indica si el diario existe en disco
+     * @return true si hay archivo de diario
+     */
+    public boolean existe() {
+        return archivo.exists();
+    }
+
+    /**
+     * reproducir - Reconstruye la lista de entrenamientos aplicando el diario
+     * @return Estado actual, en orden de alta
+     */
+    public List<Entrenamiento> reproducir() throws IOException {
+        synchronized (lock) {
+            if (escritor != null) {
+                escritor.flush();
+            }
+            return leerEstado(Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * borrar - Cierra y elimina el diario
+     */
+    public void borrar() throws IOException {
+        synchronized (lock) {
+            cerrarEscritor();
+            if (archivo.exists() && !archivo.delete()) {
+                throw new IOException("No se pudo borrar " + archivo);
+            }
+            tamanoTrasCompactar = 0;
+            generacion++;
+        }
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * anadirRegistro - Escribe una línea al final del diario
+     *
+     * flush() tras cada registro: el cambio llega al sistema operativo
+     * inmediatamente, así que un cierre inesperado de la app no lo pierde.
+     */
+    private void anadirRegistro(Registro registro) throws IOException {
+        synchronized (lock) {
+            abrirEscritor();
+            escritor.write(gson.toJson(registro));
+            escritor.write('\n');
+            escritor.flush();
+            programarCompactacionSiHaceFalta();
+        }
+    }
+
+    /**
+     * abrirEscritor - Abre el diario para añadir al final (si no está abierto)
+     * Se llama con el lock tomado.
+     */
+    private void abrirEscritor() throws IOException {
+        if (escritor == null) {
+            recortarLineaCortada();
+            escritor = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(archivo, true), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * recortarLineaCortada - Quita una última línea sin '\n' (escritura cortada)
+     *
+     * Esa línea no se puede leer (se ignora al reproducir); recortarla evita
+     * que el siguiente registro se pegue a ella y se pierda también.
+     * Se llama con el lock tomado, antes de abrir el escritor.
+     */
+    private void recortarLineaCortada() throws IOException {
+        if (!archivo.exists() || archivo.length() == 0) {
+            return;
+        }
+        try (RandomAccessFile acceso = new RandomAccessFile(archivo, "rw")) {
+            long fin = acceso.length();
+            byte[] bloque = new byte[8192];
+            long desde = fin;
+            while (desde > 0) {
+                int cantidad = (int) Math.min(bloque.length, desde);
+                desde -= cantidad;
+                acceso.seek(desde);
+                acceso.readFully(bloque, 0, cantidad);
+                for (int i = cantidad - 1; i >= 0; i--) {
+                    if (bloque[i] == '\n') {
+                        long finLinea = desde + i + 1;
+                        if (finLinea < fin) {
+                            acceso.setLength(finLinea);
+                        }
+                        return;
+                    }
+                }
+            }
+            acceso.setLength(0);  // Ninguna línea completa
+        }
+    }
+
+    /**
+     * programarCompactacionSiHaceFalta - Lanza la compactación en segundo plano
+     *
+     * El límite crece con el tamaño tras la última compactación para que un
+     * catálogo grande no se compacte en cada alta.
+     * Se llama con el lock tomado.
+     */
+    private void programarCompactacionSiHaceFalta() {
+        long limite = Math.max(umbralBytes, tamanoTrasCompactar * 2);
+        if (!compactacionPendiente && archivo.length() > limite) {
+            compactacionPendiente = true;
+            ejecutor.execute(this::compactar);
+        }
+    }
+
+    /**
+     * compactar - Reescribe el diario con solo el estado actual
+     *
+     * 1. Con el lock: fijar el punto de corte (tamaño actual) y la generación
+     * 2. Sin lock: reconstruir el estado hasta el corte y escribir la instantánea
+     * 3. Con el lock: si el archivo sigue siendo el mismo, copiar los registros
+     *    llegados tras el corte y renombrar
+     *
+     * Si algo falla se conserva el diario original y se reintenta en el
+     * siguiente registro que supere el umbral. Si el diario se reescribió o
+     * se borró durante el PASO 2, la instantánea no vale y se descarta.
+     */
+    private void compactar() {
+        File temporal = archivoCompactacion();
+        try {
+            long corte;
+            long generacionInicial;
+            synchronized (lock) {
+                if (escritor != null) {
+                    escritor.flush();
+                }
+                corte = archivo.length();
+                generacionInicial = generacion;
+            }
+
+            escribirInstantanea(temporal, leerEstado(corte));
+
+            synchronized (lock) {
+                if (generacion != generacionInicial || archivo.length() < corte) {
+                    // reescribir() o borrar(): el corte es de otro archivo
+                    //noinspection ResultOfMethodCallIgnored
+                    temporal.delete();
+                    return;
+                }
+                cerrarEscritor();
+                copiarCola(corte, temporal);
+                renombrar(temporal);
+                tamanoTrasCompactar = archivo.length();
+            }
+        } catch (IOException e) {
+            // El diario original sigue intacto; solo se descarta el temporal
+            //noinspection ResultOfMethodCallIgnored
+            temporal.delete();
+        } finally {
+            synchronized (lock) {
+                compactacionPendiente = false;
+            }
+        }
+    }
+
+    /**
+     * leerEstado - Aplica los registros de los primeros 'limite' bytes
+     *
+     * Las bajas dejan un hueco (null) para no desplazar posiciones;
+     * los huecos se eliminan al final.
+     */
+    private List<Entrenamiento> leerEstado(long limite) throws IOException {
+        List<Entrenamiento> estado = new ArrayList<>();
+        Map<String, Integer> posiciones = new HashMap<>();
+
+        if (!archivo.exists()) {
+            return estado;
+        }
+
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(
+                new EntradaLimitada(new FileInputStream(archivo), limite), StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.isEmpty()) {
+                    continue;
+                }
+                Registro registro;
+                try {
+                    registro = gson.fromJson(linea, Registro.class);
+                } catch (JsonParseException e) {
+                    // Última línea cortada por un cierre inesperado: se ignora
+                    continue;
+                }
+                if (registro != null && registro.op != null) {
+                    aplicar(registro, estado, posiciones);
+                }
+            }
+        }
+
+        List<Entrenamiento> resultado = new ArrayList<>(posiciones.size());
+        for (Entrenamiento entrenamiento : estado) {
+            if (entrenamiento != null) {
+                resultado.add(entrenamiento);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * aplicar - Aplica un registro sobre el estado en reconstrucción
+     */
+    private static void aplicar(Registro registro, List<Entrenamiento> estado, Map<String, Integer> posiciones) {
+        Integer posicion;
+        switch (registro.op) {
+            case OP_ALTA:
+                if (registro.e == null) {
+                    return;
+                }
+                posicion = posiciones.get(clave(registro.e.getNombre()));
+                if (posicion != null) {
+                    estado.set(posicion, registro.e);
+                } else {
+                    posiciones.put(clave(registro.e.getNombre()), estado.size());
+                    estado.add(registro.e);
+                }
+                break;
+
+            case OP_EDICION:
+                if (registro.e == null) {
+                    return;
+                }
+                posicion = posiciones.remove(clave(registro.clave));
+                if (posicion == null) {
+                    // Edición de algo desconocido: se trata como un alta
+                    posiciones.put(clave(registro.e.getNombre()), estado.size());
+                    estado.add(registro.e);
+                } else {
+                    estado.set(posicion, registro.e);
+                    posiciones.put(clave(registro.e.getNombre()), posicion);
+                }
+                break;
+
+            case OP_BAJA:
+                posicion = posiciones.remove(clave(registro.clave));
+                if (posicion != null) {
+                    estado.set(posicion, null);
+                }
+                break;
+
+            default:
+                // Operación desconocida (versión futura): se ignora
+                break;
+        }
+    }
+
+    /**
+     * escribirInstantanea - Escribe un alta por cada entrenamiento en 'destino'
+     */
+    private void escribirInstantanea(File destino, List<Entrenamiento> entrenamientos) throws IOException {
+        try (Writer salida = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(destino, false), StandardCharsets.UTF_8))) {
+            for (Entrenamiento entrenamiento : entrenamientos) {
+                salida.write(gson.toJson(new Registro(OP_ALTA, null, entrenamiento)));
+                salida.write('\n');
+            }
+        }
+    }
+
+    /**
+     * copiarCola - Copia al temporal los bytes del diario posteriores al corte
+     */
+    private void copiarCola(long corte, File temporal) throws IOException {
+        try (InputStream entrada = new FileInputStream(archivo);
+             FileOutputStream salida = new FileOutputStream(temporal, true)) {
+            long saltados = 0;
+            while (saltados < corte) {
+                long n = entrada.skip(corte - saltados);
+                if (n <= 0) {
+                    return;
+                }
+                saltados += n;
+            }
+            byte[] buffer = new byte[8192];
+            int leidos;
+            while ((leidos = entrada.read(buffer)) != -1) {
+                salida.write(buffer, 0, leidos);
+            }
+        }
+    }
+
+    /**
+     * renombrar - Sustituye el diario por el temporal de forma atómica
+     */
+    private void renombrar(File temporal) throws IOException {
+        if (!temporal.renameTo(archivo)) {
+            //noinspection ResultOfMethodCallIgnored
+            temporal.delete();
+            throw new IOException("No se pudo renombrar " + temporal + " a " + archivo);
+        }
+    }
+
+    /** Cierra el escritor (la siguiente escritura lo reabre) */
+    private void cerrarEscritor() throws IOException {
+        if (escritor != null) {
+            escritor.close();
+            escritor = null;
+        }
+    }
+
+    /** Archivo temporal de las reescrituras */
+    private File archivoTemporal() {
+        return new File(archivo.getPath() + ".tmp");
+    }
+
+    /** Archivo temporal de las compactaciones (no se cruza con el de reescribir()) */
+    private File archivoCompactacion() {
+        return new File(archivo.getPath() + ".compact");
+    }
+
+    /**
+     * clave - Clave de identidad de un entrenamiento (nombre sin mayúsculas)
+     */
+    private static String clave(String nombre) {
+        return nombre == null ? "" : nombre.toLowerCase(Locale.ROOT);
+    }
+
+    // ============= CLASES INTERNAS =============
+
+    /**
+     * Registro - Una línea del diario (Gson la serializa por reflexión)
+     */
+    private static class Registro {
+        /** Operación: A (alta), E (edición), B (baja) */
+        String op;
+
+        /** Nombre anterior (edición) o nombre eliminado (baja) */
+        String clave;
+
+        /** Datos del entrenamiento (alta y edición) */
+        Entrenamiento e;
+
+        Registro(String op, String clave, Entrenamiento e) {
+            this.op = op;
+            this.clave = clave;
+            this.e = e;
+        }
+    }
+
+    /**
+     * EntradaLimitada - InputStream que no lee más allá de un número de bytes
+     *
+     * Permite reconstruir el estado hasta el punto de corte mientras
+     * siguen llegando registros al final del archivo.
+     */
+    private static class EntradaLimitada extends FilterInputStream {
+
+        /** Bytes que aún se pueden leer */
+        private long restantes;
+
+        EntradaLimitada(InputStream entrada, long limite) {
+            super(entrada);
+            this.restantes = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (restantes <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                restantes--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (restantes <= 0) {
+                return -1;
+            }
+            int leidos = super.read(b, off, (int) Math.min(len, restantes));
+            if (leidos > 0) {
+                restantes -= leidos;
+            }
+            return leidos;
+        }
+    }
+}
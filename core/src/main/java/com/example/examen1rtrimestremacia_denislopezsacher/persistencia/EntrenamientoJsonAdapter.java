@@ -0,0 +1,263 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Fuerza;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Pilates;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Running;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Voleibol;
+
+import com.google.gson.Gson;                   // Instancia configurada
+import com.google.gson.GsonBuilder;            // Registro de los adaptadores
+import com.google.gson.TypeAdapter;            // Conversión a medida de un tipo
+import com.google.gson.stream.JsonReader;      // Lectura en streaming
+import com.google.gson.stream.JsonToken;       // Tipo del siguiente valor
+import com.google.gson.stream.JsonWriter;      // Escritura en streaming
+
+import java.io.IOException;                    // Errores de E/S
+import java.util.function.Supplier;            // Fábrica de cada predefinido
+
+/**
+ * EntrenamientoJsonAdapter - Entrenamiento ↔ JSON sin reflexión y conservando el subtipo
+ *
+ * Con el Gson por defecto cada carga inspecciona los campos por reflexión
+ * y todo vuelve como Entrenamiento: un Pilates guardado deja de ser Pilates.
+ * Este adaptador escribe y lee los campos a mano con JsonWriter/JsonReader
+ * y añade un discriminador de una letra solo a los predefinidos:
+ *
+ *   new Pilates()                → {"t":"P"}
+ *   new Pilates() con id 7       → {"t":"P","id":7}
+ *   Pilates renombrado           → {"t":"P","nombre":"Pilates suave","descripcion":"...","icono":"PILATES"}
+ *   Entrenamiento del usuario    → {"nombre":"Yoga","descripcion":"...","icono":"PILATES"}
+ *
+ * - Un predefinido sin cambios no repite nombre ni descripción: el texto
+ *   ya está en la clase
+ * - Al leer {"t":"P"} se devuelve un new Pilates(): un objeto pequeño que
+ *   apunta a las cadenas constantes de la clase (no se leen ni se copian)
+ *   y que se puede modificar como cualquier otro
+ * - Los JSON antiguos (escritos por reflexión, sin "t") también se leen:
+ *   si nombre, descripción e icono coinciden con un predefinido se devuelve
+ *   una instancia de su clase; los "iconoResId" numéricos pasan por
+ *   MigracionIconos, que aprende de los predefinidos al vuelo (van primero)
+ *
+ * Se registra para toda la jerarquía (crearGson): Pilates, Fuerza... usan
+ * también este adaptador al escribir listas de Entrenamiento.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class EntrenamientoJsonAdapter extends TypeAdapter<Entrenamiento> {
+
+    // ============= CONSTANTES =============
+
+    /** Nombres de campo (los mismos que escribía Gson por reflexión) */
+    private static final String CAMPO_TIPO = "t";
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_NOMBRE = "nombre";
+    private static final String CAMPO_DESCRIPCION = "descripcion";
+    private static final String CAMPO_ICONO = "icono";
+    private static final String CAMPO_ICONO_ANTIGUO = "iconoResId";
+
+    /** Predefinidos: discriminador, clase, fábrica y modelo sin cambios (mismo índice) */
+    private static final String[] DISCRIMINADORES = {"P", "F", "R", "V"};
+    private static final Class<?>[] CLASES = {Pilates.class, Fuerza.class, Running.class, Voleibol.class};
+    /**
+     * Fábricas de los predefinidos: cada lectura crea un objeto NUEVO
+     * No son instancias compartidas (flyweights): Entrenamiento es
+     * modificable (setNombre, setId...) y el catálogo edita los objetos que
+     * carga. Lo que se ahorra es leer y copiar el texto, no el objeto: cada
+     * copia apunta a las cadenas constantes de su clase (unos pocos bytes
+     * por predefinido cargado).
+     */
+    private static final Supplier<?>[] FABRICAS = {Pilates::new, Fuerza::new, Running::new, Voleibol::new};
+
+    /** Solo para comparar contenidos: nunca se entregan (son modificables) */
+    private static final Entrenamiento[] MODELOS = {new Pilates(), new Fuerza(), new Running(), new Voleibol()};
+
+    // ============= ATRIBUTOS =============
+
+    /** Traducción de los "iconoResId" de los JSON antiguos */
+    private final MigracionIconos migracion;
+
+    /** Lectura/escritura del icono ("PILATES") */
+    private final TipoIconoJsonAdapter iconos;
+
+    /**
+     * Constructor
+     * @param migracion Traducción de los ids de recurso antiguos
+     */
+    public EntrenamientoJsonAdapter(MigracionIconos migracion) {
+        this.migracion = migracion;
+        this.iconos = new TipoIconoJsonAdapter(migracion);
+    }
+
+    /**
+     * crearGson - Gson con este adaptador para Entrenamiento y sus subclases
+     * @param migracion Traducción de los ids de recurso antiguos
+     */
+    public static Gson crearGson(MigracionIconos migracion) {
+        return new GsonBuilder()
+                .registerTypeHierarchyAdapter(Entrenamiento.class, new EntrenamientoJsonAdapter(migracion))
+                .registerTypeAdapter(TipoIcono.class, new TipoIconoJsonAdapter(migracion))
+                .create();
+    }
+
+    // ============= ESCRITURA =============
+
+    @Override
+    public void write(JsonWriter salida, Entrenamiento entrenamiento) throws IOException {
+        if (entrenamiento == null) {
+            salida.nullValue();
+            return;
+        }
+
+        int predefinido = indicePorClase(entrenamiento.getClass());
+        salida.beginObject();
+        if (predefinido >= 0) {
+            salida.name(CAMPO_TIPO).value(DISCRIMINADORES[predefinido]);
+        }
+        if (entrenamiento.getId() != 0) {
+            salida.name(CAMPO_ID).value(entrenamiento.getId());
+        }
+        // Un predefinido sin cambios no necesita más: el texto está en su clase
+        if (predefinido < 0 || !mismoContenido(entrenamiento, MODELOS[predefinido])) {
+            salida.name(CAMPO_NOMBRE).value(entrenamiento.getNombre());
+            if (entrenamiento.getDescripcion() != null) {
+                salida.name(CAMPO_DESCRIPCION).value(entrenamiento.getDescripcion());
+            }
+            salida.name(CAMPO_ICONO);
+            iconos.write(salida, entrenamiento.getTipoIcono());
+        }
+        salida.endObject();
+    }
+
+    // ============= LECTURA =============
+
+    @Override
+    public Entrenamiento read(JsonReader entrada) throws IOException {
+        if (entrada.peek() == JsonToken.NULL) {
+            entrada.nextNull();
+            return null;
+        }
+
+        // PASO 1: Leer los campos (en cualquier orden; los desconocidos se saltan)
+        String tipo = null;
+        long id = 0;
+        String nombre = null;
+        String descripcion = null;
+        TipoIcono icono = null;
+        entrada.beginObject();
+        while (entrada.hasNext()) {
+            switch (entrada.nextName()) {
+                case CAMPO_TIPO:
+                    tipo = cadena(entrada);
+                    break;
+                case CAMPO_ID:
+                    id = entrada.nextLong();
+                    break;
+                case CAMPO_NOMBRE:
+                    nombre = cadena(entrada);
+                    break;
+                case CAMPO_DESCRIPCION:
+                    descripcion = cadena(entrada);
+                    break;
+                case CAMPO_ICONO:
+                case CAMPO_ICONO_ANTIGUO:
+                    icono = leerIcono(entrada, nombre);
+                    break;
+                default:
+                    entrada.skipValue();
+                    break;
+            }
+        }
+        entrada.endObject();
+
+        // PASO 2: Predefinido con discriminador
+        int predefinido = indicePorDiscriminador(tipo);
+        if (predefinido >= 0) {
+            Entrenamiento nuevo = (Entrenamiento) FABRICAS[predefinido].get();
+            if (nombre != null) {
+                nuevo.setNombre(nombre);
+                nuevo.setDescripcion(descripcion);
+                nuevo.setTipoIcono(icono);
+            }
+            if (id != 0) {
+                nuevo.setId(id);
+            }
+            return nuevo;
+        }
+
+        // PASO 3: Sin discriminador (usuario o JSON antiguo de un predefinido)
+        Entrenamiento entrenamiento = null;
+        for (int i = 0; i < MODELOS.length && entrenamiento == null; i++) {
+            if (MODELOS[i].getNombre().equals(nombre)
+                    && MODELOS[i].getTipoIcono() == icono
+                    && MODELOS[i].getDescripcion().equals(descripcion)) {
+                entrenamiento = (Entrenamiento) FABRICAS[i].get();
+            }
+        }
+        if (entrenamiento == null) {
+            entrenamiento = new Entrenamiento(nombre, descripcion, icono);
+        }
+        if (id != 0) {
+            entrenamiento.setId(id);
+        }
+        return entrenamiento;
+    }
+
+    // ============= AUXILIARES =============
+
+    /**
+     * leerIcono - Icono nuevo ("PILATES") o id de recurso antiguo
+     *
+     * Con un id antiguo, el nombre ya leído (Gson escribía nombre antes que
+     * el icono) enseña a la migración el id de los predefinidos.
+     */
+    private TipoIcono leerIcono(JsonReader entrada, String nombre) throws IOException {
+        if (entrada.peek() != JsonToken.NUMBER) {
+            return iconos.read(entrada);
+        }
+        long valor = entrada.nextLong();
+        if (nombre != null) {
+            migracion.aprender(nombre, valor);
+        }
+        return migracion.convertir(valor);
+    }
+
+    /** Cadena o null */
+    private static String cadena(JsonReader entrada) throws IOException {
+        if (entrada.peek() == JsonToken.NULL) {
+            entrada.nextNull();
+            return null;
+        }
+        return entrada.nextString();
+    }
+
+    /** true si nombre, descripción e icono son los del predefinido */
+    private static boolean mismoContenido(Entrenamiento entrenamiento, Entrenamiento modelo) {
+        return modelo.getNombre().equals(entrenamiento.getNombre())
+                && modelo.getDescripcion().equals(entrenamiento.getDescripcion())
+                && modelo.getTipoIcono() == entrenamiento.getTipoIcono();
+    }
+
+    /** Posición del predefinido con esa clase exacta, -1 si no es predefinido */
+    private static int indicePorClase(Class<?> clase) {
+        for (int i = 0; i < CLASES.length; i++) {
+            if (CLASES[i] == clase) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Posición del predefinido con ese discriminador, -1 si no hay o no se conoce */
+    private static int indicePorDiscriminador(String discriminador) {
+        if (discriminador != null) {
+            for (int i = 0; i < DISCRIMINADORES.length; i++) {
+                if (DISCRIMINADORES[i].equals(discriminador)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
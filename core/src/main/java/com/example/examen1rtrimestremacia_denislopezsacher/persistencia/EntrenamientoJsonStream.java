@@ -0,0 +1,115 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+
+import com.google.gson.Gson;                  // Conversión de cada elemento
+import com.google.gson.JsonParseException;    // Elemento mal formado
+import com.google.gson.stream.JsonReader;     // Lector JSON en streaming
+import com.google.gson.stream.JsonToken;      // Tipo del siguiente token
+
+import java.io.IOException;                   // Errores de lectura
+import java.io.Reader;                        // Origen de los caracteres
+import java.util.ArrayList;                   // Lote en construcción
+import java.util.List;                        // Interfaz de lista
+import java.util.function.Consumer;           // Receptor de cada lote
+
+/**
+ * EntrenamientoJsonStream - Lectura incremental de una lista JSON de entrenamientos
+ *
+ * gson.fromJson(json, TypeToken<ArrayList<Entrenamiento>>) construye la
+ * lista completa y solo devuelve el control al terminar. Aquí se recorre el
+ * array con un JsonReader y se entregan los entrenamientos en lotes:
+ *
+ *   [ {...}, {...}, {...}, ... ]
+ *     └─ lote 1 ─┘  └─ lote 2 ─┘ ...
+ *
+ * - El consumidor recibe cada lote en cuanto está completo
+ * - De entrenamientos solo hay un lote a la vez (más lo que guarde el
+ *   consumidor). El texto es otra cosa: depende del Reader. Con un
+ *   StringReader (las preferencias) el JSON entero ya está en memoria.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class EntrenamientoJsonStream {
+
+    /** Clase de utilidades: no se instancia */
+    private EntrenamientoJsonStream() {
+    }
+
+    /**
+     * leer - Lee un array JSON de entrenamientos entregándolo por lotes
+     *
+     * @param origen Caracteres del JSON (se lee de forma secuencial)
+     * @param gson Gson usado para convertir cada elemento
+     * @param tamanoLote Número de entrenamientos por lote (mínimo 1)
+     * @param consumidor Recibe cada lote (nunca vacío)
+     * @return Número total de entrenamientos leídos
+     * @throws IOException Si el JSON está mal formado o falla la lectura
+     *         (los lotes ya entregados se quedan entregados)
+     */
+    public static int leer(Reader origen, Gson gson, int tamanoLote,
+                           Consumer<List<Entrenamiento>> consumidor) throws IOException {
+        try {
+            return leerLotes(origen, gson, tamanoLote, consumidor);
+        } catch (JsonParseException | IllegalStateException e) {
+            // Gson avisa con excepciones no comprobadas (un elemento mal formado,
+            // un objeto donde iba el array): se convierten para que quien llama
+            // las trate como cualquier otro error de lectura
+            throw new IOException("JSON de entrenamientos no válido", e);
+        }
+    }
+
+    /**
+     * leerLotes - Recorrido del array (leer() traduce los errores de Gson)
+     */
+    private static int leerLotes(Reader origen, Gson gson, int tamanoLote,
+                                 Consumer<List<Entrenamiento>> consumidor) throws IOException {
+        int total = 0;
+        int capacidad = Math.max(1, tamanoLote);
+        List<Entrenamiento> lote = new ArrayList<>(capacidad);
+
+        JsonReader lector = new JsonReader(origen);
+        if (lector.peek() == JsonToken.NULL) {
+            return 0;
+        }
+
+        lector.beginArray();
+        while (lector.hasNext()) {
+            Entrenamiento entrenamiento = gson.fromJson(lector, Entrenamiento.class);
+            if (entrenamiento == null) {
+                continue;
+            }
+            lote.add(entrenamiento);
+            total++;
+
+            if (lote.size() == capacidad) {
+                consumidor.accept(lote);
+                lote = new ArrayList<>(capacidad);
+            }
+        }
+        lector.endArray();
+
+        if (!lote.isEmpty()) {
+            consumidor.accept(lote);
+        }
+        return total;
+    }
+
+    /**
+     * entregarPorLotes - Entrega una lista ya cargada en lotes del tamaño dado
+     *
+     * Para los orígenes que no se pueden leer de forma incremental
+     * (por ejemplo el diario, que debe reproducirse entero).
+     *
+     * @return Número total de entrenamientos entregados
+     */
+    public static int entregarPorLotes(List<Entrenamiento> entrenamientos, int tamanoLote,
+                                       Consumer<List<Entrenamiento>> consumidor) {
+        int capacidad = Math.max(1, tamanoLote);
+        for (int desde = 0; desde < entrenamientos.size(); desde += capacidad) {
+            int hasta = Math.min(entrenamientos.size(), desde + capacidad);
+            consumidor.accept(new ArrayList<>(entrenamientos.subList(desde, hasta)));
+        }
+        return entrenamientos.size();
+    }
+}
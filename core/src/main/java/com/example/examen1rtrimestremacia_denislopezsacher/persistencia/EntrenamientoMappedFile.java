@@ -0,0 +1,331 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import java.io.BufferedOutputStream;          // Escritura con buffer
+import java.io.Closeable;                     // Liberar el archivo
+import java.io.DataOutputStream;              // Enteros big-endian
+import java.io.File;                          // Archivo de registros
+import java.io.FileOutputStream;              // Escritura del temporal
+import java.io.IOException;                   // Errores de E/S
+import java.io.RandomAccessFile;              // Abrir el canal de lectura
+import java.nio.ByteBuffer;                   // Vista de los bytes mapeados
+import java.nio.channels.FileChannel;         // Mapeo en memoria
+import java.nio.charset.StandardCharsets;     // UTF-8
+import java.util.AbstractList;                // Lista de solo lectura bajo demanda
+import java.util.ArrayList;                   // Lista dinámica
+import java.util.List;                        // Interfaz de lista
+
+/**
+ * EntrenamientoMappedFile - Archivo de registros mapeado en memoria con índice de offsets
+ *
+ * Con JSON o con el formato binario hay que decodificar el catálogo entero
+ * antes de poder mostrar la primera fila. Aquí cada registro se puede leer
+ * por su posición sin tocar los demás:
+ *
+ *   CABECERA (16 bytes)
+ *     "ENTM"              4 bytes mágicos
+ *     versión             4 bytes
+ *     número registros    4 bytes
+ *     reservado           4 bytes
+ *   ÍNDICE (8 bytes por registro + 1)
+ *     offset[i]           long, posición absoluta del registro i
+ *     offset[n]           fin del último registro
+ *   REGISTROS
+ *     id                  long
+ *     icono               1 byte (código de TipoIcono)
+ *     nombre              int longitud + bytes UTF-8
+ *     descripción         int longitud (-1 = null) + bytes UTF-8
+ *
+ * obtener(i) = leer offset[i] del índice (ancho fijo → posición directa)
+ * y decodificar solo ese registro. El sistema carga las páginas del archivo
+ * cuando se tocan, así que la memoria ocupada es proporcional a las filas
+ * leídas y no al tamaño del catálogo.
+ *
+ * Versión 1 (aún legible): el icono era un int con el id de recurso. Se
+ * traduce registro a registro con MigracionIconos, que al abrir aprende
+ * los ids de los predefinidos en las primeras filas (los predefinidos son
+ * siempre las primeras altas del catálogo). El siguiente guardado ya
+ * escribe la versión 2.
+ *
+ * El archivo se escribe entero (temporal + renombrar); un archivo abierto
+ * sigue viendo los datos que tenía al abrirse.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class EntrenamientoMappedFile implements Closeable {
+
+    // ============= CONSTANTES =============
+
+    /** Bytes mágicos que identifican el formato */
+    private static final byte[] MAGICO = {'E', 'N', 'T', 'M'};
+
+    /** Versión actual del formato */
+    public static final int VERSION = 2;
+
+    /** Tamaño de la cabecera en bytes */
+    private static final int TAMANO_CABECERA = 16;
+
+    /** Ancho de cada entrada del índice en bytes */
+    private static final int ANCHO_INDICE = 8;
+
+    /** Filas de un archivo versión 1 en las que se buscan los predefinidos */
+    private static final int FILAS_APRENDIZAJE = 16;
+
+    // ============= ATRIBUTOS =============
+
+    /** Bytes del archivo mapeados en memoria (solo lectura) */
+    private final ByteBuffer datos;
+
+    /** Número de registros */
+    private final int total;
+
+    /** Versión del archivo abierto (cambia el ancho del icono) */
+    private final int version;
+
+    /** Traducción de los iconos de la versión 1 */
+    private final MigracionIconos migracion;
+
+    /** Constructor privado: usar abrir() */
+    private EntrenamientoMappedFile(ByteBuffer datos, int total, int version, MigracionIconos migracion) {
+        this.datos = datos;
+        this.total = total;
+        this.version = version;
+        this.migracion = migracion;
+    }
+
+    // ============= ESCRITURA =============
+
+    /**
+     * escribir - Escribe la lista completa en el archivo
+     *
+     * Primero se calcula la posición de cada registro (el índice va delante
+     * de los datos) y después se escribe todo en un temporal que se renombra.
+     *
+     * @param archivo Archivo destino
+     * @param entrenamientos Lista a guardar
+     */
+    public static void escribir(File archivo, List<Entrenamiento> entrenamientos) throws IOException {
+        int n = entrenamientos.size();
+
+        // PASO 1: Codificar las cadenas y calcular los offsets
+        byte[][] nombres = new byte[n][];
+        byte[][] descripciones = new byte[n][];
+        long[] offsets = new long[n + 1];
+        long posicion = TAMANO_CABECERA + (long) ANCHO_INDICE * (n + 1);
+        for (int i = 0; i < n; i++) {
+            Entrenamiento entrenamiento = entrenamientos.get(i);
+            nombres[i] = bytes(entrenamiento.getNombre());
+            descripciones[i] = entrenamiento.getDescripcion() == null
+                    ? null
+                    : bytes(entrenamiento.getDescripcion());
+
+            offsets[i] = posicion;
+            posicion += 8 + 1 + 4 + nombres[i].length + 4
+                    + (descripciones[i] == null ? 0 : descripciones[i].length);
+        }
+        offsets[n] = posicion;
+
+        if (posicion > Integer.MAX_VALUE) {
+            throw new IOException("Catálogo demasiado grande para un solo mapeo: " + posicion + " bytes");
+        }
+
+        // PASO 2: Cabecera + índice + registros en un temporal
+        File temporal = new File(archivo.getPath() + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporal)))) {
+            salida.write(MAGICO);
+            salida.writeInt(VERSION);
+            salida.writeInt(n);
+            salida.writeInt(0);
+
+            for (long offset : offsets) {
+                salida.writeLong(offset);
+            }
+
+            for (int i = 0; i < n; i++) {
+                Entrenamiento entrenamiento = entrenamientos.get(i);
+                salida.writeLong(entrenamiento.getId());
+                salida.writeByte(entrenamiento.getTipoIcono().getCodigo());
+                salida.writeInt(nombres[i].length);
+                salida.write(nombres[i]);
+                if (descripciones[i] == null) {
+                    salida.writeInt(-1);
+                } else {
+                    salida.writeInt(descripciones[i].length);
+                    salida.write(descripciones[i]);
+                }
+            }
+        }
+
+        // PASO 3: Sustituir el archivo anterior
+        if (!temporal.renameTo(archivo)) {
+            throw new IOException("No se pudo renombrar " + temporal + " a " + archivo);
+        }
+    }
+
+    // ============= LECTURA =============
+
+    /**
+     * abrir - Mapea un archivo escrito con escribir()
+     *
+     * Solo se lee la cabecera; los registros se decodifican al pedirlos.
+     *
+     * @param archivo Archivo a abrir
+     * @return Archivo abierto
+     * @throws IOException Si no es un archivo ENTM válido
+     */
+    public static EntrenamientoMappedFile abrir(File archivo) throws IOException {
+        return abrir(archivo, new MigracionIconos());
+    }
+
+    /**
+     * abrir - Mapea un archivo escrito con escribir()
+     *
+     * @param archivo Archivo a abrir
+     * @param migracion Traducción de los iconos si el archivo es de la versión 1
+     * @return Archivo abierto
+     * @throws IOException Si no es un archivo ENTM válido
+     */
+    public static EntrenamientoMappedFile abrir(File archivo, MigracionIconos migracion) throws IOException {
+        try (RandomAccessFile acceso = new RandomAccessFile(archivo, "r");
+             FileChannel canal = acceso.getChannel()) {
+            long tamano = canal.size();
+            if (tamano < TAMANO_CABECERA || tamano > Integer.MAX_VALUE) {
+                throw new IOException("Tamaño de archivo no válido: " + tamano);
+            }
+
+            // El mapeo sigue siendo válido después de cerrar el canal
+            ByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+
+            for (int i = 0; i < MAGICO.length; i++) {
+                if (datos.get(i) != MAGICO[i]) {
+                    throw new IOException("No es un archivo de entrenamientos (ENTM)");
+                }
+            }
+            int version = datos.getInt(4);
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Versión de formato no soportada: " + version);
+            }
+            int total = datos.getInt(8);
+            if (total < 0 || TAMANO_CABECERA + (long) ANCHO_INDICE * (total + 1) > tamano) {
+                throw new IOException("Índice truncado");
+            }
+            EntrenamientoMappedFile abierto = new EntrenamientoMappedFile(datos, total, version, migracion);
+            if (version == 1) {
+                for (int i = 0; i < Math.min(total, FILAS_APRENDIZAJE); i++) {
+                    abierto.aprenderIcono(i);
+                }
+            }
+            return abierto;
+        }
+    }
+
+    /**
+     * tamano - Número de registros del archivo
+     */
+    public int tamano() {
+        return total;
+    }
+
+    /**
+     * obtener - Decodifica solo el registro de la posición dada
+     *
+     * @param posicion Posición (0 .. tamano() - 1)
+     * @return Entrenamiento nuevo (cada llamada crea un objeto)
+     */
+    public Entrenamiento obtener(int posicion) {
+        if (posicion < 0 || posicion >= total) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + ", tamaño " + total);
+        }
+
+        int offset = (int) datos.getLong(TAMANO_CABECERA + ANCHO_INDICE * posicion);
+
+        long id = datos.getLong(offset);
+        TipoIcono icono;
+        int posicionNombre;
+        if (version == 1) {
+            icono = migracion.convertir(datos.getInt(offset + 8));
+            posicionNombre = offset + 12;
+        } else {
+            icono = TipoIcono.desdeCodigo(datos.get(offset + 8));
+            posicionNombre = offset + 9;
+        }
+        int longitudNombre = datos.getInt(posicionNombre);
+        String nombre = leerCadena(posicionNombre + 4, longitudNombre);
+        int posicionDescripcion = posicionNombre + 4 + longitudNombre;
+        int longitudDescripcion = datos.getInt(posicionDescripcion);
+        String descripcion = longitudDescripcion < 0
+                ? null
+                : leerCadena(posicionDescripcion + 4, longitudDescripcion);
+
+        Entrenamiento entrenamiento = new Entrenamiento(nombre, descripcion, icono);
+        entrenamiento.setId(id);
+        return entrenamiento;
+    }
+
+    /**
+     * comoLista - Vista de solo lectura que decodifica cada elemento al pedirlo
+     *
+     * get(i) llama a obtener(i): quien la recorra solo en parte (un rango de
+     * posiciones) no decodifica el resto. Copiarla entera sí los decodifica.
+     */
+    public List<Entrenamiento> comoLista() {
+        return new AbstractList<Entrenamiento>() {
+            @Override
+            public Entrenamiento get(int index) {
+                return obtener(index);
+            }
+
+            @Override
+            public int size() {
+                return total;
+            }
+        };
+    }
+
+    /**
+     * leerTodos - Decodifica todos los registros en una lista nueva
+     */
+    public List<Entrenamiento> leerTodos() {
+        List<Entrenamiento> entrenamientos = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            entrenamientos.add(obtener(i));
+        }
+        return entrenamientos;
+    }
+
+    /**
+     * close - No hay recursos que cerrar
+     *
+     * El canal ya se cerró en abrir(); Java no permite liberar un mapeo de
+     * forma explícita, se libera cuando el recolector descarta el buffer.
+     */
+    @Override
+    public void close() {
+    }
+
+    // ============= AUXILIARES =============
+
+    /** Versión 1: enseña a la migración el id de icono de la fila si es un predefinido */
+    private void aprenderIcono(int posicion) {
+        int offset = (int) datos.getLong(TAMANO_CABECERA + ANCHO_INDICE * posicion);
+        int longitudNombre = datos.getInt(offset + 12);
+        migracion.aprender(leerCadena(offset + 16, longitudNombre), datos.getInt(offset + 8));
+    }
+
+    /** Lee 'longitud' bytes UTF-8 desde 'posicion' sin mover el buffer compartido */
+    private String leerCadena(int posicion, int longitud) {
+        byte[] bytes = new byte[longitud];
+        ByteBuffer vista = datos.duplicate();
+        vista.position(posicion);
+        vista.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Cadena → bytes UTF-8 (null se guarda como cadena vacía) */
+    private static byte[] bytes(String cadena) {
+        return cadena == null ? new byte[0] : cadena.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+
+import java.util.ArrayList;                           // Copia de la lista a guardar
+import java.util.List;                                // Interfaz de lista
+import java.util.concurrent.ExecutionException;       // Fallo dentro de una tarea
+import java.util.concurrent.Executors;                // Fábrica de ejecutores
+import java.util.concurrent.ScheduledExecutorService; // Hilo de escritura con retardo
+import java.util.concurrent.TimeUnit;                 // Unidades de tiempo
+import java.util.concurrent.TimeoutException;         // Espera agotada
+import java.util.concurrent.atomic.AtomicLong;        // Contadores
+import java.util.function.Consumer;                   // Destino de las escrituras
+
+/**
+ * EscrituraDiferida - Guardado en segundo plano que agrupa escrituras seguidas
+ *
+ * guardarEntrenamientos() serializa la lista completa en el hilo que lo
+ * llama (normalmente el hilo principal). Esta capa se pone delante del
+ * almacenamiento y:
+ *
+ * 1. Ejecuta la serialización y la E/S en un hilo propio
+ * 2. Agrupa ráfagas: varias solicitudes seguidas producen UNA escritura
+ *    con la última lista (las intermedias se descartan)
+ * 3. No escribe si no ha cambiado nada desde la última versión guardada
+ *    (registrarCambio() marca una versión nueva)
+ * 4. vaciar() espera a que lo pendiente esté escrito (tests, onDestroy...)
+ *
+ * Flujo:
+ *
+ *   registrarCambio() ──→ versión 7
+ *   solicitarGuardado(lista) ──→ copia pendiente (v7) ──┐ retardo
+ *   solicitarGuardado(lista) ──→ copia pendiente (v7) ──┤ (agrupa)
+ *                                                       ↓
+ *                                     hilo de escritura: destino.accept(v7)
+ *                                     versión guardada = 7
+ *   solicitarGuardado(lista) ──→ versión 7 ya guardada → se omite
+ *
+ * Operaciones sueltas (añadir una fila en SQLite...) se encolan con
+ * encolar() y se ejecutan en el mismo hilo, en orden con los guardados.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class EscrituraDiferida {
+
+    // ============= CONSTANTES =============
+
+    /** Retardo por defecto para agrupar una ráfaga de cambios */
+    public static final long RETARDO_POR_DEFECTO_MS = 300;
+
+    // ============= ATRIBUTOS =============
+
+    /** Destino real de las escrituras (p. ej. storage::guardarEntrenamientos) */
+    private final Consumer<List<Entrenamiento>> destino;
+
+    /** Hilo único de escritura: las tareas se ejecutan en orden */
+    private final ScheduledExecutorService ejecutor;
+
+    /** Tiempo que se espera antes de escribir para agrupar solicitudes */
+    private final long retardoMs;
+
+    /** Versión de los datos en memoria (sube con registrarCambio) */
+    private long versionActual;
+
+    /** Última versión escrita con éxito (0 = los datos cargados, ya guardados) */
+    private long versionGuardada;
+
+    /** Última versión entregada al hilo de escritura (pendiente, en curso o escrita) */
+    private long versionProgramada;
+
+    /** Lista pendiente de escribir (null si no hay nada pendiente) */
+    private List<Entrenamiento> pendiente;
+
+    /** Versión de la lista pendiente */
+    private long versionPendiente;
+
+    /** true si ya hay una escritura programada en el ejecutor */
+    private boolean escrituraProgramada;
+
+    /** Contadores */
+    private final AtomicLong guardadosSolicitados = new AtomicLong();
+    private final AtomicLong guardadosRealizados = new AtomicLong();
+    private final AtomicLong guardadosOmitidos = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+
+    // ============= CONSTRUCTORES =============
+
+    /**
+     * Constructor - Crea su propio hilo de escritura
+     *
+     * @param destino Recibe cada lista a guardar (se llama en el hilo de escritura)
+     * @param retardoMs Milisegundos que se espera para agrupar solicitudes (0 = sin espera)
+     */
+    public EscrituraDiferida(Consumer<List<Entrenamiento>> destino, long retardoMs) {
+        this(destino, retardoMs, Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "EscrituraDiferida");
+            hilo.setDaemon(true);
+            return hilo;
+        }));
+    }
+
+    /**
+     * Constructor - Usa un ejecutor dado (debe ser de un solo hilo)
+     */
+    public EscrituraDiferida(Consumer<List<Entrenamiento>> destino, long retardoMs,
+                             ScheduledExecutorService ejecutor) {
+        this.destino = destino;
+        this.retardoMs = Math.max(0, retardoMs);
+        this.ejecutor = ejecutor;
+    }
+
+    // ============= API PÚBLICA =============
+
+    /**
+     * registrarCambio - Indica que los datos en memoria han cambiado
+     *
+     * Sin una llamada a este método, solicitarGuardado() no escribe nada:
+     * la versión inicial (0) es la que se cargó del almacenamiento.
+     */
+    public synchronized void registrarCambio() {
+        versionActual++;
+    }
+
+    /**
+     * solicitarGuardado - Programa el guardado de la lista si hay cambios
+     *
+     * La lista se copia aquí (en el hilo que llama), así que se puede seguir
+     * modificando después. Si ya hay una escritura programada, la copia
+     * sustituye a la pendiente y no se programa otra.
+     *
+     * @param entrenamientos Lista completa en su estado actual
+     * @return true si se programó (o se actualizó) una escritura, false si se omitió
+     */
+    public synchronized boolean solicitarGuardado(List<Entrenamiento> entrenamientos) {
+        guardadosSolicitados.incrementAndGet();
+
+        if (versionActual == versionProgramada) {
+            guardadosOmitidos.incrementAndGet();
+            return false;
+        }
+
+        pendiente = new ArrayList<>(entrenamientos);
+        versionPendiente = versionActual;
+        versionProgramada = versionActual;
+
+        if (!escrituraProgramada && !ejecutor.isShutdown()) {
+            escrituraProgramada = true;
+            ejecutor.schedule(this::escribirPendiente, retardoMs, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * encolar - Ejecuta una operación en el hilo de escritura
+     *
+     * Para almacenamientos incrementales (una fila cada vez). Antes de la
+     * operación se escribe la lista pendiente, si la hay: el orden entre
+     * guardados y operaciones se respeta aunque el guardado tuviera retardo.
+     */
+    public void encolar(Runnable operacion) {
+        if (ejecutor.isShutdown()) {
+            return;
+        }
+        ejecutor.execute(() -> {
+            escribirPendiente();
+            try {
+                operacion.run();
+            } catch (RuntimeException e) {
+                errores.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * vaciar - Escribe ya lo pendiente y espera a que termine
+     *
+     * @param espera Tiempo máximo de espera
+     * @param unidad Unidad de 'espera'
+     * @return true si todo lo anterior a la llamada está escrito
+     */
+    public boolean vaciar(long espera, TimeUnit unidad) throws InterruptedException {
+        if (ejecutor.isShutdown()) {
+            return ejecutor.awaitTermination(espera, unidad);
+        }
+        try {
+            ejecutor.submit(this::escribirPendiente).get(espera, unidad);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * cerrar - Detiene el hilo de escritura sin bloquear
+     *
+     * Lo ya programado (incluidas las escrituras con retardo) se sigue
+     * ejecutando; las solicitudes posteriores se ignoran. Para esperar a
+     * que termine, llamar después a vaciar().
+     */
+    public void cerrar() {
+        ejecutor.shutdown();
+    }
+
+    // ============= CONTADORES =============
+
+    /** Número de llamadas a solicitarGuardado() */
+    public long getGuardadosSolicitados() {
+        return guardadosSolicitados.get();
+    }
+
+    /** Número de escrituras que han llegado al destino */
+    public long getGuardadosRealizados() {
+        return guardadosRealizados.get();
+    }
+
+    /** Número de solicitudes descartadas por no haber cambios */
+    public long getGuardadosOmitidos() {
+        return guardadosOmitidos.get();
+    }
+
+    /** Número de escrituras u operaciones que lanzaron una excepción */
+    public long getErrores() {
+        return errores.get();
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * escribirPendiente - Escribe la última lista pendiente (hilo de escritura)
+     *
+     * Si el destino falla, la versión programada vuelve a la última guardada
+     * y el siguiente solicitarGuardado() lo intenta de nuevo.
+     */
+    private void escribirPendiente() {
+        List<Entrenamiento> lista;
+        long version;
+        synchronized (this) {
+            escrituraProgramada = false;
+            lista = pendiente;
+            version = versionPendiente;
+            pendiente = null;
+        }
+        if (lista == null) {
+            return;
+        }
+
+        try {
+            destino.accept(lista);
+            guardadosRealizados.incrementAndGet();
+            synchronized (this) {
+                versionGuardada = Math.max(versionGuardada, version);
+            }
+        } catch (RuntimeException e) {
+            errores.incrementAndGet();
+            synchronized (this) {
+                if (versionProgramada == version && pendiente == null) {
+                    versionProgramada = versionGuardada;
+                }
+            }
+        }
+    }
+}
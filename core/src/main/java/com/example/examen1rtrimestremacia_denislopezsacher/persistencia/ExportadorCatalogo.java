@@ -0,0 +1,278 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+
+import com.google.gson.stream.JsonWriter;      // JSON escrito registro a registro
+
+import java.io.IOException;                    // Errores de E/S
+import java.io.OutputStream;                   // Vista binaria de la salida (ENTB)
+import java.io.UncheckedIOException;           // Errores dentro de los consumidores
+import java.io.Writer;                         // Vista de texto de la salida (CSV)
+import java.nio.ByteBuffer;                    // Buffer directo reutilizado
+import java.nio.channels.WritableByteChannel;  // Destino (FileChannel del documento)
+import java.util.List;                         // Lotes del origen
+import java.util.function.Consumer;            // Receptor de lotes
+
+/**
+ * ExportadorCatalogo - Escribe el catálogo en CSV, JSON o ENTB en streaming
+ *
+ * El origen entrega los entrenamientos por lotes (un cursor de SQLite) y
+ * cada lote se escribe en el momento: nunca se construye la lista completa
+ * ni el texto completo, como hace guardarEntrenamientos() con Gson.
+ * Todo pasa por CanalSalida con un ByteBuffer directo de TAMANO_BUFER que
+ * el exportador reutiliza en cada exportación.
+ *
+ * Formatos:
+ * - CSV:  BOM + "nombre;descripcion;icono" y una fila por entrenamiento
+ *         (';' para Excel en español; comillas RFC 4180 si hacen falta)
+ * - JSON: [{"nombre":"...","descripcion":"...","icono":"PILATES"}, ...]
+ * - ENTB: el formato binario de la app (EntrenamientoBinaryCodec, versión
+ *         actual). La tabla de cadenas va antes que los registros, así que
+ *         se recorren dos veces: primero las descripciones y después los
+ *         registros. La tabla no se deduplica (eso obligaría a tener en
+ *         memoria todas las descripciones distintas): hay una entrada por
+ *         registro ("" si no tiene) y cada registro apunta a la suya.
+ *
+ * CSV y JSON usan las columnas que entiende ImportadorCatalogo: lo
+ * exportado se puede volver a importar.
+ *
+ * No es seguro entre hilos (el buffer es uno): la app exporta siempre en
+ * su hilo de escritura.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class ExportadorCatalogo {
+
+    // ============= CONSTANTES =============
+
+    /** Tamaño del buffer directo */
+    public static final int TAMANO_BUFER = 64 * 1024;
+
+    /** Entrenamientos por lote pedidos al origen */
+    public static final int TAMANO_LOTE = 512;
+
+    /** Separador de columnas del CSV */
+    private static final char SEPARADOR = ';';
+
+    /** Marca de orden de bytes: Excel la necesita para leer el CSV como UTF-8 */
+    private static final char BOM = '\uFEFF';
+
+    // ============= TIPOS =============
+
+    /**
+     * Formato - Formatos de exportación (tipo MIME y extensión del documento)
+     */
+    public enum Formato {
+        CSV("text/csv", "csv"),
+        JSON("application/json", "json"),
+        ENTB("application/octet-stream", "entb");
+
+        private final String tipoMime;
+        private final String extension;
+
+        Formato(String tipoMime, String extension) {
+            this.tipoMime = tipoMime;
+            this.extension = extension;
+        }
+
+        /** Tipo MIME para crear el documento */
+        public String getTipoMime() {
+            return tipoMime;
+        }
+
+        /** Extensión del nombre propuesto */
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Origen - De dónde salen los entrenamientos (en orden de alta)
+     *
+     * Las dos pasadas deben ver las mismas filas: la app las hace en su
+     * hilo de escritura, donde no hay altas a la vez.
+     */
+    public interface Origen {
+        /** Número de entrenamientos */
+        int contar();
+
+        /** Entrega los entrenamientos completos (con descripción) por lotes */
+        void recorrer(int tamanoLote, Consumer<List<Entrenamiento>> consumidor);
+
+        /** Entrega solo las descripciones (null donde no hay) por lotes, en el mismo orden */
+        void recorrerDescripciones(int tamanoLote, Consumer<List<String>> consumidor);
+    }
+
+    // ============= ATRIBUTOS =============
+
+    /** Buffer directo compartido por todas las exportaciones */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFER);
+
+    // ============= EXPORTACIÓN =============
+
+    /**
+     * exportar - Escribe todo el catálogo en el canal
+     *
+     * @param origen Entrenamientos a exportar
+     * @param formato CSV, JSON o ENTB
+     * @param canal Destino (no se cierra)
+     * @return Bytes escritos
+     * @throws IOException Si falla la escritura o el origen cambia entre pasadas
+     */
+    public long exportar(Origen origen, Formato formato, WritableByteChannel canal) throws IOException {
+        CanalSalida salida = new CanalSalida(canal, buffer);
+        try {
+            switch (formato) {
+                case CSV:
+                    exportarCsv(origen, salida);
+                    break;
+                case JSON:
+                    exportarJson(origen, salida);
+                    break;
+                default:
+                    exportarEntb(origen, salida.flujo());
+                    break;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();  // Lanzada dentro de un consumidor
+        }
+        salida.close();
+        return salida.getEscritos();
+    }
+
+    // ============= FORMATOS =============
+
+    /**
+     * exportarCsv - Cabecera y una fila por entrenamiento
+     */
+    private static void exportarCsv(Origen origen, Writer salida) throws IOException {
+        salida.write(BOM);
+        salida.write("nombre;descripcion;icono\r\n");
+        origen.recorrer(TAMANO_LOTE, lote -> {
+            try {
+                for (Entrenamiento entrenamiento : lote) {
+                    escribirCampoCsv(salida, entrenamiento.getNombre());
+                    salida.write(SEPARADOR);
+                    escribirCampoCsv(salida, entrenamiento.getDescripcion());
+                    salida.write(SEPARADOR);
+                    salida.write(entrenamiento.getTipoIcono().name());
+                    salida.write("\r\n");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * exportarJson - Array de objetos escrito con JsonWriter (escapado correcto)
+     */
+    private static void exportarJson(Origen origen, Writer salida) throws IOException {
+        JsonWriter json = new JsonWriter(salida);
+        json.beginArray();
+        origen.recorrer(TAMANO_LOTE, lote -> {
+            try {
+                for (Entrenamiento entrenamiento : lote) {
+                    json.beginObject();
+                    json.name("nombre").value(entrenamiento.getNombre());
+                    if (entrenamiento.getDescripcion() != null) {
+                        json.name("descripcion").value(entrenamiento.getDescripcion());
+                    }
+                    json.name("icono").value(entrenamiento.getTipoIcono().name());
+                    json.endObject();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        json.endArray();
+        json.flush();  // No close(): cerraría la salida antes de tiempo
+    }
+
+    /**
+     * exportarEntb - Formato binario de la app en dos pasadas
+     *
+     * PASO 1: Cabecera con el número de registros
+     * PASO 2: Tabla de cadenas: una por registro, en orden
+     * PASO 3: Registros; la descripción i-ésima es la cadena i (o 0 si no tiene)
+     */
+    private static void exportarEntb(Origen origen, OutputStream salida) throws IOException {
+        // PASO 1: Cabecera
+        int total = origen.contar();
+        EntrenamientoBinaryCodec.escribirCabecera(salida, total);
+
+        // PASO 2: Tabla de cadenas
+        EntrenamientoBinaryCodec.escribirVarLong(salida, total);
+        int[] escritas = {0};
+        origen.recorrerDescripciones(TAMANO_LOTE, lote -> {
+            try {
+                for (String descripcion : lote) {
+                    EntrenamientoBinaryCodec.escribirCadena(salida, descripcion);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            escritas[0] += lote.size();
+        });
+        comprobarTotal(total, escritas[0]);
+
+        // PASO 3: Registros
+        int[] indice = {0};
+        origen.recorrer(TAMANO_LOTE, lote -> {
+            try {
+                for (Entrenamiento entrenamiento : lote) {
+                    indice[0]++;
+                    EntrenamientoBinaryCodec.escribirVarLong(salida, entrenamiento.getId());
+                    EntrenamientoBinaryCodec.escribirCadena(salida, entrenamiento.getNombre());
+                    EntrenamientoBinaryCodec.escribirVarLong(salida,
+                            entrenamiento.getDescripcion() == null ? 0 : indice[0]);
+                    salida.write(entrenamiento.getTipoIcono().getCodigo());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        comprobarTotal(total, indice[0]);
+    }
+
+    // ============= MÉTODOS PRIVADOS =============
+
+    /**
+     * escribirCampoCsv - Campo entre comillas solo si contiene separador, comillas o saltos
+     */
+    private static void escribirCampoCsv(Writer salida, String campo) throws IOException {
+        if (campo == null || campo.isEmpty()) {
+            return;
+        }
+        boolean comillas = false;
+        for (int i = 0; i < campo.length() && !comillas; i++) {
+            char c = campo.charAt(i);
+            comillas = c == SEPARADOR || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            salida.write(campo);
+            return;
+        }
+        salida.write('"');
+        int desde = 0;
+        for (int i = 0; i < campo.length(); i++) {
+            if (campo.charAt(i) == '"') {
+                salida.write(campo, desde, i + 1 - desde);
+                salida.write('"');  // "" dentro de un campo entre comillas
+                desde = i + 1;
+            }
+        }
+        salida.write(campo, desde, campo.length() - desde);
+        salida.write('"');
+    }
+
+    /**
+     * comprobarTotal - El origen entregó tantas filas como anunció
+     */
+    private static void comprobarTotal(int esperado, int entregado) throws IOException {
+        if (esperado != entregado) {
+            throw new IOException("El catálogo cambió durante la exportación ("
+                    + esperado + " → " + entregado + ")");
+        }
+    }
+}
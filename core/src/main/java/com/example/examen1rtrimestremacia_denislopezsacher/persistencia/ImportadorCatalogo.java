@@ -0,0 +1,536 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndiceNombres;
+
+import com.google.gson.stream.JsonReader;     // Lector JSON en streaming
+import com.google.gson.stream.JsonToken;      // Tipo del siguiente token
+
+import java.io.BufferedReader;                // mark/reset para detectar el formato
+import java.io.IOException;                   // Errores de lectura
+import java.io.Reader;                        // Origen de los caracteres
+import java.util.ArrayList;                   // Lote en construcción y campos de una fila
+import java.util.HashSet;                     // Nombres ya vistos (claves normalizadas)
+import java.util.List;                        // Interfaz de lista
+import java.util.Locale;                      // Cabeceras sin distinguir mayúsculas
+import java.util.Set;                         // Interfaz de conjunto
+import java.util.function.BooleanSupplier;    // Cancelación desde otro hilo
+
+/**
+ * ImportadorCatalogo - Importación masiva de entrenamientos desde CSV o JSON
+ *
+ * Los entrenadores mantienen sus catálogos en hojas de cálculo. En lugar de
+ * leer el archivo entero y luego guardarlo, se recorre en streaming y se
+ * guarda por lotes:
+ *
+ *   archivo ──► fila ──► validar (nombre, duplicado) ──► lote ──► Destino
+ *                                                         (1 escritura por lote)
+ *
+ * Formatos (se detecta mirando el primer carácter):
+ * - JSON: array de objetos {"nombre", "descripcion", "icono"} (el mismo
+ *   que escribe la app). "icono" puede ser la clave ("RUNNING") o el código.
+ * - CSV: columnas nombre, descripcion, icono. Separador ',' o ';' (el
+ *   primero que aparezca fuera de comillas; Excel en español usa ';').
+ *   Comillas dobles para campos con separadores o saltos de línea ("" es
+ *   una comilla). Si la primera fila tiene una columna "nombre" se toma
+ *   como cabecera y las columnas se buscan por nombre.
+ *
+ * Validación:
+ * - Nombre vacío → fila inválida. Icono desconocido → TipoIcono.POR_DEFECTO
+ * - Duplicados (del catálogo o del propio archivo): un HashSet con los
+ *   nombres normalizados (IndiceNombres.normalizar), O(1) por fila. Los
+ *   nombres existentes se pasan antes con registrarExistente().
+ *
+ * Memoria acotada: solo hay un lote en memoria y la fila que se está
+ * leyendo; lo único que crece son las claves de los nombres (necesarias
+ * para detectar duplicados), no los entrenamientos ni el archivo.
+ *
+ * Cancelación: se comprueba en cada fila. Los lotes ya entregados se
+ * quedan guardados; el lote a medias se descarta.
+ *
+ * Un importador sirve para una importación. No es seguro entre hilos (la
+ * cancelación sí se puede pedir desde otro).
+ *
+ * Esta clase no depende de Android.
+ */
+public final class ImportadorCatalogo {
+
+    // ============= INTERFACES =============
+
+    /**
+     * Destino - Dónde se guarda cada lote (una escritura por lote)
+     */
+    public interface Destino {
+        /**
+         * guardarLote - Guarda un lote de entrenamientos nuevos (nunca vacío)
+         * @throws IOException Si falla la escritura (la importación se detiene)
+         */
+        void guardarLote(List<Entrenamiento> lote) throws IOException;
+    }
+
+    /**
+     * Oyente - Progreso de la importación (en el hilo que importa)
+     */
+    public interface Oyente {
+        /** Se llama tras guardar cada lote, con los totales hasta ahora */
+        void onLoteGuardado(Resultado parcial);
+    }
+
+    /** Formatos admitidos */
+    public enum Formato { CSV, JSON }
+
+    // ============= CONSTANTES =============
+
+    /** Filas por lote si no se indica otra cosa */
+    public static final int TAMANO_LOTE_POR_DEFECTO = 1000;
+
+    /** Caracteres que se miran (como mucho) para detectar el formato */
+    private static final int LIMITE_DETECCION = 4096;
+
+    /** Marca de orden de bytes que algunas hojas de cálculo ponen al principio */
+    private static final char BOM = '\uFEFF';
+
+    // ============= ATRIBUTOS =============
+
+    /** Normalización de nombres (la misma que el diálogo de alta) */
+    private final IndiceNombres normalizador;
+
+    /** Filas por lote */
+    private final int tamanoLote;
+
+    /** Claves de los nombres del catálogo y de lo ya importado */
+    private final Set<String> nombres = new HashSet<>();
+
+    /** Totales de la importación en curso */
+    private final Resultado resultado = new Resultado();
+
+    // ============= CONSTRUCTOR =============
+
+    /**
+     * Constructor
+     *
+     * @param normalizador Índice cuyo normalizar() define cuándo dos nombres son iguales
+     * @param tamanoLote Filas por lote (mínimo 1)
+     */
+    public ImportadorCatalogo(IndiceNombres normalizador, int tamanoLote) {
+        this.normalizador = normalizador;
+        this.tamanoLote = Math.max(1, tamanoLote);
+    }
+
+    // ============= NOMBRES EXISTENTES =============
+
+    /**
+     * registrarExistente - Anota un nombre que ya está en el catálogo
+     *
+     * Se llama con todos los nombres guardados antes de importar.
+     */
+    public void registrarExistente(String nombre) {
+        nombres.add(normalizador.normalizar(nombre));
+    }
+
+    // ============= IMPORTACIÓN =============
+
+    /**
+     * importar - Lee el archivo y entrega los entrenamientos válidos por lotes
+     *
+     * @param origen Contenido del archivo (se lee una vez, secuencialmente)
+     * @param destino Recibe cada lote
+     * @param cancelado Devuelve true cuando hay que parar (se mira en cada fila)
+     * @param oyente Recibe el progreso tras cada lote (puede ser null)
+     * @return Totales (leídas, importadas, duplicadas, inválidas, cancelada)
+     * @throws IOException Si el archivo está mal formado o falla el Destino
+     */
+    public Resultado importar(Reader origen, Destino destino, BooleanSupplier cancelado,
+                              Oyente oyente) throws IOException {
+        BufferedReader lector = origen instanceof BufferedReader
+                ? (BufferedReader) origen : new BufferedReader(origen);
+        Lote lote = new Lote(destino, oyente);
+        Formato formato = detectarFormato(lector);
+        saltarBom(lector);
+
+        if (formato == Formato.JSON) {
+            try {
+                importarJson(lector, lote, cancelado);
+            } catch (IllegalStateException e) {
+                // JsonReader avisa así de un token inesperado (p. ej. un objeto en lugar del array)
+                throw new IOException("JSON sin el formato esperado: " + e.getMessage(), e);
+            }
+        } else {
+            importarCsv(lector, lote, cancelado);
+        }
+        if (!resultado.cancelada) {
+            lote.guardar();
+        }
+        return resultado;
+    }
+
+    /**
+     * getResultado - Totales hasta ahora
+     *
+     * También después de que importar() lance una excepción: los lotes ya
+     * entregados al Destino siguen contados en getImportadas().
+     */
+    public Resultado getResultado() {
+        return resultado;
+    }
+
+    /**
+     * detectarFormato - JSON si el primer carácter significativo es '[' o '{'
+     *
+     * No consume nada del lector (mark/reset).
+     */
+    static Formato detectarFormato(BufferedReader lector) throws IOException {
+        lector.mark(LIMITE_DETECCION);
+        try {
+            for (int i = 0; i < LIMITE_DETECCION; i++) {
+                int c = lector.read();
+                if (c == -1) {
+                    return Formato.CSV;
+                }
+                if (c == BOM || Character.isWhitespace(c)) {
+                    continue;
+                }
+                return c == '[' || c == '{' ? Formato.JSON : Formato.CSV;
+            }
+            return Formato.CSV;
+        } finally {
+            lector.reset();
+        }
+    }
+
+    /**
+     * saltarBom - Consume la marca de orden de bytes si el archivo empieza por ella
+     */
+    private static void saltarBom(BufferedReader lector) throws IOException {
+        lector.mark(1);
+        if (lector.read() != BOM) {
+            lector.reset();
+        }
+    }
+
+    // ============= JSON =============
+
+    /**
+     * importarJson - Recorre el array con un JsonReader, objeto a objeto
+     */
+    private void importarJson(Reader origen, Lote lote, BooleanSupplier cancelado) throws IOException {
+        JsonReader lector = new JsonReader(origen);
+        lector.beginArray();
+        while (lector.hasNext()) {
+            if (cancelado.getAsBoolean()) {
+                resultado.cancelada = true;
+                return;
+            }
+            String nombre = null;
+            String descripcion = null;
+            String icono = null;
+
+            lector.beginObject();
+            while (lector.hasNext()) {
+                String campo = lector.nextName();
+                if (lector.peek() == JsonToken.NULL) {
+                    lector.nextNull();
+                    continue;
+                }
+                switch (campo) {
+                    case "nombre":
+                        nombre = lector.nextString();
+                        break;
+                    case "descripcion":
+                        descripcion = lector.nextString();
+                        break;
+                    case "icono":
+                        icono = lector.nextString();  // Clave o código (los números se leen como texto)
+                        break;
+                    default:
+                        lector.skipValue();  // id, campos de otras versiones...
+                }
+            }
+            lector.endObject();
+            procesarFila(nombre, descripcion, icono, lote);
+        }
+        lector.endArray();
+    }
+
+    // ============= CSV =============
+
+    /**
+     * importarCsv - Recorre las filas; la primera puede ser la cabecera
+     */
+    private void importarCsv(Reader origen, Lote lote, BooleanSupplier cancelado) throws IOException {
+        LectorCsv lector = new LectorCsv(origen);
+        List<String> campos = new ArrayList<>();
+        int columnaNombre = 0;
+        int columnaDescripcion = 1;
+        int columnaIcono = 2;
+        boolean primera = true;
+
+        while (lector.leerFila(campos)) {
+            if (cancelado.getAsBoolean()) {
+                resultado.cancelada = true;
+                return;
+            }
+            if (primera) {
+                primera = false;
+                int cabeceraNombre = buscarColumna(campos, "nombre");
+                if (cabeceraNombre >= 0) {
+                    columnaNombre = cabeceraNombre;
+                    columnaDescripcion = buscarColumna(campos, "descripcion", "descripción");
+                    columnaIcono = buscarColumna(campos, "icono", "tipo");
+                    continue;  // La cabecera no es un entrenamiento
+                }
+            }
+            if (campos.size() == 1 && campos.get(0).trim().isEmpty()) {
+                continue;  // Línea en blanco
+            }
+            procesarFila(campo(campos, columnaNombre), campo(campos, columnaDescripcion),
+                    campo(campos, columnaIcono), lote);
+        }
+    }
+
+    /** Posición de la primera columna con alguno de esos nombres (-1 si no está) */
+    private static int buscarColumna(List<String> cabecera, String... nombres) {
+        for (int i = 0; i < cabecera.size(); i++) {
+            String columna = cabecera.get(i).trim().toLowerCase(Locale.ROOT);
+            for (String nombre : nombres) {
+                if (columna.equals(nombre)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /** Campo de una columna (null si la fila es más corta o no hay columna) */
+    private static String campo(List<String> campos, int columna) {
+        return columna >= 0 && columna < campos.size() ? campos.get(columna) : null;
+    }
+
+    // ============= VALIDACIÓN =============
+
+    /**
+     * procesarFila - Valida una fila y, si es buena, la añade al lote
+     *
+     * PASO 1: Nombre obligatorio (sin espacios alrededor)
+     * PASO 2: Duplicado → se cuenta y se descarta (el primero gana)
+     * PASO 3: Icono por clave o código; si no se reconoce, el de por defecto
+     */
+    private void procesarFila(String nombre, String descripcion, String icono, Lote lote) throws IOException {
+        resultado.leidas++;
+
+        // PASO 1: Nombre
+        String limpio = nombre == null ? "" : nombre.trim();
+        if (limpio.isEmpty()) {
+            resultado.invalidas++;
+            return;
+        }
+
+        // PASO 2: Duplicados (catálogo + archivo)
+        if (!nombres.add(normalizador.normalizar(limpio))) {
+            resultado.duplicadas++;
+            return;
+        }
+
+        // PASO 3: Entrenamiento
+        String texto = descripcion == null ? "" : descripcion.trim();
+        lote.anadir(new Entrenamiento(limpio, texto, leerIcono(icono)));
+    }
+
+    /**
+     * leerIcono - TipoIcono de un campo: clave ("Running") o código ("3")
+     */
+    static TipoIcono leerIcono(String campo) {
+        if (campo == null || campo.trim().isEmpty()) {
+            return TipoIcono.POR_DEFECTO;
+        }
+        TipoIcono tipo = TipoIcono.desdeClave(campo);
+        if (tipo == null) {
+            try {
+                tipo = TipoIcono.desdeCodigo(Integer.parseInt(campo.trim()));
+            } catch (NumberFormatException e) {
+                // Ni clave ni código: icono de por defecto
+            }
+        }
+        return tipo != null ? tipo : TipoIcono.POR_DEFECTO;
+    }
+
+    // ============= CLASES INTERNAS =============
+
+    /**
+     * Resultado - Totales de una importación
+     */
+    public static final class Resultado {
+        private int leidas;
+        private int importadas;
+        private int duplicadas;
+        private int invalidas;
+        private boolean cancelada;
+
+        /** Filas leídas (sin contar la cabecera ni las líneas en blanco) */
+        public int getLeidas() {
+            return leidas;
+        }
+
+        /** Entrenamientos entregados al Destino */
+        public int getImportadas() {
+            return importadas;
+        }
+
+        /** Filas con un nombre que ya existía (en el catálogo o antes en el archivo) */
+        public int getDuplicadas() {
+            return duplicadas;
+        }
+
+        /** Filas sin nombre */
+        public int getInvalidas() {
+            return invalidas;
+        }
+
+        /** true si se paró antes de terminar el archivo */
+        public boolean isCancelada() {
+            return cancelada;
+        }
+    }
+
+    /**
+     * Lote - Entrenamientos pendientes de guardar
+     */
+    private final class Lote {
+        private final Destino destino;
+        private final Oyente oyente;
+        private List<Entrenamiento> pendientes = new ArrayList<>(tamanoLote);
+
+        Lote(Destino destino, Oyente oyente) {
+            this.destino = destino;
+            this.oyente = oyente;
+        }
+
+        /** Añade uno y guarda el lote si está lleno */
+        void anadir(Entrenamiento entrenamiento) throws IOException {
+            pendientes.add(entrenamiento);
+            if (pendientes.size() >= tamanoLote) {
+                guardar();
+            }
+        }
+
+        /** Entrega lo pendiente al Destino (nada si está vacío) */
+        void guardar() throws IOException {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            destino.guardarLote(pendientes);
+            resultado.importadas += pendientes.size();
+            pendientes = new ArrayList<>(tamanoLote);  // El Destino puede quedarse con el anterior
+            if (oyente != null) {
+                oyente.onLoteGuardado(resultado);
+            }
+        }
+    }
+
+    /**
+     * LectorCsv - Filas de un CSV (RFC 4180) leídas carácter a carácter
+     *
+     * Lee del Reader con un búfer propio; una fila puede ocupar varias
+     * líneas si un campo entre comillas tiene saltos de línea.
+     */
+    static final class LectorCsv {
+        private final Reader origen;
+        private final char[] bufer = new char[8192];
+        private final StringBuilder campo = new StringBuilder();
+        private int posicion;
+        private int limite;
+
+        /** Separador (0 hasta que aparece el primero fuera de comillas) */
+        private char separador;
+
+        LectorCsv(Reader origen) {
+            this.origen = origen;
+        }
+
+        /**
+         * leerFila - Lee la siguiente fila
+         *
+         * @param campos Se vacía y recibe los campos de la fila
+         * @return false si ya no quedan filas
+         */
+        boolean leerFila(List<String> campos) throws IOException {
+            campos.clear();
+            campo.setLength(0);
+            int c = leer();
+            if (c == -1) {
+                return false;
+            }
+            boolean entreComillas = false;
+            boolean campoConComillas = false;
+            while (c != -1) {
+                if (entreComillas) {
+                    if (c == '"') {
+                        int siguiente = leer();
+                        if (siguiente == '"') {
+                            campo.append('"');  // "" dentro de comillas
+                        } else {
+                            entreComillas = false;
+                            c = siguiente;
+                            continue;
+                        }
+                    } else {
+                        campo.append((char) c);
+                    }
+                } else if (c == '"' && campo.length() == 0 && !campoConComillas) {
+                    entreComillas = true;
+                    campoConComillas = true;
+                } else if (esSeparador(c)) {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                    campoConComillas = false;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r' && mirar() == '\n') {
+                        leer();
+                    }
+                    break;
+                } else {
+                    campo.append((char) c);
+                }
+                c = leer();
+            }
+            campos.add(campo.toString());
+            return true;
+        }
+
+        /** true si c es el separador (el primero ',' o ';' lo fija) */
+        private boolean esSeparador(int c) {
+            if (separador == 0 && (c == ',' || c == ';')) {
+                separador = (char) c;
+            }
+            return c == separador;
+        }
+
+        /** Siguiente carácter (-1 al final) */
+        private int leer() throws IOException {
+            if (posicion == limite && !rellenar()) {
+                return -1;
+            }
+            return bufer[posicion++];
+        }
+
+        /** Siguiente carácter sin consumirlo (-1 al final) */
+        private int mirar() throws IOException {
+            if (posicion == limite && !rellenar()) {
+                return -1;
+            }
+            return bufer[posicion];
+        }
+
+        /** Lee más caracteres del origen */
+        private boolean rellenar() throws IOException {
+            limite = origen.read(bufer, 0, bufer.length);
+            posicion = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import java.util.HashMap;                  // Ids antiguos ya identificados
+import java.util.Map;                      // Interfaz de mapa
+import java.util.function.IntFunction;     // Resolución de un id con los recursos actuales
+
+/**
+ * MigracionIconos - Convierte los ids de recurso guardados por versiones antiguas en TipoIcono
+ *
+ * Hasta ahora cada formato guardaba entrenamiento.getIconoResId() tal cual
+ * (ej: 2131165279). Esos números dependen del build que los escribió, así
+ * que no basta con compararlos con los R.drawable actuales. Para cada valor
+ * guardado se prueba, en orden:
+ *
+ *   1. Código nuevo (1..255): ya es un TipoIcono, no hay que migrar
+ *   2. Aprendido de los propios datos: los entrenamientos predefinidos
+ *      ("Pilates", "Fuerza", "Running", "Voleibol") se guardaron con el id
+ *      de su icono en ESE build → aprender("Pilates", 2131165279) enseña
+ *      que 2131165279 era PILATES para todas las filas que lo usen
+ *   3. Resolver: el id interpretado con los recursos actuales (en Android,
+ *      el nombre de la entrada "ic_pilates"); acierta si el build no cambió
+ *   4. TipoIcono.POR_DEFECTO
+ *
+ * Los ids de recurso de la app siempre son mayores que 0xFF (el byte alto
+ * es el paquete, 0x7f), así que no se confunden con los códigos nuevos.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class MigracionIconos {
+
+    // ============= ATRIBUTOS =============
+
+    /** Resolución con los recursos actuales (puede devolver null) */
+    private final IntFunction<TipoIcono> resolver;
+
+    /** Ids antiguos ya identificados por los entrenamientos predefinidos */
+    private final Map<Integer, TipoIcono> aprendidos = new HashMap<>();
+
+    // ============= CONSTRUCTORES =============
+
+    /**
+     * Constructor sin recursos (solo códigos nuevos, aprendidos y por defecto)
+     */
+    public MigracionIconos() {
+        this(valor -> null);
+    }
+
+    /**
+     * Constructor
+     * @param resolver Traduce un id de recurso con los recursos actuales
+     *                 (null si no corresponde a ningún icono)
+     */
+    public MigracionIconos(IntFunction<TipoIcono> resolver) {
+        this.resolver = resolver;
+    }
+
+    // ============= API PÚBLICA =============
+
+    /**
+     * esLegado - Indica si un valor guardado es un id de recurso antiguo
+     */
+    public static boolean esLegado(long valor) {
+        return valor < 0 || valor > 0xFF;
+    }
+
+    /**
+     * aprender - Usa un entrenamiento predefinido para identificar su id antiguo
+     *
+     * Solo aprende de nombres que coinciden con un tipo (sin distinguir
+     * mayúsculas) y de valores antiguos; el primero que llega gana.
+     *
+     * @param nombre Nombre guardado del entrenamiento
+     * @param valor Icono guardado
+     */
+    public void aprender(String nombre, long valor) {
+        TipoIcono tipo = TipoIcono.desdeClave(nombre);
+        if (tipo != null && esLegado(valor)) {
+            aprendidos.putIfAbsent((int) valor, tipo);
+        }
+    }
+
+    /**
+     * convertir - Tipo de icono de un valor guardado
+     * @param valor Código nuevo o id de recurso antiguo
+     * @return Tipo (nunca null)
+     */
+    public TipoIcono convertir(long valor) {
+        if (!esLegado(valor)) {
+            TipoIcono tipo = TipoIcono.desdeCodigo((int) valor);
+            return tipo != null ? tipo : TipoIcono.POR_DEFECTO;
+        }
+        TipoIcono tipo = aprendidos.get((int) valor);
+        if (tipo == null) {
+            tipo = resolver.apply((int) valor);
+        }
+        return tipo != null ? tipo : TipoIcono.POR_DEFECTO;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import com.google.gson.TypeAdapter;            // Conversión a medida de un tipo
+import com.google.gson.stream.JsonReader;      // Lectura en streaming
+import com.google.gson.stream.JsonToken;       // Tipo del siguiente valor
+import com.google.gson.stream.JsonWriter;      // Escritura en streaming
+
+import java.io.IOException;                    // Errores de E/S
+
+/**
+ * TipoIconoJsonAdapter - TipoIcono en JSON, con lectura de los ids de recurso antiguos
+ *
+ *   escribe:  "icono":"PILATES"
+ *   lee:      "icono":"PILATES"          → PILATES
+ *             "iconoResId":2131165279    → MigracionIconos (JSON antiguo)
+ *             "icono":1                  → código de TipoIcono
+ *
+ * El campo antiguo "iconoResId" llega aquí desde EntrenamientoJsonAdapter
+ * (o por el alternate de @SerializedName si se usa Gson por reflexión). Una clave desconocida (icono retirado
+ * o escrito por una versión más nueva) se lee como TipoIcono.POR_DEFECTO.
+ *
+ * Esta clase no depende de Android.
+ */
+public final class TipoIconoJsonAdapter extends TypeAdapter<TipoIcono> {
+
+    /** Traducción de los ids de recurso antiguos */
+    private final MigracionIconos migracion;
+
+    /**
+     * Constructor
+     * @param migracion Traducción de los ids de recurso antiguos
+     */
+    public TipoIconoJsonAdapter(MigracionIconos migracion) {
+        this.migracion = migracion;
+    }
+
+    @Override
+    public void write(JsonWriter salida, TipoIcono tipo) throws IOException {
+        if (tipo == null) {
+            salida.nullValue();
+        } else {
+            salida.value(tipo.name());
+        }
+    }
+
+    @Override
+    public TipoIcono read(JsonReader entrada) throws IOException {
+        JsonToken siguiente = entrada.peek();
+        if (siguiente == JsonToken.NULL) {
+            entrada.nextNull();
+            return null;
+        }
+        if (siguiente == JsonToken.NUMBER) {
+            return migracion.convertir(entrada.nextLong());
+        }
+        TipoIcono tipo = TipoIcono.desdeClave(entrada.nextString());
+        return tipo != null ? tipo : TipoIcono.POR_DEFECTO;
+    }
+}
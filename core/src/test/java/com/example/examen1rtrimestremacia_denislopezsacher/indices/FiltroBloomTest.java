@@ -0,0 +1,54 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * FiltroBloomTest - Sin falsos negativos, tasa de falsos positivos y dimensionado
+ */
+public class FiltroBloomTest {
+
+    @Test
+    public void nuncaDaFalsosNegativos() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.anadir("rutina " + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue("rutina " + i, filtro.puedeContener("rutina " + i));
+        }
+        assertTrue(filtro.puedeContener("rutina 0"));
+    }
+
+    @Test
+    public void falsosPositivos_cercaDeLaTasaPedida() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.anadir("guardado " + i);
+        }
+        int falsos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.puedeContener("nuevo " + i)) {
+                falsos++;
+            }
+        }
+        // 1 % pedido; margen para la variación de los hashes
+        assertTrue("Falsos positivos: " + falsos, falsos < 2_000);
+    }
+
+    @Test
+    public void dimensionado_mYkSegunCapacidadYTasa() {
+        FiltroBloom filtro = new FiltroBloom(1000, 0.01);
+        assertEquals(9586, filtro.getNumeroBits());  // -n·ln(p)/(ln 2)²
+        assertEquals(7, filtro.getNumeroHashes());   // (m/n)·ln 2
+
+        // Capacidad 0 o tasa fuera de rango: se ajustan, no fallan
+        FiltroBloom minimo = new FiltroBloom(0, 0);
+        assertTrue(minimo.getNumeroBits() >= 64);
+        assertTrue(minimo.getNumeroHashes() >= 1);
+        assertFalse(minimo.puedeContener("nada"));
+        minimo.anadir("");
+        assertTrue(minimo.puedeContener(""));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * IndiceNombresTest - Normalización de nombres y detección de duplicados
+ */
+public class IndiceNombresTest {
+
+    @Test
+    public void normalizar_trimNfcYMayusculas() {
+        IndiceNombres indice = new IndiceNombres(IndiceNombres.LOCALE_CLAVES, false);
+
+        assertEquals("pilates", indice.normalizar("  PiLaTeS \t"));
+        assertEquals("", indice.normalizar(null));
+        // "é" compuesto y "e" + acento combinado
+        assertEquals(indice.normalizar("café"), indice.normalizar("cafe\u0301"));
+        // Plegado completo: toUpperCase("ß") = "SS"
+        assertEquals(indice.normalizar("STRASSE"), indice.normalizar("straße"));
+
+        // En turco la "I" sin punto es otra letra
+        IndiceNombres turco = new IndiceNombres(new Locale("tr", "TR"), false);
+        assertEquals("ıstanbul", turco.normalizar("ISTANBUL"));
+        assertEquals("istanbul", indice.normalizar("ISTANBUL"));
+    }
+
+    @Test
+    public void claves_acentosYEnneEnMayusculasSonElMismoNombre() {
+        // La misma regla que la columna clave de SQLite (NOCASE solo pliega ASCII)
+        IndiceNombres indice = new IndiceNombres(IndiceNombres.LOCALE_CLAVES, true);
+
+        assertEquals(indice.normalizar("élite"), indice.normalizar("Élite"));
+        assertEquals(indice.normalizar("ñandú"), indice.normalizar("ÑANDÚ"));
+        assertEquals("ñandú", indice.normalizar("Ñandú"));
+
+        indice.anadir(entrenamiento("Élite"));
+        indice.anadir(entrenamiento("ñandú"));
+        assertTrue(indice.contiene("ÉLITE"));
+        assertTrue(indice.contiene("élite"));
+        assertTrue(indice.contiene("Ñandú"));
+        assertFalse(indice.contiene("elite"));  // El acento sí distingue
+    }
+
+    @Test
+    public void buscar_devuelveElOriginal_yRenombrarMueveLaClave() {
+        IndiceNombres indice = new IndiceNombres(IndiceNombres.LOCALE_CLAVES, true);
+        Entrenamiento pilates = entrenamiento("Pilates");
+        indice.anadir(pilates);
+
+        assertSame(pilates, indice.buscar(" PILATES "));
+        assertEquals(1, indice.tamano());
+
+        Entrenamiento renombrado = entrenamiento("Pilates suelo");
+        indice.renombrar("pilates", renombrado);
+        assertNull(indice.buscar("Pilates"));
+        assertSame(renombrado, indice.buscar("pilates SUELO"));
+        assertEquals(1, indice.tamano());
+
+        assertSame(renombrado, indice.eliminar("PILATES SUELO"));
+        assertNull(indice.eliminar("PILATES SUELO"));
+        assertEquals(0, indice.tamano());
+    }
+
+    @Test
+    public void filtro_sinFalsosNegativosAlCrecerBorrarYLimpiar() {
+        IndiceNombres indice = new IndiceNombres(IndiceNombres.LOCALE_CLAVES, true);
+
+        // Crecimiento: muy por encima de la capacidad inicial (1024), el filtro se reconstruye
+        List<String> nombres = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            nombres.add("Rutina " + i);
+            indice.anadir(entrenamiento("Rutina " + i));
+        }
+        assertEquals(5000, indice.tamano());
+        for (String nombre : nombres) {
+            assertTrue(nombre, indice.contiene(nombre.toUpperCase(Locale.ROOT)));
+        }
+
+        // Bajas: las suficientes para reconstruir el filtro varias veces
+        for (int i = 0; i < 5000; i += 2) {
+            assertNotNull(indice.eliminar("rutina " + i));
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertEquals("Rutina " + i, i % 2 == 1, indice.contiene("Rutina " + i));
+        }
+
+        // Los nombres nuevos los descarta casi siempre el filtro, sin mirar el mapa
+        long descartesAntes = indice.getDescartesFiltro();
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(indice.contiene("Otra " + i));
+        }
+        assertTrue(indice.getDescartesFiltro() - descartesAntes > 900);
+
+        indice.limpiar();
+        assertEquals(0, indice.tamano());
+        assertFalse(indice.contiene("Rutina 1"));
+        indice.anadir(entrenamiento("Rutina 1"));
+        assertTrue(indice.contiene("rutina 1"));
+    }
+
+    @Test
+    public void sinFiltro_mismasRespuestas() {
+        IndiceNombres indice = new IndiceNombres(IndiceNombres.LOCALE_CLAVES, false);
+        indice.anadir(entrenamiento("Voleibol"));
+
+        assertTrue(indice.contiene("VOLEIBOL"));
+        assertFalse(indice.contiene("Fuerza"));
+        assertEquals(0, indice.getDescartesFiltro());
+    }
+
+    // ============= AUXILIARES =============
+
+    private static Entrenamiento entrenamiento(String nombre) {
+        return new Entrenamiento(nombre, null, TipoIcono.RUNNING);
+    }
+}
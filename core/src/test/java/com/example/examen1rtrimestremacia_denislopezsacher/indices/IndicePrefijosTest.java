@@ -0,0 +1,141 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * IndicePrefijosTest - Búsqueda incremental, altas entre búsquedas y normalización
+ */
+public class IndicePrefijosTest {
+
+    private static final List<String> NOMBRES = Arrays.asList(
+            "Carrera de Fondo",     // 0
+            "Pilates",              // 1
+            "Fondos en paralelas",  // 2
+            "Fuerza",               // 3
+            "Foam roller",          // 4
+            "Fondo fondo");         // 5
+
+    @Test
+    public void consultaQueCreceYMengua_foFonFo() {
+        IndicePrefijos indice = construir();
+
+        assertArrayEquals(new int[]{0, 2, 4, 5}, indice.buscar("fo"));
+        assertArrayEquals(new int[]{0, 2, 5}, indice.buscar("fon"));    // Dentro del rango de "fo"
+        assertArrayEquals(new int[]{0, 2, 5}, indice.buscar("fondo"));
+        assertArrayEquals(new int[]{0, 2, 4, 5}, indice.buscar("fo"));  // No reutiliza el de "fondo"
+        assertArrayEquals(new int[0], indice.buscar("fonx"));
+        assertArrayEquals(new int[]{0, 2, 5}, indice.buscar("fon"));    // Tras una consulta sin resultados
+    }
+
+    @Test
+    public void variasPalabras_unaPosicionPorNombre() {
+        IndicePrefijos indice = construir();
+
+        // "Fondo fondo" tiene dos claves que empiezan por "fondo": sale una vez
+        assertArrayEquals(new int[]{0, 2, 5}, indice.buscar("FONDO"));
+        assertArrayEquals(new int[]{0}, indice.buscar("de fon"));
+        assertArrayEquals(new int[]{0}, indice.buscar("carrera   de"));
+        assertArrayEquals(new int[]{2}, indice.buscar("paral"));
+        assertEquals(12, indice.tamano());  // Una clave por palabra
+        assertNull(indice.buscar("   "));
+        assertNull(indice.buscar(null));
+    }
+
+    @Test
+    public void altaEnSuSitioEntreBusquedas_invalidaElRango() {
+        IndicePrefijos indice = construir();
+        assertArrayEquals(new int[]{1}, indice.buscar("pi"));
+
+        // "pis" empieza por "pi": sin invalidar, se buscaría en el rango viejo (solo "pilates")
+        indice.anadir("Piscina", 6);
+        assertArrayEquals(new int[]{6}, indice.buscar("pis"));
+        assertArrayEquals(new int[]{1, 6}, indice.buscar("pi"));
+        indice.anadir("Abdominales", 7);
+        assertArrayEquals(new int[]{7}, indice.buscar("a"));
+        assertArrayEquals(new int[]{1, 6}, indice.buscar("pi"));
+    }
+
+    @Test
+    public void loteEntreBusquedas_seOrdenaEnLaSiguiente() {
+        IndicePrefijos indice = construir();
+        assertArrayEquals(new int[]{3}, indice.buscar("fu"));
+
+        indice.anadirTodos(Arrays.asList("Fútbol", "Funcional"), 6);
+        assertArrayEquals(new int[]{3, 6, 7}, indice.buscar("fu"));
+        assertArrayEquals(new int[]{7}, indice.buscar("fun"));
+        assertArrayEquals(new int[]{6}, indice.buscar("futbol"));
+    }
+
+    @Test
+    public void normalizacion_acentosMayusculasYEnne() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.anadir("Pilates", 0);
+        indice.anadir("Ñandú trote", 1);
+
+        assertArrayEquals(new int[]{0}, indice.buscar("pilátes"));
+        assertArrayEquals(new int[]{0}, indice.buscar("PILATES"));
+        assertArrayEquals(new int[]{1}, indice.buscar("nandu"));
+        assertArrayEquals(new int[]{1}, indice.buscar("ÑAN"));
+        assertArrayEquals(new int[]{1}, indice.buscar("trote"));
+        assertEquals("nandu trote", IndicePrefijos.normalizarBusqueda("  Ñandú   TROTE "));
+    }
+
+    @Test
+    public void secuenciaAleatoria_igualQueRecorrerLaLista() {
+        Random aleatorio = new Random(42);
+        String[] palabras = {"fondo", "fuerza", "foam", "pilates", "piscina", "carrera", "core", "c"};
+        IndicePrefijos indice = new IndicePrefijos();
+        List<String> nombres = new ArrayList<>();
+
+        for (int paso = 0; paso < 2000; paso++) {
+            int accion = aleatorio.nextInt(10);
+            if (accion == 0) {
+                String nombre = palabras[aleatorio.nextInt(palabras.length)] + " "
+                        + palabras[aleatorio.nextInt(palabras.length)];
+                indice.anadir(nombre, nombres.size());
+                nombres.add(nombre);
+            } else if (accion == 1) {
+                List<String> lote = Arrays.asList(palabras[aleatorio.nextInt(palabras.length)],
+                        palabras[aleatorio.nextInt(palabras.length)]);
+                indice.anadirTodos(lote, nombres.size());
+                nombres.addAll(lote);
+            } else {
+                String palabra = palabras[aleatorio.nextInt(palabras.length)];
+                String consulta = palabra.substring(0, 1 + aleatorio.nextInt(palabra.length()));
+                int[] resultado = indice.buscar(consulta);
+                assertArrayEquals(consulta, recorrer(nombres, consulta), resultado);
+            }
+        }
+    }
+
+    // ============= AUXILIARES =============
+
+    private static IndicePrefijos construir() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.anadirTodos(NOMBRES, 0);
+        return indice;
+    }
+
+    /** Resultado esperado: nombres con alguna palabra que empiece por la consulta */
+    private static int[] recorrer(List<String> nombres, String consulta) {
+        List<Integer> posiciones = new ArrayList<>();
+        for (int i = 0; i < nombres.size(); i++) {
+            String nombre = " " + IndicePrefijos.normalizarBusqueda(nombres.get(i));
+            if (nombre.contains(" " + consulta)) {
+                posiciones.add(i);
+            }
+        }
+        int[] resultado = new int[posiciones.size()];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = posiciones.get(i);
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * IndiceTextualTest - Análisis en español, consultas AND/OR/prefijo y persistencia
+ */
+public class IndiceTextualTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private static final List<String> DESCRIPCIONES = Arrays.asList(
+            "Ejercicios de potencia con pesas",                        // 0
+            "Carrera continua para mejorar la resistencia",            // 1
+            "Series cortas de potencia y resistencias anaeróbicas",    // 2
+            "Estiramientos y control postural",                        // 3
+            null);                                                     // 4
+
+    @Test
+    public void analizador_quitaAcentosPalabrasVaciasYPlurales() {
+        assertEquals(Arrays.asList("ejercici", "potenci", "resistenci"),
+                AnalizadorEspanol.analizar("Ejercicios de POTENCIA y resistencias"));
+        assertEquals("vez", AnalizadorEspanol.raiz("veces"));
+        assertEquals("rapid", AnalizadorEspanol.raiz("rapidos"));
+    }
+
+    @Test
+    public void and_or_prefijo() {
+        IndiceTextual indice = construir();
+
+        assertArrayEquals(new int[]{2}, indice.buscar("potencia resistencia"));
+        assertEquals(3, indice.buscar("potencia OR resistencia").length);
+        assertEquals(2, indice.buscar("resis*").length);
+        assertArrayEquals(new int[]{3}, indice.buscar("ESTIRAMIENTO"));
+        assertEquals(0, indice.buscar("natación").length);
+        assertEquals(0, indice.buscar("de la").length);
+    }
+
+    @Test
+    public void ranking_priorizaDescripcionesCortasYTerminosRepetidos() {
+        IndiceTextual indice = new IndiceTextual();
+        indice.anadirTodos(Arrays.asList(
+                "Potencia, técnica, movilidad, respiración y calentamiento general",
+                "Potencia y más potencia"));
+
+        assertArrayEquals(new int[]{1, 0}, indice.buscar("potencia"));
+    }
+
+    @Test
+    public void guardarYCargar_conservaResultados_yDescartaSiCambiaElSello() throws Exception {
+        IndiceTextual indice = construir();
+        File archivo = carpeta.newFile("entrenamientos.idx");
+        long sello = IndiceTextual.calcularSello(5, 5, 3);
+        indice.guardar(archivo, sello);
+        assertFalse(indice.hayCambiosSinGuardar());
+
+        IndiceTextual leido = IndiceTextual.cargar(archivo, sello);
+        assertNotNull(leido);
+        assertArrayEquals(indice.buscar("potencia OR resis*"), leido.buscar("potencia OR resis*"));
+
+        // Alta incremental tras cargar
+        leido.anadir(5, "Potencia en salto vertical");
+        assertTrue(leido.hayCambiosSinGuardar());
+        assertEquals(3, leido.buscar("potencia").length);
+
+        assertNull(IndiceTextual.cargar(archivo, IndiceTextual.calcularSello(6, 6, 3)));
+    }
+
+    @Test
+    public void sello_cambiaConFilasUltimoIdYVersion() {
+        long sello = IndiceTextual.calcularSello(100, 250, 3);
+
+        assertEquals(sello, IndiceTextual.calcularSello(100, 250, 3));
+        assertNotEquals(sello, IndiceTextual.calcularSello(99, 250, 3));   // Una baja
+        assertNotEquals(sello, IndiceTextual.calcularSello(100, 251, 3));  // Baja + alta
+        assertNotEquals(sello, IndiceTextual.calcularSello(100, 250, 4));  // Otro esquema
+        assertNotEquals(IndiceTextual.calcularSello(1, 2, 3), IndiceTextual.calcularSello(2, 1, 3));
+    }
+
+    private static IndiceTextual construir() {
+        IndiceTextual indice = new IndiceTextual();
+        indice.anadirTodos(DESCRIPCIONES);
+        return indice;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.indices;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * OrdenCatalogoTest - Orden español, altas por búsqueda binaria y filtros ordenados
+ */
+public class OrdenCatalogoTest {
+
+    private static final Locale ESPANOL = new Locale("es", "ES");
+
+    @Test
+    public void nombre_sigueLasReglasDelEspanol() {
+        OrdenCatalogo orden = new OrdenCatalogo(ESPANOL);
+        orden.anadir("Ñandú", TipoIcono.RUNNING);       // 0
+        orden.anadir("natación", TipoIcono.PILATES);    // 1
+        orden.anadir("Zumba", TipoIcono.FUERZA);        // 2
+        orden.anadir("Ábaco", TipoIcono.VOLEIBOL);      // 3
+        orden.anadir("Oca", TipoIcono.RUNNING);         // 4
+
+        // "Ábaco" con las A, "ñ" entre "n" y "o", sin mirar mayúsculas
+        assertArrayEquals(new int[]{3, 1, 0, 4, 2}, orden.posiciones(OrdenCatalogo.Criterio.NOMBRE));
+        assertArrayEquals(new int[]{4, 3, 2, 1, 0}, orden.posiciones(OrdenCatalogo.Criterio.RECIENTES));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, orden.posiciones(OrdenCatalogo.Criterio.ALTA));
+        // PILATES, FUERZA, RUNNING (Ñandú antes que Oca), VOLEIBOL
+        assertArrayEquals(new int[]{1, 2, 0, 4, 3}, orden.posiciones(OrdenCatalogo.Criterio.TIPO));
+    }
+
+    @Test
+    public void altasEnSuSitio_igualQueOrdenarDesdeCero() {
+        OrdenCatalogo cargado = new OrdenCatalogo(ESPANOL);
+        OrdenCatalogo insertado = new OrdenCatalogo(ESPANOL);
+        Random aleatorio = new Random(7);
+        String[] raices = {"Pádel", "padel", "Ñu", "Núcleo", "Yoga", "árbol", "Arbol"};
+        TipoIcono[] tipos = TipoIcono.values();
+
+        for (int i = 0; i < 2_000; i++) {
+            String nombre = raices[aleatorio.nextInt(raices.length)] + " " + aleatorio.nextInt(50);
+            TipoIcono tipo = tipos[aleatorio.nextInt(tipos.length)];
+            if (i < 1_000) {
+                cargado.anadirAlFinal(nombre, tipo);
+                insertado.anadirAlFinal(nombre, tipo);
+            } else {
+                cargado.anadirAlFinal(nombre, tipo);
+                insertado.anadir(nombre, tipo);  // Tras preparar(): búsqueda binaria
+            }
+            if (i == 999) {
+                insertado.preparar();
+            }
+        }
+
+        for (OrdenCatalogo.Criterio criterio : OrdenCatalogo.Criterio.values()) {
+            assertArrayEquals(criterio.name(), cargado.posiciones(criterio), insertado.posiciones(criterio));
+        }
+    }
+
+    @Test
+    public void ordenar_filtroEnElOrdenDelCriterio() {
+        OrdenCatalogo orden = new OrdenCatalogo(ESPANOL);
+        orden.anadir("Carrera", TipoIcono.RUNNING);    // 0
+        orden.anadir("Boxeo", TipoIcono.FUERZA);       // 1
+        orden.anadir("Remo", TipoIcono.FUERZA);        // 2
+        orden.anadir("Abdominales", TipoIcono.FUERZA); // 3
+        int[] relevancia = {2, 0, 3};
+
+        assertArrayEquals(new int[]{3, 0, 2}, orden.ordenar(relevancia, OrdenCatalogo.Criterio.NOMBRE));
+        assertArrayEquals(new int[]{3, 2, 0}, orden.ordenar(relevancia, OrdenCatalogo.Criterio.TIPO));
+        assertArrayEquals(new int[]{3, 2, 0}, orden.ordenar(relevancia, OrdenCatalogo.Criterio.RECIENTES));
+        assertSame(relevancia, orden.ordenar(relevancia, OrdenCatalogo.Criterio.ALTA));
+        assertNull(orden.ordenar(null, OrdenCatalogo.Criterio.NOMBRE));
+    }
+}
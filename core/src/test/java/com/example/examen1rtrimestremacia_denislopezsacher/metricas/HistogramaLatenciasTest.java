@@ -0,0 +1,80 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.metricas;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * HistogramaLatenciasTest - Cubetas, percentiles con error acotado y volcado JSON
+ */
+public class HistogramaLatenciasTest {
+
+    @Test
+    public void cubetas_sonContiguasYCubrenCadaValor() {
+        for (long valor = 0; valor < 100_000; valor++) {
+            int indice = HistogramaLatencias.indice(valor);
+            assertTrue(valor <= HistogramaLatencias.mayorValor(indice));
+            if (indice > 0) {
+                assertTrue(valor > HistogramaLatencias.mayorValor(indice - 1));
+            }
+        }
+    }
+
+    @Test
+    public void percentiles_conErrorMenorDel2PorCiento() {
+        HistogramaLatencias histograma = new HistogramaLatencias();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histograma.registrar(micros * 1_000);  // 1 µs .. 10 ms
+        }
+
+        assertEquals(10_000, histograma.getTotal());
+        assertEquals(1_000, histograma.getMinimo());
+        assertEquals(10_000_000, histograma.getMaximo());
+        assertCerca(5_000_000, histograma.percentil(50));
+        assertCerca(9_900_000, histograma.percentil(99));
+        assertEquals(10_000_000, histograma.percentil(100));
+    }
+
+    @Test
+    public void valoresFueraDeRango_cuentanEnLaUltimaCubeta() {
+        HistogramaLatencias histograma = new HistogramaLatencias();
+        histograma.registrar(-5);
+        histograma.registrar(Long.MAX_VALUE / 2);
+
+        assertEquals(2, histograma.getTotal());
+        assertEquals(0, histograma.percentil(50));
+        assertEquals(Long.MAX_VALUE / 2, histograma.getMaximo());
+    }
+
+    @Test
+    public void volcarJson_incluyeLasTresClasesDeMetrica() throws Exception {
+        RegistroMetricas registro = new RegistroMetricas();
+        registro.registrarLatencia("storage.guardar", 2_000_000);
+        registro.incrementar("dialogo.duplicados");
+        registro.sumarBytes("storage.json", 1_234);
+
+        StringWriter salida = new StringWriter();
+        registro.volcarJson(salida, Collections.singletonMap("modelo", "prueba"));
+        JsonObject json = JsonParser.parseString(salida.toString()).getAsJsonObject();
+
+        assertEquals(RegistroMetricas.VERSION_JSON, json.get("version").getAsInt());
+        assertEquals("prueba", json.getAsJsonObject("contexto").get("modelo").getAsString());
+        JsonObject guardar = json.getAsJsonObject("latencias").getAsJsonObject("storage.guardar");
+        assertEquals(1, guardar.get("total").getAsLong());
+        assertEquals(2_000_000, guardar.get("p99_ns").getAsLong());
+        assertEquals(1, json.getAsJsonObject("contadores").get("dialogo.duplicados").getAsLong());
+        assertEquals(1_234, json.getAsJsonObject("bytes").get("storage.json").getAsLong());
+    }
+
+    /** Igual salvo el error de una cubeta (1/64) */
+    private static void assertCerca(long esperado, long real) {
+        assertTrue("esperado ~" + esperado + ", real " + real,
+                Math.abs(real - esperado) <= esperado / 50);
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * CatalogoPaginadoTest - Páginas bajo demanda, precarga, presupuesto y altas
+ */
+public class CatalogoPaginadoTest {
+
+    /** Tareas del "hilo de fondo": se ejecutan a mano con ejecutarPendientes() */
+    private final List<Runnable> fondo = new ArrayList<>();
+
+    /** Fuente de 10.000 entrenamientos que cuenta las páginas leídas */
+    private final FuenteFalsa fuente = new FuenteFalsa(10_000);
+
+    private CatalogoPaginado abrir(long presupuesto) {
+        CatalogoPaginado catalogo = new CatalogoPaginado(fuente, 50, presupuesto, fondo::add, Runnable::run);
+        boolean[] abierto = {false};
+        catalogo.abrir(() -> abierto[0] = true);
+        ejecutarPendientes();
+        assertTrue(abierto[0]);
+        return catalogo;
+    }
+
+    @Test
+    public void abrir_leeSoloElNumeroYLaPrimeraPagina() {
+        CatalogoPaginado catalogo = abrir(CatalogoPaginado.PRESUPUESTO_POR_DEFECTO_BYTES);
+
+        assertEquals(10_000, catalogo.tamano());
+        assertEquals(1, fuente.paginasLeidas);
+        assertEquals("E0", catalogo.obtener(0).getNombre());
+        assertEquals("E49", catalogo.obtener(49).getNombre());
+    }
+
+    @Test
+    public void paginaAusente_devuelveNullYAvisaAlLlegar() {
+        CatalogoPaginado catalogo = abrir(CatalogoPaginado.PRESUPUESTO_POR_DEFECTO_BYTES);
+        List<int[]> avisos = new ArrayList<>();
+        catalogo.setOyente((desde, cantidad) -> avisos.add(new int[]{desde, cantidad}));
+
+        assertNull(catalogo.obtener(5_020));
+        ejecutarPendientes();
+
+        // La página pedida y la precarga de la siguiente
+        assertEquals(2, avisos.size());
+        assertArrayEquals(new int[]{5_000, 50}, avisos.get(0));
+        assertArrayEquals(new int[]{5_050, 50}, avisos.get(1));
+        assertEquals("E5020", catalogo.obtener(5_020).getNombre());
+        assertEquals(1, catalogo.getFallos());
+    }
+
+    @Test
+    public void presupuesto_descartaLasPaginasMasLejanas() {
+        // Cabe poco más de tres páginas
+        long porPagina = 50 * CatalogoPaginado.estimarBytes(new Entrenamiento("E0000", "Descripción 0000", TipoIcono.PILATES));
+        CatalogoPaginado catalogo = abrir(porPagina * 3 + porPagina / 2);
+
+        for (int posicion = 0; posicion < 2_000; posicion += 10) {
+            catalogo.obtener(posicion);
+            ejecutarPendientes();
+        }
+
+        assertTrue(catalogo.getPaginasDescartadas() > 0);
+        assertTrue(catalogo.getPaginasEnMemoria() <= 4);
+        assertNotNull(catalogo.obtener(1_990));  // La actual nunca se descarta
+    }
+
+    @Test
+    public void altasYEsperas_mantienenLasPosiciones() {
+        CatalogoPaginado catalogo = abrir(CatalogoPaginado.PRESUPUESTO_POR_DEFECTO_BYTES);
+        catalogo.anadir(new Entrenamiento("Nuevo", "d", TipoIcono.PILATES));
+
+        assertEquals(10_001, catalogo.tamano());
+        assertEquals("Nuevo", catalogo.obtener(10_000).getNombre());
+
+        List<String> recibidos = new ArrayList<>();
+        catalogo.obtenerCuandoEste(7_777, e -> recibidos.add(e.getNombre()));
+        assertTrue(recibidos.isEmpty());
+        ejecutarPendientes();
+        assertEquals(1, recibidos.size());
+        assertEquals("E7777", recibidos.get(0));
+
+        // recorrerGuardados no incluye las altas
+        int[] vistos = {0};
+        assertEquals(10_000, catalogo.recorrerGuardados(999, lote -> vistos[0] += lote.size()));
+        assertEquals(10_000, vistos[0]);
+    }
+
+    @Test
+    public void incorporarGuardados_conservaPosicionesYReleeLaPaginaIncompleta() {
+        FuenteFalsa pequena = new FuenteFalsa(120);
+        CatalogoPaginado catalogo = new CatalogoPaginado(pequena, 50,
+                CatalogoPaginado.PRESUPUESTO_POR_DEFECTO_BYTES, fondo::add, Runnable::run);
+        catalogo.abrir(() -> { });
+        ejecutarPendientes();
+        catalogo.obtener(110);
+        ejecutarPendientes();
+        assertEquals("E119", catalogo.obtener(119).getNombre());  // Página 2 incompleta (20 filas)
+        catalogo.anadir(new Entrenamiento("E120", "d", TipoIcono.PILATES));
+
+        // Importación: el alta ya está escrita y detrás van 179 filas más
+        List<String> recibidos = new ArrayList<>();
+        catalogo.obtenerCuandoEste(60, e -> recibidos.add(e.getNombre()));  // En camino
+        pequena.total = 300;
+        catalogo.incorporarGuardados(300);
+
+        assertEquals(300, catalogo.tamano());
+        assertEquals("E0", catalogo.obtener(0).getNombre());      // Página completa: se conserva
+        assertNull(catalogo.obtener(140));                         // Incompleta: se relee
+        ejecutarPendientes();
+        assertEquals("E140", catalogo.obtener(140).getNombre());
+        assertEquals("E120", catalogo.obtener(120).getNombre());  // El alta, ahora por páginas
+        assertEquals(List.of("E60"), recibidos);                  // La espera se atiende igual
+    }
+
+    @Test
+    public void lecturaFallida_seReintentaYLuegoRespondeNullALasEsperas() {
+        CatalogoPaginado catalogo = abrir(CatalogoPaginado.PRESUPUESTO_POR_DEFECTO_BYTES);
+        List<Entrenamiento> recibidos = new ArrayList<>();
+
+        // Un fallo pasajero: el reintento la lee
+        fuente.fallosPendientes = 1;
+        catalogo.obtenerCuandoEste(3_000, recibidos::add);
+        ejecutarPendientes();
+        assertEquals("E3000", recibidos.get(0).getNombre());
+
+        // Falla siempre: la espera recibe null y no se queda colgada
+        fuente.fallosPendientes = Integer.MAX_VALUE;
+        catalogo.obtenerCuandoEste(6_000, recibidos::add);
+        ejecutarPendientes();
+        assertEquals(2, recibidos.size());
+        assertNull(recibidos.get(1));
+
+        // Se puede volver a pedir cuando la fuente se recupera
+        fuente.fallosPendientes = 0;
+        catalogo.obtenerCuandoEste(6_000, recibidos::add);
+        ejecutarPendientes();
+        assertEquals("E6000", recibidos.get(2).getNombre());
+    }
+
+    @Test
+    public void ejecutorCerrado_respondeNullALasEsperas() {
+        CatalogoPaginado catalogo = new CatalogoPaginado(fuente, 50, CatalogoPaginado.PRESUPUESTO_POR_DEFECTO_BYTES,
+                tarea -> { throw new RejectedExecutionException(); }, Runnable::run);
+        catalogo.incorporarGuardados(10_000);
+        List<Entrenamiento> recibidos = new ArrayList<>();
+
+        catalogo.obtenerCuandoEste(1_234, recibidos::add);
+
+        assertEquals(1, recibidos.size());
+        assertNull(recibidos.get(0));
+    }
+
+    @Test
+    public void paginaSiguiente_seLeePorClave() {
+        FuenteFalsa conIds = new FuenteFalsa(10_000);
+        conIds.conIds = true;
+        CatalogoPaginado catalogo = new CatalogoPaginado(conIds, 50,
+                CatalogoPaginado.PRESUPUESTO_POR_DEFECTO_BYTES, fondo::add, Runnable::run);
+        catalogo.abrir(() -> { });
+        ejecutarPendientes();
+
+        // Bajando por la lista: cada página se lee a partir del último id de la anterior
+        for (int posicion = 0; posicion < 500; posicion += 25) {
+            catalogo.obtener(posicion);
+            ejecutarPendientes();
+        }
+        assertEquals("E499", catalogo.obtener(499).getNombre());
+        assertEquals(1, conIds.paginasLeidas);  // Solo la primera (al abrir) por posición
+        assertTrue(conIds.paginasPorClave >= 9);
+
+        // Un salto sin la página anterior en memoria se lee por posición (y su precarga también)
+        catalogo.obtener(8_000);
+        ejecutarPendientes();
+        assertEquals(3, conIds.paginasLeidas);
+        assertEquals("E8000", catalogo.obtener(8_000).getNombre());
+
+        // recorrerGuardados va entero por clave
+        int leidasAntes = conIds.paginasLeidas;
+        List<String> ultimos = new ArrayList<>();
+        assertEquals(10_000, catalogo.recorrerGuardados(999,
+                lote -> ultimos.add(lote.get(lote.size() - 1).getNombre())));
+        assertEquals(leidasAntes, conIds.paginasLeidas);
+        assertEquals("E9999", ultimos.get(ultimos.size() - 1));
+    }
+
+    private void ejecutarPendientes() {
+        while (!fondo.isEmpty()) {
+            fondo.remove(0).run();
+        }
+    }
+
+    /**
+     * Fuente en memoria: el entrenamiento de la posición i se llama "E" + i
+     * (y con 'conIds' tiene id i + 1 y se puede leer por clave)
+     */
+    private static final class FuenteFalsa implements CatalogoPaginado.Fuente {
+        int total;
+        int paginasLeidas;
+        int paginasPorClave;
+        int fallosPendientes;
+        boolean conIds;
+
+        FuenteFalsa(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public int contar() {
+            return total;
+        }
+
+        @Override
+        public List<Entrenamiento> cargarPagina(int desde, int cantidad) {
+            paginasLeidas++;
+            return leer(desde, cantidad);
+        }
+
+        @Override
+        public List<Entrenamiento> cargarDespuesDeId(long ultimoId, int cantidad) {
+            if (!conIds) {
+                return null;
+            }
+            paginasPorClave++;
+            return leer((int) ultimoId, cantidad);  // El id i + 1 está en la posición i
+        }
+
+        private List<Entrenamiento> leer(int desde, int cantidad) {
+            if (fallosPendientes > 0) {
+                fallosPendientes--;
+                throw new IllegalStateException("Base de datos ocupada");
+            }
+            List<Entrenamiento> pagina = new ArrayList<>();
+            for (int i = desde; i < Math.min(total, desde + cantidad); i++) {
+                Entrenamiento entrenamiento = new Entrenamiento("E" + i, "Descripción " + i, TipoIcono.PILATES);
+                if (conIds) {
+                    entrenamiento.setId(i + 1);
+                }
+                pagina.add(entrenamiento);
+            }
+            return pagina;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * EntrenamientoBinaryCodecTest - Ida y vuelta, cabecera incorrecta y tamaño frente al JSON
+ *
+ * Los tiempos de codificar y decodificar se miden con JMH en el módulo
+ * :benchmark (PersistenciaBenchmark), no aquí.
+ */
+public class EntrenamientoBinaryCodecTest {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void idaYVuelta_conservaLosDatos() throws Exception {
+        List<Entrenamiento> originales = generar(500);
+        originales.add(new Entrenamiento("Sin descripción", null, TipoIcono.VOLEIBOL));
+        originales.add(new Entrenamiento("Ñandú áéíóú", "Texto con acentos: ü ñ €", TipoIcono.RUNNING));
+
+        List<Entrenamiento> leidos = EntrenamientoBinaryCodec.decodificar(
+                EntrenamientoBinaryCodec.codificar(originales));
+
+        assertEquals(originales.size(), leidos.size());
+        for (int i = 0; i < originales.size(); i++) {
+            Entrenamiento a = originales.get(i);
+            Entrenamiento b = leidos.get(i);
+            assertEquals(a.getId(), b.getId());
+            assertEquals(a.getNombre(), b.getNombre());
+            assertEquals(a.getDescripcion(), b.getDescripcion());
+            assertEquals(a.getTipoIcono(), b.getTipoIcono());
+        }
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void cabeceraIncorrecta_lanzaIOException() throws Exception {
+        EntrenamientoBinaryCodec.decodificar("[{\"nombre\":\"x\"}]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void binario_ocupaMenosQueElJson() {
+        List<Entrenamiento> lista = generar(1_000);
+
+        int bytesJson = gson.toJson(lista).getBytes(StandardCharsets.UTF_8).length;
+        int bytesBinario = EntrenamientoBinaryCodec.codificar(lista).length;
+
+        assertTrue(bytesBinario + " >= " + bytesJson, bytesBinario < bytesJson);
+    }
+
+    // ============= AUXILIARES =============
+
+    /**
+     * Catálogo sintético: ids consecutivos, nombres únicos, unas pocas
+     * descripciones distintas y los cuatro tipos de icono
+     */
+    private static List<Entrenamiento> generar(int tamano) {
+        String[] descripciones = {
+                "Ejercicios de control postural y respiración.",
+                "Trabajo de fuerza con pesas y máquinas.",
+                "Carrera continua a ritmo moderado.",
+                "Entrenamiento técnico de saque y recepción."
+        };
+        TipoIcono[] iconos = TipoIcono.values();
+
+        List<Entrenamiento> lista = new ArrayList<>(tamano + 2);
+        for (int i = 0; i < tamano; i++) {
+            Entrenamiento entrenamiento = new Entrenamiento(
+                    "Entrenamiento " + i,
+                    descripciones[i % descripciones.length],
+                    iconos[i % iconos.length]);
+            entrenamiento.setId(i + 1);
+            lista.add(entrenamiento);
+        }
+        return lista;
+    }
+}
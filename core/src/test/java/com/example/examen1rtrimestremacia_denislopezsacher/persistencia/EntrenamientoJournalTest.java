@@ -0,0 +1,211 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * EntrenamientoJournalTest - Reproducción, línea cortada y compactación con escrituras a la vez
+ */
+public class EntrenamientoJournalTest {
+
+    /** Directorio temporal de cada test */
+    private File directorio;
+
+    /** Archivo del diario */
+    private File archivo;
+
+    /** Compactaciones programadas (se ejecutan a mano) */
+    private final List<Runnable> compactaciones = new ArrayList<>();
+
+    /** Se ejecuta (una vez) al leer el primer entrenamiento: simula lo que llega durante el PASO 2 */
+    private Runnable alLeer;
+
+    /** Gson del diario con el gancho alLeer */
+    private Gson gson;
+
+    @Before
+    public void preparar() throws IOException {
+        directorio = Files.createTempDirectory("diario").toFile();
+        archivo = new File(directorio, "entrenamientos.journal");
+        TypeAdapter<Entrenamiento> adaptador = new EntrenamientoJsonAdapter(new MigracionIconos());
+        gson = new GsonBuilder().registerTypeAdapter(Entrenamiento.class, new TypeAdapter<Entrenamiento>() {
+            @Override
+            public void write(JsonWriter salida, Entrenamiento entrenamiento) throws IOException {
+                adaptador.write(salida, entrenamiento);
+            }
+
+            @Override
+            public Entrenamiento read(JsonReader entrada) throws IOException {
+                Entrenamiento leido = adaptador.read(entrada);
+                Runnable gancho = alLeer;
+                alLeer = null;
+                if (gancho != null) {
+                    gancho.run();
+                }
+                return leido;
+            }
+        }).create();
+    }
+
+    @After
+    public void limpiar() {
+        File[] archivos = directorio.listFiles();
+        if (archivos != null) {
+            for (File f : archivos) {
+                //noinspection ResultOfMethodCallIgnored
+                f.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        directorio.delete();
+    }
+
+    @Test
+    public void reproducir_aplicaAltasEdicionesYBajas() throws Exception {
+        EntrenamientoJournal diario = nuevoDiario(Long.MAX_VALUE);
+        diario.registrarAlta(entreno("Remo"));
+        diario.registrarAlta(entreno("Boxeo"));
+        diario.registrarAlta(entreno("Yoga"));
+        diario.registrarEdicion("boxeo", new Entrenamiento("Kickboxing", "editado", TipoIcono.FUERZA));
+        diario.registrarBaja("REMO");
+        diario.registrarAlta(entreno("Pádel"));
+
+        // Otra instancia (como al reabrir la app) lee lo mismo del disco
+        List<Entrenamiento> estado = nuevoDiario(Long.MAX_VALUE).reproducir();
+
+        assertEquals(Arrays.asList("Kickboxing", "Yoga", "Pádel"), nombres(estado));
+        assertEquals("editado", estado.get(0).getDescripcion());
+        assertEquals(TipoIcono.FUERZA, estado.get(0).getTipoIcono());
+    }
+
+    @Test
+    public void lineaCortada_seRecortaYNoSePierdeElSiguienteRegistro() throws Exception {
+        EntrenamientoJournal diario = nuevoDiario(Long.MAX_VALUE);
+        diario.registrarAlta(entreno("Remo"));
+        diario.registrarAlta(entreno("Boxeo"));
+        diario.registrarAlta(entreno("Yoga"));
+        try (RandomAccessFile acceso = new RandomAccessFile(archivo, "rw")) {
+            acceso.setLength(acceso.length() - 10);  // Cierre a mitad de "Yoga"
+        }
+
+        EntrenamientoJournal reabierto = nuevoDiario(Long.MAX_VALUE);
+        reabierto.registrarAlta(entreno("Pádel"));
+
+        assertEquals(Arrays.asList("Remo", "Boxeo", "Pádel"), nombres(nuevoDiario(Long.MAX_VALUE).reproducir()));
+    }
+
+    @Test
+    public void compactacion_conservaLoQueLlegaDuranteLaLectura() throws Exception {
+        EntrenamientoJournal diario = nuevoDiario(1);
+        for (int i = 0; i < 20; i++) {
+            diario.registrarAlta(entreno("E" + i));
+        }
+        diario.registrarBaja("E0");
+        long antes = archivo.length();
+        alLeer = () -> {
+            try {
+                diario.registrarAlta(entreno("Nuevo"));
+                diario.registrarEdicion("E1", entreno("E1 editado"));
+                diario.registrarBaja("E2");
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        };
+
+        ejecutarCompactaciones();
+
+        List<String> esperados = new ArrayList<>();
+        esperados.add("E1 editado");
+        for (int i = 3; i < 20; i++) {
+            esperados.add("E" + i);
+        }
+        esperados.add("Nuevo");
+        assertEquals(esperados, nombres(diario.reproducir()));
+        assertEquals(esperados, nombres(nuevoDiario(1).reproducir()));
+        assertTrue(archivo.length() < antes + 200);  // Compactado: sin la baja ni las altas de E0/E2
+        assertFalse(new File(archivo.getPath() + ".compact").exists());
+    }
+
+    @Test
+    public void compactacion_noDeshaceUnBorradoNiUnaReescritura() throws Exception {
+        EntrenamientoJournal diario = nuevoDiario(1);
+        for (int i = 0; i < 20; i++) {
+            diario.registrarAlta(entreno("E" + i));
+        }
+
+        // Borrado durante la compactación y un alta después: el diario viejo no vuelve
+        alLeer = () -> {
+            try {
+                diario.borrar();
+                diario.registrarAlta(entreno("Tras borrar"));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        };
+        ejecutarCompactaciones();
+        assertEquals(Arrays.asList("Tras borrar"), nombres(diario.reproducir()));
+
+        // Reescritura durante la compactación: gana la reescritura
+        for (int i = 0; i < 20; i++) {
+            diario.registrarAlta(entreno("F" + i));
+        }
+        alLeer = () -> {
+            try {
+                diario.reescribir(Arrays.asList(entreno("Instantánea")));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        };
+        ejecutarCompactaciones();
+        assertEquals(Arrays.asList("Instantánea"), nombres(diario.reproducir()));
+        assertEquals(Arrays.asList("Instantánea"), nombres(nuevoDiario(1).reproducir()));
+    }
+
+    // ============= AUXILIARES =============
+
+    private EntrenamientoJournal nuevoDiario(long umbral) {
+        return new EntrenamientoJournal(archivo, gson, compactaciones::add, umbral);
+    }
+
+    /** Ejecuta las compactaciones programadas hasta ahora */
+    private void ejecutarCompactaciones() {
+        assertFalse("No se programó ninguna compactación", compactaciones.isEmpty());
+        List<Runnable> pendientes = new ArrayList<>(compactaciones);
+        compactaciones.clear();
+        for (Runnable compactacion : pendientes) {
+            compactacion.run();
+        }
+    }
+
+    private static Entrenamiento entreno(String nombre) {
+        return new Entrenamiento(nombre, "Descripción de " + nombre, TipoIcono.RUNNING);
+    }
+
+    private static List<String> nombres(List<Entrenamiento> entrenamientos) {
+        List<String> nombres = new ArrayList<>(entrenamientos.size());
+        for (Entrenamiento entrenamiento : entrenamientos) {
+            nombres.add(entrenamiento.getNombre());
+        }
+        return nombres;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Fuerza;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Pilates;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Running;
+import com.example.examen1rtrimestremacia_denislopezsacher.entrenamientos.Voleibol;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * EntrenamientoJsonAdapterTest - Subtipos, JSON antiguo, copias de los predefinidos y tamaño
+ *
+ * Los tiempos frente al Gson por reflexión se miden con JMH en el módulo
+ * :benchmark (PersistenciaBenchmark), no aquí.
+ */
+public class EntrenamientoJsonAdapterTest {
+
+    /** Camino anterior: reflexión (solo con el adaptador del icono) */
+    private final Gson reflexivo = new GsonBuilder()
+            .registerTypeAdapter(TipoIcono.class, new TipoIconoJsonAdapter(new MigracionIconos()))
+            .create();
+
+    /** Camino nuevo: EntrenamientoJsonAdapter */
+    private final Gson adaptador = EntrenamientoJsonAdapter.crearGson(new MigracionIconos());
+
+    private final Type tipoLista = new TypeToken<ArrayList<Entrenamiento>>(){}.getType();
+
+    @Test
+    public void idaYVuelta_conservaSubtipos() {
+        Pilates renombrado = new Pilates();
+        renombrado.setNombre("Pilates suave");
+        Running conId = new Running();
+        conId.setId(7);
+        Entrenamiento usuario = new Entrenamiento("Yoga", null, TipoIcono.VOLEIBOL);
+        usuario.setId(9);
+        List<Entrenamiento> originales = Arrays.asList(
+                new Pilates(), new Voleibol(), new Fuerza(), renombrado, conId, usuario);
+
+        String json = adaptador.toJson(originales, tipoLista);
+        List<Entrenamiento> leidos = adaptador.fromJson(json, tipoLista);
+
+        assertTrue(json, json.startsWith("[{\"t\":\"P\"},{\"t\":\"V\"},{\"t\":\"F\"},"));
+        assertEquals(Pilates.class, leidos.get(0).getClass());
+        assertEquals(Voleibol.class, leidos.get(1).getClass());
+        assertEquals(Fuerza.class, leidos.get(2).getClass());
+        assertEquals("Pilates", leidos.get(0).getNombre());
+
+        assertEquals(Pilates.class, leidos.get(3).getClass());
+        assertEquals("Pilates suave", leidos.get(3).getNombre());
+
+        assertEquals(Running.class, leidos.get(4).getClass());
+        assertEquals(7, leidos.get(4).getId());
+        assertEquals(new Running().getDescripcion(), leidos.get(4).getDescripcion());
+
+        assertEquals(Entrenamiento.class, leidos.get(5).getClass());
+        assertEquals(9, leidos.get(5).getId());
+        assertEquals("Yoga", leidos.get(5).getNombre());
+        assertNull(leidos.get(5).getDescripcion());
+        assertEquals(TipoIcono.VOLEIBOL, leidos.get(5).getTipoIcono());
+    }
+
+    @Test
+    public void jsonReflexivoAntiguo_seLeeYRecuperaLosPredefinidos() {
+        // Como lo escribía new Gson() antes de TipoIcono: ids de recurso de otro build
+        String antiguo = "[{\"id\":0,\"nombre\":\"Pilates\",\"descripcion\":\""
+                + new Pilates().getDescripcion() + "\",\"iconoResId\":2131165279},"
+                + "{\"id\":0,\"nombre\":\"Mi rutina\",\"descripcion\":\"d\",\"iconoResId\":2131165279}]";
+
+        List<Entrenamiento> leidos = adaptador.fromJson(antiguo, tipoLista);
+
+        assertEquals(Pilates.class, leidos.get(0).getClass());
+        // El id aprendido del predefinido vale para las filas del usuario
+        assertEquals(TipoIcono.PILATES, leidos.get(1).getTipoIcono());
+
+        // El JSON que escribe el camino reflexivo actual también se lee
+        List<Entrenamiento> reflexivos = adaptador.fromJson(
+                reflexivo.toJson(Arrays.asList(new Fuerza(), leidos.get(1)), tipoLista), tipoLista);
+        assertEquals(Fuerza.class, reflexivos.get(0).getClass());
+        assertEquals("Mi rutina", reflexivos.get(1).getNombre());
+    }
+
+    @Test
+    public void predefinidoLeido_esUnaCopiaModificable() {
+        List<Entrenamiento> leidos = adaptador.fromJson("[{\"t\":\"P\"},{\"t\":\"P\"}]", tipoLista);
+
+        assertNotSame(leidos.get(0), leidos.get(1));
+        leidos.get(0).setNombre("Otro");
+        leidos.get(0).setId(3);
+        assertEquals("Pilates", leidos.get(1).getNombre());
+        assertEquals("Pilates", adaptador.fromJson("{\"t\":\"P\"}", Entrenamiento.class).getNombre());
+    }
+
+    @Test
+    public void adaptador_noOcupaMasQueLaReflexion() {
+        Entrenamiento usuario = new Entrenamiento("Yoga", "Posturas y respiración", TipoIcono.PILATES);
+        List<Entrenamiento> lista = Arrays.asList(new Pilates(), new Fuerza(), new Running(), new Voleibol(), usuario);
+
+        String jsonReflexivo = reflexivo.toJson(lista, tipoLista);
+        String jsonAdaptador = adaptador.toJson(lista, tipoLista);
+
+        // Los predefinidos no repiten su texto; el resto ocupa lo mismo
+        assertTrue(jsonAdaptador, jsonAdaptador.length() < jsonReflexivo.length());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * EntrenamientoJsonStreamTest - Lotes exactos y con resto, array vacío y JSON dañado
+ */
+public class EntrenamientoJsonStreamTest {
+
+    private final Gson gson = EntrenamientoJsonAdapter.crearGson(new MigracionIconos());
+
+    @Test
+    public void multiploExacto_lotesCompletosSinLoteVacioAlFinal() throws Exception {
+        List<List<Entrenamiento>> lotes = new ArrayList<>();
+
+        int total = EntrenamientoJsonStream.leer(new StringReader(json(6)), gson, 3, lotes::add);
+
+        assertEquals(6, total);
+        assertEquals(Arrays.asList(3, 3), tamanos(lotes));
+        assertEquals("Rutina 0", lotes.get(0).get(0).getNombre());
+        assertEquals("Rutina 5", lotes.get(1).get(2).getNombre());
+        assertEquals(TipoIcono.FUERZA, lotes.get(1).get(2).getTipoIcono());
+    }
+
+    @Test
+    public void conResto_ultimoLoteMasPequeno() throws Exception {
+        List<List<Entrenamiento>> lotes = new ArrayList<>();
+
+        int total = EntrenamientoJsonStream.leer(new StringReader(json(7)), gson, 3, lotes::add);
+
+        assertEquals(7, total);
+        assertEquals(Arrays.asList(3, 3, 1), tamanos(lotes));
+        assertEquals("Rutina 6", lotes.get(2).get(0).getNombre());
+    }
+
+    @Test
+    public void cadaLoteEsUnaListaNueva() throws Exception {
+        List<List<Entrenamiento>> lotes = new ArrayList<>();
+
+        EntrenamientoJsonStream.leer(new StringReader(json(4)), gson, 2, lotes::add);
+
+        assertNotSame(lotes.get(0), lotes.get(1));
+        assertEquals(2, lotes.get(0).size());
+    }
+
+    @Test
+    public void tamanoLoteMenorQueUno_seLeeDeUnoEnUno() throws Exception {
+        List<List<Entrenamiento>> lotes = new ArrayList<>();
+
+        EntrenamientoJsonStream.leer(new StringReader(json(2)), gson, 0, lotes::add);
+
+        assertEquals(Arrays.asList(1, 1), tamanos(lotes));
+    }
+
+    @Test
+    public void arrayVacioONull_ningunLote() throws Exception {
+        List<List<Entrenamiento>> lotes = new ArrayList<>();
+
+        assertEquals(0, EntrenamientoJsonStream.leer(new StringReader("[]"), gson, 3, lotes::add));
+        assertEquals(0, EntrenamientoJsonStream.leer(new StringReader("null"), gson, 3, lotes::add));
+        assertTrue(lotes.isEmpty());
+    }
+
+    @Test
+    public void elementosNull_seSaltan() throws Exception {
+        List<List<Entrenamiento>> lotes = new ArrayList<>();
+        String json = "[null," + json(1).substring(1, json(1).length() - 1) + ",null]";
+
+        assertEquals(1, EntrenamientoJsonStream.leer(new StringReader(json), gson, 3, lotes::add));
+        assertEquals(Arrays.asList(1), tamanos(lotes));
+    }
+
+    @Test
+    public void truncado_IOExceptionTrasLosLotesCompletos() {
+        String completo = json(5);
+        String truncado = completo.substring(0, completo.lastIndexOf('{') + 5);
+        List<List<Entrenamiento>> lotes = new ArrayList<>();
+
+        assertIOException(truncado, lotes);
+        // Los lotes completos anteriores ya se habían entregado
+        assertEquals(Arrays.asList(2, 2), tamanos(lotes));
+
+        assertIOException(completo.substring(0, completo.length() - 1), new ArrayList<>());
+        assertIOException("", new ArrayList<>());
+    }
+
+    @Test
+    public void malFormado_IOExceptionNoExcepcionDeGson() {
+        assertIOException("[{\"nombre\": }]", new ArrayList<>());
+        assertIOException("{\"nombre\":\"Pilates\"}", new ArrayList<>());  // Objeto en lugar de array
+        assertIOException("[1, 2]", new ArrayList<>());
+    }
+
+    // ============= AUXILIARES =============
+
+    /** Array JSON con 'n' entrenamientos de usuario */
+    private String json(int n) {
+        List<Entrenamiento> entrenamientos = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Entrenamiento entrenamiento = new Entrenamiento("Rutina " + i, "Descripción " + i, TipoIcono.FUERZA);
+            entrenamiento.setId(i + 1);
+            entrenamientos.add(entrenamiento);
+        }
+        return gson.toJson(entrenamientos);
+    }
+
+    private void assertIOException(String json, List<List<Entrenamiento>> lotes) {
+        try {
+            EntrenamientoJsonStream.leer(new StringReader(json), gson, 2, lotes::add);
+            fail("Se esperaba IOException: " + json);
+        } catch (IOException esperada) {
+            // Esperada
+        }
+    }
+
+    private static List<Integer> tamanos(List<List<Entrenamiento>> lotes) {
+        List<Integer> tamanos = new ArrayList<>();
+        for (List<Entrenamiento> lote : lotes) {
+            tamanos.add(lote.size());
+        }
+        return tamanos;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * EntrenamientoMappedFileTest - Formato ENTM: ida y vuelta, acceso por posición y archivos dañados
+ */
+public class EntrenamientoMappedFileTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    /** Ids de un build antiguo (versión 1 del formato) */
+    private static final int ANTIGUO_PILATES = 0x7f08005f;
+    private static final int ANTIGUO_RUNNING = 0x7f080060;
+
+    @Test
+    public void escribirYAbrir_conservaTodo_inclusoDescripcionNullYNoAscii() throws Exception {
+        List<Entrenamiento> originales = Arrays.asList(
+                entrenamiento(1, "Pilates", "Control y respiración", TipoIcono.PILATES),
+                entrenamiento(2, "Ñandú élite", null, TipoIcono.RUNNING),
+                entrenamiento(3, "Fuerza 💪", "", TipoIcono.FUERZA));
+        File archivo = carpeta.newFile("entrenamientos.map");
+
+        EntrenamientoMappedFile.escribir(archivo, originales);
+
+        try (EntrenamientoMappedFile abierto = EntrenamientoMappedFile.abrir(archivo)) {
+            assertEquals(3, abierto.tamano());
+            List<Entrenamiento> leidos = abierto.leerTodos();
+            for (int i = 0; i < originales.size(); i++) {
+                assertIguales(originales.get(i), leidos.get(i));
+            }
+            assertNull(leidos.get(1).getDescripcion());
+            assertEquals("", leidos.get(2).getDescripcion());
+        }
+        assertFalse(new File(archivo.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void obtener_accesoDirectoYLimites() throws Exception {
+        List<Entrenamiento> originales = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            originales.add(entrenamiento(i + 1, "Rutina " + i, i % 3 == 0 ? null : "Texto " + i,
+                    TipoIcono.values()[i % TipoIcono.values().length]));
+        }
+        File archivo = carpeta.newFile("entrenamientos.map");
+        EntrenamientoMappedFile.escribir(archivo, originales);
+
+        try (EntrenamientoMappedFile abierto = EntrenamientoMappedFile.abrir(archivo)) {
+            // En cualquier orden: cada registro se localiza por su offset
+            for (int i : new int[]{499, 0, 250, 1, 498}) {
+                assertIguales(originales.get(i), abierto.obtener(i));
+            }
+            assertIguales(originales.get(123), abierto.comoLista().get(123));
+            assertEquals(500, abierto.comoLista().size());
+
+            for (int fuera : new int[]{-1, 500}) {
+                try {
+                    abierto.obtener(fuera);
+                    fail("Posición " + fuera + " fuera de rango");
+                } catch (IndexOutOfBoundsException esperada) {
+                    // Esperada
+                }
+            }
+        }
+    }
+
+    @Test
+    public void listaVacia_soloCabeceraEIndice() throws Exception {
+        File archivo = carpeta.newFile("vacio.map");
+        EntrenamientoMappedFile.escribir(archivo, new ArrayList<>());
+
+        try (EntrenamientoMappedFile abierto = EntrenamientoMappedFile.abrir(archivo)) {
+            assertEquals(0, abierto.tamano());
+            assertTrue(abierto.leerTodos().isEmpty());
+        }
+    }
+
+    @Test
+    public void abrir_rechazaMagicoVersionYIndiceTruncado() throws Exception {
+        File archivo = carpeta.newFile("entrenamientos.map");
+        EntrenamientoMappedFile.escribir(archivo, Arrays.asList(
+                entrenamiento(1, "Pilates", null, TipoIcono.PILATES),
+                entrenamiento(2, "Running", null, TipoIcono.RUNNING)));
+        byte[] bueno = Files.readAllBytes(archivo.toPath());
+
+        // Bytes mágicos
+        byte[] magico = bueno.clone();
+        magico[0] = 'X';
+        assertRechazado(magico, "ENTM");
+
+        // Versión futura
+        byte[] version = bueno.clone();
+        version[7] = (byte) (EntrenamientoMappedFile.VERSION + 1);
+        assertRechazado(version, "Versión");
+
+        // Cabecera que anuncia más registros de los que caben en el índice
+        byte[] truncado = Arrays.copyOf(bueno, 16 + 8 * 2);
+        assertRechazado(truncado, "truncado");
+
+        // Menos que una cabecera
+        assertRechazado(Arrays.copyOf(bueno, 10), "Tamaño");
+    }
+
+    @Test
+    public void version1_traduceIconosConMigracionIconos() throws Exception {
+        File archivo = carpeta.newFile("antiguo.map");
+        escribirVersion1(archivo,
+                // La fila del usuario va primero: abrir() ya ha aprendido de los predefinidos
+                new Object[]{5L, "Mi rutina", ANTIGUO_RUNNING, "Propia"},
+                new Object[]{1L, "Pilates", ANTIGUO_PILATES, null},
+                new Object[]{2L, "Running", ANTIGUO_RUNNING, "Correr"});
+
+        try (EntrenamientoMappedFile abierto = EntrenamientoMappedFile.abrir(archivo, new MigracionIconos())) {
+            assertEquals(3, abierto.tamano());
+            Entrenamiento propia = abierto.obtener(0);
+            assertEquals("Mi rutina", propia.getNombre());
+            assertEquals(5L, propia.getId());
+            assertEquals("Propia", propia.getDescripcion());
+            assertEquals(TipoIcono.RUNNING, propia.getTipoIcono());
+            assertEquals(TipoIcono.PILATES, abierto.obtener(1).getTipoIcono());
+            assertNull(abierto.obtener(1).getDescripcion());
+
+            // Al volver a guardar ya se escribe la versión actual
+            File nuevo = carpeta.newFile("nuevo.map");
+            EntrenamientoMappedFile.escribir(nuevo, abierto.leerTodos());
+            try (RandomAccessFile acceso = new RandomAccessFile(nuevo, "r")) {
+                acceso.seek(4);
+                assertEquals(EntrenamientoMappedFile.VERSION, acceso.readInt());
+            }
+            assertEquals(TipoIcono.RUNNING, EntrenamientoMappedFile.abrir(nuevo).obtener(0).getTipoIcono());
+        }
+    }
+
+    // ============= AUXILIARES =============
+
+    /** Archivo ENTM versión 1: icono = int con el id de recurso */
+    private static void escribirVersion1(File archivo, Object[]... filas) throws IOException {
+        ByteArrayOutputStream registros = new ByteArrayOutputStream();
+        DataOutputStream salidaRegistros = new DataOutputStream(registros);
+        long[] offsets = new long[filas.length + 1];
+        long inicio = 16 + 8L * (filas.length + 1);
+        for (int i = 0; i < filas.length; i++) {
+            offsets[i] = inicio + salidaRegistros.size();
+            salidaRegistros.writeLong((Long) filas[i][0]);
+            salidaRegistros.writeInt((Integer) filas[i][2]);
+            byte[] nombre = ((String) filas[i][1]).getBytes(StandardCharsets.UTF_8);
+            salidaRegistros.writeInt(nombre.length);
+            salidaRegistros.write(nombre);
+            if (filas[i][3] == null) {
+                salidaRegistros.writeInt(-1);
+            } else {
+                byte[] descripcion = ((String) filas[i][3]).getBytes(StandardCharsets.UTF_8);
+                salidaRegistros.writeInt(descripcion.length);
+                salidaRegistros.write(descripcion);
+            }
+        }
+        offsets[filas.length] = inicio + salidaRegistros.size();
+
+        try (DataOutputStream salida = new DataOutputStream(Files.newOutputStream(archivo.toPath()))) {
+            salida.write(new byte[]{'E', 'N', 'T', 'M'});
+            salida.writeInt(1);
+            salida.writeInt(filas.length);
+            salida.writeInt(0);
+            for (long offset : offsets) {
+                salida.writeLong(offset);
+            }
+            registros.writeTo(salida);
+        }
+    }
+
+    private void assertRechazado(byte[] contenido, String mensaje) throws IOException {
+        File archivo = carpeta.newFile();
+        Files.write(archivo.toPath(), contenido);
+        try {
+            EntrenamientoMappedFile.abrir(archivo);
+            fail("Se esperaba IOException: " + mensaje);
+        } catch (IOException esperada) {
+            assertTrue(esperada.getMessage(), esperada.getMessage().contains(mensaje));
+        }
+    }
+
+    private static Entrenamiento entrenamiento(long id, String nombre, String descripcion, TipoIcono icono) {
+        Entrenamiento entrenamiento = new Entrenamiento(nombre, descripcion, icono);
+        entrenamiento.setId(id);
+        return entrenamiento;
+    }
+
+    private static void assertIguales(Entrenamiento esperado, Entrenamiento leido) {
+        assertEquals(esperado.getId(), leido.getId());
+        assertEquals(esperado.getNombre(), leido.getNombre());
+        assertEquals(esperado.getDescripcion(), leido.getDescripcion());
+        assertEquals(esperado.getTipoIcono(), leido.getTipoIcono());
+    }
+}
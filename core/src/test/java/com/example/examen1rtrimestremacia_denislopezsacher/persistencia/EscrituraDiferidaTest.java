@@ -0,0 +1,102 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * EscrituraDiferidaTest - Agrupación de ráfagas, omisión sin cambios y vaciar()
+ */
+public class EscrituraDiferidaTest {
+
+    /** Listas recibidas por el destino, en orden */
+    private final List<List<Entrenamiento>> escritas = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void rafaga_produceUnaSolaEscrituraConLaUltimaLista() throws Exception {
+        EscrituraDiferida escritura = new EscrituraDiferida(escritas::add, 10_000);
+        List<Entrenamiento> lista = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            lista.add(new Entrenamiento("E" + i, "d", TipoIcono.PILATES));
+            escritura.registrarCambio();
+            escritura.solicitarGuardado(lista);
+        }
+        assertTrue(escritura.vaciar(5, TimeUnit.SECONDS));
+
+        assertEquals(1, escritas.size());
+        assertEquals(50, escritas.get(0).size());
+        assertEquals(50, escritura.getGuardadosSolicitados());
+        assertEquals(1, escritura.getGuardadosRealizados());
+        escritura.cerrar();
+    }
+
+    @Test
+    public void sinCambios_seOmiteLaEscritura() throws Exception {
+        EscrituraDiferida escritura = new EscrituraDiferida(escritas::add, 0);
+        List<Entrenamiento> lista = new ArrayList<>();
+
+        // Versión inicial = datos cargados: no hay nada que escribir
+        assertFalse(escritura.solicitarGuardado(lista));
+
+        escritura.registrarCambio();
+        assertTrue(escritura.solicitarGuardado(lista));
+        assertTrue(escritura.vaciar(5, TimeUnit.SECONDS));
+
+        // Mismo estado que lo ya guardado (p. ej. onPause sin cambios)
+        assertFalse(escritura.solicitarGuardado(lista));
+        assertTrue(escritura.vaciar(5, TimeUnit.SECONDS));
+
+        assertEquals(1, escritas.size());
+        assertEquals(3, escritura.getGuardadosSolicitados());
+        assertEquals(2, escritura.getGuardadosOmitidos());
+        escritura.cerrar();
+    }
+
+    @Test
+    public void destinoQueFalla_seReintentaEnLaSiguienteSolicitud() throws Exception {
+        boolean[] fallar = {true};
+        EscrituraDiferida escritura = new EscrituraDiferida(lista -> {
+            if (fallar[0]) {
+                throw new IllegalStateException("disco lleno");
+            }
+            escritas.add(lista);
+        }, 0);
+        List<Entrenamiento> lista = new ArrayList<>();
+
+        escritura.registrarCambio();
+        escritura.solicitarGuardado(lista);
+        assertTrue(escritura.vaciar(5, TimeUnit.SECONDS));
+        assertEquals(1, escritura.getErrores());
+
+        fallar[0] = false;
+        assertTrue(escritura.solicitarGuardado(lista));
+        assertTrue(escritura.vaciar(5, TimeUnit.SECONDS));
+        assertEquals(1, escritas.size());
+        escritura.cerrar();
+    }
+
+    @Test
+    public void encolar_escribeAntesElGuardadoPendiente() throws Exception {
+        List<String> orden = new CopyOnWriteArrayList<>();
+        EscrituraDiferida escritura = new EscrituraDiferida(lista -> orden.add("guardar"), 10_000);
+
+        escritura.registrarCambio();
+        escritura.solicitarGuardado(new ArrayList<>());
+        escritura.encolar(() -> orden.add("operacion"));
+        assertTrue(escritura.vaciar(5, TimeUnit.SECONDS));
+
+        assertEquals(2, orden.size());
+        assertEquals("guardar", orden.get(0));
+        assertEquals("operacion", orden.get(1));
+        escritura.cerrar();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndiceNombres;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * ExportadorCatalogoTest - CSV, JSON y ENTB en streaming: se vuelven a leer igual
+ */
+public class ExportadorCatalogoTest {
+
+    /** Bytes escritos por el exportador */
+    private final ByteArrayOutputStream destino = new ByteArrayOutputStream();
+
+    @Test
+    public void csv_seVuelveAImportarIgual() throws Exception {
+        List<Entrenamiento> originales = catalogo(2_000);
+
+        exportar(originales, ExportadorCatalogo.Formato.CSV);
+        List<Entrenamiento> leidos = importar(new String(destino.toByteArray(), StandardCharsets.UTF_8));
+
+        assertMismoContenido(originales, leidos);
+    }
+
+    @Test
+    public void json_seVuelveAImportarIgual() throws Exception {
+        List<Entrenamiento> originales = catalogo(2_000);
+
+        exportar(originales, ExportadorCatalogo.Formato.JSON);
+        List<Entrenamiento> leidos = importar(new String(destino.toByteArray(), StandardCharsets.UTF_8));
+
+        assertMismoContenido(originales, leidos);
+    }
+
+    @Test
+    public void entb_loLeeElCodecConIdsYDescripcionesNulas() throws Exception {
+        List<Entrenamiento> originales = catalogo(20_000);  // Varias veces el buffer
+
+        long escritos = exportar(originales, ExportadorCatalogo.Formato.ENTB);
+        List<Entrenamiento> leidos = EntrenamientoBinaryCodec.decodificar(destino.toByteArray());
+
+        assertEquals(destino.size(), escritos);
+        assertMismoContenido(originales, leidos);
+        for (int i = 0; i < originales.size(); i++) {
+            assertEquals(originales.get(i).getId(), leidos.get(i).getId());
+        }
+    }
+
+    @Test
+    public void canalSalida_mantieneParesSustitutosPartidosEntreBloques() throws Exception {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            texto.append('a').append("🏃");  // Un emoji justo en el borde de algún bloque
+        }
+        WritableByteChannel canal = Channels.newChannel(destino);
+        CanalSalida salida = new CanalSalida(canal, ByteBuffer.allocateDirect(1000));
+
+        for (int i = 0; i < texto.length(); i += 7) {
+            salida.write(texto.toString(), i, Math.min(7, texto.length() - i));
+        }
+        salida.close();
+
+        assertEquals(texto.toString(), new String(destino.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    // ============= AUXILIARES =============
+
+    /** Catálogo con comillas, separadores, saltos de línea, tildes y descripciones nulas */
+    private static List<Entrenamiento> catalogo(int total) {
+        List<Entrenamiento> entrenamientos = new ArrayList<>(total);
+        TipoIcono[] tipos = TipoIcono.values();
+        for (int i = 0; i < total; i++) {
+            String descripcion;
+            switch (i % 4) {
+                case 0:
+                    descripcion = null;
+                    break;
+                case 1:
+                    descripcion = "Serie \"" + i + "\"; descanso\r\nlargo";
+                    break;
+                case 2:
+                    descripcion = "Natación ñ €";
+                    break;
+                default:
+                    descripcion = "Descripción " + i;
+                    break;
+            }
+            Entrenamiento entrenamiento = new Entrenamiento("Entreno " + i + (i % 3 == 0 ? ", \"b\"" : ""),
+                    descripcion, tipos[i % tipos.length]);
+            entrenamiento.setId(i + 1);
+            entrenamientos.add(entrenamiento);
+        }
+        return entrenamientos;
+    }
+
+    private long exportar(List<Entrenamiento> entrenamientos, ExportadorCatalogo.Formato formato)
+            throws Exception {
+        return new ExportadorCatalogo().exportar(new OrigenLista(entrenamientos), formato,
+                Channels.newChannel(destino));
+    }
+
+    private static List<Entrenamiento> importar(String texto) throws Exception {
+        List<Entrenamiento> leidos = new ArrayList<>();
+        new ImportadorCatalogo(new IndiceNombres(Locale.ROOT, false), 1000)
+                .importar(new StringReader(texto), leidos::addAll, () -> false, null);
+        return leidos;
+    }
+
+    /** Mismo nombre, descripción (null y "" cuentan igual) e icono, en el mismo orden */
+    private static void assertMismoContenido(List<Entrenamiento> esperados, List<Entrenamiento> leidos) {
+        assertEquals(esperados.size(), leidos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            Entrenamiento esperado = esperados.get(i);
+            Entrenamiento leido = leidos.get(i);
+            assertEquals(esperado.getNombre(), leido.getNombre());
+            assertEquals(vacioSiNull(esperado.getDescripcion()), vacioSiNull(leido.getDescripcion()));
+            assertEquals(esperado.getTipoIcono(), leido.getTipoIcono());
+        }
+    }
+
+    private static String vacioSiNull(String texto) {
+        return texto == null ? "" : texto;
+    }
+
+    /** Origen sobre una lista, por lotes como el cursor de SQLite */
+    private static final class OrigenLista implements ExportadorCatalogo.Origen {
+        private final List<Entrenamiento> entrenamientos;
+
+        OrigenLista(List<Entrenamiento> entrenamientos) {
+            this.entrenamientos = entrenamientos;
+        }
+
+        @Override
+        public int contar() {
+            return entrenamientos.size();
+        }
+
+        @Override
+        public void recorrer(int tamanoLote, Consumer<List<Entrenamiento>> consumidor) {
+            for (int i = 0; i < entrenamientos.size(); i += tamanoLote) {
+                consumidor.accept(new ArrayList<>(
+                        entrenamientos.subList(i, Math.min(entrenamientos.size(), i + tamanoLote))));
+            }
+        }
+
+        @Override
+        public void recorrerDescripciones(int tamanoLote, Consumer<List<String>> consumidor) {
+            recorrer(tamanoLote, lote -> {
+                List<String> descripciones = new ArrayList<>(lote.size());
+                for (Entrenamiento entrenamiento : lote) {
+                    descripciones.add(entrenamiento.getDescripcion());
+                }
+                consumidor.accept(descripciones);
+            });
+        }
+    }
+}
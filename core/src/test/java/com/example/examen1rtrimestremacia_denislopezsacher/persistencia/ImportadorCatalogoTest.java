@@ -0,0 +1,152 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+import com.example.examen1rtrimestremacia_denislopezsacher.indices.IndiceNombres;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * ImportadorCatalogoTest - CSV y JSON en streaming, duplicados, lotes y cancelación
+ */
+public class ImportadorCatalogoTest {
+
+    /** Lotes recibidos por el destino, en orden */
+    private final List<List<Entrenamiento>> lotes = new ArrayList<>();
+
+    @Test
+    public void csv_conCabeceraComillasYPuntoYComa() throws Exception {
+        String csv = "\uFEFFicono;Nombre;Descripción\r\n"
+                + "running;Series 400;\"Calentar; luego 8x400\"\r\n"
+                + "2;\"Press \"\"banca\"\"\";\"Dos\nlíneas\"\r\n"
+                + "\r\n"
+                + "desconocido;Estiramientos;\r\n";
+
+        ImportadorCatalogo.Resultado resultado = importar(nuevo(10), csv);
+
+        assertEquals(3, resultado.getImportadas());
+        List<Entrenamiento> todos = lotes.get(0);
+        assertEquals("Series 400", todos.get(0).getNombre());
+        assertEquals("Calentar; luego 8x400", todos.get(0).getDescripcion());
+        assertEquals(TipoIcono.RUNNING, todos.get(0).getTipoIcono());
+        assertEquals("Press \"banca\"", todos.get(1).getNombre());
+        assertEquals("Dos\nlíneas", todos.get(1).getDescripcion());
+        assertEquals(TipoIcono.FUERZA, todos.get(1).getTipoIcono());
+        assertEquals(TipoIcono.POR_DEFECTO, todos.get(2).getTipoIcono());
+    }
+
+    @Test
+    public void duplicados_delCatalogoYDelArchivo_seDescartan() throws Exception {
+        ImportadorCatalogo importador = nuevo(10);
+        importador.registrarExistente("Pilates");
+        String csv = "PILATES ,a\nYoga,b\n yoga,c\n,sin nombre\nCarrera,d\n";
+
+        ImportadorCatalogo.Resultado resultado = importar(importador, csv);
+
+        assertEquals(5, resultado.getLeidas());
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(2, resultado.getDuplicadas());
+        assertEquals(1, resultado.getInvalidas());
+        assertEquals("Yoga", lotes.get(0).get(0).getNombre());
+    }
+
+    @Test
+    public void json_porLotesConIconoPorClaveOCodigo() throws Exception {
+        String json = "[{\"id\":7,\"nombre\":\"A\",\"descripcion\":\"x\",\"icono\":\"VOLEIBOL\"},"
+                + "{\"nombre\":\"B\",\"icono\":3},{\"nombre\":\"C\",\"descripcion\":null}]";
+
+        ImportadorCatalogo.Resultado resultado = importar(nuevo(2), json);
+
+        assertEquals(3, resultado.getImportadas());
+        assertEquals(2, lotes.size());
+        assertEquals(TipoIcono.VOLEIBOL, lotes.get(0).get(0).getTipoIcono());
+        assertEquals(0, lotes.get(0).get(0).getId());  // El id lo asigna quien guarda
+        assertEquals(TipoIcono.RUNNING, lotes.get(0).get(1).getTipoIcono());
+        assertEquals("", lotes.get(1).get(0).getDescripcion());
+    }
+
+    @Test(expected = IOException.class)
+    public void json_sinArray_esUnError() throws Exception {
+        importar(nuevo(10), "{\"nombre\":\"A\"}");
+    }
+
+    @Test
+    public void cancelar_conservaLosLotesGuardadosYDescartaElActual() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            csv.append("E").append(i).append(",d\n");
+        }
+        int[] filas = {0};
+
+        ImportadorCatalogo.Resultado resultado = nuevo(30).importar(new StringReader(csv.toString()),
+                lotes::add, () -> ++filas[0] > 75, null);
+
+        assertTrue(resultado.isCancelada());
+        assertEquals(60, resultado.getImportadas());
+        assertEquals(2, lotes.size());
+    }
+
+    @Test
+    public void cienMilFilas_enLotesDeMil() throws Exception {
+        int[] progreso = {0};
+        ImportadorCatalogo.Resultado resultado = nuevo(1000).importar(new FilasCsv(100_000),
+                lote -> lotes.add(new ArrayList<>(lote.subList(0, 1))),
+                () -> false, parcial -> progreso[0]++);
+
+        assertEquals(100_000, resultado.getImportadas());
+        assertEquals(100, lotes.size());
+        assertEquals(100, progreso[0]);
+    }
+
+    // ============= AUXILIARES =============
+
+    private static ImportadorCatalogo nuevo(int tamanoLote) {
+        return new ImportadorCatalogo(new IndiceNombres(Locale.ROOT, false), tamanoLote);
+    }
+
+    private ImportadorCatalogo.Resultado importar(ImportadorCatalogo importador, String texto)
+            throws IOException {
+        return importador.importar(new StringReader(texto), lotes::add, () -> false, null);
+    }
+
+    /** CSV generado al vuelo (no se construye el texto entero) */
+    private static final class FilasCsv extends Reader {
+        private final int total;
+        private int fila;
+        private String actual = "";
+        private int posicion;
+
+        FilasCsv(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public int read(char[] destino, int desde, int cantidad) {
+            if (posicion == actual.length()) {
+                if (fila == total) {
+                    return -1;
+                }
+                actual = "Entrenamiento " + fila + ",Descripción " + fila + "," + (fila % 4 + 1) + "\n";
+                fila++;
+                posicion = 0;
+            }
+            int n = Math.min(cantidad, actual.length() - posicion);
+            actual.getChars(posicion, posicion + n, destino, desde);
+            posicion += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
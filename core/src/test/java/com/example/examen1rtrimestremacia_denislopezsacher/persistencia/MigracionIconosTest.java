@@ -0,0 +1,118 @@
+package com.example.examen1rtrimestremacia_denislopezsacher.persistencia;
+
+import com.example.examen1rtrimestremacia_denislopezsacher.Entrenamiento;
+import com.example.examen1rtrimestremacia_denislopezsacher.TipoIcono;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * MigracionIconosTest - Ids de recurso antiguos → TipoIcono en los formatos guardados
+ */
+public class MigracionIconosTest {
+
+    /** Ids de un build antiguo (no coinciden con los R.drawable actuales) */
+    private static final int ANTIGUO_PILATES = 0x7f08005f;
+    private static final int ANTIGUO_FUERZA = 0x7f08005c;
+    private static final int ANTIGUO_RUNNING = 0x7f080060;
+    private static final int ANTIGUO_VOLEIBOL = 0x7f080061;
+
+    @Test
+    public void convertir_codigosAprendidosResolverYDefecto() {
+        MigracionIconos migracion = new MigracionIconos(
+                resId -> resId == 0x7f000001 ? TipoIcono.RUNNING : null);
+        migracion.aprender("fuerza", ANTIGUO_FUERZA);
+        migracion.aprender("Mi rutina", ANTIGUO_VOLEIBOL);  // No es un predefinido: no enseña
+
+        assertEquals(TipoIcono.VOLEIBOL, migracion.convertir(4));
+        assertEquals(TipoIcono.FUERZA, migracion.convertir(ANTIGUO_FUERZA));
+        assertEquals(TipoIcono.RUNNING, migracion.convertir(0x7f000001));
+        assertEquals(TipoIcono.POR_DEFECTO, migracion.convertir(ANTIGUO_VOLEIBOL));
+        assertEquals(TipoIcono.POR_DEFECTO, migracion.convertir(200));
+    }
+
+    @Test
+    public void codigos_sonEstablesYCabenEnUnByte() {
+        for (TipoIcono tipo : TipoIcono.values()) {
+            assertSame(tipo, TipoIcono.desdeCodigo(tipo.getCodigo()));
+            assertSame(tipo, TipoIcono.desdeClave(tipo.name().toLowerCase()));
+        }
+        assertEquals(1, TipoIcono.PILATES.getCodigo());
+        assertEquals(2, TipoIcono.FUERZA.getCodigo());
+        assertEquals(3, TipoIcono.RUNNING.getCodigo());
+        assertEquals(4, TipoIcono.VOLEIBOL.getCodigo());
+        assertNull(TipoIcono.desdeCodigo(0));
+    }
+
+    @Test
+    public void binarioVersion1_aprendeDeLosPredefinidos() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        salida.write(new byte[]{'E', 'N', 'T', 'B', 1});
+        EntrenamientoBinaryCodec.escribirVarLong(salida, 5);
+        EntrenamientoBinaryCodec.escribirVarLong(salida, 0);  // Sin tabla de cadenas
+        // La fila del usuario va primero: solo se traduce al final, con todo aprendido
+        escribirRegistroV1(salida, 5, "Mi rutina", ANTIGUO_RUNNING);
+        escribirRegistroV1(salida, 1, "Pilates", ANTIGUO_PILATES);
+        escribirRegistroV1(salida, 2, "Voleibol", ANTIGUO_VOLEIBOL);
+        escribirRegistroV1(salida, 3, "Fuerza", ANTIGUO_FUERZA);
+        escribirRegistroV1(salida, 4, "Running", ANTIGUO_RUNNING);
+
+        List<Entrenamiento> leidos = EntrenamientoBinaryCodec.decodificar(salida.toByteArray());
+
+        assertEquals(Arrays.asList(TipoIcono.RUNNING, TipoIcono.PILATES, TipoIcono.VOLEIBOL,
+                TipoIcono.FUERZA, TipoIcono.RUNNING), tipos(leidos));
+
+        // Al volver a guardar ya se escribe la versión actual, con 1 byte por icono
+        byte[] actual = EntrenamientoBinaryCodec.codificar(leidos);
+        assertEquals(EntrenamientoBinaryCodec.VERSION, actual[4]);
+        assertEquals(tipos(leidos), tipos(EntrenamientoBinaryCodec.decodificar(actual)));
+    }
+
+    @Test
+    public void jsonAntiguo_iconoResIdSeTraduceYSeReescribeComoClave() {
+        MigracionIconos migracion = new MigracionIconos(
+                resId -> resId == ANTIGUO_FUERZA ? TipoIcono.FUERZA : null);
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(TipoIcono.class, new TipoIconoJsonAdapter(migracion))
+                .create();
+        String antiguo = "[{\"nombre\":\"Fuerza\",\"descripcion\":\"d\",\"iconoResId\":" + ANTIGUO_FUERZA + "},"
+                + "{\"nombre\":\"Otro\",\"descripcion\":\"d\",\"iconoResId\":2131165999}]";
+
+        List<Entrenamiento> leidos = gson.fromJson(antiguo,
+                new TypeToken<ArrayList<Entrenamiento>>(){}.getType());
+
+        assertEquals(Arrays.asList(TipoIcono.FUERZA, TipoIcono.POR_DEFECTO), tipos(leidos));
+        String nuevo = gson.toJson(leidos);
+        assertTrue(nuevo, nuevo.contains("\"icono\":\"FUERZA\""));
+        assertFalse(nuevo, nuevo.contains("iconoResId"));
+    }
+
+    // ============= AUXILIARES =============
+
+    /** Registro del formato ENTB versión 1 (icono = varint con el id de recurso) */
+    private static void escribirRegistroV1(ByteArrayOutputStream salida, long id, String nombre, int icono)
+            throws Exception {
+        EntrenamientoBinaryCodec.escribirVarLong(salida, id);
+        EntrenamientoBinaryCodec.escribirCadena(salida, nombre);
+        EntrenamientoBinaryCodec.escribirVarLong(salida, 0);  // Descripción null
+        EntrenamientoBinaryCodec.escribirVarLong(salida, icono & 0xFFFFFFFFL);
+    }
+
+    private static List<TipoIcono> tipos(List<Entrenamiento> entrenamientos) {
+        List<TipoIcono> tipos = new ArrayList<>();
+        for (Entrenamiento entrenamiento : entrenamientos) {
+            tipos.add(entrenamiento.getTipoIcono());
+        }
+        return tipos;
+    }
+}
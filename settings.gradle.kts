@@ -21,3 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "Examen 1r Trimestre Macia - Denis Lopez Sacher"
 include(":app")
+include(":core")
+include(":benchmark")